@@ -60,7 +60,9 @@ public class TestEnvInvisibleAction extends InvisibleAction {
     private final String testTcf;
     private final String testReportDir;
     private final String testResult;
+    private final long testDuration;
     private final int timeout;
+    private final String testHistoryId;
 
     /**
      * Instantiates a new {@link TestEnvInvisibleAction}.
@@ -72,6 +74,22 @@ public class TestEnvInvisibleAction extends InvisibleAction {
      *            the test client holding the relevant information
      */
     public TestEnvInvisibleAction(final int testId, final AbstractTestClient testClient) {
+        this(testId, testClient, null);
+    }
+
+    /**
+     * Instantiates a new {@link TestEnvInvisibleAction}.
+     *
+     * @param testId
+     *            identifies this invisible action and is used as the suffix for the test related build environment
+     *            variables
+     * @param testClient
+     *            the test client holding the relevant information
+     * @param testHistoryId
+     *            the id of the test in the verdict history, may be {@code null}
+     */
+    public TestEnvInvisibleAction(final int testId, final AbstractTestClient testClient,
+            final String testHistoryId) {
         super();
         this.testId = testId;
         testName = testClient.getTestName();
@@ -86,7 +104,9 @@ public class TestEnvInvisibleAction extends InvisibleAction {
         testTcf = testClient.getTestConfig().getTcfFile();
         testReportDir = testClient.getTestReportDir();
         testResult = testClient.getTestResult();
+        testDuration = testClient.getTestDuration();
         timeout = testClient.getExecutionConfig().getTimeout();
+        this.testHistoryId = testHistoryId;
     }
 
     /**
@@ -152,10 +172,24 @@ public class TestEnvInvisibleAction extends InvisibleAction {
         return testResult;
     }
 
+    /**
+     * @return the test execution duration in milliseconds, {@code 0} if unknown
+     */
+    public long getTestDuration() {
+        return testDuration;
+    }
+
     /**
      * @return the timeout
      */
     public int getTimeout() {
         return timeout;
     }
+
+    /**
+     * @return the id of the test in the verdict history or {@code null} if not recorded by the test builder
+     */
+    public String getTestHistoryId() {
+        return testHistoryId;
+    }
 }
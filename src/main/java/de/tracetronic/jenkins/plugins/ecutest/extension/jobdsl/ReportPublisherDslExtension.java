@@ -44,6 +44,7 @@ import org.apache.commons.lang.StringUtils;
 import com.google.common.base.Preconditions;
 
 import de.tracetronic.jenkins.plugins.ecutest.report.atx.ATXPublisher;
+import de.tracetronic.jenkins.plugins.ecutest.report.atx.ATXTarget;
 import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXInstallation;
 import de.tracetronic.jenkins.plugins.ecutest.report.generator.ReportGeneratorConfig;
 import de.tracetronic.jenkins.plugins.ecutest.report.generator.ReportGeneratorPublisher;
@@ -81,6 +82,9 @@ public class ReportPublisherDslExtension extends AbstractReportPublisherDslExten
         executeInContext(closure, context);
 
         final ATXPublisher publisher = new ATXPublisher(atxName.toString());
+        publisher.setSpoolUploads(context.spoolUploads);
+        publisher.setPipelinedUpload(context.pipelinedUpload);
+        publisher.setAdditionalTargets(context.additionalTargets);
         publisher.setAllowMissing(context.allowMissing);
         publisher.setRunOnFailed(context.runOnFailed);
         publisher.setArchiving(context.archiving);
@@ -166,6 +170,10 @@ public class ReportPublisherDslExtension extends AbstractReportPublisherDslExten
         final PublishTRFContext context = new PublishTRFContext();
         executeInContext(closure, context);
         final TRFPublisher publisher = new TRFPublisher();
+        publisher.setGating(context.gating);
+        publisher.setUnstableThreshold(context.unstableThreshold);
+        publisher.setFailedThreshold(context.failedThreshold);
+        publisher.setSkipArchivingOnFailure(context.skipArchivingOnFailure);
         publisher.setAllowMissing(context.allowMissing);
         publisher.setRunOnFailed(context.runOnFailed);
         publisher.setArchiving(context.archiving);
@@ -258,6 +266,42 @@ public class ReportPublisherDslExtension extends AbstractReportPublisherDslExten
      * {@link Context} class providing ATX publisher methods for the nested DSL context.
      */
     public class PublishATXContext extends AbstractReportContext {
+
+        private boolean spoolUploads;
+        private boolean pipelinedUpload;
+        private final List<ATXTarget> additionalTargets = new ArrayList<ATXTarget>();
+
+        /**
+         * Option defining whether reports are spooled for a later upload on connection errors.
+         *
+         * @param value
+         *            the value
+         */
+        public void spoolUploads(final boolean value) {
+            spoolUploads = value;
+        }
+
+        /**
+         * Option defining whether generated reports are uploaded while the next report is being generated.
+         *
+         * @param value
+         *            the value
+         */
+        public void pipelinedUpload(final boolean value) {
+            pipelinedUpload = value;
+        }
+
+        /**
+         * Option defining further TEST-GUIDE installations the generated reports are uploaded to.
+         *
+         * @param values
+         *            the names of the additional installations
+         */
+        public void additionalAtxNames(final CharSequence... values) {
+            for (final CharSequence value : values) {
+                additionalTargets.add(new ATXTarget(value.toString()));
+            }
+        }
     }
 
     /**
@@ -297,6 +341,55 @@ public class ReportPublisherDslExtension extends AbstractReportPublisherDslExten
      * {@link Context} class providing TRF publisher methods for the nested DSL context.
      */
     public class PublishTRFContext extends AbstractReportContext {
+
+        private boolean gating;
+        private double unstableThreshold;
+        private double failedThreshold;
+        private boolean skipArchivingOnFailure;
+
+        /**
+         * Option defining whether the build status is gated by the test verdicts before archiving.
+         *
+         * @param value
+         *            the value
+         */
+        public void gating(final boolean value) {
+            gating = value;
+        }
+
+        /**
+         * Option defining the unstable threshold.
+         *
+         * @param value
+         *            the value
+         */
+        public void unstableThreshold(final double value) {
+            final FormValidation validation = validator.validateUnstableThreshold(String.valueOf(value));
+            Preconditions.checkArgument(validation.kind != FormValidation.Kind.ERROR, validation.getMessage());
+            unstableThreshold = value;
+        }
+
+        /**
+         * Option defining the failed threshold.
+         *
+         * @param value
+         *            the value
+         */
+        public void failedThreshold(final double value) {
+            final FormValidation validation = validator.validateFailedThreshold(String.valueOf(value));
+            Preconditions.checkArgument(validation.kind != FormValidation.Kind.ERROR, validation.getMessage());
+            failedThreshold = value;
+        }
+
+        /**
+         * Option defining whether archiving is skipped if gating sets the build status to failure.
+         *
+         * @param value
+         *            the value
+         */
+        public void skipArchivingOnFailure(final boolean value) {
+            skipArchivingOnFailure = value;
+        }
     }
 
     /**
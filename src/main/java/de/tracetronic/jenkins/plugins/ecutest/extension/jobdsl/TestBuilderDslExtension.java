@@ -49,6 +49,7 @@ import de.tracetronic.jenkins.plugins.ecutest.test.config.PackageConfig;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.PackageParameter;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.ProjectConfig;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.ProjectConfig.JobExecutionMode;
+import de.tracetronic.jenkins.plugins.ecutest.test.scan.TestOrderer.TestOrder;
 
 /**
  * Class providing test related DSL extensions.
@@ -148,6 +149,8 @@ public class TestBuilderDslExtension extends AbstractTestBuilderDslExtension {
         final TestFolderBuilder builder = new TestFolderBuilder(testFolder.toString());
         builder.setScanMode(context.scanMode);
         builder.setRecursiveScan(context.recursiveScan);
+        builder.setTestOrder(context.testOrder);
+        builder.setTieBreaker(context.tieBreaker);
         builder.setTestConfig(context.testConfig);
         builder.setPackageConfig(context.packageConfig);
         builder.setProjectConfig(context.projectConfig);
@@ -395,6 +398,8 @@ public class TestBuilderDslExtension extends AbstractTestBuilderDslExtension {
 
         private ScanMode scanMode = ScanMode.PACKAGES_AND_PROJECTS;
         private boolean recursiveScan;
+        private TestOrder testOrder = TestOrder.SCAN_ORDER;
+        private TestOrder tieBreaker = TestOrder.SCAN_ORDER;
         private PackageConfig packageConfig;
         private ProjectConfig projectConfig;
 
@@ -418,6 +423,26 @@ public class TestBuilderDslExtension extends AbstractTestBuilderDslExtension {
             recursiveScan = value;
         }
 
+        /**
+         * Option defining the order to execute the scanned tests.
+         *
+         * @param value
+         *            the value
+         */
+        public void testOrder(final CharSequence value) {
+            testOrder = TestOrder.valueOf(value.toString());
+        }
+
+        /**
+         * Option defining the order applied to tests being equal by the test order.
+         *
+         * @param value
+         *            the value
+         */
+        public void tieBreaker(final CharSequence value) {
+            tieBreaker = TestOrder.valueOf(value.toString());
+        }
+
         /**
          * Option defining the package configuration.
          *
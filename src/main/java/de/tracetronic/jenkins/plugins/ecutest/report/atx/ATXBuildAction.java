@@ -30,14 +30,28 @@
 package de.tracetronic.jenkins.plugins.ecutest.report.atx;
 
 import hudson.model.Action;
+import hudson.model.Run;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import jenkins.tasks.SimpleBuildStep;
+
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.HttpResponses;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.interceptor.RequirePOST;
+
 import de.tracetronic.jenkins.plugins.ecutest.report.AbstractTestReport;
+import de.tracetronic.jenkins.plugins.ecutest.report.atx.upload.ATXUploadSpool;
+import de.tracetronic.jenkins.plugins.ecutest.report.atx.upload.ATXUploadSpoolWork;
+import de.tracetronic.jenkins.plugins.ecutest.report.atx.upload.ATXUploadStatus;
 
 /**
  * Action to show a link to {@link ATXReport}s or {@link ATXZipReport}s at the build page.
@@ -52,6 +66,13 @@ SimpleBuildStep.LastBuildAction {
 
     private final List<T> atxReports = new ArrayList<T>();
 
+    /**
+     * The upload status of spooled reports by report name.
+     *
+     * @since 1.12
+     */
+    private Map<String, ATXUploadStatus> uploadStatuses;
+
     /**
      * Instantiates a new {@link ATXBuildAction}.
      *
@@ -93,6 +114,86 @@ SimpleBuildStep.LastBuildAction {
         return getATXReports().addAll(reports);
     }
 
+    /**
+     * Gets the upload status of all spooled reports.
+     *
+     * @return the upload status by report name
+     */
+    public synchronized Map<String, ATXUploadStatus> getUploadStatuses() {
+        if (uploadStatuses == null) {
+            return Collections.emptyMap();
+        }
+        return new LinkedHashMap<String, ATXUploadStatus>(uploadStatuses);
+    }
+
+    /**
+     * Records the upload status of a spooled report.
+     *
+     * @param reportName
+     *            the report name
+     * @param status
+     *            the upload status
+     * @return {@code true} if the status changed, {@code false} otherwise
+     */
+    public synchronized boolean setUploadStatus(final String reportName, final ATXUploadStatus status) {
+        if (uploadStatuses == null) {
+            uploadStatuses = new LinkedHashMap<String, ATXUploadStatus>();
+        }
+        return uploadStatuses.put(reportName, status) != status;
+    }
+
+    /**
+     * Retries the failed upload of a spooled report at the next processing of the {@link ATXUploadSpool}.
+     *
+     * @param req
+     *            the {@link StaplerRequest} used for access this action
+     * @param report
+     *            the report name as shown in the upload status
+     * @return the redirect to this action
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    @RequirePOST
+    public HttpResponse doRetryUpload(final StaplerRequest req, @QueryParameter final String report)
+            throws IOException {
+        final Run<?, ?> run = req.findAncestorObject(Run.class);
+        if (run == null) {
+            return HttpResponses.notFound();
+        }
+        run.checkPermission(Run.UPDATE);
+        if (ATXUploadSpoolWork.getSpool().retry(run.getParent().getFullName(), run.getNumber(), report)
+                && setUploadStatus(report, ATXUploadStatus.PENDING)) {
+            run.save();
+        }
+        return HttpResponses.redirectToDot();
+    }
+
+    /**
+     * Discards the spooled upload of a report.
+     *
+     * @param req
+     *            the {@link StaplerRequest} used for access this action
+     * @param report
+     *            the report name as shown in the upload status
+     * @return the redirect to this action
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    @RequirePOST
+    public HttpResponse doDiscardUpload(final StaplerRequest req, @QueryParameter final String report)
+            throws IOException {
+        final Run<?, ?> run = req.findAncestorObject(Run.class);
+        if (run == null) {
+            return HttpResponses.notFound();
+        }
+        run.checkPermission(Run.UPDATE);
+        if (ATXUploadSpoolWork.getSpool().discard(run.getParent().getFullName(), run.getNumber(), report)
+                && setUploadStatus(report, ATXUploadStatus.DISCARDED)) {
+            run.save();
+        }
+        return HttpResponses.redirectToDot();
+    }
+
     /**
      * Returns {@link ATXReport} specified by the URL.
      *
@@ -46,14 +46,18 @@ import hudson.tasks.Publisher;
 import hudson.tools.ToolInstallation;
 import hudson.util.FormValidation;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
@@ -64,17 +68,25 @@ import net.sf.json.JSONObject;
 
 import org.apache.commons.lang.StringUtils;
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
 import org.kohsuke.stapler.QueryParameter;
 import org.kohsuke.stapler.StaplerRequest;
 
 import de.tracetronic.jenkins.plugins.ecutest.ETPlugin;
 import de.tracetronic.jenkins.plugins.ecutest.ETPluginException;
+import de.tracetronic.jenkins.plugins.ecutest.env.TestEnvInvisibleAction;
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
 import de.tracetronic.jenkins.plugins.ecutest.report.AbstractReportPublisher;
 import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXConfig;
 import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXCustomSetting;
 import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXInstallation;
 import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXSetting;
+import de.tracetronic.jenkins.plugins.ecutest.report.atx.upload.ATXUploadClient;
+import de.tracetronic.jenkins.plugins.ecutest.report.atx.upload.ATXUploadFanOut;
+import de.tracetronic.jenkins.plugins.ecutest.report.atx.upload.ATXUploadItem;
+import de.tracetronic.jenkins.plugins.ecutest.report.atx.upload.ATXUploadSpool;
+import de.tracetronic.jenkins.plugins.ecutest.report.atx.upload.ATXUploadSpoolWork;
+import de.tracetronic.jenkins.plugins.ecutest.report.atx.upload.ATXUploadStatus;
 import de.tracetronic.jenkins.plugins.ecutest.tool.StartETBuilder;
 import de.tracetronic.jenkins.plugins.ecutest.tool.client.ETClient;
 import de.tracetronic.jenkins.plugins.ecutest.tool.installation.ETInstallation;
@@ -96,6 +108,18 @@ public class ATXPublisher extends AbstractReportPublisher {
 
     @Nonnull
     private final String atxName;
+    /**
+     * @since 1.12
+     */
+    private boolean spoolUploads;
+    /**
+     * @since 1.12
+     */
+    private boolean pipelinedUpload;
+    /**
+     * @since 1.12
+     */
+    private List<ATXTarget> additionalTargets;
 
     /**
      * Instantiates a new {@link ATXPublisher}.
@@ -154,8 +178,12 @@ public class ATXPublisher extends AbstractReportPublisher {
      * @return an instance of this class with all the new fields transferred from the old structure to the new one
      */
     public final Object readResolve() {
-        return new ATXPublisher(atxName, isAllowMissing(), isRunOnFailed(), isArchiving() == null ? true
-                : isArchiving(), isKeepAll() == null ? true : isKeepAll());
+        final ATXPublisher publisher = new ATXPublisher(atxName, isAllowMissing(), isRunOnFailed(),
+                isArchiving() == null ? true : isArchiving(), isKeepAll() == null ? true : isKeepAll());
+        publisher.spoolUploads = spoolUploads;
+        publisher.pipelinedUpload = pipelinedUpload;
+        publisher.additionalTargets = additionalTargets;
+        return publisher;
     }
 
     /**
@@ -166,6 +194,65 @@ public class ATXPublisher extends AbstractReportPublisher {
         return atxName;
     }
 
+    /**
+     * Returns whether reports are spooled for a later upload if TEST-GUIDE is not reachable or the upload fails.
+     *
+     * @return {@code true} if spooling uploads is enabled, {@code false} otherwise
+     */
+    public boolean isSpoolUploads() {
+        return spoolUploads;
+    }
+
+    /**
+     * @param spoolUploads
+     *            specifies whether reports are spooled for a later upload if TEST-GUIDE is not reachable or the
+     *            upload fails
+     */
+    @DataBoundSetter
+    public void setSpoolUploads(final boolean spoolUploads) {
+        this.spoolUploads = spoolUploads;
+    }
+
+    /**
+     * Returns whether each generated report is uploaded directly while the next report is being generated.
+     *
+     * @return {@code true} if pipelined upload is enabled, {@code false} otherwise
+     */
+    public boolean isPipelinedUpload() {
+        return pipelinedUpload;
+    }
+
+    /**
+     * @param pipelinedUpload
+     *            specifies whether each generated report is uploaded directly while the next report is being
+     *            generated
+     */
+    @DataBoundSetter
+    public void setPipelinedUpload(final boolean pipelinedUpload) {
+        this.pipelinedUpload = pipelinedUpload;
+    }
+
+    /**
+     * Gets the additional TEST-GUIDE installations the reports are uploaded to.
+     *
+     * @return the additional targets
+     */
+    @Nonnull
+    public List<ATXTarget> getAdditionalTargets() {
+        return additionalTargets == null ? Collections.<ATXTarget> emptyList()
+                : Collections.unmodifiableList(additionalTargets);
+    }
+
+    /**
+     * @param additionalTargets
+     *            the additional TEST-GUIDE installations the reports are uploaded to
+     */
+    @DataBoundSetter
+    public void setAdditionalTargets(@CheckForNull final List<ATXTarget> additionalTargets) {
+        this.additionalTargets = additionalTargets == null || additionalTargets.isEmpty() ? null
+                : new ArrayList<ATXTarget>(additionalTargets);
+    }
+
     @Override
     public void performReport(final Run<?, ?> run, final FilePath workspace, final Launcher launcher,
             final TaskListener listener) throws InterruptedException, IOException, ETPluginException {
@@ -185,13 +272,18 @@ public class ATXPublisher extends AbstractReportPublisher {
             throw new ETPluginException("Selected TEST-GUIDE installation is not configured!");
         }
 
+        // Get additional TEST-GUIDE installations
+        final List<ATXInstallation> additionalInstallations = getAdditionalInstallations(installation,
+                run.getEnvironment(listener));
+
         boolean isPublished = false;
         final List<String> foundProcesses = ETClient.checkProcesses(launcher, false);
         final boolean isETRunning = !foundProcesses.isEmpty();
 
         // Start ECU-TEST if necessary and publish the ATX reports
         if (isETRunning) {
-            isPublished = publishReports(installation, run, launcher, listener);
+            isPublished = publishReports(installation, additionalInstallations, run, workspace, launcher,
+                    listener);
         } else {
             String toolName = installation.getToolName();
             final ETInstallation etInstallation = configureToolInstallation(toolName, workspace.toComputer(), listener,
@@ -203,7 +295,8 @@ public class ATXPublisher extends AbstractReportPublisher {
             final ETClient etClient = new ETClient(toolName, installPath, workspaceDir, settingsDir,
                     StartETBuilder.DEFAULT_TIMEOUT, false);
             if (etClient.start(false, workspace, launcher, listener)) {
-                isPublished = publishReports(installation, run, launcher, listener);
+                isPublished = publishReports(installation, additionalInstallations, run, workspace, launcher,
+                        listener);
             } else {
                 logger.logError(String.format("Starting %s failed.", toolName));
             }
@@ -219,6 +312,41 @@ public class ATXPublisher extends AbstractReportPublisher {
         }
     }
 
+    /**
+     * Publishes the ATX reports to the selected installation and to the additional installations, if any.
+     * The additional installations are published to independently of the result of the selected installation.
+     *
+     * @param installation
+     *            the installation
+     * @param additionalInstallations
+     *            the additional installations to upload the reports to
+     * @param run
+     *            the run
+     * @param workspace
+     *            the workspace
+     * @param launcher
+     *            the launcher
+     * @param listener
+     *            the listener
+     * @return {@code true} if ATX processing is successful for all installations, {@code false} otherwise
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    private boolean publishReports(final ATXInstallation installation,
+            final List<ATXInstallation> additionalInstallations, final Run<?, ?> run, final FilePath workspace,
+            final Launcher launcher, final TaskListener listener)
+                    throws IOException, InterruptedException {
+        final boolean isPublished = publishToInstallation(installation, run, workspace, launcher, listener);
+        if (additionalInstallations.isEmpty()) {
+            return isPublished;
+        }
+        final boolean isPublishedToTargets = publishToTargets(installation, additionalInstallations, run,
+                workspace, launcher, listener);
+        return isPublished && isPublishedToTargets;
+    }
+
     /**
      * Publishes the ATX reports by first generating them and depending
      * on whether ATX upload is enabled also starting the upload.
@@ -227,6 +355,8 @@ public class ATXPublisher extends AbstractReportPublisher {
      *            the installation
      * @param run
      *            the run
+     * @param workspace
+     *            the workspace
      * @param launcher
      *            the launcher
      * @param listener
@@ -237,26 +367,320 @@ public class ATXPublisher extends AbstractReportPublisher {
      * @throws InterruptedException
      *             if the build gets interrupted
      */
-    private boolean publishReports(final ATXInstallation installation, final Run<?, ?> run,
-            final Launcher launcher, final TaskListener listener)
+    private boolean publishToInstallation(final ATXInstallation installation, final Run<?, ?> run,
+            final FilePath workspace, final Launcher launcher, final TaskListener listener)
                     throws IOException, InterruptedException {
         final TTConsoleLogger logger = new TTConsoleLogger(listener);
         final boolean isUploadEnabled = isUploadEnabled(installation);
         final boolean isServerReachable = isServerReachable(installation, launcher, run.getEnvironment(listener));
+        List<String> uploadedFiles = Collections.emptyList();
         if (isUploadEnabled && isServerReachable) {
             logger.logInfo("- Generating and uploading ATX reports...");
             final ATXReportUploader uploader = new ATXReportUploader();
-            return uploader.upload(isAllowMissing(), installation, run, launcher, listener);
-        } else {
-            logger.logInfo("- Generating ATX reports...");
-            if (isUploadEnabled && !isServerReachable) {
+            final boolean isUploaded = uploader.upload(isAllowMissing(), isPipelinedUpload(), installation, run,
+                    launcher, listener);
+            if (isUploaded || !isSpoolUploads()) {
+                return isUploaded;
+            }
+            uploadedFiles = uploader.getUploadedFiles();
+            logger.logWarn("-> ATX upload failed, ATX reports not uploaded yet will be spooled for a later upload.");
+        }
+
+        logger.logInfo("- Generating ATX reports...");
+        final boolean isSpooling = isUploadEnabled && isSpoolUploads();
+        if (isUploadEnabled && !isServerReachable) {
+            if (isSpooling) {
+                logger.logWarn("-> ATX upload will be spooled because selected TEST-GUIDE server is not reachable!");
+            } else {
                 logger.logWarn("-> ATX upload will be skipped because selected TEST-GUIDE server is not reachable!");
             }
-            final FilePath archiveTarget = getArchiveTarget(run);
-            final ATXReportGenerator generator = new ATXReportGenerator();
-            return generator.generate(archiveTarget, isAllowMissing(), isArchiving(), isKeepAll(), installation, run,
-                    launcher, listener);
         }
+        final FilePath archiveTarget = getArchiveTarget(run);
+        final ATXReportGenerator generator = new ATXReportGenerator();
+        boolean isPublished = generator.generate(archiveTarget, isAllowMissing(), isArchiving(), isKeepAll(),
+                installation, run, workspace, launcher, listener);
+        if (isPublished && isSpooling) {
+            isPublished = spoolReports(installation, uploadedFiles, run, launcher, listener);
+        }
+        return isPublished;
+    }
+
+    /**
+     * Copies the generated ATX report archives into the {@link ATXUploadSpool} which uploads them in the background
+     * as soon as the TEST-GUIDE server is reachable again.
+     *
+     * @param installation
+     *            the installation
+     * @param uploadedFiles
+     *            the TRF files whose ATX reports have already been uploaded and must not be spooled again
+     * @param run
+     *            the run
+     * @param launcher
+     *            the launcher
+     * @param listener
+     *            the listener
+     * @return {@code true} if spooling succeeded, {@code false} otherwise
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    private boolean spoolReports(final ATXInstallation installation, final List<String> uploadedFiles,
+            final Run<?, ?> run, final Launcher launcher, final TaskListener listener)
+                    throws IOException, InterruptedException {
+        final TTConsoleLogger logger = new TTConsoleLogger(listener);
+        if (ATXUtil.getUploadUrl(installation.getConfig(), run.getEnvironment(listener)) == null) {
+            logger.logError(String.format("Error getting upload URL for selected TEST-GUIDE installation: %s",
+                    installation.getName()));
+            return false;
+        }
+
+        // Report archives are located in the ATX directory next to their TRF file
+        final Set<String> uploadedDirs = new HashSet<String>();
+        for (final String uploadedFile : uploadedFiles) {
+            uploadedDirs.add(new FilePath(launcher.getChannel(), uploadedFile).getParent().getRemote());
+        }
+
+        final ATXBuildAction<ATXZipReport> action = getOrAddBuildAction(run);
+        int spooled = 0;
+        final ATXUploadSpool spool = ATXUploadSpoolWork.getSpool();
+        for (final TestEnvInvisibleAction testEnvAction : run.getActions(TestEnvInvisibleAction.class)) {
+            final FilePath testReportDir = new FilePath(launcher.getChannel(), testEnvAction.getTestReportDir());
+            for (final FilePath zipFile : testReportDir.list(String.format("**/%s/*.zip",
+                    AbstractATXReportHandler.ATX_TEMPLATE_NAME))) {
+                if (uploadedDirs.contains(zipFile.getParent().getParent().getRemote())) {
+                    action.setUploadStatus(zipFile.getName(), ATXUploadStatus.UPLOADED);
+                    continue;
+                }
+                final File spoolFile = spool.createTempFile();
+                zipFile.copyTo(new FilePath(spoolFile));
+                spool.enqueue(spoolFile, zipFile.getName(), installation.getName(), run.getParent().getFullName(),
+                        run.getNumber());
+                action.setUploadStatus(zipFile.getName(), ATXUploadStatus.PENDING);
+                spooled++;
+            }
+        }
+        logger.logInfo(String.format("-> Spooled %d ATX report(s) for upload.", spooled));
+        return true;
+    }
+
+    /**
+     * Uploads the ATX reports to the additional TEST-GUIDE installations. The report archives are collected once
+     * and uploaded concurrently to every reachable target.
+     * <p>
+     * The upload status is tracked per report and target. Uploads to unreachable targets or failed uploads are
+     * spooled for a later upload to the affected target if spooling is enabled.
+     *
+     * @param installation
+     *            the installation used for report generation
+     * @param additionalInstallations
+     *            the additional installations to upload the reports to
+     * @param run
+     *            the run
+     * @param workspace
+     *            the workspace
+     * @param launcher
+     *            the launcher
+     * @param listener
+     *            the listener
+     * @return {@code true} if ATX processing is successful, {@code false} otherwise
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    private boolean publishToTargets(final ATXInstallation installation,
+            final List<ATXInstallation> additionalInstallations, final Run<?, ?> run, final FilePath workspace,
+            final Launcher launcher, final TaskListener listener) throws IOException, InterruptedException {
+        final TTConsoleLogger logger = new TTConsoleLogger(listener);
+        logger.logInfo(String.format("- Uploading ATX reports to %d additional TEST-GUIDE installation(s)...",
+                additionalInstallations.size()));
+
+        // Resolve upload URLs and check availability of all targets
+        final EnvVars envVars = run.getEnvironment(listener);
+        final Map<String, String> targetUrls = new LinkedHashMap<String, String>();
+        final List<String> spooledTargets = new ArrayList<String>();
+        for (final ATXInstallation target : additionalInstallations) {
+            if (!isUploadEnabled(target)) {
+                logger.logInfo(String.format("-> ATX upload is disabled for TEST-GUIDE installation: %s",
+                        target.getName()));
+                continue;
+            }
+            final String uploadUrl = ATXUtil.getUploadUrl(target.getConfig(), envVars);
+            if (uploadUrl == null) {
+                logger.logError(String.format("Error getting upload URL for selected TEST-GUIDE installation: %s",
+                        target.getName()));
+                return false;
+            }
+            if (isServerReachable(target, launcher, envVars)) {
+                targetUrls.put(target.getName(), uploadUrl);
+            } else if (isSpoolUploads()) {
+                logger.logWarn(String.format("-> ATX upload to %s will be spooled because TEST-GUIDE server is not "
+                        + "reachable!", target.getName()));
+                spooledTargets.add(target.getName());
+            } else {
+                logger.logWarn(String.format("-> ATX upload to %s will be skipped because TEST-GUIDE server is not "
+                        + "reachable!", target.getName()));
+            }
+        }
+        if (targetUrls.isEmpty() && spooledTargets.isEmpty()) {
+            return true;
+        }
+
+        final List<String> zipPaths = getReportArchives(installation, run, workspace, launcher, listener);
+        if (zipPaths == null) {
+            return false;
+        }
+
+        final ATXBuildAction<ATXZipReport> action = getOrAddBuildAction(run);
+        final ATXUploadSpool spool = isSpoolUploads() ? ATXUploadSpoolWork.getSpool() : null;
+        for (final String target : spooledTargets) {
+            for (final String zipPath : zipPaths) {
+                spoolReport(spool, new FilePath(launcher.getChannel(), zipPath), target, action, run);
+            }
+        }
+        if (targetUrls.isEmpty()) {
+            return true;
+        }
+
+        logger.logInfo(String.format("-> Uploading %d ATX report(s) to %d TEST-GUIDE installation(s)...",
+                zipPaths.size(), targetUrls.size()));
+        final List<ATXUploadFanOut.Result> results = launcher.getChannel().call(
+                new FanOutUploadCallable(zipPaths, targetUrls));
+
+        // Record status per report and target
+        boolean isUploaded = true;
+        for (final ATXUploadFanOut.Result result : results) {
+            final FilePath zipFile = new FilePath(launcher.getChannel(), result.getZipPath());
+            final String statusKey = ATXUploadItem.getStatusKey(zipFile.getName(), result.getTarget());
+            if (result.isUploaded()) {
+                logger.logInfo(String.format("-> Uploaded ATX report: %s", statusKey));
+                action.setUploadStatus(statusKey, ATXUploadStatus.UPLOADED);
+            } else if (spool != null) {
+                logger.logWarn(String.format("-> Upload of ATX report %s failed, spooling for a later upload: %s",
+                        statusKey, result.getError()));
+                spoolReport(spool, zipFile, result.getTarget(), action, run);
+            } else {
+                logger.logError(String.format("Error during uploading ATX report %s: %s", statusKey,
+                        result.getError()));
+                action.setUploadStatus(statusKey, ATXUploadStatus.FAILED);
+                isUploaded = false;
+            }
+        }
+        return isUploaded;
+    }
+
+    /**
+     * Collects the generated ATX report archives of all executed tests. The archives are generated only if they are
+     * missing for any test, e.g. because ECU-TEST removed them after uploading, so that they are built at most once
+     * for all additional installations.
+     *
+     * @param installation
+     *            the installation used for report generation
+     * @param run
+     *            the run
+     * @param workspace
+     *            the workspace
+     * @param launcher
+     *            the launcher
+     * @param listener
+     *            the listener
+     * @return the paths of the report archives or {@code null} if generating the archives failed
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    private List<String> getReportArchives(final ATXInstallation installation, final Run<?, ?> run,
+            final FilePath workspace, final Launcher launcher, final TaskListener listener)
+                    throws IOException, InterruptedException {
+        final List<String> zipPaths = listReportArchives(run, launcher, true);
+        if (zipPaths != null) {
+            return zipPaths;
+        }
+        final ATXReportGenerator generator = new ATXReportGenerator();
+        if (!generator.generate(isAllowMissing(), installation, run, workspace, launcher, listener)) {
+            return null;
+        }
+        return listReportArchives(run, launcher, false);
+    }
+
+    /**
+     * Lists the generated ATX report archives of all executed tests.
+     *
+     * @param run
+     *            the run
+     * @param launcher
+     *            the launcher
+     * @param complete
+     *            specifies whether the archives of every test are required
+     * @return the paths of the report archives or {@code null} if complete archives are required and the archives of
+     *         any test are missing
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    private static List<String> listReportArchives(final Run<?, ?> run, final Launcher launcher,
+            final boolean complete) throws IOException, InterruptedException {
+        final List<String> zipPaths = new ArrayList<String>();
+        for (final TestEnvInvisibleAction testEnvAction : run.getActions(TestEnvInvisibleAction.class)) {
+            final FilePath testReportDir = new FilePath(launcher.getChannel(), testEnvAction.getTestReportDir());
+            final FilePath[] zipFiles = testReportDir.list(String.format("**/%s/*.zip",
+                    AbstractATXReportHandler.ATX_TEMPLATE_NAME));
+            if (zipFiles.length == 0 && complete) {
+                return null;
+            }
+            for (final FilePath zipFile : zipFiles) {
+                zipPaths.add(zipFile.getRemote());
+            }
+        }
+        return zipPaths;
+    }
+
+    /**
+     * Copies a generated ATX report archive into the {@link ATXUploadSpool} for a later upload to the given
+     * TEST-GUIDE installation.
+     *
+     * @param spool
+     *            the upload spool
+     * @param zipFile
+     *            the report archive
+     * @param target
+     *            the name of the TEST-GUIDE installation to upload to
+     * @param action
+     *            the build action tracking the upload status
+     * @param run
+     *            the run
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    private static void spoolReport(final ATXUploadSpool spool, final FilePath zipFile, final String target,
+            final ATXBuildAction<ATXZipReport> action, final Run<?, ?> run) throws IOException,
+            InterruptedException {
+        final File spoolFile = spool.createTempFile();
+        zipFile.copyTo(new FilePath(spoolFile));
+        spool.enqueue(spoolFile, zipFile.getName(), target, target, run.getParent().getFullName(), run.getNumber());
+        action.setUploadStatus(ATXUploadItem.getStatusKey(zipFile.getName(), target), ATXUploadStatus.PENDING);
+    }
+
+    /**
+     * Gets the {@link ATXBuildAction} of the given run or adds a new one.
+     *
+     * @param run
+     *            the run
+     * @return the build action
+     */
+    @SuppressWarnings("unchecked")
+    private ATXBuildAction<ATXZipReport> getOrAddBuildAction(final Run<?, ?> run) {
+        ATXBuildAction<ATXZipReport> action = run.getAction(ATXBuildAction.class);
+        if (action == null) {
+            action = new ATXBuildAction<ATXZipReport>(!isKeepAll());
+            run.addAction(action);
+        }
+        return action;
     }
 
     /**
@@ -328,6 +752,75 @@ public class ATXPublisher extends AbstractReportPublisher {
         }
     }
 
+    /**
+     * {@link Callable} uploading the generated ATX reports concurrently to multiple TEST-GUIDE installations.
+     */
+    private static final class FanOutUploadCallable
+            extends MasterToSlaveCallable<List<ATXUploadFanOut.Result>, IOException> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<String> zipPaths;
+        private final Map<String, String> targetUrls;
+
+        /**
+         * Instantiates a new {@link FanOutUploadCallable}.
+         *
+         * @param zipPaths
+         *            the paths of the report archives
+         * @param targetUrls
+         *            the upload URLs by installation name
+         */
+        FanOutUploadCallable(final List<String> zipPaths, final Map<String, String> targetUrls) {
+            this.zipPaths = zipPaths;
+            this.targetUrls = targetUrls;
+        }
+
+        @Override
+        public List<ATXUploadFanOut.Result> call() throws IOException {
+            final List<File> zipFiles = new ArrayList<File>();
+            for (final String zipPath : zipPaths) {
+                zipFiles.add(new File(zipPath));
+            }
+            try {
+                return new ATXUploadFanOut(new ATXUploadClient(), ATXUploadSpool.MAX_PARALLEL_UPLOADS).upload(
+                        zipFiles, targetUrls);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Uploading ATX reports interrupted", e);
+            }
+        }
+    }
+
+    /**
+     * Gets the additional TEST-GUIDE installations, omitting duplicates and the selected installation.
+     *
+     * @param installation
+     *            the selected installation
+     * @param envVars
+     *            the environment variables
+     * @return the list of additional installations
+     * @throws ETPluginException
+     *             if an additional installation is not configured
+     */
+    private List<ATXInstallation> getAdditionalInstallations(final ATXInstallation installation,
+            final EnvVars envVars) throws ETPluginException {
+        final List<ATXInstallation> installations = new ArrayList<ATXInstallation>();
+        for (final ATXTarget target : getAdditionalTargets()) {
+            final ATXInstallation additionalInstallation = target.getInstallation(envVars);
+            if (additionalInstallation == null) {
+                throw new ETPluginException(String.format(
+                        "Additional TEST-GUIDE installation %s is not configured!",
+                        envVars.expand(target.getAtxName())));
+            }
+            if (!additionalInstallation.getName().equals(installation.getName())
+                    && !installations.contains(additionalInstallation)) {
+                installations.add(additionalInstallation);
+            }
+        }
+        return installations;
+    }
+
     /**
      * Gets the {@link ATXInstallation} by descriptor and name.
      *
@@ -630,7 +1123,8 @@ public class ATXPublisher extends AbstractReportPublisher {
         }
 
         /**
-         * Tests the server connection.
+         * Tests the server connection. The server is always probed, bypassing the cached server health used while
+         * publishing.
          *
          * @param serverURL
          *            the server URL
@@ -645,7 +1139,7 @@ public class ATXPublisher extends AbstractReportPublisher {
         public FormValidation doTestConnection(@QueryParameter final String serverURL,
                 @QueryParameter final String serverPort, @QueryParameter final String serverContextPath,
                 @QueryParameter final boolean useHttpsConnection) {
-            return atxValidator.testConnection(serverURL, serverPort, serverContextPath, useHttpsConnection);
+            return atxValidator.probeConnection(serverURL, serverPort, serverContextPath, useHttpsConnection);
         }
     }
 }
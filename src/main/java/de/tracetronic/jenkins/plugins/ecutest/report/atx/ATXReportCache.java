@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx;
+
+import hudson.Util;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+/**
+ * Agent-local cache of generated ATX report archives.
+ * <p>
+ * Each archive is keyed by the checksum of the TRF file, the name of its report directory, the ATX template
+ * version, the ECU-TEST version and the effective ATX settings. A cache hit restores the archive without invoking
+ * ECU-TEST.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ATXReportCache {
+
+    /**
+     * Maximum number of cached report archives, older ones are evicted first.
+     */
+    public static final int MAX_ENTRIES = 200;
+
+    private static final String ZIP_EXTENSION = ".zip";
+
+    private final File dir;
+    private final String atxVersion;
+
+    /**
+     * Instantiates a new {@link ATXReportCache}.
+     *
+     * @param dir
+     *            the cache directory
+     * @param atxVersion
+     *            the ATX template version, see {@link de.tracetronic.jenkins.plugins.ecutest.ETPlugin#ATX_VERSION}
+     */
+    public ATXReportCache(final File dir, final String atxVersion) {
+        this.dir = dir;
+        this.atxVersion = atxVersion;
+    }
+
+    /**
+     * Computes the cache key of the given TRF file.
+     *
+     * @param reportFile
+     *            the TRF file
+     * @param etVersion
+     *            the version of the ECU-TEST instance generating the report
+     * @param configMap
+     *            the effective ATX settings
+     * @return the cache key
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    public String getKey(final File reportFile, final String etVersion, final Map<String, String> configMap)
+            throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        update(digest, atxVersion);
+        update(digest, String.valueOf(etVersion));
+        update(digest, reportFile.getParentFile().getName());
+        for (final Entry<String, String> setting : new TreeMap<String, String>(configMap).entrySet()) {
+            update(digest, setting.getKey());
+            update(digest, String.valueOf(setting.getValue()));
+        }
+        final byte[] buffer = new byte[8192];
+        try (InputStream in = new FileInputStream(reportFile)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return Util.toHexString(digest.digest());
+    }
+
+    /**
+     * Updates the digest by a length-prefixed string to avoid ambiguous concatenations.
+     *
+     * @param digest
+     *            the digest
+     * @param value
+     *            the value
+     */
+    private static void update(final MessageDigest digest, final String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update(String.valueOf(bytes.length).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) ':');
+        digest.update(bytes);
+    }
+
+    /**
+     * Restores a cached report archive.
+     *
+     * @param key
+     *            the cache key
+     * @param zipFile
+     *            the target report archive
+     * @return {@code true} on a cache hit, {@code false} otherwise
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    public boolean restore(final String key, final File zipFile) throws IOException {
+        final File cachedFile = new File(dir, key + ZIP_EXTENSION);
+        if (!cachedFile.isFile()) {
+            return false;
+        }
+        final File parentDir = zipFile.getParentFile();
+        if (parentDir != null && !parentDir.isDirectory() && !parentDir.mkdirs()) {
+            throw new IOException("Could not create directory " + parentDir);
+        }
+        Files.copy(cachedFile.toPath(), zipFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        // Mark as recently used for eviction
+        cachedFile.setLastModified(System.currentTimeMillis());
+        return true;
+    }
+
+    /**
+     * Stores a generated report archive and evicts the oldest entries if the cache is full.
+     *
+     * @param key
+     *            the cache key
+     * @param zipFile
+     *            the generated report archive
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    public void store(final String key, final File zipFile) throws IOException {
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Could not create cache directory " + dir);
+        }
+        final File tmpFile = File.createTempFile("atx", ".tmp", dir);
+        try {
+            Files.copy(zipFile.toPath(), tmpFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tmpFile.toPath(), new File(dir, key + ZIP_EXTENSION).toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmpFile.toPath());
+        }
+        evict();
+    }
+
+    /**
+     * Evicts the least recently used entries exceeding {@link #MAX_ENTRIES}.
+     */
+    private void evict() {
+        final File[] entries = dir.listFiles(new FileFilter() {
+
+            @Override
+            public boolean accept(final File file) {
+                return file.isFile() && file.getName().endsWith(ZIP_EXTENSION);
+            }
+        });
+        if (entries == null || entries.length <= MAX_ENTRIES) {
+            return;
+        }
+        Arrays.sort(entries, new Comparator<File>() {
+
+            @Override
+            public int compare(final File f1, final File f2) {
+                return Long.compare(f1.lastModified(), f2.lastModified());
+            }
+        });
+        for (int i = 0; i < entries.length - MAX_ENTRIES; i++) {
+            entries[i].delete();
+        }
+    }
+}
@@ -29,29 +29,34 @@
  */
 package de.tracetronic.jenkins.plugins.ecutest.report.atx;
 
-import hudson.EnvVars;
 import hudson.FilePath;
 import hudson.Launcher;
 import hudson.Util;
 import hudson.model.TaskListener;
+import hudson.model.Computer;
+import hudson.model.Node;
 import hudson.model.Run;
 import hudson.remoting.Callable;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
+import javax.annotation.CheckForNull;
+
+import de.tracetronic.jenkins.plugins.ecutest.ETPlugin;
 import de.tracetronic.jenkins.plugins.ecutest.env.TestEnvInvisibleAction;
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
 import de.tracetronic.jenkins.plugins.ecutest.report.AbstractReportPublisher;
-import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXConfig;
 import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXInstallation;
 import de.tracetronic.jenkins.plugins.ecutest.report.trf.TRFPublisher;
-import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComClient;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
-import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.TestEnvironment;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComApplication;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestEnvironment;
 
 /**
  * Class providing the generation of {@link ATXReport}s.
@@ -60,6 +65,11 @@ import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.TestEnvironment;
  */
 public class ATXReportGenerator extends AbstractATXReportHandler {
 
+    /**
+     * Defines the name of the {@link ATXReportCache} directory relative to the node root.
+     */
+    private static final String CACHE_DIR_NAME = "ecutest-atx-cache";
+
     /**
      * Generates {@link ATXReport}s without uploading them.
      *
@@ -75,6 +85,8 @@ public class ATXReportGenerator extends AbstractATXReportHandler {
      *            the ATX installation
      * @param run
      *            the run
+     * @param workspace
+     *            the workspace
      * @param launcher
      *            the launcher
      * @param listener
@@ -87,35 +99,16 @@ public class ATXReportGenerator extends AbstractATXReportHandler {
      */
     @SuppressWarnings("checkstyle:cyclomaticcomplexity")
     public boolean generate(final FilePath archiveTarget, final boolean allowMissing, final boolean isArchiving,
-            final boolean keepAll, final ATXInstallation installation, final Run<?, ?> run, final Launcher launcher,
-            final TaskListener listener) throws IOException, InterruptedException {
+            final boolean keepAll, final ATXInstallation installation, final Run<?, ?> run, final FilePath workspace,
+            final Launcher launcher, final TaskListener listener) throws IOException, InterruptedException {
         final TTConsoleLogger logger = new TTConsoleLogger(listener);
         final List<FilePath> reportFiles = new ArrayList<FilePath>();
-        final List<TestEnvInvisibleAction> testEnvActions = run.getActions(TestEnvInvisibleAction.class);
-        for (final TestEnvInvisibleAction testEnvAction : testEnvActions) {
-            final FilePath testReportDir = new FilePath(launcher.getChannel(), testEnvAction.getTestReportDir());
-            final FilePath reportFile = testReportDir.child(TRFPublisher.TRF_FILE_NAME);
-            if (reportFile.exists()) {
-                reportFiles.addAll(Arrays.asList(testReportDir.list("**/" + TRFPublisher.TRF_FILE_NAME)));
-            } else {
-                if (allowMissing) {
-                    continue;
-                } else {
-                    logger.logError(String.format("Specified TRF file '%s' does not exist.", reportFile));
-                    return false;
-                }
-            }
-        }
-
-        if (reportFiles.isEmpty() && !allowMissing) {
-            logger.logError("Empty test results are not allowed, setting build status to FAILURE!");
+        if (!collectReportFiles(reportFiles, allowMissing, run, launcher, logger)) {
             return false;
         }
 
         // Generate ATX reports
-        final boolean isGenerated = launcher.getChannel().call(
-                new GenerateReportCallable(installation.getConfig(), reportFiles, run.getEnvironment(listener),
-                        listener));
+        final boolean isGenerated = generateReports(reportFiles, installation, run, workspace, launcher, listener);
 
         if (isArchiving) {
             // Removing old artifacts at project level
@@ -145,7 +138,10 @@ public class ATXReportGenerator extends AbstractATXReportHandler {
                         logger.logError("Failed archiving generated ATX reports.");
                         return false;
                     }
-                    index = traverseReports(atxReports, archiveTargetDir, index);
+                    final ATXReportTree reportTree = ATXReportTree.scan(archiveTargetDir);
+                    if (reportTree != null) {
+                        index = addReports(atxReports, reportTree, index);
+                    }
                 }
                 addBuildAction(run, atxReports, keepAll);
             }
@@ -157,73 +153,161 @@ public class ATXReportGenerator extends AbstractATXReportHandler {
     }
 
     /**
-     * Creates the main report and adds the sub-reports by traversing them recursively.
+     * Generates the {@link ATXReport} archives next to their TRF files without archiving them, e.g. to upload them
+     * to further TEST-GUIDE installations. Reports already generated before are restored from the
+     * {@link ATXReportCache}.
      *
-     * @param atxReports
-     *            the ATX reports
-     * @param archiveTargetDir
-     *            the archive target directory
-     * @param id
-     *            the report id
-     * @return the current report id
+     * @param allowMissing
+     *            specifies whether missing reports are allowed
+     * @param installation
+     *            the ATX installation
+     * @param run
+     *            the run
+     * @param workspace
+     *            the workspace
+     * @param launcher
+     *            the launcher
+     * @param listener
+     *            the listener
+     * @return {@code true} if generation succeeded, {@code false} otherwise
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    public boolean generate(final boolean allowMissing, final ATXInstallation installation, final Run<?, ?> run,
+            final FilePath workspace, final Launcher launcher, final TaskListener listener) throws IOException,
+            InterruptedException {
+        final List<FilePath> reportFiles = new ArrayList<FilePath>();
+        return collectReportFiles(reportFiles, allowMissing, run, launcher, new TTConsoleLogger(listener))
+                && generateReports(reportFiles, installation, run, workspace, launcher, listener);
+    }
+
+    /**
+     * Collects the TRF files of all executed tests.
+     *
+     * @param reportFiles
+     *            the list to add the found TRF files to
+     * @param allowMissing
+     *            specifies whether missing reports are allowed
+     * @param run
+     *            the run
+     * @param launcher
+     *            the launcher
+     * @param logger
+     *            the logger
+     * @return {@code true} if all required TRF files are found, {@code false} otherwise
      * @throws IOException
      *             signals that an I/O exception has occurred
      * @throws InterruptedException
      *             if the build gets interrupted
      */
-    private int traverseReports(final List<ATXZipReport> atxReports, final FilePath archiveTargetDir, int id)
-            throws IOException, InterruptedException {
-        final FilePath[] zipFiles = archiveTargetDir.list(String.format("%s/%s.zip", ATX_TEMPLATE_NAME,
-                archiveTargetDir.getName()));
-        if (zipFiles.length == 1) {
-            final FilePath zipFile = zipFiles[0];
-            final String relFilePath = archiveTargetDir.getParent().toURI().relativize(zipFile.toURI())
-                    .getPath();
-            final ATXZipReport atxReport = new ATXZipReport(String.format("%d", ++id),
-                    zipFile.getBaseName(), relFilePath, zipFile.length());
-            atxReports.add(atxReport);
+    private boolean collectReportFiles(final List<FilePath> reportFiles, final boolean allowMissing,
+            final Run<?, ?> run, final Launcher launcher, final TTConsoleLogger logger) throws IOException,
+            InterruptedException {
+        final List<TestEnvInvisibleAction> testEnvActions = run.getActions(TestEnvInvisibleAction.class);
+        for (final TestEnvInvisibleAction testEnvAction : testEnvActions) {
+            final FilePath testReportDir = new FilePath(launcher.getChannel(), testEnvAction.getTestReportDir());
+            final FilePath reportFile = testReportDir.child(TRFPublisher.TRF_FILE_NAME);
+            if (reportFile.exists()) {
+                reportFiles.addAll(Arrays.asList(testReportDir.list("**/" + TRFPublisher.TRF_FILE_NAME)));
+            } else {
+                if (allowMissing) {
+                    continue;
+                } else {
+                    logger.logError(String.format("Specified TRF file '%s' does not exist.", reportFile));
+                    return false;
+                }
+            }
+        }
 
-            // Search for sub-reports
-            id = traverseSubReports(atxReport, archiveTargetDir.getParent(), archiveTargetDir, id);
+        if (reportFiles.isEmpty() && !allowMissing) {
+            logger.logError("Empty test results are not allowed, setting build status to FAILURE!");
+            return false;
         }
-        return id;
+        return true;
     }
 
     /**
-     * Builds a list of report files for ATX report generation without upload.
-     * Includes the report files generated during separate sub-project execution.
+     * Generates the ATX reports of the given TRF files remotely.
      *
-     * @param atxReport
-     *            the ATX report
-     * @param testReportDir
-     *            the main test report directory
-     * @param subTestReportDir
-     *            the sub test report directory
-     * @param id
-     *            the id increment
-     * @return the current id increment
+     * @param reportFiles
+     *            the TRF files
+     * @param installation
+     *            the ATX installation
+     * @param run
+     *            the run
+     * @param workspace
+     *            the workspace
+     * @param launcher
+     *            the launcher
+     * @param listener
+     *            the listener
+     * @return {@code true} if generation succeeded, {@code false} otherwise
      * @throws IOException
      *             signals that an I/O exception has occurred
      * @throws InterruptedException
      *             if the build gets interrupted
      */
-    private int traverseSubReports(final ATXZipReport atxReport, final FilePath testReportDir,
-            final FilePath subTestReportDir, int id) throws IOException, InterruptedException {
-        for (final FilePath subDir : subTestReportDir.listDirectories()) {
-            final FilePath[] reportFiles = subDir.list(String.format("%s/%s.zip", ATX_TEMPLATE_NAME,
-                    subDir.getName()));
-            if (reportFiles.length == 1) {
-                // Prepare ATX report information for sub-report
-                final FilePath reportFile = reportFiles[0];
-                final String fileName = reportFile.getBaseName().replaceFirst("^Report\\s", "");
-                final String relFilePath = testReportDir.toURI().relativize(reportFile.toURI()).getPath();
-                final ATXZipReport subReport = new ATXZipReport(String.format("%d", ++id), fileName, relFilePath,
-                        reportFile.length());
-                atxReport.addSubReport(subReport);
+    private boolean generateReports(final List<FilePath> reportFiles, final ATXInstallation installation,
+            final Run<?, ?> run, final FilePath workspace, final Launcher launcher, final TaskListener listener)
+                    throws IOException, InterruptedException {
+        return launcher.getChannel().call(
+                new GenerateReportCallable(installation.getSettingsTemplate().expand(run.getEnvironment(listener)),
+                        reportFiles, getCacheDir(workspace), listener));
+    }
 
-                // Search for sub-reports
-                id = traverseSubReports(subReport, testReportDir, subDir, id);
-            }
+    /**
+     * Gets the directory of the agent-local {@link ATXReportCache} on the node of the given workspace.
+     *
+     * @param workspace
+     *            the workspace
+     * @return the remote cache directory or {@code null} if not available
+     */
+    @CheckForNull
+    private String getCacheDir(@CheckForNull final FilePath workspace) {
+        final Computer computer = workspace == null ? null : workspace.toComputer();
+        final Node node = computer == null ? null : computer.getNode();
+        final FilePath rootPath = node == null ? null : node.getRootPath();
+        return rootPath == null ? null : rootPath.child(CACHE_DIR_NAME).getRemote();
+    }
+
+    /**
+     * Creates the main report and adds the sub-reports of the discovered report tree.
+     *
+     * @param atxReports
+     *            the ATX reports
+     * @param reportTree
+     *            the discovered report tree
+     * @param id
+     *            the report id
+     * @return the current report id
+     */
+    private int addReports(final List<ATXZipReport> atxReports, final ATXReportTree reportTree, int id) {
+        final ATXZipReport atxReport = new ATXZipReport(String.format("%d", ++id), reportTree.getName(),
+                reportTree.getZipPath(), reportTree.getZipSize());
+        atxReports.add(atxReport);
+        return addSubReports(atxReport, reportTree, id);
+    }
+
+    /**
+     * Adds the sub-reports generated during separate sub-project execution recursively.
+     *
+     * @param atxReport
+     *            the ATX report
+     * @param reportTree
+     *            the report tree of the ATX report
+     * @param id
+     *            the id increment
+     * @return the current id increment
+     */
+    private int addSubReports(final ATXZipReport atxReport, final ATXReportTree reportTree, int id) {
+        for (final ATXReportTree subTree : reportTree.getSubTrees()) {
+            final String title = subTree.getName().replaceFirst("^Report\\s", "");
+            final ATXZipReport subReport = new ATXZipReport(String.format("%d", ++id), title,
+                    subTree.getZipPath(), subTree.getZipSize());
+            atxReport.addSubReport(subReport);
+            id = addSubReports(subReport, subTree, id);
         }
         return id;
     }
@@ -251,51 +335,94 @@ public class ATXReportGenerator extends AbstractATXReportHandler {
     /**
      * {@link Callable} enabling generating ATX reports remotely.
      */
-    private static final class GenerateReportCallable extends AbstractReportCallable {
+    private static final class GenerateReportCallable extends AbstractReportCallable<Boolean> {
 
         private static final long serialVersionUID = 1L;
 
+        private final String cacheDir;
+        private final String atxVersion = ETPlugin.ATX_VERSION.toString();
+
         /**
          * Instantiates a new {@link GenerateReportCallable}.
          *
-         * @param config
-         *            the ATX configuration
+         * @param configMap
+         *            the expanded configuration map
          * @param reportFiles
          *            the list of TRF files
-         * @param envVars
-         *            the environment variables
+         * @param cacheDir
+         *            the directory of the {@link ATXReportCache} or {@code null} to disable caching
          * @param listener
          *            the listener
          */
-        GenerateReportCallable(final ATXConfig config, final List<FilePath> reportFiles, final EnvVars envVars,
-                final TaskListener listener) {
-            super(config, reportFiles, envVars, listener);
+        GenerateReportCallable(final Map<String, String> configMap, final List<FilePath> reportFiles,
+                final String cacheDir, final TaskListener listener) {
+            super(configMap, reportFiles, listener);
+            this.cacheDir = cacheDir;
         }
 
         @Override
         public Boolean call() throws IOException {
-            boolean isGenerated = true;
+            boolean isGenerated = false;
+            try {
+                isGenerated = ETComSession.getInstance().execute(ETComSession.DEFAULT_TIMEOUT,
+                        ETComSession.NO_TASK_TIMEOUT, this);
+            } catch (final ETComException e) {
+                final TTConsoleLogger logger = new TTConsoleLogger(getListener());
+                logger.logError("Caught ComException: " + e.getMessage());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                final TTConsoleLogger logger = new TTConsoleLogger(getListener());
+                logger.logError("-> Interrupted while waiting for ECU-TEST!");
+            }
+            return isGenerated;
+        }
+
+        @Override
+        public Boolean call(final ComApplication comClient) throws ETComException {
             final TTConsoleLogger logger = new TTConsoleLogger(getListener());
             final Map<String, String> configMap = getConfigMap(false);
-            try (ETComClient comClient = new ETComClient()) {
-                final TestEnvironment testEnv = (TestEnvironment) comClient.getTestEnvironment();
-                final List<FilePath> reportFiles = getReportFiles();
-                if (reportFiles.isEmpty()) {
-                    logger.logInfo("-> No report files found to generate!");
-                } else {
-                    for (final FilePath reportFile : reportFiles) {
-                        logger.logInfo(String.format("-> Generating ATX report: %s", reportFile.getRemote()));
-                        final FilePath outDir = reportFile.getParent().child(ATX_TEMPLATE_NAME);
-                        testEnv.generateTestReportDocumentFromDB(reportFile.getRemote(),
-                                outDir.getRemote(), ATX_TEMPLATE_NAME, true, configMap);
-                        comClient.waitForIdle(0);
+            final List<FilePath> reportFiles = getReportFiles();
+            if (reportFiles.isEmpty()) {
+                logger.logInfo("-> No report files found to generate!");
+                return true;
+            }
+            try (ComTestEnvironment testEnv = comClient.getTestEnvironment()) {
+                final ATXReportCache cache = cacheDir == null ? null
+                        : new ATXReportCache(new File(cacheDir), atxVersion);
+                final String etVersion = cache == null ? null : comClient.getVersion();
+                for (final FilePath reportFile : reportFiles) {
+                    final FilePath outDir = reportFile.getParent().child(ATX_TEMPLATE_NAME);
+                    final File zipFile = new File(outDir.getRemote(), reportFile.getParent().getName() + ".zip");
+                    String cacheKey = null;
+                    if (cache != null) {
+                        try {
+                            cacheKey = cache.getKey(new File(reportFile.getRemote()), etVersion, configMap);
+                            if (cache.restore(cacheKey, zipFile)) {
+                                logger.logInfo(String.format("-> Reusing cached ATX report: %s",
+                                        reportFile.getRemote()));
+                                continue;
+                            }
+                        } catch (final IOException e) {
+                            logger.logWarn("-> Could not access ATX report cache: " + e.getMessage());
+                            cacheKey = null;
+                        }
+                    }
+
+                    logger.logInfo(String.format("-> Generating ATX report: %s", reportFile.getRemote()));
+                    testEnv.generateTestReportDocumentFromDB(reportFile.getRemote(),
+                            outDir.getRemote(), ATX_TEMPLATE_NAME, true, configMap);
+                    comClient.waitForIdle(0);
+
+                    if (cacheKey != null && zipFile.exists()) {
+                        try {
+                            cache.store(cacheKey, zipFile);
+                        } catch (final IOException e) {
+                            logger.logWarn("-> Could not cache ATX report: " + e.getMessage());
+                        }
                     }
                 }
-            } catch (final ETComException e) {
-                isGenerated = false;
-                logger.logError("Caught ComException: " + e.getMessage());
             }
-            return isGenerated;
+            return true;
         }
     }
 }
@@ -0,0 +1,207 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import de.tracetronic.jenkins.plugins.ecutest.env.TestEnvInvisibleAction.TestType;
+import de.tracetronic.jenkins.plugins.ecutest.report.trf.TRFPublisher;
+import de.tracetronic.jenkins.plugins.ecutest.util.ATXUtil;
+
+/**
+ * Builds the {@link ATXReport} links of a whole report tree in a single pass.
+ * <p>
+ * The URL prefixes only depend on the TEST-GUIDE base URL and the date range and are therefore built once per
+ * instance, while the report tree is derived from the already listed report files instead of probing each
+ * sub-directory separately.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public final class ATXReportLinkBuilder {
+
+    /**
+     * Defines the API URL for linking ATX trend reports.
+     */
+    private static final String ATX_TREND_URL = "wicket/bookmarkable/"
+            + "de.tracetronic.ttstm.web.detail.TestReportViewPage?testCase";
+
+    private final String pkgReportPrefix;
+    private final String prjReportPrefix;
+    private final String trendReportPrefix;
+
+    /**
+     * Instantiates a new {@link ATXReportLinkBuilder}.
+     *
+     * @param baseUrl
+     *            the base URL
+     * @param from
+     *            the start date
+     * @param to
+     *            the end date
+     */
+    public ATXReportLinkBuilder(final String baseUrl, final String from, final String to) {
+        final String reportPrefix = baseUrl + "/reports?dateFrom=" + from + "&dateTo=" + to;
+        pkgReportPrefix = reportPrefix + "&testcase=";
+        prjReportPrefix = reportPrefix + "&testexecplan=";
+        trendReportPrefix = baseUrl + "/" + ATX_TREND_URL + "=";
+    }
+
+    /**
+     * Gets the package report URL pre-filtered by the start and end date.
+     *
+     * @param testName
+     *            the test name
+     * @return the report URL
+     */
+    public String getPkgReportUrl(final String testName) {
+        return pkgReportPrefix + testName;
+    }
+
+    /**
+     * Gets the project report URL pre-filtered by the start and end date.
+     *
+     * @param testName
+     *            the test name
+     * @return the report URL
+     */
+    public String getPrjReportUrl(final String testName) {
+        return prjReportPrefix + testName;
+    }
+
+    /**
+     * Gets the package trend report URL.
+     *
+     * @param testName
+     *            the test name
+     * @return the trend report URL
+     */
+    public String getPkgTrendReportUrl(final String testName) {
+        return trendReportPrefix + testName;
+    }
+
+    /**
+     * Creates the main report including all of its sub-reports and adds it to the given list.
+     * <p>
+     * A sub-report directory is only linked if its parent directory contains a report as well. Sibling
+     * directories are ordered by name.
+     *
+     * @param atxReports
+     *            the ATX reports to add the main report to
+     * @param id
+     *            the last assigned report id
+     * @param title
+     *            the report title
+     * @param testName
+     *            the test name
+     * @param testType
+     *            the test type
+     * @param reportPaths
+     *            the report file paths relative to the main test report directory
+     * @return the last assigned report id
+     */
+    public int build(final List<ATXReport> atxReports, int id, final String title, final String testName,
+            final TestType testType, final String[] reportPaths) {
+        final String atxTestName = ATXUtil.getValidATXName(testName);
+        final ATXReport atxReport;
+        if (testType == TestType.PACKAGE) {
+            atxReport = new ATXReport(String.valueOf(++id), title, getPkgReportUrl(atxTestName));
+            atxReport.addSubReport(new ATXReport(String.valueOf(++id), title,
+                    getPkgTrendReportUrl(atxTestName), true));
+        } else {
+            atxReport = new ATXReport(String.valueOf(++id), title, getPrjReportUrl(atxTestName));
+        }
+        atxReports.add(atxReport);
+
+        final ReportDir root = new ReportDir();
+        for (final String reportPath : reportPaths) {
+            root.add(reportPath.split("[/\\\\]"));
+        }
+        return addSubReports(atxReport, root, id);
+    }
+
+    /**
+     * Adds the sub-reports of the given directory in pre-order.
+     *
+     * @param atxReport
+     *            the parent ATX report
+     * @param dir
+     *            the directory of the parent report
+     * @param id
+     *            the last assigned report id
+     * @return the last assigned report id
+     */
+    private int addSubReports(final ATXReport atxReport, final ReportDir dir, int id) {
+        for (final Map.Entry<String, ReportDir> child : dir.children.entrySet()) {
+            final ReportDir subDir = child.getValue();
+            if (subDir.hasReport) {
+                final String testName = child.getKey().replaceFirst("^Report\\s", "");
+                final ATXReport subReport = new ATXReport(String.valueOf(++id), testName,
+                        getPrjReportUrl(ATXUtil.getValidATXName(testName)));
+                atxReport.addSubReport(subReport);
+                id = addSubReports(subReport, subDir, id);
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Directory node of the report tree.
+     */
+    private static final class ReportDir {
+
+        private final Map<String, ReportDir> children = new TreeMap<String, ReportDir>();
+        private boolean hasReport;
+
+        /**
+         * Adds a report file given by its path segments.
+         *
+         * @param segments
+         *            the path segments relative to this directory
+         */
+        void add(final String[] segments) {
+            final int last = segments.length - 1;
+            if (last < 0 || !TRFPublisher.TRF_FILE_NAME.equals(segments[last])) {
+                return;
+            }
+            ReportDir dir = this;
+            for (int i = 0; i < last; i++) {
+                ReportDir child = dir.children.get(segments[i]);
+                if (child == null) {
+                    child = new ReportDir();
+                    dir.children.put(segments[i], child);
+                }
+                dir = child;
+            }
+            dir.hasReport = true;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx;
+
+import hudson.FilePath;
+import hudson.FilePath.FileCallable;
+import hudson.remoting.VirtualChannel;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.CheckForNull;
+
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Serializable tree of generated ATX zip reports, discovered by a single {@link FileCallable} instead of
+ * listing each report directory remotely.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public final class ATXReportTree implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String name;
+    private final String zipPath;
+    private final long zipSize;
+    private final List<ATXReportTree> subTrees;
+
+    /**
+     * Instantiates a new {@link ATXReportTree}.
+     *
+     * @param name
+     *            the name of the report directory
+     * @param zipPath
+     *            the zip file path relative to the parent of the main report directory
+     * @param zipSize
+     *            the zip file size
+     * @param subTrees
+     *            the sub-report trees
+     */
+    private ATXReportTree(final String name, final String zipPath, final long zipSize,
+            final List<ATXReportTree> subTrees) {
+        this.name = name;
+        this.zipPath = zipPath;
+        this.zipSize = zipSize;
+        this.subTrees = subTrees;
+    }
+
+    /**
+     * @return the name of the report directory
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the zip file path relative to the parent of the main report directory
+     */
+    public String getZipPath() {
+        return zipPath;
+    }
+
+    /**
+     * @return the zip file size
+     */
+    public long getZipSize() {
+        return zipSize;
+    }
+
+    /**
+     * @return the sub-report trees ordered by directory name
+     */
+    public List<ATXReportTree> getSubTrees() {
+        return Collections.unmodifiableList(subTrees);
+    }
+
+    /**
+     * Discovers the complete ATX report tree in one round-trip to the node holding the report directory.
+     *
+     * @param reportDir
+     *            the main report directory
+     * @return the report tree or {@code null} if the main report directory contains no ATX report
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    @CheckForNull
+    public static ATXReportTree scan(final FilePath reportDir) throws IOException, InterruptedException {
+        return reportDir.act(new ScanCallable());
+    }
+
+    /**
+     * Discovers the complete ATX report tree locally.
+     *
+     * @param reportDir
+     *            the main report directory
+     * @return the report tree or {@code null} if the main report directory contains no ATX report
+     */
+    @CheckForNull
+    static ATXReportTree scan(final File reportDir) {
+        return scan(reportDir, reportDir.getName());
+    }
+
+    /**
+     * Builds the report tree of the given directory including all sub-directories containing an ATX report
+     * themselves.
+     *
+     * @param dir
+     *            the report directory
+     * @param relPath
+     *            the directory path relative to the parent of the main report directory
+     * @return the report tree or {@code null} if the directory contains no ATX report
+     */
+    @CheckForNull
+    private static ATXReportTree scan(final File dir, final String relPath) {
+        final String zipName = dir.getName() + ".zip";
+        final File zipFile = new File(new File(dir, AbstractATXReportHandler.ATX_TEMPLATE_NAME), zipName);
+        if (!zipFile.isFile()) {
+            return null;
+        }
+
+        final List<ATXReportTree> subTrees = new ArrayList<ATXReportTree>();
+        final File[] subDirs = dir.listFiles(new FileFilter() {
+
+            @Override
+            public boolean accept(final File file) {
+                return file.isDirectory();
+            }
+        });
+        if (subDirs != null) {
+            Arrays.sort(subDirs);
+            for (final File subDir : subDirs) {
+                final ATXReportTree subTree = scan(subDir, relPath + "/" + subDir.getName());
+                if (subTree != null) {
+                    subTrees.add(subTree);
+                }
+            }
+        }
+        return new ATXReportTree(dir.getName(), String.format("%s/%s/%s", relPath,
+                AbstractATXReportHandler.ATX_TEMPLATE_NAME, zipName), zipFile.length(), subTrees);
+    }
+
+    /**
+     * {@link FileCallable} discovering the ATX report tree on the node holding the report directory.
+     */
+    private static final class ScanCallable extends MasterToSlaveFileCallable<ATXReportTree> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public ATXReportTree invoke(final File reportDir, final VirtualChannel channel) throws IOException,
+                InterruptedException {
+            return scan(reportDir);
+        }
+    }
+}
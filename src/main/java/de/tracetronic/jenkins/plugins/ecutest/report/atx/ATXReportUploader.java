@@ -41,23 +41,25 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CopyOnWriteArrayList;
 
-import net.sf.json.JSONArray;
-import net.sf.json.JSONException;
-import net.sf.json.JSONObject;
-import net.sf.json.groovy.JsonSlurper;
 import de.tracetronic.jenkins.plugins.ecutest.env.TestEnvInvisibleAction;
-import de.tracetronic.jenkins.plugins.ecutest.env.TestEnvInvisibleAction.TestType;
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
-import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXConfig;
 import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXInstallation;
+import de.tracetronic.jenkins.plugins.ecutest.report.atx.upload.ATXErrorLog;
+import de.tracetronic.jenkins.plugins.ecutest.report.atx.upload.ATXUploadClient;
+import de.tracetronic.jenkins.plugins.ecutest.report.atx.upload.ATXUploadPipeline;
+import de.tracetronic.jenkins.plugins.ecutest.report.atx.upload.ATXUploadSpool;
 import de.tracetronic.jenkins.plugins.ecutest.report.trf.TRFPublisher;
 import de.tracetronic.jenkins.plugins.ecutest.util.ATXUtil;
-import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComClient;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
-import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.TestEnvironment;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComApplication;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestEnvironment;
 
 /**
  * Class providing the generation and upload of {@link ATXReport}s.
@@ -66,11 +68,17 @@ import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.TestEnvironment;
  */
 public class ATXReportUploader extends AbstractATXReportHandler {
 
+    private List<String> uploadedFiles = Collections.emptyList();
+
     /**
-     * Defines the API URL for linking ATX trend reports.
+     * Gets the TRF files whose ATX reports have been uploaded by the last upload, which is a subset of all report
+     * files if the upload failed partly.
+     *
+     * @return the paths of the uploaded TRF files
      */
-    private static final String ATX_TREND_URL = "wicket/bookmarkable/"
-            + "de.tracetronic.ttstm.web.detail.TestReportViewPage?testCase";
+    public List<String> getUploadedFiles() {
+        return uploadedFiles;
+    }
 
     /**
      * Generates and uploads {@link ATXReport}s.
@@ -93,31 +101,64 @@ public class ATXReportUploader extends AbstractATXReportHandler {
      */
     public boolean upload(final boolean allowMissing, final ATXInstallation installation, final Run<?, ?> run,
             final Launcher launcher, final TaskListener listener) throws IOException, InterruptedException {
+        return upload(allowMissing, false, installation, run, launcher, listener);
+    }
+
+    /**
+     * Generates and uploads {@link ATXReport}s.
+     *
+     * @param allowMissing
+     *            specifies whether missing reports are allowed
+     * @param pipelined
+     *            specifies whether the upload of each generated report overlaps with the generation of the next one
+     * @param installation
+     *            the ATX installation
+     * @param run
+     *            the run
+     * @param launcher
+     *            the launcher
+     * @param listener
+     *            the listener
+     * @return {@code true} if upload succeeded, {@code false} otherwise
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    public boolean upload(final boolean allowMissing, final boolean pipelined, final ATXInstallation installation,
+            final Run<?, ?> run, final Launcher launcher, final TaskListener listener)
+                    throws IOException, InterruptedException {
         final TTConsoleLogger logger = new TTConsoleLogger(listener);
         final List<ATXReport> atxReports = new ArrayList<ATXReport>();
         final List<FilePath> uploadFiles = new ArrayList<FilePath>();
 
+        final EnvVars envVars = run.getEnvironment(listener);
+        ATXReportLinkBuilder linkBuilder = null;
         int index = 0;
         final List<TestEnvInvisibleAction> testEnvActions = run.getActions(TestEnvInvisibleAction.class);
         for (final TestEnvInvisibleAction testEnvAction : testEnvActions) {
             final FilePath testReportDir = new FilePath(launcher.getChannel(), testEnvAction.getTestReportDir());
             final FilePath reportFile = testReportDir.child(TRFPublisher.TRF_FILE_NAME);
             if (reportFile.exists()) {
-                uploadFiles.addAll(Arrays.asList(testReportDir.list("**/" + TRFPublisher.TRF_FILE_NAME)));
+                final FilePath[] reportFiles = testReportDir.list("**/" + TRFPublisher.TRF_FILE_NAME);
+                uploadFiles.addAll(Arrays.asList(reportFiles));
 
                 // Prepare ATX report information
-                final String baseUrl = ATXUtil.getBaseUrl(installation.getConfig(), run.getEnvironment(listener));
-                if (baseUrl == null) {
-                    logger.logError(String.format("Error getting base URL for selected TEST-GUIDE installation: %s",
-                            installation.getName()));
-                    return false;
+                if (linkBuilder == null) {
+                    final String baseUrl = ATXUtil.getBaseUrl(installation.getConfig(), envVars);
+                    if (baseUrl == null) {
+                        logger.logError(String.format(
+                                "Error getting base URL for selected TEST-GUIDE installation: %s",
+                                installation.getName()));
+                        return false;
+                    }
+                    final String from = String.valueOf(run.getStartTimeInMillis());
+                    final String to = String.valueOf(Calendar.getInstance().getTimeInMillis());
+                    linkBuilder = new ATXReportLinkBuilder(baseUrl, from, to);
                 }
-                final String from = String.valueOf(run.getStartTimeInMillis());
-                final String to = String.valueOf(Calendar.getInstance().getTimeInMillis());
                 final String title = reportFile.getParent().getName();
-                final String testName = testEnvAction.getTestName();
-                final TestType testType = testEnvAction.getTestType();
-                index = traverseReports(atxReports, testReportDir, index, title, baseUrl, from, to, testName, testType);
+                index = linkBuilder.build(atxReports, index, title, testEnvAction.getTestName(),
+                        testEnvAction.getTestType(), getRelativePaths(testReportDir, reportFiles));
             } else {
                 if (allowMissing) {
                     continue;
@@ -134,108 +175,66 @@ public class ATXReportUploader extends AbstractATXReportHandler {
         }
 
         // Upload ATX reports
-        final boolean isUploaded = launcher.getChannel().call(
-                new UploadReportCallable(installation.getConfig(), uploadFiles, run.getEnvironment(listener),
+        final String uploadUrl = pipelined ? ATXUtil.getUploadUrl(installation.getConfig(), envVars) : null;
+        uploadedFiles = launcher.getChannel().call(
+                new UploadReportCallable(installation.getSettingsTemplate().expand(envVars), uploadFiles, uploadUrl,
                         listener));
+        final boolean isUploaded = uploadedFiles.size() == uploadFiles.size();
         if (isUploaded) {
             addBuildAction(run, atxReports);
+        } else {
+            archiveErrorLogs(run, uploadFiles, logger);
         }
 
         return isUploaded;
     }
 
     /**
-     * Creates the main report and adds the sub-reports by traversing them recursively.
+     * Archives the full ATX upload error logs as build artifacts, while the console only shows a summary.
      *
-     * @param atxReports
-     *            the ATX reports
-     * @param testReportDir
-     *            the test report directory
-     * @param id
-     *            the report id
-     * @param title
-     *            the report title
-     * @param baseUrl
-     *            the base URL
-     * @param from
-     *            the from date
-     * @param to
-     *            the to date
-     * @param testName
-     *            the test name
-     * @param testType
-     *            the test type
-     * @return the current report id
+     * @param run
+     *            the run
+     * @param uploadFiles
+     *            the uploaded TRF files
+     * @param logger
+     *            the logger
      * @throws IOException
      *             signals that an I/O exception has occurred
      * @throws InterruptedException
      *             if the build gets interrupted
      */
-    private int traverseReports(final List<ATXReport> atxReports, final FilePath testReportDir, int id,
-            final String title, final String baseUrl, final String from, final String to, final String testName,
-            final TestType testType)
-                    throws IOException, InterruptedException {
-        // Prepare ATX report information
-        String reportUrl = null;
-        String trendReportUrl = null;
-        final String atxTestName = ATXUtil.getValidATXName(testName);
-        if (testType == TestType.PACKAGE) {
-            reportUrl = getPkgReportUrl(baseUrl, from, to, atxTestName);
-            trendReportUrl = getPkgTrendReportUrl(baseUrl, atxTestName);
-        } else {
-            reportUrl = getPrjReportUrl(baseUrl, from, to, atxTestName);
-        }
-
-        final ATXReport atxReport = new ATXReport(String.format("%d", ++id), title, reportUrl);
-        if (trendReportUrl != null) {
-            atxReport.addSubReport(new ATXReport(String.format("%d", ++id), title, trendReportUrl, true));
+    private void archiveErrorLogs(final Run<?, ?> run, final List<FilePath> uploadFiles,
+            final TTConsoleLogger logger) throws IOException, InterruptedException {
+        final FilePath archiveDir = new FilePath(run.getArtifactsDir()).child(ATX_TEMPLATE_NAME);
+        for (final FilePath uploadFile : uploadFiles) {
+            final FilePath errorFile = uploadFile.getParent().child(ATX_TEMPLATE_NAME)
+                    .child(ATXErrorLog.ERROR_FILE_NAME);
+            if (errorFile.exists()) {
+                final String artifactName = String.format("%s_%s", uploadFile.getParent().getName(),
+                        ATXErrorLog.ERROR_FILE_NAME);
+                errorFile.copyTo(archiveDir.child(artifactName));
+                logger.logInfo(String.format("-> Archived full ATX error log as build artifact: %s/%s",
+                        ATX_TEMPLATE_NAME, artifactName));
+            }
         }
-        atxReports.add(atxReport);
-
-        // Search for sub-reports
-        id = traverseSubReports(atxReport, testReportDir, id, baseUrl, from, to);
-        return id;
     }
 
     /**
-     * Builds a list of report files for ATX report generation and upload.
-     * Includes the report files generated during separate sub-project execution.
+     * Gets the paths of the given report files relative to the test report directory.
      *
-     * @param atxReport
-     *            the ATX report
      * @param testReportDir
      *            the main test report directory
-     * @param id
-     *            the id increment
-     * @param baseUrl
-     *            the base URL
-     * @param from
-     *            the from date
-     * @param to
-     *            the to date
-     * @return the current id increment
-     * @throws IOException
-     *             signals that an I/O exception has occurred
-     * @throws InterruptedException
-     *             if the build gets interrupted
+     * @param reportFiles
+     *            the report files located in the test report directory
+     * @return the relative report file paths
      */
-    private int traverseSubReports(final ATXReport atxReport, final FilePath testReportDir, int id,
-            final String baseUrl, final String from, final String to)
-                    throws IOException, InterruptedException {
-        for (final FilePath subDir : testReportDir.listDirectories()) {
-            final FilePath reportFile = subDir.child(TRFPublisher.TRF_FILE_NAME);
-            if (reportFile.exists()) {
-                // Prepare ATX report information for sub-report
-                final String testName = reportFile.getParent().getName().replaceFirst("^Report\\s", "");
-                final String atxTestName = ATXUtil.getValidATXName(testName);
-                final String reportUrl = getPrjReportUrl(baseUrl, from, to, atxTestName);
-                final ATXReport subReport = new ATXReport(String.format("%d", ++id), testName, reportUrl);
-
-                atxReport.addSubReport(subReport);
-                id = traverseSubReports(subReport, subDir, id, baseUrl, from, to);
-            }
+    private static String[] getRelativePaths(final FilePath testReportDir, final FilePath[] reportFiles) {
+        final int offset = testReportDir.getRemote().length() + 1;
+        final String[] reportPaths = new String[reportFiles.length];
+        for (int i = 0; i < reportFiles.length; i++) {
+            reportPaths[i] = reportFiles[i].getRemote().substring(offset);
         }
-        return id;
+        return reportPaths;
     }
 
     /**
@@ -256,129 +255,195 @@ public class ATXReportUploader extends AbstractATXReportHandler {
         action.addAll(atxReports);
     }
 
-    /**
-     * Gets the package trend report URL.
-     *
-     * @param baseUrl
-     *            the base URL
-     * @param testName
-     *            the test name
-     * @return the trend report URL
-     */
-    private String getPkgTrendReportUrl(final String baseUrl, final String testName) {
-        return String.format("%s/%s=%s", baseUrl, ATX_TREND_URL, testName);
-    }
-
-    /**
-     * Gets the package report URL pre-filtered by a start and end date.
-     *
-     * @param baseUrl
-     *            the base URL
-     * @param from
-     *            the start date
-     * @param to
-     *            the end date
-     * @param testName
-     *            the test name
-     * @return the report URL
-     */
-    private String getPkgReportUrl(final String baseUrl, final String from, final String to, final String testName) {
-        return String.format("%s/reports?dateFrom=%s&dateTo=%s&testcase=%s", baseUrl, from, to, testName);
-    }
-
-    /**
-     * Gets the project report URL pre-filtered by a start and end date.
-     *
-     * @param baseUrl
-     *            the base URL
-     * @param testName
-     *            the test name
-     * @param from
-     *            the start date
-     * @param to
-     *            the end date
-     * @return the report URL
-     */
-    private String getPrjReportUrl(final String baseUrl, final String from, final String to, final String testName) {
-        return String.format("%s/reports?dateFrom=%s&dateTo=%s&testexecplan=%s", baseUrl, from, to, testName);
-    }
-
     /**
      * {@link Callable} enabling generating and uploading ATX reports remotely.
      */
-    private static final class UploadReportCallable extends AbstractReportCallable {
+    private static final class UploadReportCallable extends AbstractReportCallable<List<String>> {
 
         private static final long serialVersionUID = 1L;
 
         /**
-         * File name of the error file which is created in case of an ATX upload error.
+         * Maximum number of detailed error log entries printed to the console.
          */
-        private static final String ERROR_FILE_NAME = "error.log.raw.json";
+        private static final int MAX_ERROR_DETAILS = 10;
+
+        /**
+         * Maximum number of most affected files printed to the console.
+         */
+        private static final int MAX_ERROR_FILES = 10;
+
+        private final String uploadUrl;
+        private final List<String> uploadedFiles = new CopyOnWriteArrayList<String>();
 
         /**
          * Instantiates a new {@link UploadReportCallable}.
          *
-         * @param config
-         *            the ATX configuration
+         * @param configMap
+         *            the expanded configuration map
          * @param reportFiles
          *            the list of TRF files
-         * @param envVars
-         *            the environment variables
+         * @param uploadUrl
+         *            the upload URL to upload generated reports directly while generating the next one,
+         *            {@code null} to let ECU-TEST upload the reports
          * @param listener
          *            the listener
          */
-        UploadReportCallable(final ATXConfig config, final List<FilePath> reportFiles, final EnvVars envVars,
-                final TaskListener listener) {
-            super(config, reportFiles, envVars, listener);
+        UploadReportCallable(final Map<String, String> configMap, final List<FilePath> reportFiles,
+                final String uploadUrl, final TaskListener listener) {
+            super(configMap, reportFiles, listener);
+            this.uploadUrl = uploadUrl;
         }
 
+        /**
+         * Generates and uploads the ATX reports.
+         *
+         * @return the paths of the TRF files whose ATX reports have been uploaded, also in case of an error
+         * @throws IOException
+         *             signals that an I/O exception has occurred
+         */
         @Override
-        public Boolean call() throws IOException {
-            boolean isUploaded = true;
+        public List<String> call() throws IOException {
+            try {
+                ETComSession.getInstance().execute(ETComSession.DEFAULT_TIMEOUT, ETComSession.NO_TASK_TIMEOUT,
+                        this);
+            } catch (final ETComException e) {
+                final TTConsoleLogger logger = new TTConsoleLogger(getListener());
+                logger.logError("Caught ComException: " + e.getMessage());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                final TTConsoleLogger logger = new TTConsoleLogger(getListener());
+                logger.logError("-> Interrupted while waiting for ECU-TEST!");
+            }
+            return new ArrayList<String>(uploadedFiles);
+        }
+
+        @Override
+        public List<String> call(final ComApplication comClient) throws ETComException, InterruptedException {
+            if (uploadUrl != null) {
+                pipelinedUpload(comClient);
+                return uploadedFiles;
+            }
             final TTConsoleLogger logger = new TTConsoleLogger(getListener());
             final Map<String, String> configMap = getConfigMap(true);
-            try (final ETComClient comClient = new ETComClient()) {
-                final TestEnvironment testEnv = (TestEnvironment) comClient.getTestEnvironment();
-                final List<FilePath> uploadFiles = getReportFiles();
-                if (uploadFiles.isEmpty()) {
-                    logger.logInfo("-> No report files found to upload!");
-                } else {
-                    for (final FilePath uploadFile : uploadFiles) {
-                        logger.logInfo(String.format("-> Generating and uploading ATX report: %s",
-                                uploadFile.getRemote()));
-                        final FilePath outDir = uploadFile.getParent().child(ATX_TEMPLATE_NAME);
-                        testEnv.generateTestReportDocumentFromDB(uploadFile.getRemote(),
-                                outDir.getRemote(), ATX_TEMPLATE_NAME, true, configMap);
-                        comClient.waitForIdle(0);
+            final List<FilePath> uploadFiles = getReportFiles();
+            if (uploadFiles.isEmpty()) {
+                logger.logInfo("-> No report files found to upload!");
+                return uploadedFiles;
+            }
+            try (ComTestEnvironment testEnv = comClient.getTestEnvironment()) {
+                for (final FilePath uploadFile : uploadFiles) {
+                    logger.logInfo(String.format("-> Generating and uploading ATX report: %s",
+                            uploadFile.getRemote()));
+                    final FilePath outDir = uploadFile.getParent().child(ATX_TEMPLATE_NAME);
+                    testEnv.generateTestReportDocumentFromDB(uploadFile.getRemote(),
+                            outDir.getRemote(), ATX_TEMPLATE_NAME, true, configMap);
+                    comClient.waitForIdle(0);
 
-                        // Check error log file and abort the upload if any
-                        final File errorFile = new File(outDir.getRemote(), ERROR_FILE_NAME);
-                        if (errorFile.exists()) {
-                            isUploaded = false;
-                            logger.logError("Error during uploading ATX report:");
-                            try {
-                                final JSONObject jsonObject = (JSONObject) new JsonSlurper().parse(errorFile);
-                                final JSONArray jsonArray = jsonObject.optJSONArray("ENTRIES");
-                                if (jsonArray != null) {
-                                    for (int i = 0; i < jsonArray.size(); i++) {
-                                        final String file = jsonArray.getJSONObject(i).getString("FILE");
-                                        final String status = jsonArray.getJSONObject(i).getString("STATUS");
-                                        final String text = jsonArray.getJSONObject(i).getString("TEXT");
-                                        logger.logError(String.format("%s: %s - %s", status, file, text));
-                                    }
-                                }
-                            } catch (final JSONException e) {
-                                logger.logError("-> Could not parse JSON response: " + e.getMessage());
-                            }
-                            break;
-                        }
+                    // Check error log file and abort the upload if any
+                    final File errorFile = new File(outDir.getRemote(), ATXErrorLog.ERROR_FILE_NAME);
+                    if (errorFile.exists()) {
+                        logErrorLog(errorFile, logger);
+                        break;
                     }
+                    uploadedFiles.add(uploadFile.getRemote());
                 }
-            } catch (final ETComException e) {
-                isUploaded = false;
-                logger.logError("Caught ComException: " + e.getMessage());
             }
-            return isUploaded;
+            return uploadedFiles;
+        }
+
+        /**
+         * Logs a bounded summary of the ATX upload error log aggregated by status and file.
+         *
+         * @param errorFile
+         *            the error log file
+         * @param logger
+         *            the logger
+         */
+        private void logErrorLog(final File errorFile, final TTConsoleLogger logger) {
+            try {
+                final ATXErrorLog errorLog = ATXErrorLog.read(errorFile, MAX_ERROR_DETAILS);
+                logger.logError(String.format("Error during uploading ATX report, %d error log entries:",
+                        errorLog.getEntryCount()));
+                for (final Entry<String, Integer> status : errorLog.getStatusCounts().entrySet()) {
+                    logger.logError(String.format("-> %s: %d", status.getKey(), status.getValue()));
+                }
+                final Map<String, Integer> topFiles = errorLog.getTopFiles(MAX_ERROR_FILES);
+                if (!topFiles.isEmpty()) {
+                    logger.logError("-> Most affected files:");
+                    for (final Entry<String, Integer> file : topFiles.entrySet()) {
+                        logger.logError(String.format("   %s (%d)", file.getKey(), file.getValue()));
+                    }
+                }
+                if (!errorLog.getDetails().isEmpty()) {
+                    logger.logError(String.format("-> First %d entries:", errorLog.getDetails().size()));
+                    for (final ATXErrorLog.ErrorEntry entry : errorLog.getDetails()) {
+                        logger.logError(String.format("   %s: %s - %s", entry.getStatus(), entry.getFile(),
+                                entry.getText()));
+                    }
+                }
+            } catch (final IOException e) {
+                logger.logError("-> Could not parse ATX error log: " + e.getMessage());
+            }
+        }
+
+        /**
+         * Generates the ATX reports one after another and uploads each generated report directly to TEST-GUIDE
+         * while the next one is being generated. Successfully uploaded reports are recorded as uploaded files.
+         *
+         * @param comClient
+         *            the shared COM application
+         * @throws ETComException
+         *             in case of a COM exception
+         * @throws InterruptedException
+         *             if the upload gets interrupted
+         */
+        private void pipelinedUpload(final ComApplication comClient) throws ETComException,
+                InterruptedException {
+            final TTConsoleLogger logger = new TTConsoleLogger(getListener());
+            final Map<String, String> configMap = getConfigMap(false);
+            final List<String> uploadFiles = new ArrayList<String>();
+            for (final FilePath uploadFile : getReportFiles()) {
+                uploadFiles.add(uploadFile.getRemote());
+            }
+            if (uploadFiles.isEmpty()) {
+                logger.logInfo("-> No report files found to upload!");
+                return;
+            }
+            try (final ComTestEnvironment testEnv = comClient.getTestEnvironment()) {
+                final ATXUploadPipeline pipeline = new ATXUploadPipeline(new ATXUploadClient(), uploadUrl,
+                        ATXUploadSpool.MAX_PARALLEL_UPLOADS);
+                pipeline.run(uploadFiles, new ATXUploadPipeline.Generator() {
+
+                    @Override
+                    public File generate(final String reportFile) throws IOException {
+                        logger.logInfo(String.format("-> Generating ATX report: %s", reportFile));
+                        final File reportDir = new File(reportFile).getParentFile();
+                        final File outDir = new File(reportDir, ATX_TEMPLATE_NAME);
+                        try {
+                            testEnv.generateTestReportDocumentFromDB(reportFile, outDir.getPath(),
+                                    ATX_TEMPLATE_NAME, true, configMap);
+                            comClient.waitForIdle(0);
+                        } catch (final ETComException e) {
+                            throw new IOException(e.getMessage(), e);
+                        }
+                        final File zipFile = new File(outDir, reportDir.getName() + ".zip");
+                        return zipFile.exists() ? zipFile : null;
+                    }
+                }, new ATXUploadPipeline.Listener() {
+
+                    @Override
+                    public void onUploaded(final String reportFile, final File zipFile) {
+                        uploadedFiles.add(reportFile);
+                        logger.logInfo(String.format("-> Uploaded ATX report: %s", zipFile.getName()));
+                    }
+
+                    @Override
+                    public void onFailed(final String reportFile, final String error) {
+                        logger.logError(String.format("Error during uploading ATX report %s: %s", reportFile,
+                                error));
+                    }
+                });
+            }
         }
     }
 }
@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx;
+
+import hudson.EnvVars;
+import hudson.Extension;
+import hudson.model.AbstractDescribableImpl;
+import hudson.model.Descriptor;
+import hudson.util.ListBoxModel;
+
+import java.io.Serializable;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+import org.apache.commons.lang.StringUtils;
+import org.kohsuke.stapler.DataBoundConstructor;
+
+import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXInstallation;
+
+/**
+ * Class holding an additional TEST-GUIDE installation the generated ATX reports are uploaded to.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ATXTarget extends AbstractDescribableImpl<ATXTarget> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Nonnull
+    private final String atxName;
+
+    /**
+     * Instantiates a new {@link ATXTarget}.
+     *
+     * @param atxName
+     *            the tool name identifying the {@link ATXInstallation} to upload to
+     */
+    @DataBoundConstructor
+    public ATXTarget(@Nonnull final String atxName) {
+        this.atxName = StringUtils.trimToEmpty(atxName);
+    }
+
+    /**
+     * @return the {@link ATXInstallation} name
+     */
+    @Nonnull
+    public String getAtxName() {
+        return atxName;
+    }
+
+    /**
+     * Gets the {@link ATXInstallation} by expanded name.
+     *
+     * @param envVars
+     *            the environment variables
+     * @return the {@link ATXInstallation} or {@code null} if not configured
+     */
+    @CheckForNull
+    public ATXInstallation getInstallation(final EnvVars envVars) {
+        return ATXInstallation.get(envVars.expand(atxName));
+    }
+
+    /**
+     * DescriptorImpl for {@link ATXTarget}.
+     */
+    @Extension
+    public static class DescriptorImpl extends Descriptor<ATXTarget> {
+
+        /**
+         * Fills the installation drop-down menu.
+         *
+         * @return the installation items
+         */
+        public ListBoxModel doFillAtxNameItems() {
+            final ListBoxModel model = new ListBoxModel();
+            for (final ATXInstallation installation : ATXInstallation.all()) {
+                model.add(installation.getName(), installation.getName());
+            }
+            return model;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "TEST-GUIDE Target";
+        }
+    }
+}
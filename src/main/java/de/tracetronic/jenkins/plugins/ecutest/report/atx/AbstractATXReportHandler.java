@@ -29,7 +29,6 @@
  */
 package de.tracetronic.jenkins.plugins.ecutest.report.atx;
 
-import hudson.EnvVars;
 import hudson.FilePath;
 import hudson.model.TaskListener;
 import hudson.remoting.Callable;
@@ -40,13 +39,10 @@ import java.util.List;
 import java.util.Map;
 
 import jenkins.security.MasterToSlaveCallable;
-import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXBooleanSetting;
-import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXConfig;
-import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXCustomBooleanSetting;
-import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXCustomSetting;
-import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXCustomTextSetting;
 import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXSetting;
-import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXTextSetting;
+import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXSettingsTemplate;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession.ComTask;
 
 /**
  * Common base class for {@link ATXReportGenerator} and {@link ATXReportUploader}.
@@ -61,34 +57,36 @@ public abstract class AbstractATXReportHandler {
     protected static final String ATX_TEMPLATE_NAME = "ATX";
 
     /**
-     * Common {@link Callable} enabling generating and uploading ATX reports remotely.
+     * Common {@link Callable} enabling generating and uploading ATX reports remotely within the shared
+     * {@link ETComSession}.
+     *
+     * @param <T>
+     *            the result type
      */
-    protected abstract static class AbstractReportCallable extends MasterToSlaveCallable<Boolean, IOException> {
+    protected abstract static class AbstractReportCallable<T> extends MasterToSlaveCallable<T, IOException>
+            implements ComTask<T> {
 
         private static final long serialVersionUID = 1L;
 
-        private final ATXConfig config;
+        private final Map<String, String> configMap;
         private final List<FilePath> reportFiles;
-        private final EnvVars envVars;
         private final TaskListener listener;
 
         /**
          * Instantiates a new {@link AbstractReportCallable}.
          *
-         * @param config
-         *            the ATX configuration
+         * @param configMap
+         *            the configuration map containing all setting names and their expanded values,
+         *            see {@link ATXSettingsTemplate#expand(hudson.EnvVars)}
          * @param reportFiles
          *            the list of TRF files
-         * @param envVars
-         *            the environment variables
          * @param listener
          *            the listener
          */
-        public AbstractReportCallable(final ATXConfig config, final List<FilePath> reportFiles, final EnvVars envVars,
+        public AbstractReportCallable(final Map<String, String> configMap, final List<FilePath> reportFiles,
                 final TaskListener listener) {
-            this.config = config;
+            this.configMap = configMap;
             this.reportFiles = reportFiles;
-            this.envVars = envVars;
             this.listener = listener;
         }
 
@@ -107,39 +105,19 @@ public abstract class AbstractATXReportHandler {
         }
 
         /**
-         * Converts the ATX configuration to a map containing all setting names and their current value.
-         * Parameterized values are expanded by given environment variables.
+         * Gets the configuration map containing all setting names and their current value.
+         * Parameterized values are already expanded before sending this callable to the agent.
          *
          * @param uploadToServer
          *            specifies whether ATX upload is enabled or not
          * @return the configuration map
          */
-        @SuppressWarnings("rawtypes")
         protected Map<String, String> getConfigMap(final boolean uploadToServer) {
-            final Map<String, String> configMap = new LinkedHashMap<String, String>();
-            for (final List<ATXSetting> settings : config.getConfigMap().values()) {
-                for (final ATXSetting setting : settings) {
-                    if (setting instanceof ATXBooleanSetting) {
-                        if ("uploadToServer".equals(setting.getName())) {
-                            configMap.put(setting.getName(), ATXSetting.toString(uploadToServer));
-                        } else {
-                            configMap.put(setting.getName(),
-                                    ATXSetting.toString(((ATXBooleanSetting) setting).getCurrentValue()));
-                        }
-                    } else {
-                        configMap.put(setting.getName(), envVars.expand(((ATXTextSetting) setting).getCurrentValue()));
-                    }
-                }
+            final Map<String, String> uploadConfigMap = new LinkedHashMap<String, String>(configMap);
+            if (uploadConfigMap.containsKey("uploadToServer")) {
+                uploadConfigMap.put("uploadToServer", ATXSetting.toString(uploadToServer));
             }
-            for (final ATXCustomSetting setting : config.getCustomSettings()) {
-                if (setting instanceof ATXCustomBooleanSetting) {
-                    configMap.put(setting.getName(),
-                            ATXSetting.toString(((ATXCustomBooleanSetting) setting).isChecked()));
-                } else if (setting instanceof ATXCustomTextSetting) {
-                    configMap.put(setting.getName(), envVars.expand(((ATXCustomTextSetting) setting).getValue()));
-                }
-            }
-            return configMap;
+            return uploadConfigMap;
         }
     }
 }
@@ -33,6 +33,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -65,11 +68,23 @@ public class ATXConfig implements Serializable, Cloneable {
     private final Map<String, List<ATXSetting>> configMap;
     private List<ATXCustomSetting> customSettings;
 
+    /**
+     * Index of all settings by name, lazily built from the configuration map.
+     */
+    private transient volatile Map<String, ATXSetting> settingIndex;
+
+    /**
+     * Index of the settings of each setting group by name, lazily built from the configuration map.
+     */
+    private transient volatile Map<List<ATXSetting>, Map<String, ATXSetting>> groupIndex;
+
     /**
      * Instantiates a new {@link ATXConfig} with the default configuration.
+     * <p>
+     * The ATX template configuration is parsed only once, each new instance holds a copy of the parsed settings.
      */
     public ATXConfig() {
-        configMap = parseDefaultConfig();
+        configMap = copyConfigMap(DefaultConfigHolder.CONFIG_MAP);
         customSettings = new ArrayList<ATXCustomSetting>();
     }
 
@@ -95,14 +110,7 @@ public class ATXConfig implements Serializable, Cloneable {
             final ATXConfig configClone = (ATXConfig) super.clone();
 
             // Deep clone objects in map
-            final Map<String, List<ATXSetting>> configMap = new LinkedHashMap<String, List<ATXSetting>>();
-            for (final Entry<String, List<ATXSetting>> config : configClone.getConfigMap().entrySet()) {
-                final List<ATXSetting> settings = new ArrayList<ATXSetting>();
-                for (final ATXSetting setting : config.getValue()) {
-                    settings.add(setting.clone());
-                }
-                configMap.put(config.getKey(), settings);
-            }
+            final Map<String, List<ATXSetting>> configMap = copyConfigMap(configClone.getConfigMap());
 
             // Deep clone custom settings
             final List<ATXCustomSetting> customSettings = new ArrayList<ATXCustomSetting>();
@@ -116,12 +124,31 @@ public class ATXConfig implements Serializable, Cloneable {
         return clone;
     }
 
+    /**
+     * Deep copies the given configuration map.
+     *
+     * @param configMap
+     *            the configuration map to copy
+     * @return the copied configuration map
+     */
+    private static Map<String, List<ATXSetting>> copyConfigMap(final Map<String, List<ATXSetting>> configMap) {
+        final Map<String, List<ATXSetting>> copiedMap = new LinkedHashMap<String, List<ATXSetting>>();
+        for (final Entry<String, List<ATXSetting>> config : configMap.entrySet()) {
+            final List<ATXSetting> settings = new ArrayList<ATXSetting>(config.getValue().size());
+            for (final ATXSetting setting : config.getValue()) {
+                settings.add(setting.clone());
+            }
+            copiedMap.put(config.getKey(), settings);
+        }
+        return copiedMap;
+    }
+
     /**
      * Parses the default ATX configuration from the ATX template configuration file provided with this plugin.
      *
      * @return the default ATX settings map
      */
-    private Map<String, List<ATXSetting>> parseDefaultConfig() {
+    private static Map<String, List<ATXSetting>> parseDefaultConfig() {
         Document doc = null;
         final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
         try (InputStream configFile = ATXConfig.class.getResourceAsStream("config.xml")) {
@@ -162,21 +189,7 @@ public class ATXConfig implements Serializable, Cloneable {
      */
     @CheckForNull
     public ATXSetting getSettingByName(final String settingName) {
-        ATXSetting settingByName = null;
-        boolean found = false;
-        for (final Entry<String, List<ATXSetting>> config : configMap.entrySet()) {
-            for (final ATXSetting setting : config.getValue()) {
-                if (setting.getName().equals(settingName)) {
-                    settingByName = setting;
-                    found = true;
-                    break;
-                }
-            }
-            if (found) {
-                break;
-            }
-        }
-        return settingByName;
+        return getSettingIndex().get(settingName);
     }
 
     /**
@@ -191,7 +204,10 @@ public class ATXConfig implements Serializable, Cloneable {
     @CheckForNull
     public Object getSettingValueByName(final String settingName, final List<ATXSetting> settings) {
         ATXSetting settingByName = null;
-        if (settings != null) {
+        final Map<String, ATXSetting> settingsByName = getGroupIndex().get(settings);
+        if (settingsByName != null) {
+            settingByName = settingsByName.get(settingName);
+        } else if (settings != null) {
             for (final ATXSetting setting : settings) {
                 if (setting.getName().equals(settingName)) {
                     settingByName = setting;
@@ -202,6 +218,50 @@ public class ATXConfig implements Serializable, Cloneable {
         return settingByName == null ? null : settingByName.getCurrentValue();
     }
 
+    /**
+     * Gets the index of all settings by name. If a name occurs in multiple setting groups, the first one is indexed.
+     *
+     * @return the setting index
+     */
+    private Map<String, ATXSetting> getSettingIndex() {
+        Map<String, ATXSetting> index = settingIndex;
+        if (index == null) {
+            index = new HashMap<String, ATXSetting>();
+            for (final List<ATXSetting> settings : configMap.values()) {
+                for (final ATXSetting setting : settings) {
+                    if (!index.containsKey(setting.getName())) {
+                        index.put(setting.getName(), setting);
+                    }
+                }
+            }
+            settingIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Gets the index of the settings by name for each setting group of this configuration.
+     *
+     * @return the setting group index
+     */
+    private Map<List<ATXSetting>, Map<String, ATXSetting>> getGroupIndex() {
+        Map<List<ATXSetting>, Map<String, ATXSetting>> index = groupIndex;
+        if (index == null) {
+            index = new IdentityHashMap<List<ATXSetting>, Map<String, ATXSetting>>();
+            for (final List<ATXSetting> settings : configMap.values()) {
+                final Map<String, ATXSetting> settingsByName = new HashMap<String, ATXSetting>();
+                for (final ATXSetting setting : settings) {
+                    if (!settingsByName.containsKey(setting.getName())) {
+                        settingsByName.put(setting.getName(), setting);
+                    }
+                }
+                index.put(settings, settingsByName);
+            }
+            groupIndex = index;
+        }
+        return index;
+    }
+
     /**
      * @return the custom settings
      */
@@ -216,4 +276,21 @@ public class ATXConfig implements Serializable, Cloneable {
     public void setCustomSettings(final List<ATXCustomSetting> customSettings) {
         this.customSettings = customSettings;
     }
+
+    /**
+     * Holder of the default ATX configuration, which is parsed once on first access.
+     */
+    private static final class DefaultConfigHolder {
+
+        /**
+         * The unmodifiable default configuration map, only used as a template for new configurations.
+         */
+        static final Map<String, List<ATXSetting>> CONFIG_MAP = Collections.unmodifiableMap(parseDefaultConfig());
+
+        /**
+         * Instantiates a new {@link DefaultConfigHolder}.
+         */
+        private DefaultConfigHolder() {
+        }
+    }
 }
@@ -53,6 +53,11 @@ public class ATXInstallation implements Serializable {
     private final String toolName;
     private final ATXConfig config;
 
+    /**
+     * Precompiled settings of this installation, lazily built on first use.
+     */
+    private transient volatile ATXSettingsTemplate settingsTemplate;
+
     /**
      * Instantiates a new {@link ATXInstallation}.
      *
@@ -94,6 +99,23 @@ public class ATXInstallation implements Serializable {
         return config;
     }
 
+    /**
+     * Gets the precompiled settings of this installation.
+     * <p>
+     * Installations are replaced as a whole on each global configuration change, so the template is compiled only
+     * once per configured installation.
+     *
+     * @return the settings template
+     */
+    public ATXSettingsTemplate getSettingsTemplate() {
+        ATXSettingsTemplate template = settingsTemplate;
+        if (template == null) {
+            template = ATXSettingsTemplate.compile(config);
+            settingsTemplate = template;
+        }
+        return template;
+    }
+
     /**
      * Gets all ATX installations.
      *
@@ -65,6 +65,7 @@ public final class ATXSettingParser {
     private static final String TCF_CONSTANT_EXPRESSION = PRECEDING_COMMENT
             + "[.=' TCF-Globale Konstanteneinstellungen ']]";
     private static final String SPECIAL_EXPRESSION = PRECEDING_COMMENT + "[.=' Spezielle Einstellungen ']]";
+    private static final String DESCRIPTION_EXPRESSION = "./DESCRIPTION/MULTILANGDATA/ELEMENT[@dkey='%s']/DVALUE";
 
     /**
      * Instantiates a new {@link ATXSettingParser}.
@@ -109,8 +110,13 @@ public final class ATXSettingParser {
     public static List<ATXSetting> parseSetting(final Document doc, final String expression) {
         final List<ATXSetting> settings = new ArrayList<ATXSetting>();
         try {
+            // Compile all expressions once per setting group instead of once per setting
             final XPath xpath = XPathFactory.newInstance().newXPath();
             final XPathExpression xPathExpression = xpath.compile(expression);
+            final XPathExpression descGermanExpression = xpath.compile(String.format(DESCRIPTION_EXPRESSION,
+                    "de_DE"));
+            final XPathExpression descEnglishExpression = xpath.compile(String.format(DESCRIPTION_EXPRESSION,
+                    "en_US"));
             final NodeList settingNodes = (NodeList) xPathExpression.evaluate(doc, XPathConstants.NODESET);
             for (int i = 0; i < settingNodes.getLength(); i++) {
                 final Node settingNode = settingNodes.item(i);
@@ -119,8 +125,8 @@ public final class ATXSettingParser {
                 // Parse setting values
                 final String settingName = parseAttribute(settingNode, "name");
                 final String defaultValue = parseAttribute(settingNode, "default");
-                final String descGerman = parseDescription(settingNode, "de_DE");
-                final String descEnglish = parseDescription(settingNode, "en_US");
+                final String descGerman = parseDescription(settingNode, descGermanExpression);
+                final String descEnglish = parseDescription(settingNode, descEnglishExpression);
                 final boolean isCheckbox = isCheckbox(defaultValue);
 
                 // Add sub setting
@@ -141,20 +147,17 @@ public final class ATXSettingParser {
     }
 
     /**
-     * Parses the description for the given language key.
+     * Parses the description by given compiled language expression.
      *
      * @param node
      *            the node containing the description
-     * @param languageKey
-     *            the language key (only de_DE or en_US supported for now)
+     * @param xPathExpression
+     *            the compiled description expression for a language key (only de_DE or en_US supported for now)
      * @return the parsed description value
      */
-    private static String parseDescription(final Node node, final String languageKey) {
+    private static String parseDescription(final Node node, final XPathExpression xPathExpression) {
         String description = "";
-        final String expression = "./DESCRIPTION/MULTILANGDATA/ELEMENT[@dkey='" + languageKey + "']/DVALUE";
         try {
-            final XPath xpath = XPathFactory.newInstance().newXPath();
-            final XPathExpression xPathExpression = xpath.compile(expression);
             final Node descNode = (Node) xPathExpression.evaluate(node, XPathConstants.NODE);
             if (descNode != null) {
                 description = descNode.getTextContent().replaceAll("\\s+", " ").trim();
@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx.installation;
+
+import hudson.EnvVars;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precompiled form of an {@link ATXConfig} containing all setting names and their current values.
+ * <p>
+ * Values are converted once and classified into static values and parameterized values, so that converting the
+ * configuration for a single report generation only needs to expand the parameterized values.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public final class ATXSettingsTemplate implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String[] names;
+    private final String[] values;
+    private final int[] expandableIndexes;
+
+    /**
+     * Instantiates a new {@link ATXSettingsTemplate}.
+     *
+     * @param names
+     *            the setting names
+     * @param values
+     *            the setting values
+     * @param expandableIndexes
+     *            the indexes of the values to be expanded
+     */
+    private ATXSettingsTemplate(final String[] names, final String[] values, final int[] expandableIndexes) {
+        this.names = names;
+        this.values = values;
+        this.expandableIndexes = expandableIndexes;
+    }
+
+    /**
+     * Compiles the given ATX configuration into a {@link ATXSettingsTemplate}.
+     *
+     * @param config
+     *            the ATX configuration
+     * @return the compiled template
+     */
+    @SuppressWarnings("rawtypes")
+    public static ATXSettingsTemplate compile(final ATXConfig config) {
+        final Map<String, String> settingMap = new LinkedHashMap<String, String>();
+        for (final List<ATXSetting> settings : config.getConfigMap().values()) {
+            for (final ATXSetting setting : settings) {
+                if (setting instanceof ATXBooleanSetting) {
+                    settingMap.put(setting.getName(),
+                            ATXSetting.toString(((ATXBooleanSetting) setting).getCurrentValue()));
+                } else {
+                    settingMap.put(setting.getName(), ((ATXTextSetting) setting).getCurrentValue());
+                }
+            }
+        }
+        for (final ATXCustomSetting setting : config.getCustomSettings()) {
+            if (setting instanceof ATXCustomBooleanSetting) {
+                settingMap.put(setting.getName(),
+                        ATXSetting.toString(((ATXCustomBooleanSetting) setting).isChecked()));
+            } else if (setting instanceof ATXCustomTextSetting) {
+                settingMap.put(setting.getName(), ((ATXCustomTextSetting) setting).getValue());
+            }
+        }
+
+        final String[] names = settingMap.keySet().toArray(new String[settingMap.size()]);
+        final String[] values = settingMap.values().toArray(new String[settingMap.size()]);
+        final List<Integer> expandable = new ArrayList<Integer>();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null && values[i].indexOf('$') >= 0) {
+                expandable.add(i);
+            }
+        }
+        final int[] expandableIndexes = new int[expandable.size()];
+        for (int i = 0; i < expandableIndexes.length; i++) {
+            expandableIndexes[i] = expandable.get(i);
+        }
+        return new ATXSettingsTemplate(names, values, expandableIndexes);
+    }
+
+    /**
+     * Expands the parameterized values by given environment variables.
+     *
+     * @param envVars
+     *            the environment variables
+     * @return the configuration map containing all setting names and their expanded values
+     */
+    public Map<String, String> expand(final EnvVars envVars) {
+        final String[] expandedValues = values.clone();
+        for (final int index : expandableIndexes) {
+            expandedValues[index] = envVars.expand(values[index]);
+        }
+        final Map<String, String> configMap = new LinkedHashMap<String, String>();
+        for (int i = 0; i < names.length; i++) {
+            configMap.put(names[i], expandedValues[i]);
+        }
+        return configMap;
+    }
+
+    /**
+     * @return the number of settings
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * @return the number of parameterized settings
+     */
+    public int getExpandableCount() {
+        return expandableIndexes.length;
+    }
+}
@@ -0,0 +1,469 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx.upload;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Aggregated content of the error log written by ECU-TEST in case of a failed ATX upload.
+ * <p>
+ * The error log is read as a stream, so only the entry counts by status and file and a bounded number of
+ * detailed entries are kept in memory regardless of the size of the error log.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public final class ATXErrorLog {
+
+    /**
+     * File name of the error file which is created in case of an ATX upload error.
+     */
+    public static final String ERROR_FILE_NAME = "error.log.raw.json";
+
+    private final int maxDetails;
+    private final Map<String, Integer> statusCounts = new LinkedHashMap<String, Integer>();
+    private final Map<String, Integer> fileCounts = new HashMap<String, Integer>();
+    private final List<ErrorEntry> details = new ArrayList<ErrorEntry>();
+    private int entryCount;
+
+    /**
+     * Instantiates a new {@link ATXErrorLog}.
+     *
+     * @param maxDetails
+     *            the maximum number of detailed entries to keep
+     */
+    private ATXErrorLog(final int maxDetails) {
+        this.maxDetails = maxDetails;
+    }
+
+    /**
+     * Reads the given error log.
+     *
+     * @param errorFile
+     *            the error log file
+     * @param maxDetails
+     *            the maximum number of detailed entries to keep
+     * @return the aggregated error log
+     * @throws IOException
+     *             if the error log could not be read or is malformed
+     */
+    public static ATXErrorLog read(final File errorFile, final int maxDetails) throws IOException {
+        try (Reader reader = new BufferedReader(new InputStreamReader(new FileInputStream(errorFile),
+                StandardCharsets.UTF_8))) {
+            return read(reader, maxDetails);
+        }
+    }
+
+    /**
+     * Reads the error log from the given reader.
+     *
+     * @param reader
+     *            the reader
+     * @param maxDetails
+     *            the maximum number of detailed entries to keep
+     * @return the aggregated error log
+     * @throws IOException
+     *             if the error log could not be read or is malformed
+     */
+    public static ATXErrorLog read(final Reader reader, final int maxDetails) throws IOException {
+        final ATXErrorLog errorLog = new ATXErrorLog(maxDetails);
+        final JsonReader jsonReader = new JsonReader(reader);
+        jsonReader.expect('{');
+        if (!jsonReader.consume('}')) {
+            do {
+                final String key = jsonReader.readString();
+                jsonReader.expect(':');
+                if ("ENTRIES".equals(key) && jsonReader.peek() == '[') {
+                    jsonReader.expect('[');
+                    if (!jsonReader.consume(']')) {
+                        do {
+                            errorLog.addEntry(jsonReader.readFlatObject());
+                        } while (jsonReader.consume(','));
+                        jsonReader.expect(']');
+                    }
+                } else {
+                    jsonReader.skipValue();
+                }
+            } while (jsonReader.consume(','));
+            jsonReader.expect('}');
+        }
+        return errorLog;
+    }
+
+    /**
+     * Adds a single error entry.
+     *
+     * @param fields
+     *            the fields of the entry
+     */
+    private void addEntry(final Map<String, String> fields) {
+        entryCount++;
+        final String status = fields.get("STATUS");
+        final String file = fields.get("FILE");
+        increment(statusCounts, status == null ? "UNKNOWN" : status);
+        if (file != null) {
+            increment(fileCounts, file);
+        }
+        if (details.size() < maxDetails) {
+            details.add(new ErrorEntry(file, status, fields.get("TEXT")));
+        }
+    }
+
+    /**
+     * Increments the counter of the given key.
+     *
+     * @param counts
+     *            the counters
+     * @param key
+     *            the key
+     */
+    private static void increment(final Map<String, Integer> counts, final String key) {
+        final Integer count = counts.get(key);
+        counts.put(key, count == null ? 1 : count + 1);
+    }
+
+    /**
+     * @return the total number of entries
+     */
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * @return the number of entries by status in order of their first occurrence
+     */
+    public Map<String, Integer> getStatusCounts() {
+        return Collections.unmodifiableMap(statusCounts);
+    }
+
+    /**
+     * Gets the files with the most entries.
+     *
+     * @param limit
+     *            the maximum number of files
+     * @return the number of entries by file in descending order
+     */
+    public Map<String, Integer> getTopFiles(final int limit) {
+        final List<Entry<String, Integer>> entries = new ArrayList<Entry<String, Integer>>(fileCounts.entrySet());
+        Collections.sort(entries, new Comparator<Entry<String, Integer>>() {
+
+            @Override
+            public int compare(final Entry<String, Integer> e1, final Entry<String, Integer> e2) {
+                final int result = e2.getValue().compareTo(e1.getValue());
+                return result != 0 ? result : e1.getKey().compareTo(e2.getKey());
+            }
+        });
+        final Map<String, Integer> topFiles = new LinkedHashMap<String, Integer>();
+        for (final Entry<String, Integer> entry : entries.subList(0, Math.min(limit, entries.size()))) {
+            topFiles.put(entry.getKey(), entry.getValue());
+        }
+        return topFiles;
+    }
+
+    /**
+     * @return the first detailed entries, bounded by the maximum number of details
+     */
+    public List<ErrorEntry> getDetails() {
+        return Collections.unmodifiableList(details);
+    }
+
+    /**
+     * Single entry of the error log.
+     */
+    public static final class ErrorEntry {
+
+        private final String file;
+        private final String status;
+        private final String text;
+
+        /**
+         * Instantiates a new {@link ErrorEntry}.
+         *
+         * @param file
+         *            the affected file
+         * @param status
+         *            the status
+         * @param text
+         *            the message text
+         */
+        ErrorEntry(final String file, final String status, final String text) {
+            this.file = file;
+            this.status = status;
+            this.text = text;
+        }
+
+        /**
+         * @return the affected file
+         */
+        public String getFile() {
+            return file;
+        }
+
+        /**
+         * @return the status
+         */
+        public String getStatus() {
+            return status;
+        }
+
+        /**
+         * @return the message text
+         */
+        public String getText() {
+            return text;
+        }
+    }
+
+    /**
+     * Minimal pull reader for JSON, reading one character at a time without building a document tree.
+     */
+    private static final class JsonReader {
+
+        private final Reader reader;
+        private int next = -2;
+
+        /**
+         * Instantiates a new {@link JsonReader}.
+         *
+         * @param reader
+         *            the underlying reader
+         */
+        JsonReader(final Reader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * Peeks at the next non-whitespace character.
+         *
+         * @return the next character or -1 at the end of input
+         * @throws IOException
+         *             signals that an I/O exception has occurred
+         */
+        int peek() throws IOException {
+            if (next == -2) {
+                next = reader.read();
+            }
+            while (next == ' ' || next == '\t' || next == '\n' || next == '\r' || next == '\uFEFF') {
+                next = reader.read();
+            }
+            return next;
+        }
+
+        /**
+         * Reads the next character.
+         *
+         * @return the character
+         * @throws IOException
+         *             if the end of input is reached
+         */
+        private char read() throws IOException {
+            final int c = next == -2 ? reader.read() : next;
+            next = -2;
+            if (c == -1) {
+                throw new IOException("Unexpected end of error log");
+            }
+            return (char) c;
+        }
+
+        /**
+         * Consumes the next non-whitespace character if it matches.
+         *
+         * @param expected
+         *            the expected character
+         * @return {@code true} if the character was consumed, {@code false} otherwise
+         * @throws IOException
+         *             signals that an I/O exception has occurred
+         */
+        boolean consume(final char expected) throws IOException {
+            if (peek() == expected) {
+                next = -2;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Consumes the next non-whitespace character which must match.
+         *
+         * @param expected
+         *            the expected character
+         * @throws IOException
+         *             if the character does not match
+         */
+        void expect(final char expected) throws IOException {
+            if (!consume(expected)) {
+                throw new IOException(String.format("Malformed error log, expected '%s'", expected));
+            }
+        }
+
+        /**
+         * Reads a string value.
+         *
+         * @return the string value
+         * @throws IOException
+         *             if the next value is not a string
+         */
+        String readString() throws IOException {
+            expect('"');
+            final StringBuilder builder = new StringBuilder();
+            char c;
+            while ((c = read()) != '"') {
+                if (c == '\\') {
+                    final char escaped = read();
+                    switch (escaped) {
+                        case 'b':
+                            builder.append('\b');
+                            break;
+                        case 'f':
+                            builder.append('\f');
+                            break;
+                        case 'n':
+                            builder.append('\n');
+                            break;
+                        case 'r':
+                            builder.append('\r');
+                            break;
+                        case 't':
+                            builder.append('\t');
+                            break;
+                        case 'u':
+                            final char[] hex = { read(), read(), read(), read() };
+                            try {
+                                builder.append((char) Integer.parseInt(new String(hex), 16));
+                            } catch (final NumberFormatException e) {
+                                throw new IOException("Malformed unicode escape in error log", e);
+                            }
+                            break;
+                        default:
+                            builder.append(escaped);
+                            break;
+                    }
+                } else {
+                    builder.append(c);
+                }
+            }
+            return builder.toString();
+        }
+
+        /**
+         * Reads an object and returns its primitive fields as strings. Nested values are skipped.
+         *
+         * @return the fields by name
+         * @throws IOException
+         *             if the next value is not an object
+         */
+        Map<String, String> readFlatObject() throws IOException {
+            final Map<String, String> fields = new HashMap<String, String>();
+            expect('{');
+            if (!consume('}')) {
+                do {
+                    final String key = readString();
+                    expect(':');
+                    final int c = peek();
+                    if (c == '"') {
+                        fields.put(key, readString());
+                    } else if (c == '{' || c == '[') {
+                        skipValue();
+                    } else {
+                        fields.put(key, readLiteral());
+                    }
+                } while (consume(','));
+                expect('}');
+            }
+            return fields;
+        }
+
+        /**
+         * Reads a number or literal value.
+         *
+         * @return the literal value
+         * @throws IOException
+         *             signals that an I/O exception has occurred
+         */
+        private String readLiteral() throws IOException {
+            final StringBuilder builder = new StringBuilder();
+            int c = peek();
+            while (c != -1 && c != ',' && c != '}' && c != ']' && !Character.isWhitespace(c)) {
+                builder.append(read());
+                c = peek();
+            }
+            if (builder.length() == 0) {
+                throw new IOException("Malformed error log, expected value");
+            }
+            return builder.toString();
+        }
+
+        /**
+         * Skips the next value including all nested values.
+         *
+         * @throws IOException
+         *             signals that an I/O exception has occurred
+         */
+        void skipValue() throws IOException {
+            final int c = peek();
+            if (c == '"') {
+                readString();
+            } else if (c == '{') {
+                expect('{');
+                if (!consume('}')) {
+                    do {
+                        readString();
+                        expect(':');
+                        skipValue();
+                    } while (consume(','));
+                    expect('}');
+                }
+            } else if (c == '[') {
+                expect('[');
+                if (!consume(']')) {
+                    do {
+                        skipValue();
+                    } while (consume(','));
+                    expect(']');
+                }
+            } else {
+                readLiteral();
+            }
+        }
+    }
+}
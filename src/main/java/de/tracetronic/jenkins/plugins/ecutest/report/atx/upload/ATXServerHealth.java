@@ -0,0 +1,331 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx.upload;
+
+import hudson.util.FormValidation;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cached health state of a TEST-GUIDE server acting as circuit breaker for connection tests.
+ * <p>
+ * A successful connection test is reused for {@link #HEALTHY_TTL}. After a failed test the circuit opens and the
+ * failure is returned instantly while the server is re-probed in the background with increasing intervals. Once the
+ * open interval has elapsed, a single caller performs a trial connection test (half-open state) while concurrent
+ * callers still get the cached result. Health states of servers which have not been requested for
+ * {@link #IDLE_TIMEOUT} are neither re-probed nor kept any longer.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public final class ATXServerHealth {
+
+    /**
+     * The time in milliseconds a successful connection test is reused.
+     */
+    static final long HEALTHY_TTL = 60 * 1000L;
+
+    /**
+     * The time in milliseconds the circuit stays open after the first failure.
+     */
+    static final long INITIAL_OPEN_DURATION = 30 * 1000L;
+
+    /**
+     * The maximum time in milliseconds the circuit stays open.
+     */
+    static final long MAX_OPEN_DURATION = 5 * 60 * 1000L;
+
+    /**
+     * The time in milliseconds after the last request until the health state is evicted.
+     */
+    static final long IDLE_TIMEOUT = 30 * 60 * 1000L;
+
+    private static final ConcurrentMap<String, ATXServerHealth> HEALTH_STATES =
+            new ConcurrentHashMap<String, ATXServerHealth>();
+
+    private static final ScheduledExecutorService REPROBE_EXECUTOR = Executors
+            .newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    final Thread thread = new Thread(runnable, "TEST-GUIDE health probe");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+    /**
+     * The circuit states.
+     */
+    enum State {
+        /**
+         * Server is considered as reachable.
+         */
+        CLOSED,
+        /**
+         * Server is considered as unreachable.
+         */
+        OPEN,
+        /**
+         * A trial connection test is in progress.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * Performs the actual connection test.
+     */
+    public interface Probe {
+
+        /**
+         * Tests the connection to the server.
+         *
+         * @param baseUrl
+         *            the base server URL
+         * @return the form validation, {@link FormValidation.Kind#OK} if the server is reachable
+         */
+        FormValidation probe(String baseUrl);
+    }
+
+    private final String baseUrl;
+    private final Probe probe;
+    private final boolean backgroundReprobe;
+    private State state = State.CLOSED;
+    private FormValidation lastResult;
+    private long lastCheck;
+    private long lastRequest;
+    private long openUntil;
+    private int failures;
+    private boolean probing;
+
+    /**
+     * Instantiates a new {@link ATXServerHealth}.
+     *
+     * @param baseUrl
+     *            the base server URL
+     * @param probe
+     *            the connection test
+     * @param backgroundReprobe
+     *            specifies whether an unreachable server is re-probed in the background
+     */
+    ATXServerHealth(final String baseUrl, final Probe probe, final boolean backgroundReprobe) {
+        this.baseUrl = baseUrl;
+        this.probe = probe;
+        this.backgroundReprobe = backgroundReprobe;
+    }
+
+    /**
+     * Gets the shared health state of the given server.
+     *
+     * @param baseUrl
+     *            the base server URL
+     * @param probe
+     *            the connection test used if no health state exists yet
+     * @return the health state
+     */
+    public static ATXServerHealth get(final String baseUrl, final Probe probe) {
+        return get(baseUrl, probe, System.currentTimeMillis());
+    }
+
+    /**
+     * Gets the shared health state of the given server and evicts the health states of idle servers.
+     *
+     * @param baseUrl
+     *            the base server URL
+     * @param probe
+     *            the connection test used if no health state exists yet
+     * @param now
+     *            the current time in milliseconds
+     * @return the health state
+     */
+    static ATXServerHealth get(final String baseUrl, final Probe probe, final long now) {
+        for (final ATXServerHealth idleHealth : HEALTH_STATES.values()) {
+            if (idleHealth.isIdle(now)) {
+                idleHealth.evict();
+            }
+        }
+        ATXServerHealth health = HEALTH_STATES.get(baseUrl);
+        if (health == null) {
+            final ATXServerHealth newHealth = new ATXServerHealth(baseUrl, probe, true);
+            health = HEALTH_STATES.putIfAbsent(baseUrl, newHealth);
+            if (health == null) {
+                health = newHealth;
+            }
+        }
+        health.markRequested(now);
+        return health;
+    }
+
+    /**
+     * Tests the server connection or returns the cached result according to the circuit state.
+     *
+     * @return the form validation
+     */
+    public FormValidation check() {
+        return check(System.currentTimeMillis());
+    }
+
+    /**
+     * Tests the server connection or returns the cached result according to the circuit state.
+     *
+     * @param now
+     *            the current time in milliseconds
+     * @return the form validation
+     */
+    FormValidation check(final long now) {
+        synchronized (this) {
+            markRequested(now);
+            if (lastResult != null) {
+                if (state == State.CLOSED && now - lastCheck < HEALTHY_TTL
+                        || state != State.CLOSED && now < openUntil || probing) {
+                    return lastResult;
+                }
+                if (state == State.OPEN) {
+                    state = State.HALF_OPEN;
+                }
+            }
+            probing = true;
+        }
+        return runProbe(now);
+    }
+
+    /**
+     * Re-probes an unreachable server unless the circuit is closed or a connection test is already in progress.
+     * The health state of a server which has not been requested for {@link #IDLE_TIMEOUT} is evicted instead,
+     * which stops the re-probing.
+     *
+     * @param now
+     *            the current time in milliseconds
+     */
+    void reprobe(final long now) {
+        synchronized (this) {
+            if (isIdle(now)) {
+                evict();
+                return;
+            }
+            if (state == State.CLOSED || probing) {
+                return;
+            }
+            probing = true;
+        }
+        runProbe(now);
+    }
+
+    /**
+     * Records a request of this health state.
+     *
+     * @param now
+     *            the current time in milliseconds
+     */
+    private synchronized void markRequested(final long now) {
+        lastRequest = Math.max(lastRequest, now);
+    }
+
+    /**
+     * Checks whether this health state has not been requested for {@link #IDLE_TIMEOUT}.
+     *
+     * @param now
+     *            the current time in milliseconds
+     * @return {@code true} if idle, {@code false} otherwise
+     */
+    synchronized boolean isIdle(final long now) {
+        return now - lastRequest > IDLE_TIMEOUT && !probing;
+    }
+
+    /**
+     * Removes this health state from the shared health states.
+     */
+    private void evict() {
+        HEALTH_STATES.remove(baseUrl, this);
+    }
+
+    /**
+     * @return the current circuit state
+     */
+    synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Runs the connection test and updates the circuit state.
+     *
+     * @param now
+     *            the current time in milliseconds
+     * @return the form validation
+     */
+    private FormValidation runProbe(final long now) {
+        FormValidation result = null;
+        try {
+            result = probe.probe(baseUrl);
+            return result;
+        } finally {
+            update(result, now);
+        }
+    }
+
+    /**
+     * Updates the circuit state by the given connection test result.
+     *
+     * @param result
+     *            the connection test result or {@code null} if the test failed unexpectedly
+     * @param now
+     *            the current time in milliseconds
+     */
+    private synchronized void update(final FormValidation result, final long now) {
+        probing = false;
+        lastCheck = now;
+        if (result != null && result.kind == FormValidation.Kind.OK) {
+            state = State.CLOSED;
+            failures = 0;
+        } else {
+            state = State.OPEN;
+            failures++;
+            final long openDuration = Math.min(INITIAL_OPEN_DURATION << Math.min(failures - 1, 10),
+                    MAX_OPEN_DURATION);
+            openUntil = now + openDuration;
+            if (backgroundReprobe) {
+                REPROBE_EXECUTOR.schedule(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        reprobe(System.currentTimeMillis());
+                    }
+                }, openDuration, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (result != null) {
+            lastResult = result;
+        }
+    }
+}
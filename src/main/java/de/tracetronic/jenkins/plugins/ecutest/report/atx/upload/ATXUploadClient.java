@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx.upload;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.UUID;
+
+/**
+ * Client uploading generated ATX report archives to TEST-GUIDE via HTTP.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ATXUploadClient {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final String LINE_END = "\r\n";
+
+    private final int connectTimeout;
+    private final int readTimeout;
+
+    /**
+     * Instantiates a new {@link ATXUploadClient} with default timeouts.
+     */
+    public ATXUploadClient() {
+        this(10000, 60000);
+    }
+
+    /**
+     * Instantiates a new {@link ATXUploadClient}.
+     *
+     * @param connectTimeout
+     *            the connect timeout in milliseconds
+     * @param readTimeout
+     *            the read timeout in milliseconds
+     */
+    public ATXUploadClient(final int connectTimeout, final int readTimeout) {
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Uploads the given report archive as multipart form data.
+     *
+     * @param zipFile
+     *            the report archive
+     * @param fileName
+     *            the file name sent to the server
+     * @param uploadUrl
+     *            the upload URL
+     * @throws IOException
+     *             if the connection fails or the server does not accept the upload
+     */
+    public void upload(final File zipFile, final String fileName, final String uploadUrl) throws IOException {
+        final String boundary = "----ATXUpload" + UUID.randomUUID().toString().replace("-", "");
+        final HttpURLConnection connection = (HttpURLConnection) new URL(uploadUrl).openConnection();
+        try {
+            connection.setConnectTimeout(connectTimeout);
+            connection.setReadTimeout(readTimeout);
+            connection.setUseCaches(false);
+            connection.setDoOutput(true);
+            connection.setRequestMethod("POST");
+            connection.setChunkedStreamingMode(8192);
+            connection.setRequestProperty("Content-Type", "multipart/form-data; boundary=" + boundary);
+
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(("--" + boundary + LINE_END
+                        + "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"" + LINE_END
+                        + "Content-Type: application/zip" + LINE_END + LINE_END).getBytes(UTF_8));
+                Files.copy(zipFile.toPath(), out);
+                out.write((LINE_END + "--" + boundary + "--" + LINE_END).getBytes(UTF_8));
+            }
+
+            final int responseCode = connection.getResponseCode();
+            if (responseCode < HttpURLConnection.HTTP_OK || responseCode >= HttpURLConnection.HTTP_MULT_CHOICE) {
+                throw new IOException(String.format("Server responded with HTTP status %d", responseCode));
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
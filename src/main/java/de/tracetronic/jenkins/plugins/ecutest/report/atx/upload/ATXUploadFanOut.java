@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx.upload;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * Uploads ATX report archives concurrently to multiple TEST-GUIDE targets.
+ * <p>
+ * Each pair of report archive and target is uploaded independently, so a failing target does not affect the
+ * uploads to the other ones.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ATXUploadFanOut {
+
+    private final ATXUploadClient client;
+    private final int maxParallelUploads;
+
+    /**
+     * Instantiates a new {@link ATXUploadFanOut}.
+     *
+     * @param client
+     *            the upload client
+     * @param maxParallelUploads
+     *            the maximum number of concurrent uploads
+     */
+    public ATXUploadFanOut(final ATXUploadClient client, final int maxParallelUploads) {
+        this.client = client;
+        this.maxParallelUploads = Math.max(1, maxParallelUploads);
+    }
+
+    /**
+     * Uploads all report archives to all targets.
+     *
+     * @param zipFiles
+     *            the report archives
+     * @param targetUrls
+     *            the upload URLs by target name
+     * @return the upload results in order of the report archives and targets
+     * @throws InterruptedException
+     *             if the upload gets interrupted
+     */
+    public List<Result> upload(final List<File> zipFiles, final Map<String, String> targetUrls)
+            throws InterruptedException {
+        final List<Future<Result>> futures = new ArrayList<Future<Result>>();
+        final ExecutorService executor = Executors.newFixedThreadPool(maxParallelUploads);
+        try {
+            for (final File zipFile : zipFiles) {
+                for (final Entry<String, String> target : targetUrls.entrySet()) {
+                    futures.add(executor.submit(new UploadTask(zipFile, target.getKey(), target.getValue())));
+                }
+            }
+            final List<Result> results = new ArrayList<Result>(futures.size());
+            for (final Future<Result> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (final ExecutionException e) {
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Result of uploading a single report archive to a single target.
+     */
+    public static final class Result implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String zipPath;
+        private final String target;
+        private final String error;
+
+        /**
+         * Instantiates a new {@link Result}.
+         *
+         * @param zipPath
+         *            the path of the report archive
+         * @param target
+         *            the target name
+         * @param error
+         *            the error message or {@code null} if the upload succeeded
+         */
+        Result(final String zipPath, final String target, final String error) {
+            this.zipPath = zipPath;
+            this.target = target;
+            this.error = error;
+        }
+
+        /**
+         * @return the path of the report archive
+         */
+        public String getZipPath() {
+            return zipPath;
+        }
+
+        /**
+         * @return the target name
+         */
+        public String getTarget() {
+            return target;
+        }
+
+        /**
+         * @return the error message or {@code null} if the upload succeeded
+         */
+        @CheckForNull
+        public String getError() {
+            return error;
+        }
+
+        /**
+         * @return {@code true} if the upload succeeded, {@code false} otherwise
+         */
+        public boolean isUploaded() {
+            return error == null;
+        }
+    }
+
+    /**
+     * Task uploading a single report archive to a single target.
+     */
+    private final class UploadTask implements Callable<Result> {
+
+        private final File zipFile;
+        private final String target;
+        private final String uploadUrl;
+
+        /**
+         * Instantiates a new {@link UploadTask}.
+         *
+         * @param zipFile
+         *            the report archive
+         * @param target
+         *            the target name
+         * @param uploadUrl
+         *            the upload URL
+         */
+        UploadTask(final File zipFile, final String target, final String uploadUrl) {
+            this.zipFile = zipFile;
+            this.target = target;
+            this.uploadUrl = uploadUrl;
+        }
+
+        @Override
+        public Result call() {
+            try {
+                client.upload(zipFile, zipFile.getName(), uploadUrl);
+                return new Result(zipFile.getPath(), target, null);
+            } catch (final IOException e) {
+                return new Result(zipFile.getPath(), target, e.getMessage() == null ? e.toString() : e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,350 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx.upload;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * Holds the state of a single ATX report within the {@link ATXUploadSpool}.
+ * <p>
+ * The state is stored as properties file next to the spooled report archive, so pending uploads survive restarts.
+ * Only the name of the TEST-GUIDE installation is stored, the upload URL including its authentication key is resolved
+ * at upload time.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ATXUploadItem {
+
+    /**
+     * File extension of the spooled report archive.
+     */
+    static final String ZIP_EXTENSION = ".zip";
+
+    /**
+     * File extension of the state file.
+     */
+    static final String STATE_EXTENSION = ".properties";
+
+    private final File dir;
+    private final String id;
+    private final String reportName;
+    private final String installation;
+    private final String target;
+    private final String jobName;
+    private final int buildNumber;
+    private final long created;
+    private ATXUploadStatus status = ATXUploadStatus.PENDING;
+    private int attempts;
+    private long nextAttempt;
+    private long lastAttempt;
+    private String lastError;
+
+    /**
+     * Instantiates a new {@link ATXUploadItem}.
+     *
+     * @param dir
+     *            the spool directory
+     * @param id
+     *            the unique item id
+     * @param reportName
+     *            the name of the report archive
+     * @param installation
+     *            the name of the TEST-GUIDE installation to upload to
+     * @param target
+     *            the name of the target TEST-GUIDE installation or {@code null} if there is a single target
+     * @param jobName
+     *            the full name of the job
+     * @param buildNumber
+     *            the build number
+     * @param created
+     *            the creation time in milliseconds
+     */
+    ATXUploadItem(final File dir, final String id, final String reportName, final String installation,
+            final String target, final String jobName, final int buildNumber, final long created) {
+        this.dir = dir;
+        this.id = id;
+        this.reportName = reportName;
+        this.installation = installation;
+        this.target = target;
+        this.jobName = jobName;
+        this.buildNumber = buildNumber;
+        this.created = created;
+    }
+
+    /**
+     * @return the unique item id
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the name of the report archive
+     */
+    public String getReportName() {
+        return reportName;
+    }
+
+    /**
+     * @return the name of the TEST-GUIDE installation to upload to
+     */
+    public String getInstallation() {
+        return installation;
+    }
+
+    /**
+     * @return the name of the target TEST-GUIDE installation or {@code null} if there is a single target
+     */
+    @CheckForNull
+    public String getTarget() {
+        return target;
+    }
+
+    /**
+     * Gets the key identifying the upload status of this item within the build.
+     *
+     * @return the report name, qualified by the target if any
+     */
+    public String getStatusKey() {
+        return getStatusKey(reportName, target);
+    }
+
+    /**
+     * Gets the key identifying the upload status of a report within the build.
+     *
+     * @param reportName
+     *            the name of the report archive
+     * @param target
+     *            the name of the target TEST-GUIDE installation or {@code null} if there is a single target
+     * @return the report name, qualified by the target if any
+     */
+    public static String getStatusKey(final String reportName, @CheckForNull final String target) {
+        return target == null ? reportName : String.format("%s (%s)", reportName, target);
+    }
+
+    /**
+     * @return the full name of the job
+     */
+    public String getJobName() {
+        return jobName;
+    }
+
+    /**
+     * @return the build number
+     */
+    public int getBuildNumber() {
+        return buildNumber;
+    }
+
+    /**
+     * @return the creation time in milliseconds
+     */
+    public long getCreated() {
+        return created;
+    }
+
+    /**
+     * @return the upload status
+     */
+    public ATXUploadStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the number of failed upload attempts
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * @return the earliest time of the next upload attempt in milliseconds
+     */
+    public long getNextAttempt() {
+        return nextAttempt;
+    }
+
+    /**
+     * @return the time of the last upload attempt in milliseconds or {@code 0} if not attempted yet
+     */
+    public long getLastAttempt() {
+        return lastAttempt;
+    }
+
+    /**
+     * @return the error message of the last failed attempt or {@code null} if none
+     */
+    @CheckForNull
+    public String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * @return the spooled report archive
+     */
+    public File getZipFile() {
+        return new File(dir, id + ZIP_EXTENSION);
+    }
+
+    /**
+     * @return the state file
+     */
+    File getStateFile() {
+        return new File(dir, id + STATE_EXTENSION);
+    }
+
+    /**
+     * Returns whether an upload attempt is due.
+     *
+     * @param now
+     *            the current time in milliseconds
+     * @return {@code true} if the item is pending and its backoff has elapsed
+     */
+    boolean isDue(final long now) {
+        return status == ATXUploadStatus.PENDING && now >= nextAttempt;
+    }
+
+    /**
+     * Marks this item as uploaded.
+     */
+    void markUploaded() {
+        status = ATXUploadStatus.UPLOADED;
+        lastError = null;
+    }
+
+    /**
+     * Records a failed upload attempt and schedules the next one.
+     *
+     * @param error
+     *            the error message
+     * @param now
+     *            the current time in milliseconds
+     * @param maxAttempts
+     *            the maximum number of attempts until the item is considered as failed
+     */
+    void markFailedAttempt(final String error, final long now, final int maxAttempts) {
+        attempts++;
+        lastAttempt = now;
+        lastError = error;
+        if (attempts >= maxAttempts) {
+            status = ATXUploadStatus.FAILED;
+        } else {
+            nextAttempt = now + ATXUploadSpool.getBackoff(attempts);
+        }
+    }
+
+    /**
+     * Resets a failed item to be uploaded again at the next processing of the spool.
+     */
+    void markRetry() {
+        status = ATXUploadStatus.PENDING;
+        attempts = 0;
+        nextAttempt = 0L;
+        lastError = null;
+    }
+
+    /**
+     * Marks this item as discarded, i.e. removed from the spool without being uploaded.
+     */
+    void markDiscarded() {
+        status = ATXUploadStatus.DISCARDED;
+    }
+
+    /**
+     * Saves the state atomically.
+     *
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    void save() throws IOException {
+        final Properties props = new Properties();
+        props.setProperty("reportName", reportName);
+        props.setProperty("installation", installation);
+        if (target != null) {
+            props.setProperty("target", target);
+        }
+        props.setProperty("jobName", jobName);
+        props.setProperty("buildNumber", String.valueOf(buildNumber));
+        props.setProperty("created", String.valueOf(created));
+        props.setProperty("status", status.name());
+        props.setProperty("attempts", String.valueOf(attempts));
+        props.setProperty("nextAttempt", String.valueOf(nextAttempt));
+        props.setProperty("lastAttempt", String.valueOf(lastAttempt));
+        if (lastError != null) {
+            props.setProperty("lastError", lastError);
+        }
+        final File stateFile = getStateFile();
+        final File tmpFile = new File(dir, id + STATE_EXTENSION + ".tmp");
+        try (OutputStream out = new FileOutputStream(tmpFile)) {
+            props.store(out, null);
+        }
+        Files.move(tmpFile.toPath(), stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Loads a spooled item from its state file.
+     *
+     * @param stateFile
+     *            the state file
+     * @return the loaded item or {@code null} if the state file is invalid
+     */
+    @CheckForNull
+    static ATXUploadItem load(final File stateFile) {
+        final String fileName = stateFile.getName();
+        final String id = fileName.substring(0, fileName.length() - STATE_EXTENSION.length());
+        final Properties props = new Properties();
+        try (InputStream in = new FileInputStream(stateFile)) {
+            props.load(in);
+            final ATXUploadItem item = new ATXUploadItem(stateFile.getParentFile(), id,
+                    props.getProperty("reportName", id), props.getProperty("installation"),
+                    props.getProperty("target"), props.getProperty("jobName", ""),
+                    Integer.parseInt(props.getProperty("buildNumber", "0")),
+                    Long.parseLong(props.getProperty("created", String.valueOf(stateFile.lastModified()))));
+            item.status = ATXUploadStatus.valueOf(props.getProperty("status", ATXUploadStatus.PENDING.name()));
+            item.attempts = Integer.parseInt(props.getProperty("attempts", "0"));
+            item.nextAttempt = Long.parseLong(props.getProperty("nextAttempt", "0"));
+            item.lastAttempt = Long.parseLong(props.getProperty("lastAttempt", "0"));
+            item.lastError = props.getProperty("lastError");
+            return item.installation == null ? null : item;
+        } catch (final IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx.upload;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * Pipeline overlapping the generation of ATX reports with the upload of the previously generated ones.
+ * <p>
+ * Reports are generated one after another in the calling thread, while each generated report archive is uploaded
+ * directly to TEST-GUIDE in the background. Upload results are checked as soon as they are available.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ATXUploadPipeline {
+
+    private final ATXUploadClient client;
+    private final String uploadUrl;
+    private final int maxParallelUploads;
+
+    /**
+     * Generates a single ATX report archive.
+     */
+    public interface Generator {
+
+        /**
+         * Generates the ATX report archive of the given report file.
+         *
+         * @param reportFile
+         *            the TRF file
+         * @return the generated report archive or {@code null} if no archive was generated
+         * @throws IOException
+         *             signals that an I/O exception has occurred
+         */
+        @CheckForNull
+        File generate(String reportFile) throws IOException;
+    }
+
+    /**
+     * Listener notified about the result of each report.
+     */
+    public interface Listener {
+
+        /**
+         * Called after a report archive has been uploaded.
+         *
+         * @param reportFile
+         *            the TRF file
+         * @param zipFile
+         *            the uploaded report archive
+         */
+        void onUploaded(String reportFile, File zipFile);
+
+        /**
+         * Called if a report could not be generated or uploaded.
+         *
+         * @param reportFile
+         *            the TRF file
+         * @param error
+         *            the error message
+         */
+        void onFailed(String reportFile, String error);
+    }
+
+    /**
+     * Instantiates a new {@link ATXUploadPipeline}.
+     *
+     * @param client
+     *            the upload client
+     * @param uploadUrl
+     *            the upload URL
+     * @param maxParallelUploads
+     *            the maximum number of concurrent uploads
+     */
+    public ATXUploadPipeline(final ATXUploadClient client, final String uploadUrl, final int maxParallelUploads) {
+        this.client = client;
+        this.uploadUrl = uploadUrl;
+        this.maxParallelUploads = Math.max(1, maxParallelUploads);
+    }
+
+    /**
+     * Generates and uploads all given reports.
+     *
+     * @param reportFiles
+     *            the TRF files
+     * @param generator
+     *            the report generator
+     * @param listener
+     *            the listener
+     * @return {@code true} if all reports were generated and uploaded, {@code false} otherwise
+     * @throws InterruptedException
+     *             if the pipeline gets interrupted
+     */
+    public boolean run(final List<String> reportFiles, final Generator generator, final Listener listener)
+            throws InterruptedException {
+        boolean isUploaded = true;
+        int pending = 0;
+        final ExecutorService executor = Executors.newFixedThreadPool(maxParallelUploads);
+        final CompletionService<String> completionService = new ExecutorCompletionService<String>(executor);
+        try {
+            for (final String reportFile : reportFiles) {
+                final File zipFile;
+                try {
+                    zipFile = generator.generate(reportFile);
+                } catch (final IOException e) {
+                    listener.onFailed(reportFile, e.getMessage());
+                    isUploaded = false;
+                    continue;
+                }
+                if (zipFile == null) {
+                    listener.onFailed(reportFile, "No ATX report archive generated");
+                    isUploaded = false;
+                    continue;
+                }
+                completionService.submit(new UploadTask(reportFile, zipFile, listener));
+                pending++;
+
+                // Check finished uploads while the next report is generated
+                Future<String> finished;
+                while ((finished = completionService.poll()) != null) {
+                    pending--;
+                    isUploaded &= isSuccessful(finished);
+                }
+            }
+            while (pending > 0) {
+                pending--;
+                isUploaded &= isSuccessful(completionService.take());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return isUploaded;
+    }
+
+    /**
+     * Checks the result of a finished upload.
+     *
+     * @param future
+     *            the finished upload
+     * @return {@code true} if the upload succeeded, {@code false} otherwise
+     * @throws InterruptedException
+     *             if the pipeline gets interrupted
+     */
+    private static boolean isSuccessful(final Future<String> future) throws InterruptedException {
+        try {
+            return future.get() == null;
+        } catch (final ExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Task uploading a single report archive.
+     */
+    private final class UploadTask implements Callable<String> {
+
+        private final String reportFile;
+        private final File zipFile;
+        private final Listener listener;
+
+        /**
+         * Instantiates a new {@link UploadTask}.
+         *
+         * @param reportFile
+         *            the TRF file
+         * @param zipFile
+         *            the report archive
+         * @param listener
+         *            the listener
+         */
+        UploadTask(final String reportFile, final File zipFile, final Listener listener) {
+            this.reportFile = reportFile;
+            this.zipFile = zipFile;
+            this.listener = listener;
+        }
+
+        @Override
+        public String call() {
+            try {
+                client.upload(zipFile, zipFile.getName(), uploadUrl);
+                listener.onUploaded(reportFile, zipFile);
+                return null;
+            } catch (final IOException e) {
+                listener.onFailed(reportFile, e.getMessage());
+                return e.getMessage() == null ? e.toString() : e.getMessage();
+            }
+        }
+    }
+}
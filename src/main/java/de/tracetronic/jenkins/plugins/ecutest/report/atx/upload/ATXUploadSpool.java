@@ -0,0 +1,572 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx.upload;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * Durable spool of generated ATX reports waiting for their upload to TEST-GUIDE.
+ * <p>
+ * Each report archive is stored together with its upload state inside the spool directory. Pending uploads are
+ * retried with exponential backoff and processed concurrently with bounded parallelism, so a temporarily unavailable
+ * server neither blocks builds nor loses their results. Failed uploads are kept for manual retry until they are
+ * discarded or pruned by age and count.
+ * <p>
+ * The spool is only locked while reading and updating the stored states, not during the uploads, so retrying,
+ * discarding and pruning reports does not wait for a running batch of uploads.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ATXUploadSpool {
+
+    /**
+     * The maximum number of upload attempts until a report is considered as failed.
+     */
+    public static final int MAX_ATTEMPTS = 10;
+
+    /**
+     * The default number of concurrent uploads.
+     */
+    public static final int MAX_PARALLEL_UPLOADS = 4;
+
+    /**
+     * The maximum age of failed reports in milliseconds until they are pruned from the spool.
+     */
+    public static final long MAX_FAILED_AGE = 7 * 24 * 60 * 60 * 1000L;
+
+    /**
+     * The maximum number of failed reports kept in the spool, older ones are pruned first.
+     */
+    public static final int MAX_FAILED_ITEMS = 100;
+
+    /**
+     * The backoff after the first failed attempt in milliseconds.
+     */
+    static final long INITIAL_BACKOFF = 30 * 1000L;
+
+    /**
+     * The maximum backoff between two attempts in milliseconds.
+     */
+    static final long MAX_BACKOFF = 60 * 60 * 1000L;
+
+    private static final Logger LOGGER = Logger.getLogger(ATXUploadSpool.class.getName());
+
+    private final File dir;
+    private final ATXUploadClient client;
+    private final UrlResolver urlResolver;
+    private final int maxParallelUploads;
+
+    /**
+     * The ids of the items currently being uploaded, guarded by this spool.
+     */
+    private final Set<String> uploadingIds = new HashSet<String>();
+
+    /**
+     * Resolver of the upload URL of a spooled item, which is not persisted as it contains the authentication key.
+     */
+    public interface UrlResolver {
+
+        /**
+         * Gets the current upload URL of the TEST-GUIDE installation of the given item.
+         *
+         * @param item
+         *            the spooled item
+         * @return the upload URL or {@code null} if the installation is not available anymore
+         */
+        @CheckForNull
+        String getUploadUrl(ATXUploadItem item);
+    }
+
+    /**
+     * Listener notified about changes of the upload status.
+     */
+    public interface StatusListener {
+
+        /**
+         * Called after an upload attempt of the given item.
+         *
+         * @param item
+         *            the spooled item
+         */
+        void onStatusChanged(ATXUploadItem item);
+    }
+
+    /**
+     * Instantiates a new {@link ATXUploadSpool} with default upload client and parallelism.
+     *
+     * @param dir
+     *            the spool directory
+     * @param urlResolver
+     *            the resolver of the upload URLs
+     */
+    public ATXUploadSpool(final File dir, final UrlResolver urlResolver) {
+        this(dir, new ATXUploadClient(), urlResolver, MAX_PARALLEL_UPLOADS);
+    }
+
+    /**
+     * Instantiates a new {@link ATXUploadSpool}.
+     *
+     * @param dir
+     *            the spool directory
+     * @param client
+     *            the upload client
+     * @param urlResolver
+     *            the resolver of the upload URLs
+     * @param maxParallelUploads
+     *            the maximum number of concurrent uploads
+     */
+    public ATXUploadSpool(final File dir, final ATXUploadClient client, final UrlResolver urlResolver,
+            final int maxParallelUploads) {
+        this.dir = dir;
+        this.client = client;
+        this.urlResolver = urlResolver;
+        this.maxParallelUploads = Math.max(1, maxParallelUploads);
+    }
+
+    /**
+     * @return the spool directory
+     */
+    public File getDir() {
+        return dir;
+    }
+
+    /**
+     * Creates a temporary file inside the spool directory which can be moved into the spool by
+     * {@link #enqueue(File, String, String, String, int)} without copying.
+     *
+     * @return the temporary file
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    public File createTempFile() throws IOException {
+        ensureDir();
+        return File.createTempFile("atx", ".tmp", dir);
+    }
+
+    /**
+     * Moves the given report archive into the spool and schedules its upload.
+     *
+     * @param zipFile
+     *            the report archive, preferably created by {@link #createTempFile()}
+     * @param reportName
+     *            the name of the report archive
+     * @param installation
+     *            the name of the TEST-GUIDE installation to upload to
+     * @param jobName
+     *            the full name of the job
+     * @param buildNumber
+     *            the build number
+     * @return the spooled item
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    public ATXUploadItem enqueue(final File zipFile, final String reportName, final String installation,
+            final String jobName, final int buildNumber) throws IOException {
+        return enqueue(zipFile, reportName, installation, null, jobName, buildNumber);
+    }
+
+    /**
+     * Moves the given report archive into the spool and schedules its upload to a dedicated target.
+     *
+     * @param zipFile
+     *            the report archive, preferably created by {@link #createTempFile()}
+     * @param reportName
+     *            the name of the report archive
+     * @param installation
+     *            the name of the TEST-GUIDE installation to upload to
+     * @param target
+     *            the name of the target TEST-GUIDE installation or {@code null} if there is a single target
+     * @param jobName
+     *            the full name of the job
+     * @param buildNumber
+     *            the build number
+     * @return the spooled item
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    public ATXUploadItem enqueue(final File zipFile, final String reportName, final String installation,
+            final String target, final String jobName, final int buildNumber) throws IOException {
+        ensureDir();
+        final ATXUploadItem item = new ATXUploadItem(dir, UUID.randomUUID().toString(), reportName, installation,
+                target, jobName, buildNumber, System.currentTimeMillis());
+        Files.move(zipFile.toPath(), item.getZipFile().toPath(), StandardCopyOption.REPLACE_EXISTING);
+        item.save();
+        return item;
+    }
+
+    /**
+     * Gets all spooled items, i.e. pending and failed uploads.
+     *
+     * @return the list of spooled items
+     */
+    public List<ATXUploadItem> getItems() {
+        final List<ATXUploadItem> items = new ArrayList<ATXUploadItem>();
+        final File[] stateFiles = dir.listFiles(new FilenameFilter() {
+
+            @Override
+            public boolean accept(final File parent, final String name) {
+                return name.endsWith(ATXUploadItem.STATE_EXTENSION);
+            }
+        });
+        if (stateFiles != null) {
+            Arrays.sort(stateFiles);
+            for (final File stateFile : stateFiles) {
+                final ATXUploadItem item = ATXUploadItem.load(stateFile);
+                if (item != null) {
+                    items.add(item);
+                }
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Resets the failed uploads of the given report to be retried at the next processing of the spool.
+     *
+     * @param jobName
+     *            the full name of the job
+     * @param buildNumber
+     *            the build number
+     * @param statusKey
+     *            the status key of the report, see {@link ATXUploadItem#getStatusKey()}
+     * @return {@code true} if a failed upload was found, {@code false} otherwise
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    public synchronized boolean retry(final String jobName, final int buildNumber, final String statusKey)
+            throws IOException {
+        boolean found = false;
+        for (final ATXUploadItem item : getItems(jobName, buildNumber, statusKey)) {
+            if (item.getStatus() == ATXUploadStatus.FAILED && item.getZipFile().exists()) {
+                item.markRetry();
+                item.save();
+                found = true;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Removes the spooled uploads of the given report without uploading them.
+     *
+     * @param jobName
+     *            the full name of the job
+     * @param buildNumber
+     *            the build number
+     * @param statusKey
+     *            the status key of the report, see {@link ATXUploadItem#getStatusKey()}
+     * @return {@code true} if a spooled upload was found, {@code false} otherwise
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    public synchronized boolean discard(final String jobName, final int buildNumber, final String statusKey)
+            throws IOException {
+        boolean found = false;
+        for (final ATXUploadItem item : getItems(jobName, buildNumber, statusKey)) {
+            delete(item);
+            found = true;
+        }
+        return found;
+    }
+
+    /**
+     * Removes failed uploads which are older than {@link #MAX_FAILED_AGE} or exceed {@link #MAX_FAILED_ITEMS}, as
+     * well as leftover files without valid state.
+     *
+     * @param now
+     *            the current time in milliseconds
+     * @param listener
+     *            the listener notified about each discarded item, may be {@code null}
+     * @return the number of discarded items
+     */
+    public synchronized int prune(final long now, final StatusListener listener) {
+        final List<ATXUploadItem> failedItems = new ArrayList<ATXUploadItem>();
+        for (final ATXUploadItem item : getItems()) {
+            if (item.getStatus() == ATXUploadStatus.FAILED) {
+                failedItems.add(item);
+            }
+        }
+        Collections.sort(failedItems, new Comparator<ATXUploadItem>() {
+
+            @Override
+            public int compare(final ATXUploadItem item1, final ATXUploadItem item2) {
+                return Long.compare(item2.getLastAttempt(), item1.getLastAttempt());
+            }
+        });
+
+        int pruned = 0;
+        for (int i = 0; i < failedItems.size(); i++) {
+            final ATXUploadItem item = failedItems.get(i);
+            if (i >= MAX_FAILED_ITEMS || now - item.getLastAttempt() > MAX_FAILED_AGE) {
+                try {
+                    delete(item);
+                    pruned++;
+                    if (listener != null) {
+                        listener.onStatusChanged(item);
+                    }
+                } catch (final IOException e) {
+                    LOGGER.log(Level.WARNING, "Could not prune spooled ATX report: " + item.getId(), e);
+                }
+            }
+        }
+        pruneLeftovers(now);
+        return pruned;
+    }
+
+    /**
+     * Uploads all items whose backoff has elapsed. Uploaded items are removed from the spool, failed attempts are
+     * rescheduled. The due items are determined under the lock of the spool, while the uploads run without it.
+     *
+     * @param now
+     *            the current time in milliseconds
+     * @param listener
+     *            the listener notified about each attempt, may be {@code null}
+     * @return the number of uploaded items
+     * @throws InterruptedException
+     *             if the processing gets interrupted
+     */
+    public int process(final long now, final StatusListener listener) throws InterruptedException {
+        final List<ATXUploadItem> dueItems = new ArrayList<ATXUploadItem>();
+        synchronized (this) {
+            for (final ATXUploadItem item : getItems()) {
+                if (item.isDue(now) && uploadingIds.add(item.getId())) {
+                    dueItems.add(item);
+                }
+            }
+        }
+        if (dueItems.isEmpty()) {
+            return 0;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxParallelUploads,
+                dueItems.size()));
+        try {
+            final List<Future<ATXUploadItem>> futures = new ArrayList<Future<ATXUploadItem>>();
+            for (final ATXUploadItem item : dueItems) {
+                futures.add(executor.submit(new Callable<ATXUploadItem>() {
+
+                    @Override
+                    public ATXUploadItem call() {
+                        return upload(item, now);
+                    }
+                }));
+            }
+
+            int uploaded = 0;
+            for (final Future<ATXUploadItem> future : futures) {
+                final ATXUploadItem item;
+                try {
+                    item = future.get();
+                } catch (final ExecutionException e) {
+                    LOGGER.log(Level.WARNING, "Unexpected error while uploading ATX report", e.getCause());
+                    continue;
+                }
+                if (item.getStatus() == ATXUploadStatus.UPLOADED) {
+                    uploaded++;
+                }
+                if (listener != null) {
+                    listener.onStatusChanged(item);
+                }
+            }
+            return uploaded;
+        } finally {
+            executor.shutdownNow();
+            synchronized (this) {
+                for (final ATXUploadItem item : dueItems) {
+                    uploadingIds.remove(item.getId());
+                }
+            }
+        }
+    }
+
+    /**
+     * Uploads a single item without locking the spool and updates its state afterwards.
+     *
+     * @param item
+     *            the item to upload
+     * @param now
+     *            the current time in milliseconds
+     * @return the updated item
+     */
+    private ATXUploadItem upload(final ATXUploadItem item, final long now) {
+        final File zipFile = item.getZipFile();
+        final String uploadUrl = urlResolver.getUploadUrl(item);
+        if (!zipFile.exists()) {
+            item.markFailedAttempt("Spooled report archive is missing", now, 0);
+        } else if (uploadUrl == null) {
+            item.markFailedAttempt(String.format("Could not get upload URL of TEST-GUIDE installation: %s",
+                    item.getInstallation()), now, MAX_ATTEMPTS);
+        } else {
+            try {
+                client.upload(zipFile, item.getReportName(), uploadUrl);
+                item.markUploaded();
+            } catch (final IOException e) {
+                item.markFailedAttempt(e.getMessage(), now, MAX_ATTEMPTS);
+            }
+        }
+        updateState(item);
+        return item;
+    }
+
+    /**
+     * Stores the state of an item after its upload attempt or removes it from the spool if uploaded. Failed items
+     * which have been discarded during the upload are marked as discarded instead of being stored again.
+     *
+     * @param item
+     *            the item to update
+     */
+    private synchronized void updateState(final ATXUploadItem item) {
+        try {
+            if (item.getStatus() == ATXUploadStatus.UPLOADED) {
+                Files.deleteIfExists(item.getZipFile().toPath());
+                Files.deleteIfExists(item.getStateFile().toPath());
+            } else if (!item.getStateFile().exists()) {
+                delete(item);
+            } else {
+                item.save();
+            }
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "Could not update spooled ATX report: " + item.getId(), e);
+        }
+    }
+
+    /**
+     * Gets the spooled items of the given report.
+     *
+     * @param jobName
+     *            the full name of the job
+     * @param buildNumber
+     *            the build number
+     * @param statusKey
+     *            the status key of the report
+     * @return the matching items
+     */
+    private List<ATXUploadItem> getItems(final String jobName, final int buildNumber, final String statusKey) {
+        final List<ATXUploadItem> items = new ArrayList<ATXUploadItem>();
+        for (final ATXUploadItem item : getItems()) {
+            if (item.getJobName().equals(jobName) && item.getBuildNumber() == buildNumber
+                    && item.getStatusKey().equals(statusKey)) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Deletes the report archive and the state of the given item and marks it as discarded.
+     *
+     * @param item
+     *            the item to delete
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    private static void delete(final ATXUploadItem item) throws IOException {
+        Files.deleteIfExists(item.getZipFile().toPath());
+        Files.deleteIfExists(item.getStateFile().toPath());
+        item.markDiscarded();
+    }
+
+    /**
+     * Deletes files older than {@link #MAX_FAILED_AGE} which do not belong to a valid spooled item, e.g. temporary
+     * files of interrupted builds or archives with unreadable state.
+     *
+     * @param now
+     *            the current time in milliseconds
+     */
+    private void pruneLeftovers(final long now) {
+        final File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (final File file : files) {
+            final String name = file.getName();
+            final boolean isLeftover;
+            if (name.endsWith(ATXUploadItem.STATE_EXTENSION)) {
+                isLeftover = ATXUploadItem.load(file) == null;
+            } else if (name.endsWith(ATXUploadItem.ZIP_EXTENSION)) {
+                final String id = name.substring(0, name.length() - ATXUploadItem.ZIP_EXTENSION.length());
+                isLeftover = !new File(dir, id + ATXUploadItem.STATE_EXTENSION).exists();
+            } else {
+                isLeftover = true;
+            }
+            if (isLeftover && now - file.lastModified() > MAX_FAILED_AGE && file.isFile() && !file.delete()) {
+                LOGGER.log(Level.WARNING, "Could not prune leftover file of ATX upload spool: " + file);
+            }
+        }
+    }
+
+    /**
+     * Gets the backoff after the given number of failed attempts.
+     *
+     * @param attempts
+     *            the number of failed attempts
+     * @return the backoff in milliseconds
+     */
+    static long getBackoff(final int attempts) {
+        if (attempts <= 0) {
+            return 0L;
+        }
+        final int shift = Math.min(attempts - 1, 20);
+        return Math.min(INITIAL_BACKOFF << shift, MAX_BACKOFF);
+    }
+
+    /**
+     * Creates the spool directory if it does not exist.
+     *
+     * @throws IOException
+     *             if the directory could not be created
+     */
+    private void ensureDir() throws IOException {
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Could not create ATX upload spool directory: " + dir);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx.upload;
+
+import hudson.EnvVars;
+import hudson.Extension;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.CheckForNull;
+
+import jenkins.model.Jenkins;
+import de.tracetronic.jenkins.plugins.ecutest.report.atx.ATXBuildAction;
+import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXInstallation;
+import de.tracetronic.jenkins.plugins.ecutest.util.ATXUtil;
+
+/**
+ * Background work uploading the reports of the {@link ATXUploadSpool} and updating the upload status recorded in
+ * the {@link ATXBuildAction} of the related build.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+@Extension
+public class ATXUploadSpoolWork extends AsyncPeriodicWork {
+
+    /**
+     * Name of the spool directory inside of the Jenkins root directory.
+     */
+    public static final String SPOOL_DIR_NAME = "ecutest-atx-spool";
+
+    private static final Logger LOGGER = Logger.getLogger(ATXUploadSpoolWork.class.getName());
+
+    private static ATXUploadSpool spool;
+
+    /**
+     * Instantiates a new {@link ATXUploadSpoolWork}.
+     */
+    public ATXUploadSpoolWork() {
+        super("ATX upload spool");
+    }
+
+    /**
+     * Gets the spool located inside of the Jenkins root directory.
+     *
+     * @return the ATX upload spool
+     */
+    public static synchronized ATXUploadSpool getSpool() {
+        if (spool == null) {
+            final Jenkins instance = Jenkins.getInstance();
+            final File rootDir = instance != null ? instance.getRootDir() : new File(".");
+            spool = new ATXUploadSpool(new File(rootDir, SPOOL_DIR_NAME), new InstallationUrlResolver());
+        }
+        return spool;
+    }
+
+    @Override
+    public long getRecurrencePeriod() {
+        return MIN;
+    }
+
+    @Override
+    protected void execute(final TaskListener listener) throws IOException, InterruptedException {
+        final BuildActionUpdater updater = new BuildActionUpdater();
+        final int uploaded = getSpool().process(System.currentTimeMillis(), updater);
+        if (uploaded > 0) {
+            listener.getLogger().println(String.format("Uploaded %d spooled ATX report(s).", uploaded));
+        }
+        final int pruned = getSpool().prune(System.currentTimeMillis(), updater);
+        if (pruned > 0) {
+            listener.getLogger().println(String.format("Discarded %d failed ATX report upload(s).", pruned));
+        }
+    }
+
+    /**
+     * Gets the build the given item belongs to.
+     *
+     * @param item
+     *            the spooled item
+     * @return the build or {@code null} if not available anymore
+     */
+    @CheckForNull
+    private static Run<?, ?> getRun(final ATXUploadItem item) {
+        final Jenkins instance = Jenkins.getInstance();
+        if (instance == null) {
+            return null;
+        }
+        final Job<?, ?> job = instance.getItemByFullName(item.getJobName(), Job.class);
+        return job == null ? null : job.getBuildByNumber(item.getBuildNumber());
+    }
+
+    /**
+     * {@link ATXUploadSpool.UrlResolver} getting the upload URL from the configured {@link ATXInstallation},
+     * expanded by the environment of the related build.
+     */
+    private static final class InstallationUrlResolver implements ATXUploadSpool.UrlResolver {
+
+        @Override
+        public String getUploadUrl(final ATXUploadItem item) {
+            final ATXInstallation installation = ATXInstallation.get(item.getInstallation());
+            if (installation == null) {
+                return null;
+            }
+            EnvVars envVars = new EnvVars();
+            final Run<?, ?> run = getRun(item);
+            if (run != null) {
+                try {
+                    envVars = run.getEnvironment(TaskListener.NULL);
+                } catch (final IOException e) {
+                    LOGGER.log(Level.WARNING, "Could not get environment of " + run, e);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }
+            return ATXUtil.getUploadUrl(installation.getConfig(), envVars);
+        }
+    }
+
+    /**
+     * {@link ATXUploadSpool.StatusListener} recording the upload status at the {@link ATXBuildAction}.
+     */
+    private static final class BuildActionUpdater implements ATXUploadSpool.StatusListener {
+
+        @SuppressWarnings("rawtypes")
+        @Override
+        public void onStatusChanged(final ATXUploadItem item) {
+            final Run<?, ?> run = getRun(item);
+            final ATXBuildAction action = run == null ? null : run.getAction(ATXBuildAction.class);
+            if (action != null && action.setUploadStatus(item.getStatusKey(), item.getStatus())) {
+                try {
+                    run.save();
+                } catch (final IOException e) {
+                    LOGGER.log(Level.WARNING, "Could not save ATX upload status of " + run, e);
+                }
+            }
+        }
+    }
+}
@@ -42,9 +42,11 @@ import java.util.Map;
 
 import jenkins.security.MasterToSlaveCallable;
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
-import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComClient;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
-import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.TestEnvironment;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession.ComTask;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComApplication;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestEnvironment;
 
 /**
  * Class providing the report generation with a specific generator.
@@ -96,7 +98,8 @@ public class ReportGenerator {
     /**
      * {@link Callable} enabling generation of reports with specific generator remotely.
      */
-    private static final class GenerateReportCallable extends MasterToSlaveCallable<Boolean, IOException> {
+    private static final class GenerateReportCallable extends MasterToSlaveCallable<Boolean, IOException>
+            implements ComTask<Boolean> {
 
         private static final long serialVersionUID = 1L;
 
@@ -123,12 +126,28 @@ public class ReportGenerator {
 
         @Override
         public Boolean call() throws IOException {
+            boolean isGenerated = false;
+            try {
+                isGenerated = ETComSession.getInstance().execute(ETComSession.DEFAULT_TIMEOUT,
+                        ETComSession.NO_TASK_TIMEOUT, this);
+            } catch (final ETComException e) {
+                final TTConsoleLogger logger = new TTConsoleLogger(listener);
+                logger.logError("Caught ComException: " + e.getMessage());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                final TTConsoleLogger logger = new TTConsoleLogger(listener);
+                logger.logError("-> Interrupted while waiting for ECU-TEST!");
+            }
+            return isGenerated;
+        }
+
+        @Override
+        public Boolean call(final ComApplication comClient) throws ETComException {
             boolean isGenerated = true;
             final String templateName = config.getName();
             final Map<String, String> configMap = getConfigMap();
             final TTConsoleLogger logger = new TTConsoleLogger(listener);
-            try (ETComClient comClient = new ETComClient()) {
-                final TestEnvironment testEnv = (TestEnvironment) comClient.getTestEnvironment();
+            try (ComTestEnvironment testEnv = comClient.getTestEnvironment()) {
                 logger.logInfo(String.format("- Generating %s test reports...", templateName));
                 for (final FilePath dbFile : dbFiles) {
                     logger.logInfo(String.format("-> Generating %s report: %s", templateName, dbFile.getRemote()));
@@ -139,9 +158,6 @@ public class ReportGenerator {
                         logger.logError(String.format("Generating %s report failed!", templateName));
                     }
                 }
-            } catch (final ETComException e) {
-                isGenerated = false;
-                logger.logError("Caught ComException: " + e.getMessage());
             }
             return isGenerated;
         }
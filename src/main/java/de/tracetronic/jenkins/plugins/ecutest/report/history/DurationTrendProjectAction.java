@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.history;
+
+import hudson.Util;
+import hudson.model.Action;
+import hudson.model.Job;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.CheckForNull;
+
+import org.kohsuke.stapler.StaplerRequest;
+
+/**
+ * Action to show the slowest tests and the biggest duration regressions recorded in the {@link VerdictHistory} at
+ * the project page.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class DurationTrendProjectAction implements Action {
+
+    /**
+     * The URL name of this action.
+     */
+    protected static final String URL_NAME = "test-durations";
+
+    /**
+     * The maximum number of tests shown per table.
+     */
+    private static final int PAGE_LIMIT = 100;
+
+    /**
+     * Gets the project of this action.
+     *
+     * @param req
+     *            the {@link StaplerRequest} used for access this action
+     * @return the project containing this action or {@code null} if no proper project exists
+     */
+    @CheckForNull
+    public Job<?, ?> getProject(final StaplerRequest req) {
+        return req.findAncestorObject(Job.class);
+    }
+
+    /**
+     * Gets the slowest tests of the project resolved by {@link StaplerRequest#findAncestorObject(Class)}.
+     *
+     * @param req
+     *            the {@link StaplerRequest} used for access this action
+     * @return the list of tests ordered by descending average duration
+     */
+    public List<TestHistory> getSlowestTests(final StaplerRequest req) {
+        final Job<?, ?> project = getProject(req);
+        if (project == null) {
+            return Collections.emptyList();
+        }
+        return VerdictHistory.forJob(project).getSlowestTests(PAGE_LIMIT);
+    }
+
+    /**
+     * Gets the tests of the project whose latest duration exceeds their baseline duration.
+     *
+     * @param req
+     *            the {@link StaplerRequest} used for access this action
+     * @return the list of tests ordered by descending duration change
+     */
+    public List<TestHistory> getDurationRegressions(final StaplerRequest req) {
+        final Job<?, ?> project = getProject(req);
+        if (project == null) {
+            return Collections.emptyList();
+        }
+        return VerdictHistory.forJob(project).getDurationRegressions(PAGE_LIMIT);
+    }
+
+    /**
+     * Formats the given duration as human readable time span.
+     *
+     * @param duration
+     *            the duration in milliseconds
+     * @return the formatted duration
+     */
+    public String formatDuration(final long duration) {
+        return Util.getTimeSpanString(duration);
+    }
+
+    /**
+     * @return the number of results per test the durations are computed from
+     */
+    public int getWindowSize() {
+        return TestHistory.WINDOW_SIZE;
+    }
+
+    @Override
+    public String getIconFileName() {
+        return "clock.png";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return Messages.DurationTrendProjectAction_DisplayName();
+    }
+
+    @Override
+    public String getUrlName() {
+        return URL_NAME;
+    }
+}
@@ -0,0 +1,309 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.history;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the most recent verdicts of a single test and computes its flakiness score.
+ * <p>
+ * Only a fixed window of the latest results is kept, so memory and computing costs are independent of the number of
+ * builds recorded.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class TestHistory {
+
+    /**
+     * The number of latest results kept per test.
+     */
+    public static final int WINDOW_SIZE = 30;
+
+    private final String testId;
+    private final int[] buildNumbers = new int[WINDOW_SIZE];
+    private final byte[] verdicts = new byte[WINDOW_SIZE];
+    private final long[] durations = new long[WINDOW_SIZE];
+    private int start;
+    private int size;
+
+    /**
+     * Instantiates a new {@link TestHistory}.
+     *
+     * @param testId
+     *            the test id
+     */
+    public TestHistory(final String testId) {
+        this.testId = testId;
+    }
+
+    /**
+     * Instantiates a new {@link TestHistory} as copy of the given history.
+     *
+     * @param history
+     *            the history to copy
+     */
+    TestHistory(final TestHistory history) {
+        testId = history.testId;
+        System.arraycopy(history.buildNumbers, 0, buildNumbers, 0, WINDOW_SIZE);
+        System.arraycopy(history.verdicts, 0, verdicts, 0, WINDOW_SIZE);
+        System.arraycopy(history.durations, 0, durations, 0, WINDOW_SIZE);
+        start = history.start;
+        size = history.size;
+    }
+
+    /**
+     * @return the test id
+     */
+    public String getTestId() {
+        return testId;
+    }
+
+    /**
+     * Adds a result to this history. A result of an already recorded latest build replaces the previous one while
+     * keeping a known duration, the oldest result is dropped if the window is full.
+     *
+     * @param buildNumber
+     *            the build number
+     * @param verdict
+     *            the test verdict
+     * @param duration
+     *            the execution duration in milliseconds
+     */
+    void add(final int buildNumber, final TestVerdict verdict, final long duration) {
+        int index;
+        if (size > 0 && buildNumbers[index(size - 1)] == buildNumber) {
+            index = index(size - 1);
+            if (duration == 0) {
+                verdicts[index] = verdict.getCode();
+                return;
+            }
+        } else if (size < WINDOW_SIZE) {
+            index = index(size++);
+        } else {
+            index = start;
+            start = (start + 1) % WINDOW_SIZE;
+        }
+        buildNumbers[index] = buildNumber;
+        verdicts[index] = verdict.getCode();
+        durations[index] = duration;
+    }
+
+    /**
+     * @return the number of recorded results
+     */
+    public int getRunCount() {
+        return size;
+    }
+
+    /**
+     * @return the number of failing results
+     */
+    public int getFailCount() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (getVerdict(i).isFailing()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the ratio of failing results to all decisive results.
+     *
+     * @return the failure rate between {@code 0.0} and {@code 1.0}
+     */
+    public double getFailureRate() {
+        int decisive = 0;
+        for (int i = 0; i < size; i++) {
+            if (getVerdict(i).isDecisive()) {
+                decisive++;
+            }
+        }
+        return decisive == 0 ? 0.0 : (double) getFailCount() / decisive;
+    }
+
+    /**
+     * Gets the number of verdict flips, i.e. how often a decisive verdict changed between passed and failed.
+     *
+     * @return the number of flips
+     */
+    public int getFlipCount() {
+        int flips = 0;
+        TestVerdict previous = null;
+        for (int i = 0; i < size; i++) {
+            final TestVerdict verdict = getVerdict(i);
+            if (!verdict.isDecisive()) {
+                continue;
+            }
+            if (previous != null && previous.isFailing() != verdict.isFailing()) {
+                flips++;
+            }
+            previous = verdict;
+        }
+        return flips;
+    }
+
+    /**
+     * Gets the flakiness score as ratio of verdict flips to possible transitions between decisive verdicts.
+     *
+     * @return the flakiness score between {@code 0.0} (stable) and {@code 1.0} (flipping on every build)
+     */
+    public double getFlakiness() {
+        int decisive = 0;
+        for (int i = 0; i < size; i++) {
+            if (getVerdict(i).isDecisive()) {
+                decisive++;
+            }
+        }
+        return decisive < 2 ? 0.0 : (double) getFlipCount() / (decisive - 1);
+    }
+
+    /**
+     * @return the flakiness score in percent
+     */
+    public int getFlakinessPercentage() {
+        return (int) Math.round(getFlakiness() * 100);
+    }
+
+    /**
+     * @return the latest verdict or {@link TestVerdict#NONE} if no result is recorded
+     */
+    public TestVerdict getLastVerdict() {
+        return size == 0 ? TestVerdict.NONE : getVerdict(size - 1);
+    }
+
+    /**
+     * @return the latest recorded build number or {@code 0} if no result is recorded
+     */
+    public int getLastBuildNumber() {
+        return size == 0 ? 0 : buildNumbers[index(size - 1)];
+    }
+
+    /**
+     * @return the latest recorded duration in milliseconds or {@code 0} if no result is recorded
+     */
+    public long getLastDuration() {
+        return size == 0 ? 0L : durations[index(size - 1)];
+    }
+
+    /**
+     * Gets the average duration of all results having a known duration.
+     *
+     * @return the average duration in milliseconds or {@code 0} if unknown
+     */
+    public long getAverageDuration() {
+        long total = 0L;
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            final long duration = durations[index(i)];
+            if (duration > 0) {
+                total += duration;
+                count++;
+            }
+        }
+        return count == 0 ? 0L : total / count;
+    }
+
+    /**
+     * Gets the average duration of all previous results having a known duration, i.e. excluding the latest result.
+     *
+     * @return the baseline duration in milliseconds or {@code 0} if unknown
+     */
+    public long getBaselineDuration() {
+        long total = 0L;
+        int count = 0;
+        for (int i = 0; i < size - 1; i++) {
+            final long duration = durations[index(i)];
+            if (duration > 0) {
+                total += duration;
+                count++;
+            }
+        }
+        return count == 0 ? 0L : total / count;
+    }
+
+    /**
+     * Gets the difference between the latest duration and the baseline duration.
+     *
+     * @return the duration change in milliseconds or {@code 0} if either duration is unknown
+     */
+    public long getDurationChange() {
+        final long last = getLastDuration();
+        final long baseline = getBaselineDuration();
+        return last == 0 || baseline == 0 ? 0L : last - baseline;
+    }
+
+    /**
+     * @return the duration change relative to the baseline duration in percent
+     */
+    public int getDurationChangePercentage() {
+        final long baseline = getBaselineDuration();
+        return baseline == 0 ? 0 : (int) Math.round(getDurationChange() * 100.0 / baseline);
+    }
+
+    /**
+     * Gets the recorded results in chronological order.
+     *
+     * @return the list of results
+     */
+    public List<VerdictRecord> getRecords() {
+        final List<VerdictRecord> records = new ArrayList<VerdictRecord>(size);
+        for (int i = 0; i < size; i++) {
+            final int index = index(i);
+            records.add(new VerdictRecord(testId, buildNumbers[index], TestVerdict.fromCode(verdicts[index]),
+                    durations[index]));
+        }
+        return records;
+    }
+
+    /**
+     * Gets the verdict at the given chronological position.
+     *
+     * @param position
+     *            the position within the window
+     * @return the verdict
+     */
+    private TestVerdict getVerdict(final int position) {
+        return TestVerdict.fromCode(verdicts[index(position)]);
+    }
+
+    /**
+     * Maps the chronological position to the ring buffer index.
+     *
+     * @param position
+     *            the position within the window
+     * @return the ring buffer index
+     */
+    private int index(final int position) {
+        return (start + position) % WINDOW_SIZE;
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.history;
+
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * Enumeration of the test verdicts stored in the {@link VerdictHistory}.
+ * <p>
+ * The byte codes are part of the persisted history format and must not be changed.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public enum TestVerdict {
+
+    /**
+     * No verdict available, e.g. skipped or not executed.
+     */
+    NONE((byte) 0),
+
+    /**
+     * Test passed.
+     */
+    SUCCESS((byte) 1),
+
+    /**
+     * Test result is inconclusive.
+     */
+    INCONCLUSIVE((byte) 2),
+
+    /**
+     * Test failed.
+     */
+    FAILED((byte) 3),
+
+    /**
+     * Test execution caused an error.
+     */
+    ERROR((byte) 4);
+
+    private final byte code;
+
+    /**
+     * Instantiates a new {@link TestVerdict}.
+     *
+     * @param code
+     *            the persisted byte code
+     */
+    TestVerdict(final byte code) {
+        this.code = code;
+    }
+
+    /**
+     * @return the persisted byte code
+     */
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * Returns whether this verdict is decisive, i.e. either passed or failed.
+     *
+     * @return {@code true} if the verdict is decisive, {@code false} otherwise
+     */
+    public boolean isDecisive() {
+        return this != NONE && this != INCONCLUSIVE;
+    }
+
+    /**
+     * Returns whether this verdict is considered as failing.
+     *
+     * @return {@code true} if the verdict is {@link #FAILED} or {@link #ERROR}, {@code false} otherwise
+     */
+    public boolean isFailing() {
+        return this == FAILED || this == ERROR;
+    }
+
+    /**
+     * Gets the verdict by its persisted byte code.
+     *
+     * @param code
+     *            the byte code
+     * @return the verdict, {@link #NONE} if the code is unknown
+     */
+    public static TestVerdict fromCode(final byte code) {
+        for (final TestVerdict verdict : values()) {
+            if (verdict.code == code) {
+                return verdict;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Gets the verdict by the test result returned by ECU-TEST.
+     *
+     * @param testResult
+     *            the test result, e.g. "SUCCESS" or "FAILED"
+     * @return the verdict, {@link #NONE} if the result is unknown
+     */
+    public static TestVerdict fromResult(final String testResult) {
+        final String result = StringUtils.trimToEmpty(testResult).toUpperCase();
+        if ("PASSED".equals(result)) {
+            return SUCCESS;
+        }
+        for (final TestVerdict verdict : values()) {
+            if (verdict.name().equals(result)) {
+                return verdict;
+            }
+        }
+        return NONE;
+    }
+}
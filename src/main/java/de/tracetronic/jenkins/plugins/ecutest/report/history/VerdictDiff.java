@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.history;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the verdict changes between a reference build and the current build computed from their
+ * {@link VerdictSummary}s.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class VerdictDiff {
+
+    private final List<VerdictChange> newlyFailing = new ArrayList<VerdictChange>();
+    private final List<VerdictChange> newlyPassing = new ArrayList<VerdictChange>();
+    private final List<VerdictChange> added = new ArrayList<VerdictChange>();
+    private final List<VerdictChange> removed = new ArrayList<VerdictChange>();
+
+    /**
+     * Instantiates a new {@link VerdictDiff} by comparing the given summaries.
+     *
+     * @param reference
+     *            the summary of the reference build
+     * @param current
+     *            the summary of the current build
+     */
+    public VerdictDiff(final VerdictSummary reference, final VerdictSummary current) {
+        final Map<String, TestVerdict> referenceVerdicts = reference.getVerdicts();
+        final Map<String, TestVerdict> currentVerdicts = current.getVerdicts();
+        for (final Map.Entry<String, TestVerdict> entry : currentVerdicts.entrySet()) {
+            final TestVerdict oldVerdict = referenceVerdicts.get(entry.getKey());
+            final TestVerdict newVerdict = entry.getValue();
+            if (oldVerdict == null) {
+                added.add(new VerdictChange(entry.getKey(), TestVerdict.NONE, newVerdict));
+            } else if (newVerdict.isFailing() && !oldVerdict.isFailing()) {
+                newlyFailing.add(new VerdictChange(entry.getKey(), oldVerdict, newVerdict));
+            } else if (newVerdict == TestVerdict.SUCCESS && oldVerdict.isFailing()) {
+                newlyPassing.add(new VerdictChange(entry.getKey(), oldVerdict, newVerdict));
+            }
+        }
+        for (final Map.Entry<String, TestVerdict> entry : referenceVerdicts.entrySet()) {
+            if (!currentVerdicts.containsKey(entry.getKey())) {
+                removed.add(new VerdictChange(entry.getKey(), entry.getValue(), TestVerdict.NONE));
+            }
+        }
+    }
+
+    /**
+     * @return the tests failing in the current build but not in the reference build
+     */
+    public List<VerdictChange> getNewlyFailing() {
+        return Collections.unmodifiableList(newlyFailing);
+    }
+
+    /**
+     * @return the tests passing in the current build but failing in the reference build
+     */
+    public List<VerdictChange> getNewlyPassing() {
+        return Collections.unmodifiableList(newlyPassing);
+    }
+
+    /**
+     * @return the tests existing in the current build only
+     */
+    public List<VerdictChange> getAdded() {
+        return Collections.unmodifiableList(added);
+    }
+
+    /**
+     * @return the tests existing in the reference build only
+     */
+    public List<VerdictChange> getRemoved() {
+        return Collections.unmodifiableList(removed);
+    }
+
+    /**
+     * @return {@code true} if any verdict changed, {@code false} otherwise
+     */
+    public boolean hasChanges() {
+        return !newlyFailing.isEmpty() || !newlyPassing.isEmpty() || !added.isEmpty() || !removed.isEmpty();
+    }
+
+    /**
+     * Holds the verdict change of a single test.
+     */
+    public static final class VerdictChange {
+
+        private final String testId;
+        private final TestVerdict oldVerdict;
+        private final TestVerdict newVerdict;
+
+        /**
+         * Instantiates a new {@link VerdictChange}.
+         *
+         * @param testId
+         *            the test id
+         * @param oldVerdict
+         *            the verdict of the reference build
+         * @param newVerdict
+         *            the verdict of the current build
+         */
+        public VerdictChange(final String testId, final TestVerdict oldVerdict, final TestVerdict newVerdict) {
+            this.testId = testId;
+            this.oldVerdict = oldVerdict;
+            this.newVerdict = newVerdict;
+        }
+
+        /**
+         * @return the test id
+         */
+        public String getTestId() {
+            return testId;
+        }
+
+        /**
+         * @return the verdict of the reference build
+         */
+        public TestVerdict getOldVerdict() {
+            return oldVerdict;
+        }
+
+        /**
+         * @return the verdict of the current build
+         */
+        public TestVerdict getNewVerdict() {
+            return newVerdict;
+        }
+    }
+}
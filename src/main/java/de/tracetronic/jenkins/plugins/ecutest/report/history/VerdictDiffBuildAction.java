@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.history;
+
+import hudson.model.Action;
+import hudson.model.Result;
+import hudson.model.Run;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.CheckForNull;
+
+import jenkins.model.RunAction2;
+
+/**
+ * Action to show the verdict changes of a build compared to the last successful build at the build page.
+ * <p>
+ * The changes are computed from the {@link VerdictSummary}s of both builds, so no archived report is re-opened.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class VerdictDiffBuildAction implements Action, RunAction2 {
+
+    private static final Logger LOGGER = Logger.getLogger(VerdictDiffBuildAction.class.getName());
+
+    /**
+     * The URL name of this action.
+     */
+    protected static final String URL_NAME = "verdict-changes";
+
+    /**
+     * The maximum number of previous builds searched for a reference build.
+     */
+    private static final int MAX_REFERENCE_LOOKUP = 100;
+
+    private final int referenceBuildNumber;
+
+    private transient Run<?, ?> run;
+    private transient SoftReference<VerdictDiff> diff;
+
+    /**
+     * Instantiates a new {@link VerdictDiffBuildAction}.
+     *
+     * @param referenceBuildNumber
+     *            the number of the build to compare with, {@code 0} if there is none
+     */
+    public VerdictDiffBuildAction(final int referenceBuildNumber) {
+        this.referenceBuildNumber = referenceBuildNumber;
+    }
+
+    /**
+     * Searches for the last successful build before the given run having a {@link VerdictSummary}.
+     *
+     * @param run
+     *            the current run
+     * @return the reference build number, {@code 0} if no proper build exists
+     */
+    public static int findReferenceBuildNumber(final Run<?, ?> run) {
+        int lookups = 0;
+        for (Run<?, ?> build = run.getPreviousBuild(); build != null && lookups < MAX_REFERENCE_LOOKUP;
+                build = build.getPreviousBuild(), lookups++) {
+            if (build.getResult() == Result.SUCCESS && VerdictSummary.exists(build.getRootDir())) {
+                return build.getNumber();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the number of the build to compare with, {@code 0} if there is none
+     */
+    public int getReferenceBuildNumber() {
+        return referenceBuildNumber;
+    }
+
+    /**
+     * @return the build to compare with or {@code null} if no proper build exists
+     */
+    @CheckForNull
+    public Run<?, ?> getReferenceBuild() {
+        if (run == null || referenceBuildNumber == 0) {
+            return null;
+        }
+        return run.getParent().getBuildByNumber(referenceBuildNumber);
+    }
+
+    /**
+     * @return the build owning this action
+     */
+    public Run<?, ?> getRun() {
+        return run;
+    }
+
+    /**
+     * Gets the verdict changes compared to the reference build.
+     *
+     * @return the verdict changes or {@code null} if no reference build exists or the summaries are unreadable
+     */
+    @CheckForNull
+    public VerdictDiff getDiff() {
+        VerdictDiff verdictDiff = diff != null ? diff.get() : null;
+        if (verdictDiff != null) {
+            return verdictDiff;
+        }
+
+        final Run<?, ?> referenceBuild = getReferenceBuild();
+        if (referenceBuild == null) {
+            return null;
+        }
+        try {
+            verdictDiff = new VerdictDiff(VerdictSummary.load(referenceBuild.getRootDir()),
+                    VerdictSummary.load(run.getRootDir()));
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, String.format("Failed loading verdict summaries of %s",
+                    run.getFullDisplayName()), e);
+            return null;
+        }
+        // Summary may still be extended by subsequent publishers
+        if (!run.isBuilding()) {
+            diff = new SoftReference<VerdictDiff>(verdictDiff);
+        }
+        return verdictDiff;
+    }
+
+    @Override
+    public void onAttached(final Run<?, ?> r) {
+        run = r;
+    }
+
+    @Override
+    public void onLoad(final Run<?, ?> r) {
+        run = r;
+    }
+
+    @Override
+    public String getIconFileName() {
+        return "notepad.png";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return Messages.VerdictDiffBuildAction_DisplayName();
+    }
+
+    @Override
+    public String getUrlName() {
+        return URL_NAME;
+    }
+}
@@ -0,0 +1,615 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.history;
+
+import hudson.model.Job;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * Append-only, compact binary store of test verdicts per job.
+ * <p>
+ * The history file is located in the job root directory and consists of a header followed by two kinds of entries:
+ * test id definitions and verdict records referencing a previously defined test id by its index. Numbers are written
+ * as variable-length integers, so a single verdict record usually takes less than ten bytes.
+ * <p>
+ * The file is read incrementally, i.e. only entries appended since the last access are parsed, and the latest
+ * {@link TestHistory#WINDOW_SIZE} results per test are kept in memory. Queries therefore neither load old
+ * {@link hudson.model.Run}s nor re-read the whole file. The file gets compacted to the in-memory windows when it grows
+ * too large.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public final class VerdictHistory {
+
+    private static final Logger LOGGER = Logger.getLogger(VerdictHistory.class.getName());
+
+    /**
+     * File name of the verdict history in the job root directory.
+     */
+    public static final String HISTORY_FILE_NAME = "verdict-history.bin";
+
+    private static final int MAGIC = 0x45545648;
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 5;
+    private static final byte TAG_TEST_ID = 'T';
+    private static final byte TAG_VERDICT = 'V';
+    private static final int COMPACT_FACTOR = 4;
+
+    private static final Map<File, SoftReference<VerdictHistory>> HISTORIES =
+            new HashMap<File, SoftReference<VerdictHistory>>();
+
+    private final File file;
+    private final List<String> testIds = new ArrayList<String>();
+    private final Map<String, Integer> testIndex = new HashMap<String, Integer>();
+    private final Map<String, TestHistory> histories = new LinkedHashMap<String, TestHistory>();
+    private long offset;
+    private long recordCount;
+
+    /**
+     * Instantiates a new {@link VerdictHistory}.
+     *
+     * @param file
+     *            the history file
+     */
+    VerdictHistory(final File file) {
+        this.file = file;
+    }
+
+    /**
+     * Gets the shared verdict history of the given job.
+     *
+     * @param job
+     *            the job
+     * @return the verdict history
+     */
+    public static VerdictHistory forJob(final Job<?, ?> job) {
+        return forDirectory(job.getRootDir());
+    }
+
+    /**
+     * Gets the shared verdict history stored in the given directory.
+     *
+     * @param dir
+     *            the directory containing the history file
+     * @return the verdict history
+     */
+    public static VerdictHistory forDirectory(final File dir) {
+        final File file = new File(dir, HISTORY_FILE_NAME);
+        synchronized (HISTORIES) {
+            final SoftReference<VerdictHistory> ref = HISTORIES.get(file);
+            VerdictHistory history = ref != null ? ref.get() : null;
+            if (history == null) {
+                history = new VerdictHistory(file);
+                HISTORIES.put(file, new SoftReference<VerdictHistory>(history));
+            }
+            return history;
+        }
+    }
+
+    /**
+     * @return the history file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Appends the given verdict records to the history.
+     *
+     * @param records
+     *            the records to append
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    public synchronized void append(final Collection<VerdictRecord> records) throws IOException {
+        refresh();
+        if (records.isEmpty()) {
+            return;
+        }
+        if (offset == 0 && file.length() >= HEADER_SIZE) {
+            // Never append to a history which could neither be read nor moved aside
+            throw new IOException(String.format("Unreadable verdict history: %s", file));
+        }
+
+        // Discard incomplete entries of an interrupted write
+        if (file.exists() && file.length() > offset && offset >= HEADER_SIZE) {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(offset);
+            }
+        }
+
+        final boolean writeHeader = !file.exists() || file.length() < HEADER_SIZE;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file,
+                !writeHeader)))) {
+            if (writeHeader) {
+                writeHeader(out);
+            }
+            for (final VerdictRecord record : records) {
+                writeRecord(out, record);
+            }
+        } catch (final IOException e) {
+            reset();
+            throw e;
+        }
+        offset = file.length();
+
+        if (recordCount > (long) COMPACT_FACTOR * TestHistory.WINDOW_SIZE * Math.max(1, histories.size())) {
+            compact();
+        }
+    }
+
+    /**
+     * Gets the history of a single test.
+     *
+     * @param testId
+     *            the test id
+     * @return the test history or {@code null} if no result is recorded
+     */
+    @CheckForNull
+    public synchronized TestHistory getTestHistory(final String testId) {
+        refresh();
+        return histories.get(testId);
+    }
+
+    /**
+     * Gets the histories of all recorded tests.
+     *
+     * @return the list of test histories in order of their first occurrence
+     */
+    public synchronized List<TestHistory> getTestHistories() {
+        refresh();
+        return new ArrayList<TestHistory>(histories.values());
+    }
+
+    /**
+     * Gets a snapshot of the histories of the given tests. The returned histories are copies taken at once, so they
+     * are neither affected by concurrent appends nor by each other.
+     *
+     * @param testIds
+     *            the test ids
+     * @return the map of test ids to their copied histories, tests without any recorded result are omitted
+     */
+    public synchronized Map<String, TestHistory> getSnapshot(final Collection<String> testIds) {
+        refresh();
+        final Map<String, TestHistory> snapshot = new HashMap<String, TestHistory>();
+        for (final String testId : testIds) {
+            final TestHistory history = histories.get(testId);
+            if (history != null) {
+                snapshot.put(testId, new TestHistory(history));
+            }
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Gets the flaky tests, i.e. all tests having at least one verdict flip, ordered by descending flakiness.
+     *
+     * @param limit
+     *            the maximum number of tests to return
+     * @return the list of flaky tests
+     */
+    public synchronized List<TestHistory> getFlakyTests(final int limit) {
+        refresh();
+        final List<TestHistory> flakyTests = new ArrayList<TestHistory>();
+        for (final TestHistory history : histories.values()) {
+            if (history.getFlipCount() > 0) {
+                flakyTests.add(history);
+            }
+        }
+        Collections.sort(flakyTests, new Comparator<TestHistory>() {
+
+            @Override
+            public int compare(final TestHistory o1, final TestHistory o2) {
+                final int result = Double.compare(o2.getFlakiness(), o1.getFlakiness());
+                if (result != 0) {
+                    return result;
+                }
+                return o1.getTestId().compareTo(o2.getTestId());
+            }
+        });
+        return flakyTests.size() > limit ? flakyTests.subList(0, limit) : flakyTests;
+    }
+
+    /**
+     * Gets the slowest tests, i.e. all tests having a known duration, ordered by descending average duration.
+     *
+     * @param limit
+     *            the maximum number of tests to return
+     * @return the list of slowest tests
+     */
+    public synchronized List<TestHistory> getSlowestTests(final int limit) {
+        refresh();
+        final List<TestHistory> slowestTests = new ArrayList<TestHistory>();
+        for (final TestHistory history : histories.values()) {
+            if (history.getAverageDuration() > 0) {
+                slowestTests.add(history);
+            }
+        }
+        Collections.sort(slowestTests, new Comparator<TestHistory>() {
+
+            @Override
+            public int compare(final TestHistory o1, final TestHistory o2) {
+                final int result = Long.compare(o2.getAverageDuration(), o1.getAverageDuration());
+                if (result != 0) {
+                    return result;
+                }
+                return o1.getTestId().compareTo(o2.getTestId());
+            }
+        });
+        return slowestTests.size() > limit ? slowestTests.subList(0, limit) : slowestTests;
+    }
+
+    /**
+     * Gets the tests whose latest duration exceeds their baseline duration, ordered by descending duration change.
+     *
+     * @param limit
+     *            the maximum number of tests to return
+     * @return the list of duration regressions
+     */
+    public synchronized List<TestHistory> getDurationRegressions(final int limit) {
+        refresh();
+        final List<TestHistory> regressions = new ArrayList<TestHistory>();
+        for (final TestHistory history : histories.values()) {
+            if (history.getDurationChange() > 0) {
+                regressions.add(history);
+            }
+        }
+        Collections.sort(regressions, new Comparator<TestHistory>() {
+
+            @Override
+            public int compare(final TestHistory o1, final TestHistory o2) {
+                final int result = Long.compare(o2.getDurationChange(), o1.getDurationChange());
+                if (result != 0) {
+                    return result;
+                }
+                return o1.getTestId().compareTo(o2.getTestId());
+            }
+        });
+        return regressions.size() > limit ? regressions.subList(0, limit) : regressions;
+    }
+
+    /**
+     * Reads all entries appended since the last access.
+     */
+    private void refresh() {
+        if (!file.exists()) {
+            if (offset > 0) {
+                reset();
+            }
+            return;
+        }
+
+        final long length = file.length();
+        if (length < offset) {
+            reset();
+        } else if (length == offset) {
+            return;
+        }
+
+        try {
+            final byte[] data = readFrom(offset, length);
+            final ByteArrayInputStream bytes = new ByteArrayInputStream(data);
+            final DataInputStream in = new DataInputStream(bytes);
+            long position = offset;
+            if (offset == 0) {
+                if (data.length < HEADER_SIZE) {
+                    return;
+                }
+                if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                    LOGGER.warning(String.format("Ignoring incompatible verdict history: %s", file));
+                    moveAside();
+                    return;
+                }
+                position = HEADER_SIZE;
+            }
+            while (bytes.available() > 0) {
+                try {
+                    readEntry(in);
+                } catch (final EOFException e) {
+                    // Incomplete trailing entry, will be discarded by the next append
+                    break;
+                }
+                position = offset + data.length - bytes.available();
+            }
+            offset = position;
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, String.format("Ignoring corrupt verdict history: %s", file), e);
+            try {
+                moveAside();
+            } catch (final IOException moveException) {
+                LOGGER.log(Level.WARNING, String.format("Failed moving verdict history aside: %s", file),
+                        moveException);
+                reset();
+            }
+        }
+    }
+
+    /**
+     * Reads a single history entry.
+     *
+     * @param in
+     *            the data input
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    private void readEntry(final DataInput in) throws IOException {
+        final byte tag = in.readByte();
+        if (tag == TAG_TEST_ID) {
+            registerTestId(in.readUTF());
+        } else if (tag == TAG_VERDICT) {
+            final int index = readVarInt(in);
+            final int buildNumber = readVarInt(in);
+            final TestVerdict verdict = TestVerdict.fromCode(in.readByte());
+            final long duration = readVarLong(in);
+            if (index >= testIds.size()) {
+                throw new IOException(String.format("Invalid test index %d", index));
+            }
+            apply(testIds.get(index), buildNumber, verdict, duration);
+        } else {
+            throw new IOException(String.format("Invalid entry tag %d", tag));
+        }
+    }
+
+    /**
+     * Writes a single verdict record and its test id definition if not yet known.
+     *
+     * @param out
+     *            the data output
+     * @param record
+     *            the verdict record
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    private void writeRecord(final DataOutput out, final VerdictRecord record) throws IOException {
+        Integer index = testIndex.get(record.getTestId());
+        if (index == null) {
+            out.writeByte(TAG_TEST_ID);
+            out.writeUTF(record.getTestId());
+            index = registerTestId(record.getTestId());
+        }
+        out.writeByte(TAG_VERDICT);
+        writeVarInt(out, index);
+        writeVarInt(out, record.getBuildNumber());
+        out.writeByte(record.getVerdict().getCode());
+        writeVarLong(out, record.getDuration());
+        apply(record.getTestId(), record.getBuildNumber(), record.getVerdict(), record.getDuration());
+    }
+
+    /**
+     * Rewrites the history file containing only the results kept in memory.
+     *
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    private void compact() throws IOException {
+        final List<TestHistory> current = new ArrayList<TestHistory>(histories.values());
+        final File tmpFile = new File(file.getParentFile(), file.getName() + ".tmp");
+        reset();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+            writeHeader(out);
+            for (final TestHistory history : current) {
+                for (final VerdictRecord record : history.getRecords()) {
+                    writeRecord(out, record);
+                }
+            }
+        } catch (final IOException e) {
+            reset();
+            Files.deleteIfExists(tmpFile.toPath());
+            throw e;
+        }
+        Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        offset = file.length();
+    }
+
+    /**
+     * Adds a result to the related in-memory test history.
+     *
+     * @param testId
+     *            the test id
+     * @param buildNumber
+     *            the build number
+     * @param verdict
+     *            the test verdict
+     * @param duration
+     *            the duration in milliseconds
+     */
+    private void apply(final String testId, final int buildNumber, final TestVerdict verdict, final long duration) {
+        TestHistory history = histories.get(testId);
+        if (history == null) {
+            history = new TestHistory(testId);
+            histories.put(testId, history);
+        }
+        history.add(buildNumber, verdict, duration);
+        recordCount++;
+    }
+
+    /**
+     * Registers a new test id and assigns the next index.
+     *
+     * @param testId
+     *            the test id
+     * @return the assigned index
+     */
+    private int registerTestId(final String testId) {
+        final int index = testIds.size();
+        testIds.add(testId);
+        testIndex.put(testId, index);
+        return index;
+    }
+
+    /**
+     * Clears the in-memory state, so the history file is read completely on next access.
+     */
+    private void reset() {
+        testIds.clear();
+        testIndex.clear();
+        histories.clear();
+        offset = 0;
+        recordCount = 0;
+    }
+
+    /**
+     * Renames an incompatible or corrupt history file, so that a new history is started.
+     *
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    private void moveAside() throws IOException {
+        final File backupFile = new File(file.getParentFile(), file.getName() + ".bak");
+        Files.move(file.toPath(), backupFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        reset();
+    }
+
+    /**
+     * Reads the file content between the given positions.
+     *
+     * @param from
+     *            the start position
+     * @param to
+     *            the end position
+     * @return the read bytes
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    private byte[] readFrom(final long from, final long to) throws IOException {
+        final byte[] data = new byte[(int) (to - from)];
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            raf.seek(from);
+            raf.readFully(data);
+        }
+        return data;
+    }
+
+    /**
+     * Writes the file header.
+     *
+     * @param out
+     *            the data output
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    private static void writeHeader(final DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+    }
+
+    /**
+     * Writes an unsigned variable-length integer.
+     *
+     * @param out
+     *            the data output
+     * @param value
+     *            the non-negative value
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    private static void writeVarInt(final DataOutput out, final int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Writes an unsigned variable-length long.
+     *
+     * @param out
+     *            the data output
+     * @param value
+     *            the non-negative value
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    private static void writeVarLong(final DataOutput out, final long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.writeByte((int) (remaining & 0x7F | 0x80));
+            remaining >>>= 7;
+        }
+        out.writeByte((int) remaining);
+    }
+
+    /**
+     * Reads an unsigned variable-length integer.
+     *
+     * @param in
+     *            the data input
+     * @return the read value
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    private static int readVarInt(final DataInput in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    /**
+     * Reads an unsigned variable-length long.
+     *
+     * @param in
+     *            the data input
+     * @return the read value
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    private static long readVarLong(final DataInput in) throws IOException {
+        long value = 0L;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length number");
+    }
+}
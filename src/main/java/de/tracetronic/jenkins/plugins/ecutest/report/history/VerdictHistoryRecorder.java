@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.history;
+
+import hudson.model.Run;
+
+import java.io.IOException;
+import java.util.Collection;
+
+import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
+
+/**
+ * Utility class recording test verdicts of a build into the {@link VerdictHistory} of its job.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public final class VerdictHistoryRecorder {
+
+    /**
+     * Instantiates a new {@link VerdictHistoryRecorder}.
+     */
+    private VerdictHistoryRecorder() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Appends the verdict records to the history of the job, merges them into the {@link VerdictSummary} of the
+     * build and adds the {@link VerdictHistoryBuildAction} and {@link VerdictDiffBuildAction}.
+     * <p>
+     * Failing to write the history is logged only and does not affect the build result.
+     *
+     * @param run
+     *            the run
+     * @param records
+     *            the verdict records
+     * @param logger
+     *            the logger
+     */
+    public static void record(final Run<?, ?> run, final Collection<VerdictRecord> records,
+            final TTConsoleLogger logger) {
+        if (records.isEmpty()) {
+            return;
+        }
+        try {
+            VerdictHistory.forJob(run.getParent()).append(records);
+            VerdictSummary.update(run.getRootDir(), records);
+            if (run.getAction(VerdictHistoryBuildAction.class) == null) {
+                run.addAction(new VerdictHistoryBuildAction());
+            }
+            if (run.getAction(VerdictDiffBuildAction.class) == null) {
+                run.addAction(new VerdictDiffBuildAction(VerdictDiffBuildAction.findReferenceBuildNumber(run)));
+            }
+            logger.logInfo(String.format("-> Recorded %d verdict(s) to test history.", records.size()));
+        } catch (final IOException e) {
+            logger.logWarn(String.format("-> Recording test history failed: %s", e.getMessage()));
+        }
+    }
+
+    /**
+     * Gets the id of a test in the verdict history, i.e. the path of the test file relative to the first base
+     * directory containing it. This keeps the id stable across agents and concurrent workspaces of the same job.
+     *
+     * @param testFile
+     *            the test file
+     * @param baseDirs
+     *            the base directories in order of preference, {@code null} entries are ignored
+     * @return the relative path using forward slashes or the normalized test file path if not located in any of the
+     *         base directories
+     */
+    public static String getTestId(final String testFile, final String... baseDirs) {
+        final String path = normalize(testFile);
+        for (final String baseDir : baseDirs) {
+            if (baseDir == null) {
+                continue;
+            }
+            final String base = normalize(baseDir);
+            if (path.length() > base.length() + 1 && path.charAt(base.length()) == '/'
+                    && path.regionMatches(true, 0, base, 0, base.length())) {
+                return path.substring(base.length() + 1);
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Normalizes the separators of the given path and removes trailing separators.
+     *
+     * @param path
+     *            the path
+     * @return the normalized path
+     */
+    private static String normalize(final String path) {
+        String normalized = path.replace('\\', '/');
+        while (normalized.length() > 1 && normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.history;
+
+/**
+ * Immutable record of a single test verdict which is appended to the {@link VerdictHistory}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class VerdictRecord {
+
+    private final String testId;
+    private final int buildNumber;
+    private final TestVerdict verdict;
+    private final long duration;
+
+    /**
+     * Instantiates a new {@link VerdictRecord}.
+     *
+     * @param testId
+     *            the test id identifying the package, project or test case
+     * @param buildNumber
+     *            the build number
+     * @param verdict
+     *            the test verdict
+     * @param duration
+     *            the execution duration in milliseconds, {@code 0} if unknown
+     */
+    public VerdictRecord(final String testId, final int buildNumber, final TestVerdict verdict,
+            final long duration) {
+        this.testId = testId;
+        this.buildNumber = buildNumber;
+        this.verdict = verdict;
+        this.duration = Math.max(0L, duration);
+    }
+
+    /**
+     * @return the test id
+     */
+    public String getTestId() {
+        return testId;
+    }
+
+    /**
+     * @return the build number
+     */
+    public int getBuildNumber() {
+        return buildNumber;
+    }
+
+    /**
+     * @return the test verdict
+     */
+    public TestVerdict getVerdict() {
+        return verdict;
+    }
+
+    /**
+     * @return the execution duration in milliseconds
+     */
+    public long getDuration() {
+        return duration;
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.history;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compact summary of all test verdicts of a single build, stored in the build root directory at publish time.
+ * <p>
+ * The summary consists of a header, the number of entries and the entries sorted by test id, each holding the test id
+ * and the verdict byte code. It allows comparing builds without re-opening any archived report.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class VerdictSummary {
+
+    /**
+     * File name of the verdict summary in the build root directory.
+     */
+    public static final String SUMMARY_FILE_NAME = "verdict-summary.bin";
+
+    private static final int MAGIC = 0x45545653;
+    private static final byte VERSION = 1;
+
+    private final Map<String, TestVerdict> verdicts;
+
+    /**
+     * Instantiates a new {@link VerdictSummary}.
+     *
+     * @param verdicts
+     *            the verdicts by test id
+     */
+    public VerdictSummary(final Map<String, TestVerdict> verdicts) {
+        this.verdicts = new TreeMap<String, TestVerdict>(verdicts);
+    }
+
+    /**
+     * @return the unmodifiable verdicts by test id
+     */
+    public Map<String, TestVerdict> getVerdicts() {
+        return Collections.unmodifiableMap(verdicts);
+    }
+
+    /**
+     * Returns whether a summary is stored in the given build directory.
+     *
+     * @param buildDir
+     *            the build root directory
+     * @return {@code true} if a summary exists, {@code false} otherwise
+     */
+    public static boolean exists(final File buildDir) {
+        return new File(buildDir, SUMMARY_FILE_NAME).exists();
+    }
+
+    /**
+     * Loads the summary stored in the given build directory.
+     *
+     * @param buildDir
+     *            the build root directory
+     * @return the loaded summary, an empty summary if none is stored
+     * @throws IOException
+     *             signals that an I/O exception has occurred or the summary is invalid
+     */
+    public static VerdictSummary load(final File buildDir) throws IOException {
+        final Map<String, TestVerdict> verdicts = new TreeMap<String, TestVerdict>();
+        final File file = new File(buildDir, SUMMARY_FILE_NAME);
+        if (!file.exists()) {
+            return new VerdictSummary(verdicts);
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new IOException(String.format("Invalid verdict summary: %s", file));
+            }
+            final int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                final String testId = in.readUTF();
+                verdicts.put(testId, TestVerdict.fromCode(in.readByte()));
+            }
+        }
+        return new VerdictSummary(verdicts);
+    }
+
+    /**
+     * Merges the given verdict records into the summary stored in the given build directory.
+     *
+     * @param buildDir
+     *            the build root directory
+     * @param records
+     *            the verdict records to merge, replacing verdicts with same test id
+     * @return the merged summary
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    public static VerdictSummary update(final File buildDir, final Collection<VerdictRecord> records)
+            throws IOException {
+        final Map<String, TestVerdict> verdicts = new TreeMap<String, TestVerdict>(load(buildDir).verdicts);
+        for (final VerdictRecord record : records) {
+            verdicts.put(record.getTestId(), record.getVerdict());
+        }
+        final VerdictSummary summary = new VerdictSummary(verdicts);
+        summary.save(buildDir);
+        return summary;
+    }
+
+    /**
+     * Saves this summary to the given build directory.
+     *
+     * @param buildDir
+     *            the build root directory
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    public void save(final File buildDir) throws IOException {
+        final File file = new File(buildDir, SUMMARY_FILE_NAME);
+        final File tmpFile = new File(buildDir, SUMMARY_FILE_NAME + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(verdicts.size());
+            for (final Map.Entry<String, TestVerdict> entry : verdicts.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeByte(entry.getValue().getCode());
+            }
+        }
+        Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -44,6 +44,8 @@ import hudson.model.AbstractProject;
 import hudson.model.Run;
 import hudson.tasks.BuildStepDescriptor;
 import hudson.tasks.Publisher;
+import hudson.tasks.junit.CaseResult;
+import hudson.tasks.junit.SuiteResult;
 import hudson.tasks.junit.TestResult;
 import hudson.tasks.junit.TestResultAction;
 import hudson.tasks.test.TestResultAggregator;
@@ -52,6 +54,7 @@ import hudson.util.FormValidation;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.annotation.CheckForNull;
@@ -66,6 +69,9 @@ import org.kohsuke.stapler.QueryParameter;
 import de.tracetronic.jenkins.plugins.ecutest.ETPluginException;
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
 import de.tracetronic.jenkins.plugins.ecutest.report.AbstractReportPublisher;
+import de.tracetronic.jenkins.plugins.ecutest.report.history.TestVerdict;
+import de.tracetronic.jenkins.plugins.ecutest.report.history.VerdictHistoryRecorder;
+import de.tracetronic.jenkins.plugins.ecutest.report.history.VerdictRecord;
 import de.tracetronic.jenkins.plugins.ecutest.tool.installation.AbstractToolInstallation;
 import de.tracetronic.jenkins.plugins.ecutest.tool.installation.ETInstallation;
 import de.tracetronic.jenkins.plugins.ecutest.util.ProcessUtil;
@@ -267,6 +273,7 @@ public class JUnitPublisher extends AbstractReportPublisher implements MatrixAgg
         }
         testResult.freeze(action);
         run.addAction(action);
+        recordVerdicts(run, testResult, logger);
 
         // Change build result if thresholds exceeded
         if (setBuildResult(run, listener, testResult)) {
@@ -274,6 +281,35 @@ public class JUnitPublisher extends AbstractReportPublisher implements MatrixAgg
         }
     }
 
+    /**
+     * Records the verdicts of all test cases into the verdict history of the job.
+     *
+     * @param run
+     *            the run
+     * @param testResult
+     *            the test result
+     * @param logger
+     *            the logger
+     */
+    private void recordVerdicts(final Run<?, ?> run, final TestResult testResult, final TTConsoleLogger logger) {
+        final List<VerdictRecord> records = new ArrayList<VerdictRecord>();
+        for (final SuiteResult suiteResult : testResult.getSuites()) {
+            for (final CaseResult caseResult : suiteResult.getCases()) {
+                TestVerdict verdict;
+                if (caseResult.isSkipped()) {
+                    verdict = TestVerdict.NONE;
+                } else if (caseResult.isPassed()) {
+                    verdict = TestVerdict.SUCCESS;
+                } else {
+                    verdict = TestVerdict.FAILED;
+                }
+                records.add(new VerdictRecord(caseResult.getFullName(), run.getNumber(), verdict,
+                        (long) (caseResult.getDuration() * 1000)));
+            }
+        }
+        VerdictHistoryRecorder.record(run, records, logger);
+    }
+
     /**
      * Sets the build result according to the test result.
      *
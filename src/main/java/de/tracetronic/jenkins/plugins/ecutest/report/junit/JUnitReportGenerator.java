@@ -37,6 +37,7 @@ import hudson.remoting.Callable;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 
 import jenkins.security.MasterToSlaveCallable;
@@ -45,9 +46,11 @@ import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
 import de.tracetronic.jenkins.plugins.ecutest.tool.StartETBuilder;
 import de.tracetronic.jenkins.plugins.ecutest.tool.client.ETClient;
 import de.tracetronic.jenkins.plugins.ecutest.tool.installation.ETInstallation;
-import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComClient;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
-import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.TestEnvironment;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession.ComTask;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComApplication;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestEnvironment;
 
 /**
  * The Class JUnitReportGenerator.
@@ -172,7 +175,8 @@ public class JUnitReportGenerator {
     /**
      * {@link Callable} enabling generation of UNIT reports remotely.
      */
-    private static final class GenerateUnitReportCallable extends MasterToSlaveCallable<Boolean, IOException> {
+    private static final class GenerateUnitReportCallable extends MasterToSlaveCallable<Boolean, IOException>
+            implements ComTask<Boolean> {
 
         private static final long serialVersionUID = 1L;
 
@@ -194,22 +198,36 @@ public class JUnitReportGenerator {
 
         @Override
         public Boolean call() throws IOException {
+            boolean isGenerated = false;
+            try {
+                isGenerated = ETComSession.getInstance().execute(ETComSession.DEFAULT_TIMEOUT,
+                        ETComSession.NO_TASK_TIMEOUT, this);
+            } catch (final ETComException e) {
+                final TTConsoleLogger logger = new TTConsoleLogger(listener);
+                logger.logError("Caught ComException: " + e.getMessage());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                final TTConsoleLogger logger = new TTConsoleLogger(listener);
+                logger.logError("-> Interrupted while waiting for ECU-TEST!");
+            }
+            return isGenerated;
+        }
+
+        @Override
+        public Boolean call(final ComApplication comClient) throws ETComException {
             boolean isGenerated = true;
             final TTConsoleLogger logger = new TTConsoleLogger(listener);
-            try (ETComClient comClient = new ETComClient()) {
-                final TestEnvironment testEnv = (TestEnvironment) comClient.getTestEnvironment();
+            try (ComTestEnvironment testEnv = comClient.getTestEnvironment()) {
                 for (final FilePath dbFile : dbFiles) {
                     logger.logInfo(String.format("-> Generating UNIT report: %s", dbFile.getRemote()));
                     final File outDir = new File(dbFile.getParent().getRemote(), UNIT_TEMPLATE_NAME);
                     if (!testEnv.generateTestReportDocumentFromDB(dbFile.getRemote(),
-                            outDir.getAbsolutePath(), UNIT_TEMPLATE_NAME, true)) {
+                            outDir.getAbsolutePath(), UNIT_TEMPLATE_NAME, true,
+                            Collections.<String, String> emptyMap())) {
                         isGenerated = false;
                         logger.logError("Generating UNIT report failed!");
                     }
                 }
-            } catch (final ETComException e) {
-                isGenerated = false;
-                logger.logError("Caught ComException: " + e.getMessage());
             }
             return isGenerated;
         }
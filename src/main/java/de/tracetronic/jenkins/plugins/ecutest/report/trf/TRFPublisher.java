@@ -39,16 +39,24 @@ import hudson.model.AbstractProject;
 import hudson.model.Run;
 import hudson.tasks.BuildStepDescriptor;
 import hudson.tasks.Publisher;
+import hudson.util.FormValidation;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
 
 import de.tracetronic.jenkins.plugins.ecutest.env.TestEnvInvisibleAction;
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
 import de.tracetronic.jenkins.plugins.ecutest.report.AbstractReportPublisher;
+import de.tracetronic.jenkins.plugins.ecutest.report.history.TestVerdict;
+import de.tracetronic.jenkins.plugins.ecutest.report.history.VerdictHistoryRecorder;
+import de.tracetronic.jenkins.plugins.ecutest.report.history.VerdictRecord;
+import de.tracetronic.jenkins.plugins.ecutest.report.junit.JUnitPublisher;
+import de.tracetronic.jenkins.plugins.ecutest.util.validation.JUnitValidator;
 
 /**
  * Publisher providing links to saved {@link TRFReport}s.
@@ -67,6 +75,23 @@ public class TRFPublisher extends AbstractReportPublisher {
      */
     protected static final String URL_NAME = "trf-reports";
 
+    /**
+     * @since 1.12
+     */
+    private boolean gating;
+    /**
+     * @since 1.12
+     */
+    private double unstableThreshold;
+    /**
+     * @since 1.12
+     */
+    private double failedThreshold;
+    /**
+     * @since 1.12
+     */
+    private boolean skipArchivingOnFailure;
+
     /**
      * Instantiates a new {@link TRFPublisher}.
      */
@@ -115,8 +140,81 @@ public class TRFPublisher extends AbstractReportPublisher {
      * @return an instance of this class with all the new fields transferred from the old structure to the new one
      */
     public final Object readResolve() {
-        return new TRFPublisher(isAllowMissing(), isRunOnFailed(), isArchiving() == null ? true
-                : isArchiving(), isKeepAll() == null ? true : isKeepAll());
+        final TRFPublisher publisher = new TRFPublisher(isAllowMissing(), isRunOnFailed(), isArchiving() == null
+                ? true : isArchiving(), isKeepAll() == null ? true : isKeepAll());
+        publisher.gating = gating;
+        publisher.unstableThreshold = unstableThreshold;
+        publisher.failedThreshold = failedThreshold;
+        publisher.skipArchivingOnFailure = skipArchivingOnFailure;
+        return publisher;
+    }
+
+    /**
+     * Returns whether the build result is gated by the test verdicts before archiving.
+     *
+     * @return {@code true} if gating is enabled, {@code false} otherwise
+     */
+    public boolean isGating() {
+        return gating;
+    }
+
+    /**
+     * @return the unstable threshold
+     */
+    public double getUnstableThreshold() {
+        return unstableThreshold;
+    }
+
+    /**
+     * @return the failed threshold
+     */
+    public double getFailedThreshold() {
+        return failedThreshold;
+    }
+
+    /**
+     * Returns whether archiving is skipped if gating sets the build result to failure.
+     *
+     * @return {@code true} if archiving is skipped on failure, {@code false} otherwise
+     */
+    public boolean isSkipArchivingOnFailure() {
+        return skipArchivingOnFailure;
+    }
+
+    /**
+     * @param gating
+     *            specifies whether the build result is gated by the test verdicts before archiving
+     */
+    @DataBoundSetter
+    public void setGating(final boolean gating) {
+        this.gating = gating;
+    }
+
+    /**
+     * @param unstableThreshold
+     *            the unstable threshold
+     */
+    @DataBoundSetter
+    public void setUnstableThreshold(final double unstableThreshold) {
+        this.unstableThreshold = convertToPercentage(unstableThreshold);
+    }
+
+    /**
+     * @param failedThreshold
+     *            the failed threshold
+     */
+    @DataBoundSetter
+    public void setFailedThreshold(final double failedThreshold) {
+        this.failedThreshold = convertToPercentage(failedThreshold);
+    }
+
+    /**
+     * @param skipArchivingOnFailure
+     *            specifies whether archiving is skipped if gating sets the build result to failure
+     */
+    @DataBoundSetter
+    public void setSkipArchivingOnFailure(final boolean skipArchivingOnFailure) {
+        this.skipArchivingOnFailure = skipArchivingOnFailure;
     }
 
     @SuppressWarnings("checkstyle:cyclomaticcomplexity")
@@ -132,6 +230,13 @@ public class TRFPublisher extends AbstractReportPublisher {
             return;
         }
 
+        recordVerdicts(run, workspace, logger);
+
+        if (isGating() && gateVerdicts(run, logger) == Result.FAILURE && isSkipArchivingOnFailure()) {
+            logger.logInfo("Skipping archiving of TRF reports since build result is FAILURE.");
+            return;
+        }
+
         if (isArchiving()) {
             int index = 0;
             final List<TRFReport> trfReports = new ArrayList<TRFReport>();
@@ -187,6 +292,87 @@ public class TRFPublisher extends AbstractReportPublisher {
         }
     }
 
+    /**
+     * Records the test verdicts of all executed packages and projects into the verdict history of the job.
+     *
+     * @param run
+     *            the run
+     * @param workspace
+     *            the workspace the test ids are relative to
+     * @param logger
+     *            the logger
+     */
+    private void recordVerdicts(final Run<?, ?> run, final FilePath workspace, final TTConsoleLogger logger) {
+        final List<VerdictRecord> records = new ArrayList<VerdictRecord>();
+        for (final TestEnvInvisibleAction testEnvAction : run.getActions(TestEnvInvisibleAction.class)) {
+            String testId = testEnvAction.getTestHistoryId();
+            if (testId == null) {
+                testId = VerdictHistoryRecorder.getTestId(testEnvAction.getTestFile(),
+                        workspace != null ? workspace.getRemote() : null);
+            }
+            records.add(new VerdictRecord(testId, run.getNumber(),
+                    TestVerdict.fromResult(testEnvAction.getTestResult()), testEnvAction.getTestDuration()));
+        }
+        VerdictHistoryRecorder.record(run, records, logger);
+    }
+
+    /**
+     * Sets the build result according to the verdicts of all executed packages and projects. The verdicts are already
+     * known from the test execution, so no report needs to be transferred from the agent.
+     *
+     * @param run
+     *            the run
+     * @param logger
+     *            the logger
+     * @return the gated build result or {@code null} if the build result is unchanged
+     */
+    private Result gateVerdicts(final Run<?, ?> run, final TTConsoleLogger logger) {
+        final int[] counts = new int[TestVerdict.values().length];
+        final List<TestEnvInvisibleAction> testEnvActions = run.getActions(TestEnvInvisibleAction.class);
+        for (final TestEnvInvisibleAction testEnvAction : testEnvActions) {
+            counts[TestVerdict.fromResult(testEnvAction.getTestResult()).ordinal()]++;
+        }
+        final int totalCount = testEnvActions.size();
+        final int failedCount = counts[TestVerdict.FAILED.ordinal()] + counts[TestVerdict.ERROR.ordinal()];
+        logger.logInfo(String.format("- Gating %d test verdict(s): #Passed: %d, #Inconclusive: %d, #Failed: %d, "
+                + "#Error: %d, #None: %d", totalCount, counts[TestVerdict.SUCCESS.ordinal()],
+                counts[TestVerdict.INCONCLUSIVE.ordinal()], counts[TestVerdict.FAILED.ordinal()],
+                counts[TestVerdict.ERROR.ordinal()], counts[TestVerdict.NONE.ordinal()]));
+
+        final double failedPercentage = JUnitPublisher.getFailedPercentage(failedCount, totalCount);
+        if (failedPercentage > failedThreshold) {
+            logger.logInfo(String.format(
+                    "-> %.1f%% of failed test verdicts exceed failed threshold of %.1f%%, "
+                            + "setting build status to FAILURE!", failedPercentage, failedThreshold));
+            run.setResult(Result.FAILURE);
+            return Result.FAILURE;
+        } else if (failedPercentage > unstableThreshold) {
+            logger.logInfo(String.format(
+                    "-> %.1f%% of failed test verdicts exceed unstable threshold of %.1f%%, "
+                            + "setting build status to UNSTABLE!", failedPercentage, unstableThreshold));
+            run.setResult(Result.UNSTABLE);
+            return Result.UNSTABLE;
+        }
+        return null;
+    }
+
+    /**
+     * Converts to percentage value.
+     *
+     * @param value
+     *            the value to convert
+     * @return the percentage value
+     */
+    private static double convertToPercentage(final double value) {
+        if (value < 0.0) {
+            return 0.0;
+        } else if (value > 100.0) {
+            return 100.0;
+        } else {
+            return value;
+        }
+    }
+
     /**
      * Creates the main report and adds the sub-reports by traversing them recursively.
      *
@@ -284,6 +470,8 @@ public class TRFPublisher extends AbstractReportPublisher {
     @Extension(ordinal = 1003)
     public static class DescriptorImpl extends BuildStepDescriptor<Publisher> {
 
+        private final JUnitValidator unitValidator = new JUnitValidator();
+
         @SuppressWarnings("rawtypes")
         @Override
         public boolean isApplicable(final Class<? extends AbstractProject> jobType) {
@@ -294,5 +482,27 @@ public class TRFPublisher extends AbstractReportPublisher {
         public String getDisplayName() {
             return Messages.TRFPublisher_DisplayName();
         }
+
+        /**
+         * Validates the unstable threshold.
+         *
+         * @param value
+         *            the threshold
+         * @return the form validation
+         */
+        public FormValidation doCheckUnstableThreshold(@QueryParameter final String value) {
+            return unitValidator.validateUnstableThreshold(value);
+        }
+
+        /**
+         * Validates the failed threshold.
+         *
+         * @param value
+         *            the threshold
+         * @return the form validation
+         */
+        public FormValidation doCheckFailedThreshold(@QueryParameter final String value) {
+            return unitValidator.validateFailedThreshold(value);
+        }
     }
 }
@@ -34,6 +34,7 @@ import hudson.EnvVars;
 import hudson.FilePath;
 import hudson.Launcher;
 import hudson.Util;
+import hudson.model.Computer;
 import hudson.model.TaskListener;
 import hudson.model.Run;
 import hudson.remoting.Callable;
@@ -60,10 +61,14 @@ import de.tracetronic.jenkins.plugins.ecutest.test.config.ExecutionConfig;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.TestConfig;
 import de.tracetronic.jenkins.plugins.ecutest.tool.client.ETClient;
 import de.tracetronic.jenkins.plugins.ecutest.tool.client.TSClient;
+import de.tracetronic.jenkins.plugins.ecutest.util.NodeCapabilityCache;
+import de.tracetronic.jenkins.plugins.ecutest.util.PathResolver;
 import de.tracetronic.jenkins.plugins.ecutest.util.PathUtil;
 import de.tracetronic.jenkins.plugins.ecutest.util.ProcessUtil;
-import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComClient;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession.ComTask;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComApplication;
 
 /**
  * Common base class for all test related task builders implemented in this plugin.
@@ -191,7 +196,7 @@ public abstract class AbstractTestBuilder extends Builder implements SimpleBuild
             if (!performed) {
                 if (getExecutionConfig().isStopOnError()) {
                     logger.logInfo("- Closing running ECU-TEST and Tool-Server instances...");
-                    if (closeETInstance(launcher, listener)) {
+                    if (closeETInstance(workspace, launcher, listener)) {
                         logger.logInfo("-> ECU-TEST closed successfully.");
                     } else {
                         logger.logInfo("-> No running ECU-TEST instance found.");
@@ -253,17 +258,15 @@ public abstract class AbstractTestBuilder extends Builder implements SimpleBuild
             expPkgDir = null;
         } else {
             // Determine packages directory by COM API
-            final String packageDir = getPackagesDir(launcher, listener);
+            final String packageDir = getPackagesDir(workspace, launcher, listener);
 
             // Absolutize packages directory, if not absolute assume relative to ECU-TEST workspace
             expPkgDir = PathUtil.makeAbsolutePath(packageDir, workspace);
         }
 
-        // Configure test file
-        final String expTestFilePath = getTestFilePath(expTestFile, expPkgDir, launcher, listener);
-
-        // Check test file existence
-        if (expTestFilePath == null) {
+        // Check test file declaration
+        if (expTestFile.isEmpty()) {
+            logger.logError(isTestFolder() ? "No test folder declared!" : "No package or project file declared!");
             return false;
         }
 
@@ -274,7 +277,7 @@ public abstract class AbstractTestBuilder extends Builder implements SimpleBuild
         final File tcfFile = new File(expTestConfig.getTcfFile());
         if (!tbcFile.isAbsolute() || !tcfFile.isAbsolute()) {
             // Determine configuration directory by COM API
-            final String configDir = getConfigDir(launcher, listener);
+            final String configDir = getConfigDir(workspace, launcher, listener);
 
             // Absolutize configuration directory, if not absolute assume relative to ECU-TEST workspace
             final String expConfigDir = PathUtil.makeAbsolutePath(configDir, workspace);
@@ -282,18 +285,17 @@ public abstract class AbstractTestBuilder extends Builder implements SimpleBuild
             expTcfConfigDir = tcfFile.isAbsolute() ? null : expConfigDir;
         }
 
-        // Configure test bench configuration file
-        final String expTbcFilePath = getConfigFilePath(expTestConfig.getTbcFile(),
-                expTbcConfigDir, launcher, listener);
-
-        // Configure test configuration file
-        final String expTcfFilePath = getConfigFilePath(expTestConfig.getTcfFile(),
-                expTcfConfigDir, launcher, listener);
-
-        // Check configuration file existence
-        if (expTbcFilePath == null || expTcfFilePath == null) {
+        // Resolve and check existence of test file and configuration files within a single remote call
+        final PathResolver resolver = new PathResolver(run);
+        final PathResolver.Entry testFileEntry = resolver.add(expTestFile, expPkgDir, isTestFolder());
+        final PathResolver.Entry tbcFileEntry = addConfigFile(resolver, expTestConfig.getTbcFile(), expTbcConfigDir);
+        final PathResolver.Entry tcfFileEntry = addConfigFile(resolver, expTestConfig.getTcfFile(), expTcfConfigDir);
+        if (!resolver.resolve(launcher, listener)) {
             return false;
         }
+        final String expTestFilePath = testFileEntry.getPath();
+        final String expTbcFilePath = tbcFileEntry == null ? "" : tbcFileEntry.getPath();
+        final String expTcfFilePath = tcfFileEntry == null ? "" : tcfFileEntry.getPath();
 
         // Set expanded test configuration
         expTestConfig = new TestConfig(expTbcFilePath, expTcfFilePath, expTestConfig.isForceReload(),
@@ -353,6 +355,8 @@ public abstract class AbstractTestBuilder extends Builder implements SimpleBuild
      * Tries to close already opened ECU-TEST instances via COM first.
      * If this is not successful tries to task-kill the running process.
      *
+     * @param workspace
+     *            the workspace
      * @param launcher
      *            the launcher
      * @param listener
@@ -363,13 +367,13 @@ public abstract class AbstractTestBuilder extends Builder implements SimpleBuild
      * @throws InterruptedException
      *             if the current thread is interrupted while waiting for the completion
      */
-    private boolean closeETInstance(final Launcher launcher, final TaskListener listener) throws IOException,
-    InterruptedException {
+    private boolean closeETInstance(final FilePath workspace, final Launcher launcher, final TaskListener listener)
+            throws IOException, InterruptedException {
         final List<String> foundProcesses = ETClient.checkProcesses(launcher, false);
         if (foundProcesses.isEmpty()) {
             return false;
         }
-        return ETClient.stopProcesses(launcher, listener, true);
+        return ETClient.stopProcesses(workspace, launcher, listener, true);
     }
 
     /**
@@ -404,78 +408,35 @@ public abstract class AbstractTestBuilder extends Builder implements SimpleBuild
     }
 
     /**
-     * Gets the absolute test file path.
+     * Specifies whether the test file is a test folder instead of a package or project file.
      *
-     * @param testFile
-     *            the expanded test file
-     * @param pkgDir
-     *            the packages directory containing the test file
-     * @param launcher
-     *            the launcher
-     * @param listener
-     *            the listener
-     * @return the absolute test file path
-     * @throws IOException
-     *             signals that an I/O exception has occurred
-     * @throws InterruptedException
-     *             if the build gets interrupted
+     * @return {@code true} if the test file is expected to be a directory, {@code false} otherwise
      */
-    protected String getTestFilePath(final String testFile, final String pkgDir, final Launcher launcher,
-            final TaskListener listener) throws IOException, InterruptedException {
-        String testFilePath = null;
-        final TTConsoleLogger logger = new TTConsoleLogger(listener);
-        if (testFile.isEmpty()) {
-            logger.logError("No package or project file declared!");
-        } else {
-            final File fullTestFile = new File(pkgDir, testFile);
-            final FilePath fullTestFilePath = new FilePath(launcher.getChannel(), fullTestFile.getPath());
-            if (fullTestFilePath.exists()) {
-                testFilePath = fullTestFilePath.getRemote();
-            } else {
-                logger.logError(String.format("%s does not exist!", fullTestFilePath.getRemote()));
-            }
-        }
-        return testFilePath;
+    protected boolean isTestFolder() {
+        return false;
     }
 
     /**
-     * Gets the absolute configuration file path.
+     * Adds the configuration file to the path resolver, unless no configuration file is declared.
      *
+     * @param resolver
+     *            the path resolver
      * @param configFile
      *            the expanded configuration file
      * @param configDir
      *            the expanded configuration directory containing the configuration file
-     * @param launcher
-     *            the launcher
-     * @param listener
-     *            the listener
-     * @return the absolute configuration file path
-     * @throws IOException
-     *             signals that an I/O exception has occurred
-     * @throws InterruptedException
-     *             if the build gets interrupted
+     * @return the resolver entry or {@code null} if no configuration file is declared
      */
-    private String getConfigFilePath(final String configFile, final String configDir, final Launcher launcher,
-            final TaskListener listener) throws IOException, InterruptedException {
-        String configFilePath = null;
-        final TTConsoleLogger logger = new TTConsoleLogger(listener);
-        if (configFile.isEmpty()) {
-            configFilePath = configFile;
-        } else {
-            final File fullConfigFile = new File(configDir, configFile);
-            final FilePath fullConfigFilePath = new FilePath(launcher.getChannel(), fullConfigFile.getPath());
-            if (fullConfigFilePath.exists()) {
-                configFilePath = fullConfigFilePath.getRemote();
-            } else {
-                logger.logError(String.format("%s does not exist!", fullConfigFilePath.getRemote()));
-            }
-        }
-        return configFilePath;
+    private static PathResolver.Entry addConfigFile(final PathResolver resolver, final String configFile,
+            final String configDir) {
+        return configFile.isEmpty() ? null : resolver.add(configFile, configDir, false);
     }
 
     /**
      * Gets the configuration directory of the current ECU-TEST workspace by querying the settings file via COM.
      *
+     * @param workspace
+     *            the workspace
      * @param launcher
      *            the launcher
      * @param listener
@@ -484,10 +445,11 @@ public abstract class AbstractTestBuilder extends Builder implements SimpleBuild
      * @throws InterruptedException
      *             if the current thread is interrupted while waiting for the completion
      */
-    protected String getConfigDir(final Launcher launcher, final TaskListener listener) throws InterruptedException {
+    protected String getConfigDir(final FilePath workspace, final Launcher launcher, final TaskListener listener)
+            throws InterruptedException {
         String configDir;
         try {
-            configDir = launcher.getChannel().call(new GetSettingCallable("configPath"));
+            configDir = getSetting("configPath", workspace, launcher);
         } catch (final IOException e) {
             final TTConsoleLogger logger = new TTConsoleLogger(listener);
             logger.logWarn("Could not get config dir, assuming default values now!");
@@ -499,6 +461,8 @@ public abstract class AbstractTestBuilder extends Builder implements SimpleBuild
     /**
      * Gets the packages directory of the current ECU-TEST workspace by querying the settings file via COM.
      *
+     * @param workspace
+     *            the workspace
      * @param launcher
      *            the launcher
      * @param listener
@@ -507,10 +471,11 @@ public abstract class AbstractTestBuilder extends Builder implements SimpleBuild
      * @throws InterruptedException
      *             if the current thread is interrupted while waiting for the completion
      */
-    protected String getPackagesDir(final Launcher launcher, final TaskListener listener) throws InterruptedException {
+    protected String getPackagesDir(final FilePath workspace, final Launcher launcher, final TaskListener listener)
+            throws InterruptedException {
         String packagesDir;
         try {
-            packagesDir = launcher.getChannel().call(new GetSettingCallable("packagePath"));
+            packagesDir = getSetting("packagePath", workspace, launcher);
         } catch (final IOException e) {
             final TTConsoleLogger logger = new TTConsoleLogger(listener);
             logger.logWarn("Could not get packages dir, assuming default values now!");
@@ -519,10 +484,37 @@ public abstract class AbstractTestBuilder extends Builder implements SimpleBuild
         return packagesDir;
     }
 
+    /**
+     * Gets an ECU-TEST workspace setting value, which is only queried via COM once per ECU-TEST instance.
+     *
+     * @param settingName
+     *            the setting name
+     * @param workspace
+     *            the workspace identifying the node to cache the setting for
+     * @param launcher
+     *            the launcher
+     * @return the setting value
+     * @throws IOException
+     *             if the setting is not defined or could not be queried
+     * @throws InterruptedException
+     *             if the current thread is interrupted while waiting for the completion
+     */
+    private String getSetting(final String settingName, final FilePath workspace, final Launcher launcher)
+            throws IOException, InterruptedException {
+        final Computer computer = workspace.toComputer();
+        String settingValue = NodeCapabilityCache.getSetting(computer, settingName);
+        if (settingValue == null) {
+            settingValue = launcher.getChannel().call(new GetSettingCallable(settingName));
+            NodeCapabilityCache.putSetting(computer, settingName, settingValue);
+        }
+        return settingValue;
+    }
+
     /**
      * {@link Callable} providing remote access to get a ECU-TEST workspace setting value via COM.
      */
-    private static final class GetSettingCallable extends MasterToSlaveCallable<String, IOException> {
+    private static final class GetSettingCallable extends MasterToSlaveCallable<String, IOException>
+            implements ComTask<String> {
 
         private static final long serialVersionUID = 1L;
 
@@ -541,16 +533,24 @@ public abstract class AbstractTestBuilder extends Builder implements SimpleBuild
         @Override
         public String call() throws IOException {
             String settingValue;
-            try (ETComClient comClient = new ETComClient()) {
-                settingValue = comClient.getSetting(settingName);
+            try {
+                settingValue = ETComSession.getInstance().execute(this);
                 if ("None".equals(settingValue)) {
                     throw new IOException("Setting is not defined: " + settingName);
                 }
             } catch (final ETComException e) {
                 throw new IOException(e.getMessage(), e);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for ECU-TEST!", e);
             }
             return settingValue;
         }
+
+        @Override
+        public String call(final ComApplication comClient) throws ETComException {
+            return comClient.getSetting(settingName);
+        }
     }
 
     @Override
@@ -38,7 +38,6 @@ import hudson.model.Run;
 import hudson.util.FormValidation;
 import hudson.util.ListBoxModel;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -52,12 +51,20 @@ import org.kohsuke.stapler.QueryParameter;
 
 import de.tracetronic.jenkins.plugins.ecutest.env.TestEnvInvisibleAction;
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
+import de.tracetronic.jenkins.plugins.ecutest.report.history.TestVerdict;
+import de.tracetronic.jenkins.plugins.ecutest.report.history.VerdictHistory;
+import de.tracetronic.jenkins.plugins.ecutest.report.history.VerdictHistoryRecorder;
+import de.tracetronic.jenkins.plugins.ecutest.report.history.VerdictRecord;
+import de.tracetronic.jenkins.plugins.ecutest.test.client.AbstractTestClient;
 import de.tracetronic.jenkins.plugins.ecutest.test.client.PackageClient;
 import de.tracetronic.jenkins.plugins.ecutest.test.client.ProjectClient;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.ExecutionConfig;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.PackageConfig;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.ProjectConfig;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.TestConfig;
+import de.tracetronic.jenkins.plugins.ecutest.test.scan.TestOrderer;
+import de.tracetronic.jenkins.plugins.ecutest.test.scan.TestFolderScanner;
+import de.tracetronic.jenkins.plugins.ecutest.test.scan.TestOrderer.TestOrder;
 import de.tracetronic.jenkins.plugins.ecutest.test.scan.TestPackageScanner;
 import de.tracetronic.jenkins.plugins.ecutest.test.scan.TestProjectScanner;
 
@@ -97,6 +104,11 @@ public class TestFolderBuilder extends AbstractTestBuilder {
     @Nonnull
     private ScanMode scanMode = DEFAULT_SCANMODE;
     private boolean recursiveScan;
+    private boolean parallelScan;
+
+    // Order settings
+    private TestOrder testOrder = TestOrder.SCAN_ORDER;
+    private TestOrder tieBreaker = TestOrder.SCAN_ORDER;
 
     // Test settings
     @Nonnull
@@ -160,6 +172,29 @@ public class TestFolderBuilder extends AbstractTestBuilder {
         return recursiveScan;
     }
 
+    /**
+     * @return specifies whether to scan the subfolders in parallel
+     */
+    public boolean isParallelScan() {
+        return parallelScan;
+    }
+
+    /**
+     * @return the order to execute the scanned tests
+     */
+    @Nonnull
+    public TestOrder getTestOrder() {
+        return testOrder == null ? TestOrder.SCAN_ORDER : testOrder;
+    }
+
+    /**
+     * @return the order applied to tests being equal by the test order
+     */
+    @Nonnull
+    public TestOrder getTieBreaker() {
+        return tieBreaker == null ? TestOrder.SCAN_ORDER : tieBreaker;
+    }
+
     /**
      * @return the package configuration
      */
@@ -194,6 +229,33 @@ public class TestFolderBuilder extends AbstractTestBuilder {
         this.recursiveScan = recursiveScan;
     }
 
+    /**
+     * @param parallelScan
+     *            specifies whether to scan the subfolders in parallel
+     */
+    @DataBoundSetter
+    public void setParallelScan(final boolean parallelScan) {
+        this.parallelScan = parallelScan;
+    }
+
+    /**
+     * @param testOrder
+     *            the order to execute the scanned tests
+     */
+    @DataBoundSetter
+    public void setTestOrder(@CheckForNull final TestOrder testOrder) {
+        this.testOrder = testOrder == null ? TestOrder.SCAN_ORDER : testOrder;
+    }
+
+    /**
+     * @param tieBreaker
+     *            the order applied to tests being equal by the test order
+     */
+    @DataBoundSetter
+    public void setTieBreaker(@CheckForNull final TestOrder tieBreaker) {
+        this.tieBreaker = tieBreaker == null ? TestOrder.SCAN_ORDER : tieBreaker;
+    }
+
     /**
      * @param packageConfig
      *            the package configuration
@@ -213,22 +275,8 @@ public class TestFolderBuilder extends AbstractTestBuilder {
     }
 
     @Override
-    protected String getTestFilePath(final String testFile, final String pkgDir, final Launcher launcher,
-            final TaskListener listener) throws IOException, InterruptedException {
-        String testFolderPath = null;
-        final TTConsoleLogger logger = new TTConsoleLogger(listener);
-        if (testFile.isEmpty()) {
-            logger.logError("No test folder declared!");
-        } else {
-            final File fullTestFolder = new File(pkgDir, testFile);
-            final FilePath fullTestFolderPath = new FilePath(launcher.getChannel(), fullTestFolder.getPath());
-            if (fullTestFolderPath.exists()) {
-                testFolderPath = fullTestFolderPath.getRemote();
-            } else {
-                logger.logError(String.format("%s does not exist!", fullTestFolderPath.getRemote()));
-            }
-        }
-        return testFolderPath;
+    protected boolean isTestFolder() {
+        return true;
     }
 
     @Override
@@ -239,51 +287,136 @@ public class TestFolderBuilder extends AbstractTestBuilder {
         final TTConsoleLogger logger = new TTConsoleLogger(listener);
         logger.logInfo("Executing test folder...");
         logger.logInfo(String.format("- Scanning test folder: %s", testFolder));
-        final List<String> pkgFiles = scanPackages(testFolder, launcher, listener);
-        final List<String> prjFiles = scanProjects(testFolder, launcher, listener);
+        final TestOrderer orderer = new TestOrderer(VerdictHistory.forJob(run.getParent()), getTestOrder(),
+                getTieBreaker());
+        final List<String> testFiles = scanTestFolder(testFolder, launcher);
+        final String[] baseDirs = new String[] { workspace.getRemote(), testFolder };
+        final List<String> pkgFiles = orderTests(scanPackages(testFolder, testFiles, launcher, listener), orderer,
+                baseDirs, logger);
+        final List<String> prjFiles = orderTests(scanProjects(testFolder, testFiles, launcher, listener), orderer,
+                baseDirs, logger);
 
         // Expand package configuration
         final EnvVars buildEnv = run.getEnvironment(listener);
         final PackageConfig packageConfig = getPackageConfig().expand(buildEnv);
 
-        // Run packages
-        for (final String pkgFile : pkgFiles) {
-            final PackageClient testClient = new PackageClient(pkgFile, testConfig, packageConfig, executionConfig);
-            logger.logInfo(String.format("Executing package %s...", pkgFile));
-            if (testClient.runTestCase(workspace, launcher, listener)) {
-                logger.logInfo("Package executed successfully.");
-            } else {
-                logger.logError("Executing package failed!");
-                return false;
+        // Record results for ordering subsequent builds
+        final List<VerdictRecord> records = new ArrayList<VerdictRecord>();
+        try {
+            // Run packages
+            for (final String pkgFile : pkgFiles) {
+                final PackageClient testClient = new PackageClient(pkgFile, testConfig, packageConfig,
+                        executionConfig);
+                logger.logInfo(String.format("Executing package %s...", pkgFile));
+                if (testClient.runTestCase(workspace, launcher, listener)) {
+                    logger.logInfo("Package executed successfully.");
+                } else {
+                    logger.logError("Executing package failed!");
+                    return false;
+                }
+                final String historyId = VerdictHistoryRecorder.getTestId(pkgFile, baseDirs);
+                records.add(createRecord(run, historyId, testClient));
+
+                // Add action for injecting environment variables
+                final int testId = getTestId(run);
+                final TestEnvInvisibleAction envAction = new TestEnvInvisibleAction(testId, testClient, historyId);
+                run.addAction(envAction);
             }
 
-            // Add action for injecting environment variables
-            final int testId = getTestId(run);
-            final TestEnvInvisibleAction envAction = new TestEnvInvisibleAction(testId, testClient);
-            run.addAction(envAction);
+            // Expand project configuration
+            final ProjectConfig projectConfig = getProjectConfig().expand(buildEnv);
+
+            // Run projects
+            for (final String prjFile : prjFiles) {
+                final ProjectClient testClient = new ProjectClient(prjFile, testConfig, projectConfig,
+                        executionConfig);
+                logger.logInfo(String.format("Executing project %s...", prjFile));
+                if (testClient.runTestCase(workspace, launcher, listener)) {
+                    logger.logInfo("Project executed successfully.");
+                } else {
+                    logger.logError("Executing project failed!");
+                    return false;
+                }
+                final String historyId = VerdictHistoryRecorder.getTestId(prjFile, baseDirs);
+                records.add(createRecord(run, historyId, testClient));
+
+                // Add action for injecting environment variables
+                final int testId = getTestId(run);
+                final TestEnvInvisibleAction envAction = new TestEnvInvisibleAction(testId, testClient, historyId);
+                run.addAction(envAction);
+            }
+        } finally {
+            VerdictHistoryRecorder.record(run, records, logger);
         }
 
-        // Expand project configuration
-        final ProjectConfig projectConfig = getProjectConfig().expand(buildEnv);
-
-        // Run projects
-        for (final String prjFile : prjFiles) {
-            final ProjectClient testClient = new ProjectClient(prjFile, testConfig, projectConfig, executionConfig);
-            logger.logInfo(String.format("Executing project %s...", prjFile));
-            if (testClient.runTestCase(workspace, launcher, listener)) {
-                logger.logInfo("Project executed successfully.");
-            } else {
-                logger.logError("Executing project failed!");
-                return false;
-            }
+        return true;
+    }
 
-            // Add action for injecting environment variables
-            final int testId = getTestId(run);
-            final TestEnvInvisibleAction envAction = new TestEnvInvisibleAction(testId, testClient);
-            run.addAction(envAction);
+    /**
+     * Orders the scanned tests by the configured {@link TestOrder}.
+     *
+     * @param testFiles
+     *            the scanned test files
+     * @param orderer
+     *            the test orderer
+     * @param baseDirs
+     *            the base directories the test ids in the verdict history are relative to
+     * @param logger
+     *            the logger
+     * @return the ordered list of test files
+     */
+    private List<String> orderTests(final List<String> testFiles, final TestOrderer orderer,
+            final String[] baseDirs, final TTConsoleLogger logger) {
+        if (!orderer.isOrdering() || testFiles.size() < 2) {
+            return testFiles;
         }
+        logger.logInfo(String.format("-> Ordering %d test(s) by %s, then by %s.", testFiles.size(),
+                getTestOrder(), getTieBreaker()));
+        return orderer.order(testFiles, baseDirs);
+    }
 
-        return true;
+    /**
+     * Creates the verdict record of an executed test.
+     *
+     * @param run
+     *            the run
+     * @param testId
+     *            the test id in the verdict history
+     * @param testClient
+     *            the test client holding the test result and duration
+     * @return the verdict record
+     */
+    private static VerdictRecord createRecord(final Run<?, ?> run, final String testId,
+            final AbstractTestClient testClient) {
+        return new VerdictRecord(testId, run.getNumber(),
+                TestVerdict.fromResult(testClient.getTestResult()), testClient.getTestDuration());
+    }
+
+    /**
+     * Scans for both ECU-TEST packages and projects by a single remote call if both are requested or if the
+     * subfolders are scanned in parallel. The found tests are still executed one after another.
+     *
+     * @param testFolder
+     *            the test folder
+     * @param launcher
+     *            the launcher
+     * @return the list of found test files or {@code null} if only one kind of tests is requested by a sequential
+     *         scan
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    @CheckForNull
+    private List<String> scanTestFolder(final String testFolder, final Launcher launcher) throws IOException,
+            InterruptedException {
+        final boolean isParallel = isRecursiveScan() && isParallelScan();
+        if (scanMode.equals(ScanMode.PACKAGES_AND_PROJECTS) || isParallel) {
+            final TestFolderScanner scanner = new TestFolderScanner(testFolder, isRecursiveScan(), isParallel,
+                    launcher);
+            return scanner.scanTestFiles();
+        }
+        return null;
     }
 
     /**
@@ -291,6 +424,8 @@ public class TestFolderBuilder extends AbstractTestBuilder {
      *
      * @param testFolder
      *            the test folder
+     * @param testFiles
+     *            the already scanned test files or {@code null} to scan the test folder
      * @param launcher
      *            the launcher
      * @param listener
@@ -301,13 +436,17 @@ public class TestFolderBuilder extends AbstractTestBuilder {
      * @throws InterruptedException
      *             if the build gets interrupted
      */
-    private List<String> scanPackages(final String testFolder, final Launcher launcher, final TaskListener listener)
-            throws IOException, InterruptedException {
+    private List<String> scanPackages(final String testFolder, @CheckForNull final List<String> testFiles,
+            final Launcher launcher, final TaskListener listener) throws IOException, InterruptedException {
         List<String> pkgFiles = new ArrayList<String>();
         final TTConsoleLogger logger = new TTConsoleLogger(listener);
         if (scanMode.equals(ScanMode.PACKAGES_ONLY) || scanMode.equals(ScanMode.PACKAGES_AND_PROJECTS)) {
-            final TestPackageScanner scanner = new TestPackageScanner(testFolder, isRecursiveScan(), launcher);
-            pkgFiles = scanner.scanTestFiles();
+            if (testFiles == null) {
+                final TestPackageScanner scanner = new TestPackageScanner(testFolder, isRecursiveScan(), launcher);
+                pkgFiles = scanner.scanTestFiles();
+            } else {
+                pkgFiles = TestFolderScanner.getPackageFiles(testFiles);
+            }
             if (pkgFiles.isEmpty()) {
                 logger.logInfo("-> No packages found!");
             } else {
@@ -322,6 +461,8 @@ public class TestFolderBuilder extends AbstractTestBuilder {
      *
      * @param testFolder
      *            the test folder
+     * @param testFiles
+     *            the already scanned test files or {@code null} to scan the test folder
      * @param launcher
      *            the launcher
      * @param listener
@@ -332,13 +473,18 @@ public class TestFolderBuilder extends AbstractTestBuilder {
      * @throws InterruptedException
      *             if the build gets interrupted
      */
-    private List<String> scanProjects(final String testFolder, final Launcher launcher, final TaskListener listener)
-            throws IOException, InterruptedException {
+    private List<String> scanProjects(final String testFolder, @CheckForNull final List<String> testFiles,
+            final Launcher launcher, final TaskListener listener) throws IOException, InterruptedException {
         List<String> prjFiles = new ArrayList<String>();
         final TTConsoleLogger logger = new TTConsoleLogger(listener);
         if (scanMode.equals(ScanMode.PROJECTS_ONLY) || scanMode.equals(ScanMode.PACKAGES_AND_PROJECTS)) {
-            final TestProjectScanner prjScanner = new TestProjectScanner(testFolder, isRecursiveScan(), launcher);
-            prjFiles = prjScanner.scanTestFiles();
+            if (testFiles == null) {
+                final TestProjectScanner prjScanner = new TestProjectScanner(testFolder, isRecursiveScan(),
+                        launcher);
+                prjFiles = prjScanner.scanTestFiles();
+            } else {
+                prjFiles = TestFolderScanner.getProjectFiles(testFiles);
+            }
             if (prjFiles.isEmpty()) {
                 logger.logInfo("-> No projects found!");
             } else {
@@ -369,6 +515,37 @@ public class TestFolderBuilder extends AbstractTestBuilder {
             return ScanMode.PACKAGES_AND_PROJECTS;
         }
 
+        /**
+         * @return the default test order
+         */
+        public TestOrder getDefaultTestOrder() {
+            return TestOrder.SCAN_ORDER;
+        }
+
+        /**
+         * Fills the test order drop-down menu.
+         *
+         * @return the test order items
+         */
+        public ListBoxModel doFillTestOrderItems() {
+            final ListBoxModel items = new ListBoxModel();
+            items.add(Messages.TestFolderBuilder_TestOrder_ScanOrder(), TestOrder.SCAN_ORDER.toString());
+            items.add(Messages.TestFolderBuilder_TestOrder_LastFailedFirst(), TestOrder.LAST_FAILED_FIRST.toString());
+            items.add(Messages.TestFolderBuilder_TestOrder_FailureRate(), TestOrder.FAILURE_RATE.toString());
+            items.add(Messages.TestFolderBuilder_TestOrder_ShortestFirst(), TestOrder.SHORTEST_FIRST.toString());
+            items.add(Messages.TestFolderBuilder_TestOrder_FileName(), TestOrder.FILE_NAME.toString());
+            return items;
+        }
+
+        /**
+         * Fills the tie-breaker drop-down menu.
+         *
+         * @return the tie-breaker items
+         */
+        public ListBoxModel doFillTieBreakerItems() {
+            return doFillTestOrderItems();
+        }
+
         /**
          * Fills the scan mode drop-down menu.
          *
@@ -48,6 +48,7 @@ import org.kohsuke.stapler.QueryParameter;
 
 import de.tracetronic.jenkins.plugins.ecutest.env.TestEnvInvisibleAction;
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
+import de.tracetronic.jenkins.plugins.ecutest.report.history.VerdictHistoryRecorder;
 import de.tracetronic.jenkins.plugins.ecutest.test.client.PackageClient;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.ExecutionConfig;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.PackageConfig;
@@ -133,7 +134,8 @@ public class TestPackageBuilder extends AbstractTestBuilder {
 
         // Add action for injecting environment variables
         final int builderId = getTestId(run);
-        final TestEnvInvisibleAction envAction = new TestEnvInvisibleAction(builderId, testClient);
+        final String historyId = VerdictHistoryRecorder.getTestId(testFile, workspace.getRemote());
+        final TestEnvInvisibleAction envAction = new TestEnvInvisibleAction(builderId, testClient, historyId);
         run.addAction(envAction);
 
         return true;
@@ -35,7 +35,6 @@ import hudson.remoting.Callable;
 import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -49,11 +48,11 @@ import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.ExecutionConfig;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.GlobalConstant;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.TestConfig;
-import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.Constant;
-import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComClient;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
-import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.TestConfiguration;
-import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComConstants;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession.ComTask;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComApplication;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestConfiguration;
 
 /**
  * Common base class for {@link PackageClient} and {@link ProjectClient}.
@@ -62,6 +61,11 @@ import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComConstants;
  */
 public abstract class AbstractTestClient implements TestClient {
 
+    /**
+     * Interval in milliseconds of logging ticks while waiting for the test execution.
+     */
+    protected static final long TICK_INTERVAL = 60000L;
+
     private final String testFile;
     private final TestConfig testConfig;
     private final ExecutionConfig executionConfig;
@@ -69,6 +73,7 @@ public abstract class AbstractTestClient implements TestClient {
     private String testDescription;
     private String testReportDir;
     private String testResult;
+    private long testDuration;
 
     /**
      * Instantiates a new {@link AbstractTestClient}.
@@ -172,10 +177,50 @@ public abstract class AbstractTestClient implements TestClient {
         this.testResult = testResult;
     }
 
+    /**
+     * @return the test execution duration in milliseconds
+     */
+    public long getTestDuration() {
+        return testDuration;
+    }
+
+    /**
+     * @param testDuration
+     *            the test execution duration in milliseconds to set
+     */
+    public void setTestDuration(final long testDuration) {
+        this.testDuration = testDuration;
+    }
+
+    /**
+     * Applies the outcome of an execution pipeline to this client.
+     *
+     * @param execInfo
+     *            the execution information, may be {@code null}
+     * @return {@code true} if all pipeline steps succeeded, {@code false} otherwise
+     */
+    protected boolean setExecutionInfo(final ExecutionInfoHolder execInfo) {
+        if (execInfo == null) {
+            return false;
+        }
+        if (execInfo.getTestName() != null) {
+            setTestName(execInfo.getTestName());
+            setTestDescription(execInfo.getTestDescription());
+        }
+        final TestInfoHolder testInfo = execInfo.getTestInfo();
+        if (testInfo != null) {
+            setTestResult(testInfo.getTestResult());
+            setTestReportDir(testInfo.getTestReportDir());
+            setTestDuration(testInfo.getTestDuration());
+        }
+        return execInfo.isSuccessful();
+    }
+
     /**
      * {@link Callable} providing remote access to load configurations via COM.
      */
-    protected static final class LoadConfigCallable extends MasterToSlaveCallable<Boolean, IOException> {
+    protected static final class LoadConfigCallable extends MasterToSlaveCallable<Boolean, IOException>
+            implements ComTask<Boolean> {
 
         private static final long serialVersionUID = 1L;
 
@@ -202,6 +247,22 @@ public abstract class AbstractTestClient implements TestClient {
 
         @Override
         public Boolean call() throws IOException {
+            boolean isLoaded = false;
+            try {
+                isLoaded = ETComSession.getInstance().execute(this);
+            } catch (final ETComException e) {
+                final TTConsoleLogger logger = new TTConsoleLogger(listener);
+                logger.logError("Caught ComException: " + e.getMessage());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                final TTConsoleLogger logger = new TTConsoleLogger(listener);
+                logger.logError("-> Interrupted while waiting for ECU-TEST!");
+            }
+            return isLoaded;
+        }
+
+        @Override
+        public Boolean call(final ComApplication comClient) throws ETComException {
             final String tbcFile = testConfig.getTbcFile();
             final String tcfFile = testConfig.getTcfFile();
             final List<GlobalConstant> constants = testConfig.getConstants();
@@ -209,45 +270,54 @@ public abstract class AbstractTestClient implements TestClient {
             final TTConsoleLogger logger = new TTConsoleLogger(listener);
             boolean isLoaded = false;
 
-            try (ETComClient comClient = new ETComClient()) {
-                final String tbcName = getConfigName(tbcFile);
-                final String tcfName = getConfigName(tcfFile);
-                logger.logInfo(String.format("- Loading configurations: TBC=%s TCF=%s", tbcName, tcfName));
-                if (testConfig.isForceReload()) {
-                    logger.logInfo("-> Forcing reload configurations...");
-                    comClient.stop();
+            final String tbcName = getConfigName(tbcFile);
+            final String tcfName = getConfigName(tcfFile);
+            logger.logInfo(String.format("- Loading configurations: TBC=%s TCF=%s", tbcName, tcfName));
+            final ConfigSession configSession = ConfigSession.getInstance();
+            final long generation = ETComSession.getInstance().getGeneration();
+            final String fingerprint = ConfigSession.fingerprint(tbcFile, tcfFile, getGlobalConstantMap(),
+                    !testConfig.isLoadOnly());
+            if (testConfig.isForceReload()) {
+                logger.logInfo("-> Forcing reload configurations...");
+                comClient.stop();
+            } else if (configSession.isLoaded(generation, fingerprint)
+                    && ConfigSession.isCurrent(comClient, tbcFile, tcfFile)) {
+                logger.logInfo("-> Configurations are unchanged and already loaded.");
+                return true;
+            }
+            configSession.invalidate();
+            boolean isTcfLoaded = false;
+            if (comClient.openTestConfiguration(StringUtils.defaultIfBlank(tcfFile, null))) {
+                if (tcfFile != null && !constants.isEmpty()) {
+                    final Map<String, String> constantMap = getGlobalConstantMap();
+                    logger.logInfo("-> With global constants: " + constantMap.toString());
+                    setGlobalConstants(comClient, constantMap, tcfFile);
                 }
-                if (comClient.openTestConfiguration(StringUtils.defaultIfBlank(tcfFile, null))) {
-                    if (tcfFile != null && !constants.isEmpty()) {
-                        final Map<String, String> constantMap = getGlobalConstantMap();
-                        logger.logInfo("-> With global constants: " + constantMap.toString());
-                        setGlobalConstants(comClient, constantMap, tcfFile);
-                    }
-                    comClient.waitForIdle(timeout);
-                    logger.logInfo("-> Test configuration loaded successfully.");
+                comClient.waitForIdle(timeout);
+                logger.logInfo("-> Test configuration loaded successfully.");
+                isTcfLoaded = true;
+            } else {
+                logger.logError(String.format("-> Loading TCF=%s failed!", tcfName));
+            }
+            if (comClient.openTestbenchConfiguration(StringUtils.defaultIfBlank(tbcFile, null))) {
+                comClient.waitForIdle(timeout);
+                logger.logInfo("-> Test bench configuration loaded successfully.");
+                isLoaded = true;
+            } else {
+                logger.logError(String.format("-> Loading TBC=%s failed!", tbcName));
+            }
+            if (isLoaded) {
+                if (testConfig.isLoadOnly()) {
+                    logger.logInfo("-> Starting configurations will be skipped.");
                 } else {
-                    logger.logError(String.format("-> Loading TCF=%s failed!", tcfName));
-                }
-                if (comClient.openTestbenchConfiguration(StringUtils.defaultIfBlank(tbcFile, null))) {
+                    logger.logInfo("- Starting configurations...");
+                    comClient.start();
                     comClient.waitForIdle(timeout);
-                    logger.logInfo("-> Test bench configuration loaded successfully.");
-                    isLoaded = true;
-                } else {
-                    logger.logError(String.format("-> Loading TBC=%s failed!", tbcName));
+                    logger.logInfo("-> Configurations started successfully.");
                 }
-                if (isLoaded) {
-                    if (testConfig.isLoadOnly()) {
-                        logger.logInfo("-> Starting configurations will be skipped.");
-                    } else {
-                        logger.logInfo("- Starting configurations...");
-                        comClient.start();
-                        comClient.waitForIdle(timeout);
-                        logger.logInfo("-> Configurations started successfully.");
-                    }
+                if (isTcfLoaded) {
+                    configSession.setLoaded(generation, fingerprint);
                 }
-            } catch (final ETComException e) {
-                logger.logError("Caught ComException: " + e.getMessage());
-                isLoaded = false;
             }
             return isLoaded;
         }
@@ -272,7 +342,8 @@ public abstract class AbstractTestClient implements TestClient {
         /**
          * Sets the constants that are not already present in the currently loaded test configuration.
          * Identical global constants means both having the same name and the same value.
-         * This requires to start the configuration, add the constants and reload the configuration.
+         * All current constants are read at once without starting the configuration. Only if any constant changed,
+         * the configuration is started, the changed constants are applied together and the configuration is reloaded.
          *
          * @param comClient
          *            the COM client
@@ -283,48 +354,23 @@ public abstract class AbstractTestClient implements TestClient {
          * @throws ETComException
          *             in case of a COM exception
          */
-        private void setGlobalConstants(final ETComClient comClient, final Map<String, String> constantMap,
+        private void setGlobalConstants(final ComApplication comClient, final Map<String, String> constantMap,
                 final String tcfFile) throws ETComException {
-            comClient.start();
-            boolean reloadConfig = false;
-            final TestConfiguration testConfig = (TestConfiguration) comClient.getCurrentTestConfiguration();
-            final List<Constant> currentConstants = getCurrentConstants(testConfig.getGlobalConstants());
-            for (final Entry<String, String> constant : constantMap.entrySet()) {
-                boolean newConstant = true;
-                for (final Constant currentConstant : currentConstants) {
-                    if (currentConstant.getName().equals(constant.getKey())
-                            && currentConstant.getValue().equals(constant.getValue())) {
-                        newConstant = false;
-                        break;
+            try (ComTestConfiguration testConfig = comClient.getCurrentTestConfiguration()) {
+                final Map<String, String> currentConstants = testConfig.getGlobalConstants().getValues();
+                final Map<String, String> changedConstants = new LinkedHashMap<String, String>();
+                for (final Entry<String, String> constant : constantMap.entrySet()) {
+                    if (!constant.getValue().equals(currentConstants.get(constant.getKey()))) {
+                        changedConstants.put(constant.getKey(), constant.getValue());
                     }
                 }
-                if (newConstant) {
-                    testConfig.setGlobalConstant(constant.getKey(), constant.getValue());
-                    reloadConfig = true;
+                if (!changedConstants.isEmpty()) {
+                    comClient.start();
+                    testConfig.setGlobalConstants(changedConstants);
+                    comClient.openTestConfiguration(tcfFile);
+                    comClient.stop();
                 }
             }
-            if (reloadConfig) {
-                comClient.openTestConfiguration(tcfFile);
-                comClient.stop();
-            }
-        }
-
-        /**
-         * Gets the global constants of the currently loaded test configuration.
-         *
-         * @param globalConstants
-         *            the global constants
-         * @return the current constants
-         * @throws ETComException
-         *             in case of a COM exception
-         */
-        private List<Constant> getCurrentConstants(final ComConstants globalConstants) throws ETComException {
-            final List<Constant> constants = new ArrayList<Constant>();
-            for (int i = 0; i < globalConstants.getCount(); i++) {
-                final Constant constant = (Constant) globalConstants.item(i);
-                constants.add(constant);
-            }
-            return constants;
         }
 
         /**
@@ -352,6 +398,7 @@ public abstract class AbstractTestClient implements TestClient {
 
         private final String testResult;
         private final String testReportDir;
+        private final long testDuration;
 
         /**
          * Instantiates a new {@link TestInfoHolder}.
@@ -360,10 +407,13 @@ public abstract class AbstractTestClient implements TestClient {
          *            the test result
          * @param testReportDir
          *            the test report directory
+         * @param testDuration
+         *            the wall-clock test execution duration in milliseconds
          */
-        public TestInfoHolder(final String testResult, final String testReportDir) {
+        public TestInfoHolder(final String testResult, final String testReportDir, final long testDuration) {
             this.testResult = testResult;
             this.testReportDir = testReportDir;
+            this.testDuration = testDuration;
         }
 
         /**
@@ -379,6 +429,75 @@ public abstract class AbstractTestClient implements TestClient {
         public String getTestReportDir() {
             return testReportDir;
         }
+
+        /**
+         * @return the wall-clock test execution duration in milliseconds
+         */
+        public long getTestDuration() {
+            return testDuration;
+        }
+    }
+
+    /**
+     * Helper class storing the outcome of an execution pipeline, which loads the configurations and opens, runs and
+     * closes the test file within a single remote call.
+     */
+    protected static final class ExecutionInfoHolder implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String testName;
+        private final String testDescription;
+        private final TestInfoHolder testInfo;
+        private final boolean successful;
+
+        /**
+         * Instantiates a new {@link ExecutionInfoHolder}.
+         *
+         * @param testName
+         *            the test name or {@code null} if the test file has not been opened
+         * @param testDescription
+         *            the test description
+         * @param testInfo
+         *            the test information or {@code null} if the test file has not been run
+         * @param successful
+         *            specifies whether all pipeline steps succeeded
+         */
+        public ExecutionInfoHolder(final String testName, final String testDescription,
+                final TestInfoHolder testInfo, final boolean successful) {
+            this.testName = testName;
+            this.testDescription = testDescription;
+            this.testInfo = testInfo;
+            this.successful = successful;
+        }
+
+        /**
+         * @return the test name or {@code null} if the test file has not been opened
+         */
+        public String getTestName() {
+            return testName;
+        }
+
+        /**
+         * @return the test description
+         */
+        public String getTestDescription() {
+            return testDescription;
+        }
+
+        /**
+         * @return the test information or {@code null} if the test file has not been run
+         */
+        public TestInfoHolder getTestInfo() {
+            return testInfo;
+        }
+
+        /**
+         * @return {@code true} if all pipeline steps succeeded, {@code false} otherwise
+         */
+        public boolean isSuccessful() {
+            return successful;
+        }
     }
 
     /**
@@ -0,0 +1,309 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.client;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+import de.tracetronic.jenkins.plugins.ecutest.test.client.AbstractTestClient.CheckInfoHolder;
+import de.tracetronic.jenkins.plugins.ecutest.util.PathUtil;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession.ComTask;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComApplication;
+
+/**
+ * Node-wide cache of the check results of packages and projects, which is only used if enabled by the
+ * {@link de.tracetronic.jenkins.plugins.ecutest.test.config.ExecutionConfig}.
+ * <p>
+ * ECU-TEST does not expose the files a test file depends on, so the results are keyed by the test file and are only
+ * valid as long as the checksum of the test file, the state of all files within the dependency directories, i.e. the
+ * ECU-TEST package, configuration and parameter directories and the directory of the test file, and any further key
+ * like the ECU-TEST version are unchanged. Changes to referenced files outside of these directories are not detected.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+final class CheckCache {
+
+    /**
+     * Maximum number of cached test files.
+     */
+    private static final int MAX_ENTRIES = 256;
+
+    /**
+     * ECU-TEST settings naming the directories whose files may be referenced by a test file.
+     */
+    private static final List<String> DEPENDENCY_SETTINGS = Arrays.asList("packagePath", "configPath",
+            "parameterPath");
+
+    private static final CheckCache INSTANCE = new CheckCache();
+
+    private final Map<String, CacheEntry> entries = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, CacheEntry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Instantiates a new {@link CheckCache}.
+     */
+    CheckCache() {
+    }
+
+    /**
+     * Gets the check cache of the current node.
+     *
+     * @return the check cache
+     */
+    static CheckCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the cached check results of the given test file.
+     *
+     * @param testFile
+     *            the package or project file
+     * @param fingerprint
+     *            the current fingerprint of the test file
+     * @return the cached findings or {@code null} if not cached or outdated
+     * @see #fingerprint(String, String, Collection)
+     */
+    List<CheckInfoHolder> get(final String testFile, final String fingerprint) {
+        if (fingerprint == null) {
+            return null;
+        }
+        final CacheEntry entry;
+        synchronized (entries) {
+            entry = entries.get(testFile);
+        }
+        return entry != null && entry.fingerprint.equals(fingerprint) ? entry.checks : null;
+    }
+
+    /**
+     * Caches the check results of the given test file.
+     *
+     * @param testFile
+     *            the package or project file
+     * @param fingerprint
+     *            the fingerprint of the test file the results belong to, {@code null} to skip caching
+     * @param checks
+     *            the findings
+     * @see #fingerprint(String, String, Collection)
+     */
+    void put(final String testFile, final String fingerprint, final List<CheckInfoHolder> checks) {
+        if (fingerprint != null) {
+            final CacheEntry entry = new CacheEntry(fingerprint, checks);
+            synchronized (entries) {
+                entries.put(testFile, entry);
+            }
+        }
+    }
+
+    /**
+     * Computes the fingerprint of the given test file. Only the ECU-TEST version and the dependency settings are
+     * requested on the COM session thread, while the dependency directories are scanned by the calling thread, so
+     * that the disk access does not block other COM requests on this node.
+     *
+     * @param session
+     *            the COM session
+     * @param testFile
+     *            the package or project file
+     * @return the fingerprint or {@code null} if the test file could not be read
+     * @throws ETComException
+     *             in case of a COM exception
+     * @throws InterruptedException
+     *             if the calling thread is interrupted
+     * @see #fingerprint(String, String, Collection)
+     */
+    static String fingerprint(final ETComSession session, final String testFile) throws ETComException,
+            InterruptedException {
+        final List<String> facts = session.execute(new DependencyTask());
+        return fingerprint(testFile, facts.get(0), getDependencyDirs(facts.subList(1, facts.size()), testFile));
+    }
+
+    /**
+     * Gets the dependency directories of the given test file, which are the existing directories configured in the
+     * ECU-TEST settings and the directory of the test file itself.
+     *
+     * @param settingPaths
+     *            the paths of the dependency settings
+     * @param testFile
+     *            the package or project file
+     * @return the dependency directories
+     */
+    static List<File> getDependencyDirs(final Collection<String> settingPaths, final String testFile) {
+        final List<File> dependencyDirs = new ArrayList<File>();
+        for (final String path : settingPaths) {
+            if (path != null && !"None".equals(path) && new File(path).isDirectory()) {
+                dependencyDirs.add(new File(path));
+            }
+        }
+        final File testDir = new File(testFile).getAbsoluteFile().getParentFile();
+        if (testDir != null) {
+            dependencyDirs.add(testDir);
+        }
+        return dependencyDirs;
+    }
+
+    /**
+     * Computes the fingerprint of the given test file, i.e. the content checksum of the test file and the path, size
+     * and modification time of all files within the dependency directories.
+     *
+     * @param testFile
+     *            the package or project file
+     * @param key
+     *            the further key, e.g. the ECU-TEST version
+     * @param dependencyDirs
+     *            the dependency directories
+     * @return the fingerprint or {@code null} if the test file could not be read
+     */
+    static String fingerprint(final String testFile, final String key, final Collection<File> dependencyDirs) {
+        final StringBuilder builder = new StringBuilder(key).append('\n');
+        try {
+            builder.append(Long.toHexString(PathUtil.getChecksum(new File(testFile))));
+        } catch (final IOException e) {
+            return null;
+        }
+        for (final String dir : getRootDirs(dependencyDirs)) {
+            final CRC32 crc = new CRC32();
+            updateTreeChecksum(crc, new File(dir), "");
+            builder.append('\n').append(dir).append('|').append(Long.toHexString(crc.getValue()));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Gets the distinct directories which are not nested within another of the given directories.
+     *
+     * @param dirs
+     *            the directories
+     * @return the sorted absolute paths of the root directories
+     */
+    private static List<String> getRootDirs(final Collection<File> dirs) {
+        final TreeSet<String> paths = new TreeSet<String>();
+        for (final File dir : dirs) {
+            paths.add(dir.getAbsolutePath());
+        }
+        final List<String> rootDirs = new ArrayList<String>();
+        for (final String path : paths) {
+            boolean nested = false;
+            for (final String rootDir : rootDirs) {
+                if (path.startsWith(rootDir.endsWith(File.separator) ? rootDir : rootDir + File.separator)) {
+                    nested = true;
+                    break;
+                }
+            }
+            if (!nested) {
+                rootDirs.add(path);
+            }
+        }
+        return rootDirs;
+    }
+
+    /**
+     * Updates the checksum by the relative path, size and modification time of all files within the directory.
+     *
+     * @param crc
+     *            the checksum to update
+     * @param dir
+     *            the directory
+     * @param relativePath
+     *            the path of the directory relative to the root directory
+     */
+    private static void updateTreeChecksum(final CRC32 crc, final File dir, final String relativePath) {
+        final File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files);
+        for (final File file : files) {
+            final String path = relativePath + "/" + file.getName();
+            if (file.isDirectory()) {
+                updateTreeChecksum(crc, file, path);
+            } else {
+                crc.update(String.format("%s|%d|%d\n", path, file.length(), file.lastModified())
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    /**
+     * {@link ComTask} requesting the ECU-TEST version followed by the paths of the dependency settings.
+     */
+    private static final class DependencyTask implements ComTask<List<String>> {
+
+        @Override
+        public List<String> call(final ComApplication comClient) throws ETComException {
+            final List<String> facts = new ArrayList<String>();
+            facts.add(comClient.getVersion());
+            for (final String setting : DEPENDENCY_SETTINGS) {
+                facts.add(comClient.getSetting(setting));
+            }
+            return facts;
+        }
+    }
+
+    /**
+     * Cached check results of a single test file.
+     */
+    private static final class CacheEntry {
+
+        private final String fingerprint;
+        private final List<CheckInfoHolder> checks;
+
+        /**
+         * Instantiates a new {@link CacheEntry}.
+         *
+         * @param fingerprint
+         *            the fingerprint
+         * @param checks
+         *            the findings
+         */
+        CacheEntry(final String fingerprint, final List<CheckInfoHolder> checks) {
+            this.fingerprint = fingerprint;
+            this.checks = Collections.unmodifiableList(new ArrayList<CheckInfoHolder>(checks));
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.client;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.commons.lang.StringUtils;
+
+import de.tracetronic.jenkins.plugins.ecutest.util.PathUtil;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComApplication;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestBenchConfiguration;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestConfiguration;
+
+/**
+ * Node-wide configuration session remembering which test bench and test configuration is currently loaded and
+ * started in ECU-TEST.
+ * <p>
+ * The loaded configurations are identified by a fingerprint of the configuration paths, the file checksums, the
+ * global constants and whether the configurations have been started. Subsequent loads with the same fingerprint within
+ * the same COM connection generation can be skipped, which saves restarting the test bench configuration for every
+ * package. Because the configurations may also be changed in the ECU-TEST GUI, the currently loaded files have to be
+ * verified by {@link #isCurrent(ComApplication, String, String)} before skipping a reload, and aborted executions
+ * {@link #invalidate() invalidate} the session as they may leave the configurations stopped.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+final class ConfigSession {
+
+    private static final Logger LOGGER = Logger.getLogger(ConfigSession.class.getName());
+
+    private static final ConfigSession INSTANCE = new ConfigSession();
+
+    private long generation;
+    private String fingerprint;
+
+    /**
+     * Instantiates a new {@link ConfigSession}.
+     */
+    ConfigSession() {
+    }
+
+    /**
+     * Gets the configuration session of the current node.
+     *
+     * @return the configuration session
+     */
+    static ConfigSession getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Checks whether the configurations with the given fingerprint have already been loaded within the given COM
+     * connection generation.
+     *
+     * @param connectionGeneration
+     *            the current COM connection generation
+     * @param configFingerprint
+     *            the configuration fingerprint, may be {@code null}
+     * @return {@code true} if already loaded, {@code false} otherwise
+     * @see de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession#getGeneration()
+     */
+    synchronized boolean isLoaded(final long connectionGeneration, final String configFingerprint) {
+        return configFingerprint != null && configFingerprint.equals(fingerprint)
+                && generation == connectionGeneration;
+    }
+
+    /**
+     * Remembers the configurations with the given fingerprint as loaded within the given COM connection generation.
+     *
+     * @param connectionGeneration
+     *            the current COM connection generation
+     * @param configFingerprint
+     *            the configuration fingerprint, may be {@code null}
+     */
+    synchronized void setLoaded(final long connectionGeneration, final String configFingerprint) {
+        generation = connectionGeneration;
+        fingerprint = configFingerprint;
+    }
+
+    /**
+     * Forgets the loaded configurations, e.g. before they are changed or after an execution has been aborted.
+     */
+    synchronized void invalidate() {
+        fingerprint = null;
+    }
+
+    /**
+     * Checks whether the given configuration files are currently loaded in ECU-TEST, which detects configurations
+     * changed in the GUI meanwhile.
+     *
+     * @param comClient
+     *            the COM application
+     * @param tbcFile
+     *            the test bench configuration file
+     * @param tcfFile
+     *            the test configuration file
+     * @return {@code true} if both files are loaded, {@code false} otherwise or if the loaded files could not be
+     *         queried
+     */
+    static boolean isCurrent(final ComApplication comClient, final String tbcFile, final String tcfFile) {
+        try (ComTestBenchConfiguration tbc = comClient.getCurrentTestBenchConfiguration();
+                ComTestConfiguration tcf = comClient.getCurrentTestConfiguration()) {
+            return isSameFile(tbcFile, tbc.getFileName()) && isSameFile(tcfFile, tcf.getFileName());
+        } catch (final ETComException e) {
+            LOGGER.log(Level.FINE, "Could not query loaded configurations: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether the expected configuration file equals the loaded one.
+     *
+     * @param expectedFile
+     *            the expected configuration file, may be blank if none
+     * @param loadedFile
+     *            the loaded configuration file as returned by ECU-TEST, may be blank or "None" if none
+     * @return {@code true} if both files are equal, {@code false} otherwise
+     */
+    private static boolean isSameFile(final String expectedFile, final String loadedFile) {
+        final boolean isLoaded = StringUtils.isNotBlank(loadedFile) && !"None".equals(loadedFile);
+        if (StringUtils.isBlank(expectedFile)) {
+            return !isLoaded;
+        }
+        return isLoaded && new File(expectedFile).getAbsoluteFile().equals(new File(loadedFile).getAbsoluteFile());
+    }
+
+    /**
+     * Computes the fingerprint of the given configurations.
+     *
+     * @param tbcFile
+     *            the test bench configuration file
+     * @param tcfFile
+     *            the test configuration file
+     * @param constants
+     *            the global constants
+     * @param started
+     *            specifies whether the configurations are started
+     * @return the fingerprint or {@code null} if a configuration file could not be read
+     */
+    static String fingerprint(final String tbcFile, final String tcfFile, final Map<String, String> constants,
+            final boolean started) {
+        final StringBuilder builder = new StringBuilder();
+        try {
+            appendFile(builder, tbcFile);
+            appendFile(builder, tcfFile);
+        } catch (final IOException e) {
+            LOGGER.log(Level.FINE, "Could not compute configuration checksum: " + e.getMessage());
+            return null;
+        }
+        for (final Entry<String, String> constant : constants.entrySet()) {
+            builder.append(constant.getKey()).append('=').append(constant.getValue()).append('\n');
+        }
+        builder.append("started=").append(started);
+        return builder.toString();
+    }
+
+    /**
+     * Appends the path and the checksum of the given configuration file.
+     *
+     * @param builder
+     *            the fingerprint builder
+     * @param configFile
+     *            the configuration file, may be blank
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    private static void appendFile(final StringBuilder builder, final String configFile) throws IOException {
+        builder.append(StringUtils.trimToEmpty(configFile)).append('|');
+        if (StringUtils.isNotBlank(configFile)) {
+            final File file = new File(configFile);
+            if (file.isFile()) {
+                builder.append(Long.toHexString(PathUtil.getChecksum(file)));
+            }
+        }
+        builder.append('\n');
+    }
+}
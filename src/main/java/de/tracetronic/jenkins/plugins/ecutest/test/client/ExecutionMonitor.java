@@ -0,0 +1,248 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.client;
+
+import java.io.File;
+
+import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
+import de.tracetronic.jenkins.plugins.ecutest.test.client.AbstractTestClient.TestInfoHolder;
+import de.tracetronic.jenkins.plugins.ecutest.util.WaitStrategy;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession.ComTask;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComApplication;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestExecutionInfo;
+
+/**
+ * Monitors a test execution by polling its state with separate short tasks on the shared {@link ETComSession}, so
+ * that other requests on the node are served while the test is running.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+final class ExecutionMonitor {
+
+    private final ETComSession session;
+    private final String testFile;
+    private final String testType;
+    private final int timeout;
+    private final TTConsoleLogger logger;
+
+    /**
+     * The execution info, only accessed by the session thread.
+     */
+    private ComTestExecutionInfo execInfo;
+
+    /**
+     * The generation of the COM connection the execution info belongs to.
+     */
+    private long generation;
+
+    /**
+     * Instantiates a new {@link ExecutionMonitor}.
+     *
+     * @param session
+     *            the COM session
+     * @param testFile
+     *            the test file
+     * @param testType
+     *            the test type used for logging, e.g. Package
+     * @param timeout
+     *            the execution timeout in seconds, 0 to wait infinitely
+     * @param logger
+     *            the logger
+     */
+    ExecutionMonitor(final ETComSession session, final String testFile, final String testType, final int timeout,
+            final TTConsoleLogger logger) {
+        this.session = session;
+        this.testFile = testFile;
+        this.testType = testType;
+        this.timeout = timeout;
+        this.logger = logger;
+    }
+
+    /**
+     * Starts the test execution and waits for its completion.
+     *
+     * @param startTask
+     *            the task starting the execution
+     * @return the test information
+     * @throws ETComException
+     *             in case of a COM exception
+     * @throws InterruptedException
+     *             if the build gets interrupted, the execution is aborted in the background then
+     */
+    TestInfoHolder run(final ComTask<ComTestExecutionInfo> startTask) throws ETComException, InterruptedException {
+        final long startTimeMillis = System.currentTimeMillis();
+        session.hold();
+        try {
+            session.execute(new ComTask<Void>() {
+
+                @Override
+                public Void call(final ComApplication comClient) throws ETComException, InterruptedException {
+                    execInfo = startTask.call(comClient);
+                    generation = session.getGeneration();
+                    return null;
+                }
+            });
+            try {
+                return awaitResult(startTimeMillis);
+            } catch (final InterruptedException e) {
+                logger.logWarn(String.format("-> %s execution has been interrupted! Aborting now...", testType));
+                ConfigSession.getInstance().invalidate();
+                session.executeLater(new ExecutionTask<Boolean>() {
+
+                    @Override
+                    Boolean perform(final ComApplication comClient) throws ETComException {
+                        return execInfo.abort();
+                    }
+                });
+                throw e;
+            } finally {
+                session.executeLater(new ExecutionTask<Void>() {
+
+                    @Override
+                    Void perform(final ComApplication comClient) {
+                        execInfo.close();
+                        return null;
+                    }
+                });
+            }
+        } finally {
+            session.unhold();
+        }
+    }
+
+    /**
+     * Waits for the completion of the started execution and collects its result.
+     *
+     * @param startTimeMillis
+     *            the start time of the execution
+     * @return the test information
+     * @throws ETComException
+     *             in case of a COM exception
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    private TestInfoHolder awaitResult(final long startTimeMillis) throws ETComException, InterruptedException {
+        final ExecutionTask<Boolean> stateTask = new ExecutionTask<Boolean>() {
+
+            @Override
+            Boolean perform(final ComApplication comClient) throws ETComException {
+                return "RUNNING".equals(execInfo.getState());
+            }
+        };
+        final WaitStrategy waitStrategy = new WaitStrategy();
+        long nextTickMillis = startTimeMillis;
+        final long endTimeMillis = System.currentTimeMillis() + Long.valueOf(timeout) * 1000L;
+        while (session.execute(stateTask)) {
+            if (System.currentTimeMillis() >= nextTickMillis) {
+                logger.logInfo("-- tick...");
+                nextTickMillis += AbstractTestClient.TICK_INTERVAL;
+            }
+            if (timeout > 0 && System.currentTimeMillis() > endTimeMillis) {
+                logger.logWarn(String.format("-> Test execution timeout of %d seconds reached! "
+                        + "Aborting now...", timeout));
+                ConfigSession.getInstance().invalidate();
+                session.execute(new ExecutionTask<Boolean>() {
+
+                    @Override
+                    Boolean perform(final ComApplication comClient) throws ETComException {
+                        return execInfo.abort();
+                    }
+                });
+                break;
+            }
+            waitStrategy.await();
+        }
+        waitStrategy.logStatistics(String.format("%s execution", testFile));
+
+        final long testDuration = System.currentTimeMillis() - startTimeMillis;
+        final String testResult = session.execute(new ExecutionTask<String>() {
+
+            @Override
+            String perform(final ComApplication comClient) throws ETComException {
+                return execInfo.getResult();
+            }
+        });
+        logger.logInfo(String.format("-> %s execution completed with result: %s", testType, testResult));
+        final String reportDb = session.execute(new ExecutionTask<String>() {
+
+            @Override
+            String perform(final ComApplication comClient) throws ETComException {
+                return execInfo.getReportDb();
+            }
+        });
+        final String testReportDir = new File(reportDb).getParentFile().getAbsolutePath();
+        logger.logInfo(String.format("-> Test report directory: %s", testReportDir));
+        logger.logInfo(String.format("-> Test execution duration: %.1f seconds", testDuration / 1000.0));
+        final TestInfoHolder testInfo = new TestInfoHolder(testResult, testReportDir, testDuration);
+
+        final boolean isIdle = session.execute(ETComSession.DEFAULT_TIMEOUT,
+                Math.max(timeout, session.getTaskTimeout()), new ComTask<Boolean>() {
+
+                    @Override
+                    public Boolean call(final ComApplication comClient) throws ETComException {
+                        return comClient.waitForIdle(timeout);
+                    }
+                });
+        if (!isIdle) {
+            logger.logWarn(String.format("-> Post-execution timeout of %d seconds reached!", timeout));
+        }
+        return testInfo;
+    }
+
+    /**
+     * Task accessing the execution info, which fails if the COM connection the info belongs to has been lost.
+     *
+     * @param <T>
+     *            the result type
+     */
+    private abstract class ExecutionTask<T> implements ComTask<T> {
+
+        @Override
+        public T call(final ComApplication comClient) throws ETComException {
+            if (session.getGeneration() != generation) {
+                throw new ETComException("COM connection lost during test execution!");
+            }
+            return perform(comClient);
+        }
+
+        /**
+         * Performs the requests on the execution info.
+         *
+         * @param comClient
+         *            the shared COM application
+         * @return the task result
+         * @throws ETComException
+         *             in case of a COM exception
+         */
+        abstract T perform(ComApplication comClient) throws ETComException;
+    }
+}
@@ -34,7 +34,6 @@ import hudson.Launcher;
 import hudson.model.TaskListener;
 import hudson.remoting.Callable;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.LinkedHashMap;
@@ -49,11 +48,13 @@ import de.tracetronic.jenkins.plugins.ecutest.test.config.PackageConfig;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.PackageParameter;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.TestConfig;
 import de.tracetronic.jenkins.plugins.ecutest.util.DllUtil;
-import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComClient;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
-import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.Package;
-import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.TestEnvironment;
-import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.TestExecutionInfo;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession.ComTask;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComApplication;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComPackage;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestEnvironment;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestExecutionInfo;
 
 /**
  * Client to execute ECU-TEST packages via COM interface.
@@ -100,60 +101,108 @@ public class PackageClient extends AbstractTestClient {
             return false;
         }
 
-        // Load test configuration
-        if (!launcher.getChannel().call(
-                new LoadConfigCallable(getTestConfig(), getExecutionConfig(), listener))) {
+        // Load configurations, open, run and close package within a single remote call
+        try {
+            return setExecutionInfo(launcher.getChannel().call(
+                    new ExecutePackageCallable(getTestFile(), getTestConfig(), getPackageConfig(),
+                            getExecutionConfig(), listener)));
+        } catch (final InterruptedException e) {
+            logger.logError("Test execution has been interrupted!");
             return false;
         }
+    }
+
+    /**
+     * {@link Callable} providing remote access to load the configurations and to open, run and close a package
+     * via COM within a single remote call, streaming the progress to the listener.
+     */
+    private static final class ExecutePackageCallable extends MasterToSlaveCallable<ExecutionInfoHolder, IOException> {
 
-        // Open package
-        final PackageInfoHolder pkgInfo = launcher.getChannel().call(
-                new OpenPackageCallable(getTestFile(), getExecutionConfig().isCheckTestFile(), listener));
+        private static final long serialVersionUID = 1L;
 
-        // Set package information
-        if (pkgInfo != null) {
-            setTestName(pkgInfo.getTestName());
-            setTestDescription(pkgInfo.getTestDescription());
-        } else {
-            return false;
+        private final String packageFile;
+        private final TestConfig testConfig;
+        private final PackageConfig packageConfig;
+        private final ExecutionConfig executionConfig;
+        private final TaskListener listener;
+
+        /**
+         * Instantiates a new {@link ExecutePackageCallable}.
+         *
+         * @param packageFile
+         *            the package file
+         * @param testConfig
+         *            the test configuration
+         * @param packageConfig
+         *            the package configuration
+         * @param executionConfig
+         *            the execution configuration
+         * @param listener
+         *            the listener
+         */
+        ExecutePackageCallable(final String packageFile, final TestConfig testConfig,
+                final PackageConfig packageConfig, final ExecutionConfig executionConfig,
+                final TaskListener listener) {
+            this.packageFile = packageFile;
+            this.testConfig = testConfig;
+            this.packageConfig = packageConfig;
+            this.executionConfig = executionConfig;
+            this.listener = listener;
         }
 
-        try {
+        @Override
+        public ExecutionInfoHolder call() throws IOException {
+            // Load test configuration
+            if (!new LoadConfigCallable(testConfig, executionConfig, listener).call()) {
+                return new ExecutionInfoHolder(null, null, null, false);
+            }
+
+            // Open package
+            final PackageInfoHolder pkgInfo = new OpenPackageCallable(packageFile,
+                    executionConfig.isCheckTestFile(), executionConfig.isCacheCheckResults(), listener).call();
+            if (pkgInfo == null) {
+                return new ExecutionInfoHolder(null, null, null, false);
+            }
+            final String testName = pkgInfo.getTestName();
+            final String testDescription = pkgInfo.getTestDescription();
+
             // Run package
-            final TestInfoHolder testInfo = launcher.getChannel().call(
-                    new RunPackageCallable(getTestFile(), getPackageConfig(), getExecutionConfig(), listener));
-
-            // Set test result information
-            if (testInfo != null) {
-                setTestResult(testInfo.getTestResult());
-                setTestReportDir(testInfo.getTestReportDir());
-            } else {
-                return false;
+            final TestInfoHolder testInfo;
+            try {
+                testInfo = new RunPackageCallable(packageFile, packageConfig, executionConfig, listener).call();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                new TTConsoleLogger(listener).logError("Test execution has been interrupted!");
+                return new ExecutionInfoHolder(testName, testDescription, null, false);
+            }
+            if (testInfo == null) {
+                return new ExecutionInfoHolder(testName, testDescription, null, false);
             }
-        } catch (final InterruptedException e) {
-            logger.logError("Test execution has been interrupted!");
-            return false;
-        }
 
-        // Close package
-        if (!launcher.getChannel().call(new ClosePackageCallable(getTestFile(), listener))) {
-            return false;
+            // Close package
+            final boolean isClosed = new ClosePackageCallable(packageFile, listener).call();
+            return new ExecutionInfoHolder(testName, testDescription, testInfo, isClosed);
         }
-
-        return true;
     }
 
     /**
      * {@link Callable} providing remote access to open a package via COM.
      */
-    private static final class OpenPackageCallable extends MasterToSlaveCallable<PackageInfoHolder, IOException> {
+    private static final class OpenPackageCallable extends MasterToSlaveCallable<PackageInfoHolder, IOException>
+            implements ComTask<PackageInfoHolder> {
 
         private static final long serialVersionUID = 1L;
 
         private final String packageFile;
         private final boolean checkTestFile;
+        private final boolean cacheCheckResults;
         private final TaskListener listener;
 
+        /**
+         * The fingerprint of the package to look up its cached check results, computed before opening the package.
+         */
+        private String fingerprint;
+
         /**
          * Instantiates a new {@link OpenPackageCallable}.
          *
@@ -161,12 +210,16 @@ public class PackageClient extends AbstractTestClient {
          *            the package file
          * @param checkTestFile
          *            specifies whether to check the package file
+         * @param cacheCheckResults
+         *            specifies whether to reuse the check results of an unchanged package
          * @param listener
          *            the listener
          */
-        OpenPackageCallable(final String packageFile, final boolean checkTestFile, final TaskListener listener) {
+        OpenPackageCallable(final String packageFile, final boolean checkTestFile, final boolean cacheCheckResults,
+                final TaskListener listener) {
             this.packageFile = packageFile;
             this.checkTestFile = checkTestFile;
+            this.cacheCheckResults = cacheCheckResults;
             this.listener = listener;
         }
 
@@ -175,13 +228,37 @@ public class PackageClient extends AbstractTestClient {
             PackageInfoHolder pkgInfo = null;
             final TTConsoleLogger logger = new TTConsoleLogger(listener);
             logger.logInfo("- Opening package...");
-            try (ETComClient comClient = new ETComClient();
-                    Package pkg = (Package) comClient.openPackage(packageFile)) {
+            try {
+                if (checkTestFile && cacheCheckResults) {
+                    fingerprint = CheckCache.fingerprint(ETComSession.getInstance(), packageFile);
+                }
+                pkgInfo = ETComSession.getInstance().execute(this);
+            } catch (final ETComException e) {
+                logger.logError("-> Opening package failed!");
+                logger.logError("Caught ComException: " + e.getMessage());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.logError("-> Interrupted while waiting for ECU-TEST!");
+            }
+            return pkgInfo;
+        }
+
+        @Override
+        public PackageInfoHolder call(final ComApplication comClient) throws ETComException {
+            PackageInfoHolder pkgInfo = null;
+            final TTConsoleLogger logger = new TTConsoleLogger(listener);
+            try (ComPackage pkg = comClient.openPackage(packageFile)) {
                 logger.logInfo("-> Package opened successfully.");
                 pkgInfo = new PackageInfoHolder(pkg.getName(), pkg.getDescription());
                 if (checkTestFile) {
                     logger.logInfo("- Checking package...");
-                    final List<CheckInfoHolder> checks = pkg.check();
+                    List<CheckInfoHolder> checks = CheckCache.getInstance().get(packageFile, fingerprint);
+                    if (checks == null) {
+                        checks = pkg.check();
+                        CheckCache.getInstance().put(packageFile, fingerprint, checks);
+                    } else {
+                        logger.logInfo("-> Package unchanged, using cached check results.");
+                    }
                     for (final CheckInfoHolder check : checks) {
                         final String logMessage = String.format("%s (line %s): %s", check.getFilePath(),
                                 check.getLineNumber(), check.getErrorMessage());
@@ -205,9 +282,6 @@ public class PackageClient extends AbstractTestClient {
                         logger.logInfo("-> Package validated successfully.");
                     }
                 }
-            } catch (final ETComException e) {
-                logger.logError("-> Opening package failed!");
-                logger.logError("Caught ComException: " + e.getMessage());
             }
             return pkgInfo;
         }
@@ -216,7 +290,8 @@ public class PackageClient extends AbstractTestClient {
     /**
      * {@link Callable} providing remote access to run a package via COM.
      */
-    private static final class RunPackageCallable extends MasterToSlaveCallable<TestInfoHolder, InterruptedException> {
+    private static final class RunPackageCallable extends MasterToSlaveCallable<TestInfoHolder, InterruptedException>
+            implements ComTask<ComTestExecutionInfo> {
 
         private static final long serialVersionUID = 1L;
 
@@ -247,53 +322,31 @@ public class PackageClient extends AbstractTestClient {
 
         @Override
         public TestInfoHolder call() throws InterruptedException {
-            final boolean runTest = packageConfig.isRunTest();
-            final boolean runTraceAnalysis = packageConfig.isRunTraceAnalysis();
-            final int timeout = executionConfig.getTimeout();
             TestInfoHolder testInfo = null;
-
             final TTConsoleLogger logger = new TTConsoleLogger(listener);
             logger.logInfo("- Running package...");
             final Map<String, String> paramMap = getParameterMap();
             if (!paramMap.isEmpty()) {
                 logger.logInfo("-> With parameters: " + paramMap.toString());
             }
-            try (ETComClient comClient = new ETComClient();
-                    TestEnvironment testEnv = (TestEnvironment) comClient.getTestEnvironment();
-                    TestExecutionInfo execInfo = (TestExecutionInfo) testEnv.executePackage(packageFile,
-                            runTraceAnalysis, runTest, paramMap)) {
-                int tickCounter = 0;
-                final long endTimeMillis = System.currentTimeMillis() + Long.valueOf(timeout) * 1000L;
-                while ("RUNNING".equals(execInfo.getState())) {
-                    if (tickCounter % 60 == 0) {
-                        logger.logInfo("-- tick...");
-                    }
-                    if (timeout > 0 && System.currentTimeMillis() > endTimeMillis) {
-                        logger.logWarn(String.format("-> Test execution timeout of %d seconds reached! "
-                                + "Aborting now...", timeout));
-                        execInfo.abort();
-                        break;
-                    }
-                    Thread.sleep(1000L);
-                    tickCounter++;
-                }
-
-                final String testResult = execInfo.getResult();
-                logger.logInfo(String.format("-> Package execution completed with result: %s", testResult));
-                final String testReportDir = new File(execInfo.getReportDb()).getParentFile()
-                        .getAbsolutePath();
-                logger.logInfo(String.format("-> Test report directory: %s", testReportDir));
-                testInfo = new TestInfoHolder(testResult, testReportDir);
-
-                if (!comClient.waitForIdle(timeout)) {
-                    logger.logWarn(String.format("-> Post-execution timeout of %d seconds reached!", timeout));
-                }
+            try {
+                testInfo = new ExecutionMonitor(ETComSession.getInstance(), packageFile, "Package",
+                        executionConfig.getTimeout(), logger).run(this);
             } catch (final ETComException e) {
                 logger.logError("Caught ComException: " + e.getMessage());
             }
             return testInfo;
         }
 
+        @Override
+        public ComTestExecutionInfo call(final ComApplication comClient) throws ETComException {
+            final boolean runTest = packageConfig.isRunTest();
+            final boolean runTraceAnalysis = packageConfig.isRunTraceAnalysis();
+            try (ComTestEnvironment testEnv = comClient.getTestEnvironment()) {
+                return testEnv.executePackage(packageFile, runTraceAnalysis, runTest, getParameterMap());
+            }
+        }
+
         /**
          * Converts the parameter list to a parameter map.
          *
@@ -311,7 +364,8 @@ public class PackageClient extends AbstractTestClient {
     /**
      * {@link Callable} providing remote access to close a package via COM.
      */
-    private static final class ClosePackageCallable extends MasterToSlaveCallable<Boolean, IOException> {
+    private static final class ClosePackageCallable extends MasterToSlaveCallable<Boolean, IOException>
+            implements ComTask<Boolean> {
 
         private static final long serialVersionUID = 1L;
 
@@ -336,8 +390,8 @@ public class PackageClient extends AbstractTestClient {
             boolean isClosed = false;
             final TTConsoleLogger logger = new TTConsoleLogger(listener);
             logger.logInfo("- Closing package...");
-            try (ETComClient comClient = new ETComClient()) {
-                if (comClient.closePackage(packageFile)) {
+            try {
+                if (ETComSession.getInstance().execute(this)) {
                     isClosed = true;
                     logger.logInfo("-> Package closed successfully.");
                 } else {
@@ -345,9 +399,17 @@ public class PackageClient extends AbstractTestClient {
                 }
             } catch (final ETComException e) {
                 logger.logError("Caught ComException: " + e.getMessage());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.logError("-> Interrupted while waiting for ECU-TEST!");
             }
             return isClosed;
         }
+
+        @Override
+        public Boolean call(final ComApplication comClient) throws ETComException {
+            return comClient.closePackage(packageFile);
+        }
     }
 
     /**
@@ -48,11 +48,13 @@ import de.tracetronic.jenkins.plugins.ecutest.test.config.ExecutionConfig;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.ProjectConfig;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.TestConfig;
 import de.tracetronic.jenkins.plugins.ecutest.util.DllUtil;
-import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComClient;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
-import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.Project;
-import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.TestEnvironment;
-import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.TestExecutionInfo;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession.ComTask;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComApplication;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComProject;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestEnvironment;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestExecutionInfo;
 
 /**
  * Client to execute ECU-TEST projects via COM interface.
@@ -99,60 +101,110 @@ public class ProjectClient extends AbstractTestClient {
             return false;
         }
 
-        // Load test configuration
-        if (!launcher.getChannel().call(
-                new LoadConfigCallable(getTestConfig(), getExecutionConfig(), listener))) {
+        // Load configurations, open, run and close project within a single remote call
+        try {
+            return setExecutionInfo(launcher.getChannel().call(
+                    new ExecuteProjectCallable(getTestFile(), getTestConfig(), getProjectConfig(),
+                            getExecutionConfig(), listener)));
+        } catch (final InterruptedException e) {
+            logger.logError("Test execution has been interrupted!");
             return false;
         }
+    }
 
-        // Open and check project
-        if (!launcher.getChannel().call(
-                new OpenProjectCallable(getTestFile(), getProjectConfig(), getExecutionConfig().isCheckTestFile(),
-                        listener))) {
-            return false;
+    /**
+     * {@link Callable} providing remote access to load the configurations and to open, run and close a project
+     * via COM within a single remote call, streaming the progress to the listener.
+     */
+    private static final class ExecuteProjectCallable extends MasterToSlaveCallable<ExecutionInfoHolder, IOException> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String projectFile;
+        private final TestConfig testConfig;
+        private final ProjectConfig projectConfig;
+        private final ExecutionConfig executionConfig;
+        private final TaskListener listener;
+
+        /**
+         * Instantiates a new {@link ExecuteProjectCallable}.
+         *
+         * @param projectFile
+         *            the project file
+         * @param testConfig
+         *            the test configuration
+         * @param projectConfig
+         *            the project configuration
+         * @param executionConfig
+         *            the execution configuration
+         * @param listener
+         *            the listener
+         */
+        ExecuteProjectCallable(final String projectFile, final TestConfig testConfig,
+                final ProjectConfig projectConfig, final ExecutionConfig executionConfig,
+                final TaskListener listener) {
+            this.projectFile = projectFile;
+            this.testConfig = testConfig;
+            this.projectConfig = projectConfig;
+            this.executionConfig = executionConfig;
+            this.listener = listener;
         }
 
-        // Set default project information
-        setTestDescription("");
-        setTestName(FilenameUtils.getBaseName(new File(getTestFile()).getName()));
+        @Override
+        public ExecutionInfoHolder call() throws IOException {
+            // Load test configuration
+            if (!new LoadConfigCallable(testConfig, executionConfig, listener).call()) {
+                return new ExecutionInfoHolder(null, null, null, false);
+            }
+
+            // Open and check project
+            if (!new OpenProjectCallable(projectFile, projectConfig, executionConfig.isCheckTestFile(),
+                    executionConfig.isCacheCheckResults(), listener).call()) {
+                return new ExecutionInfoHolder(null, null, null, false);
+            }
+
+            // Set default project information
+            final String testName = FilenameUtils.getBaseName(new File(projectFile).getName());
 
-        try {
             // Run project
-            final TestInfoHolder testInfo = launcher.getChannel().call(
-                    new RunProjectCallable(getTestFile(), getProjectConfig(), getExecutionConfig(), listener));
-
-            // Set project information
-            if (testInfo != null) {
-                setTestResult(testInfo.getTestResult());
-                setTestReportDir(testInfo.getTestReportDir());
-            } else {
-                return false;
+            final TestInfoHolder testInfo;
+            try {
+                testInfo = new RunProjectCallable(projectFile, projectConfig, executionConfig, listener).call();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                new TTConsoleLogger(listener).logError("Test execution has been interrupted!");
+                return new ExecutionInfoHolder(testName, "", null, false);
+            }
+            if (testInfo == null) {
+                return new ExecutionInfoHolder(testName, "", null, false);
             }
-        } catch (final InterruptedException e) {
-            logger.logError("Test execution has been interrupted!");
-            return false;
-        }
 
-        // Close project
-        if (!launcher.getChannel().call(new CloseProjectCallable(getTestFile(), listener))) {
-            return false;
+            // Close project
+            final boolean isClosed = new CloseProjectCallable(projectFile, listener).call();
+            return new ExecutionInfoHolder(testName, "", testInfo, isClosed);
         }
-
-        return true;
     }
 
     /**
      * {@link Callable} providing remote access to open a project via COM.
      */
-    private static final class OpenProjectCallable extends MasterToSlaveCallable<Boolean, IOException> {
+    private static final class OpenProjectCallable extends MasterToSlaveCallable<Boolean, IOException>
+            implements ComTask<Boolean> {
 
         private static final long serialVersionUID = 1L;
 
         private final String projectFile;
         private final ProjectConfig projectConfig;
         private final boolean checkTestFile;
+        private final boolean cacheCheckResults;
         private final TaskListener listener;
 
+        /**
+         * The fingerprint of the project files to look up the cached check results, computed before opening the
+         * project and completed by the project packages.
+         */
+        private String fingerprint;
+
         /**
          * Instantiates a new {@link OpenProjectCallable}.
          *
@@ -162,31 +214,59 @@ public class ProjectClient extends AbstractTestClient {
          *            the project configuration
          * @param checkTestFile
          *            specifies whether to check the project file
+         * @param cacheCheckResults
+         *            specifies whether to reuse the check results of an unchanged project
          * @param listener
          *            the listener
          */
         OpenProjectCallable(final String projectFile, final ProjectConfig projectConfig,
-                final boolean checkTestFile, final TaskListener listener) {
+                final boolean checkTestFile, final boolean cacheCheckResults, final TaskListener listener) {
             this.projectFile = projectFile;
             this.projectConfig = projectConfig;
             this.checkTestFile = checkTestFile;
+            this.cacheCheckResults = cacheCheckResults;
             this.listener = listener;
         }
 
         @Override
         public Boolean call() throws IOException {
+            boolean isOpened = false;
+            final TTConsoleLogger logger = new TTConsoleLogger(listener);
+            logger.logInfo("- Opening project...");
+            try {
+                if (checkTestFile && cacheCheckResults) {
+                    fingerprint = CheckCache.fingerprint(ETComSession.getInstance(), projectFile);
+                }
+                isOpened = ETComSession.getInstance().execute(this);
+            } catch (final ETComException e) {
+                logger.logError("-> Opening project failed!");
+                logger.logError("Caught ComException: " + e.getMessage());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.logError("-> Interrupted while waiting for ECU-TEST!");
+            }
+            return isOpened;
+        }
+
+        @Override
+        public Boolean call(final ComApplication comClient) throws ETComException {
             final boolean execInCurrentPkgDir = projectConfig.isExecInCurrentPkgDir();
             final String filterExpression = projectConfig.getFilterExpression();
             boolean isOpened = true;
             final TTConsoleLogger logger = new TTConsoleLogger(listener);
-            logger.logInfo("- Opening project...");
-            try (ETComClient comClient = new ETComClient();
-                    Project project = (Project) comClient.openProject(projectFile, execInCurrentPkgDir,
-                            filterExpression)) {
+            try (ComProject project = comClient.openProject(projectFile, execInCurrentPkgDir, filterExpression)) {
                 logger.logInfo("-> Project opened successfully.");
                 if (checkTestFile) {
                     logger.logInfo("- Checking project...");
-                    final List<CheckInfoHolder> checks = project.check();
+                    final String projectFingerprint = fingerprint == null ? null
+                            : fingerprint + "\n" + filterExpression + "|" + project.getPackages();
+                    List<CheckInfoHolder> checks = CheckCache.getInstance().get(projectFile, projectFingerprint);
+                    if (checks == null) {
+                        checks = project.check();
+                        CheckCache.getInstance().put(projectFile, projectFingerprint, checks);
+                    } else {
+                        logger.logInfo("-> Project unchanged, using cached check results.");
+                    }
                     for (final CheckInfoHolder check : checks) {
                         final String logMessage = String.format("%s (line %s): %s", check.getFilePath(),
                                 check.getLineNumber(), check.getErrorMessage());
@@ -210,10 +290,6 @@ public class ProjectClient extends AbstractTestClient {
                         logger.logInfo("-> Project validated successfully!");
                     }
                 }
-            } catch (final ETComException e) {
-                isOpened = false;
-                logger.logError("-> Opening project failed!");
-                logger.logError("Caught ComException: " + e.getMessage());
             }
             return isOpened;
         }
@@ -222,7 +298,8 @@ public class ProjectClient extends AbstractTestClient {
     /**
      * {@link Callable} providing remote access to run a project via COM.
      */
-    private static final class RunProjectCallable extends MasterToSlaveCallable<TestInfoHolder, InterruptedException> {
+    private static final class RunProjectCallable extends MasterToSlaveCallable<TestInfoHolder, InterruptedException>
+            implements ComTask<ComTestExecutionInfo> {
 
         private static final long serialVersionUID = 1L;
 
@@ -253,52 +330,32 @@ public class ProjectClient extends AbstractTestClient {
 
         @Override
         public TestInfoHolder call() throws InterruptedException {
-            final int jobExecutionMode = projectConfig.getJobExecMode().getValue();
-            final int timeout = executionConfig.getTimeout();
             TestInfoHolder testInfo = null;
             final TTConsoleLogger logger = new TTConsoleLogger(listener);
             logger.logInfo("- Running project...");
-            try (ETComClient comClient = new ETComClient();
-                    TestEnvironment testEnv = (TestEnvironment) comClient.getTestEnvironment();
-                    TestExecutionInfo execInfo = (TestExecutionInfo) testEnv.executeProject(projectFile, true,
-                            jobExecutionMode)) {
-                int tickCounter = 0;
-                final long endTimeMillis = System.currentTimeMillis() + Long.valueOf(timeout) * 1000L;
-                while ("RUNNING".equals(execInfo.getState())) {
-                    if (tickCounter % 60 == 0) {
-                        logger.logInfo("-- tick...");
-                    }
-                    if (timeout > 0 && System.currentTimeMillis() > endTimeMillis) {
-                        logger.logWarn(String.format("-> Test execution timeout of %d seconds reached! "
-                                + "Aborting now...", timeout));
-                        execInfo.abort();
-                        break;
-                    }
-                    Thread.sleep(1000L);
-                    tickCounter++;
-                }
-
-                final String testResult = execInfo.getResult();
-                logger.logInfo(String.format("-> Project execution completed with result: %s", testResult));
-                final String testReportDir = new File(execInfo.getReportDb()).getParentFile()
-                        .getAbsolutePath();
-                logger.logInfo(String.format("-> Test report directory: %s", testReportDir));
-                testInfo = new TestInfoHolder(testResult, testReportDir);
-
-                if (!comClient.waitForIdle(timeout)) {
-                    logger.logWarn(String.format("-> Post-execution timeout of %d seconds reached!", timeout));
-                }
+            try {
+                testInfo = new ExecutionMonitor(ETComSession.getInstance(), projectFile, "Project",
+                        executionConfig.getTimeout(), logger).run(this);
             } catch (final ETComException e) {
                 logger.logError("Caught ComException: " + e.getMessage());
             }
             return testInfo;
         }
+
+        @Override
+        public ComTestExecutionInfo call(final ComApplication comClient) throws ETComException {
+            final int jobExecutionMode = projectConfig.getJobExecMode().getValue();
+            try (ComTestEnvironment testEnv = comClient.getTestEnvironment()) {
+                return testEnv.executeProject(projectFile, true, jobExecutionMode);
+            }
+        }
     }
 
     /**
      * {@link Callable} providing remote access to close a project via COM.
      */
-    private static final class CloseProjectCallable extends MasterToSlaveCallable<Boolean, IOException> {
+    private static final class CloseProjectCallable extends MasterToSlaveCallable<Boolean, IOException>
+            implements ComTask<Boolean> {
 
         private static final long serialVersionUID = 1L;
 
@@ -323,8 +380,8 @@ public class ProjectClient extends AbstractTestClient {
             boolean isClosed = false;
             final TTConsoleLogger logger = new TTConsoleLogger(listener);
             logger.logInfo("- Closing project...");
-            try (ETComClient comClient = new ETComClient()) {
-                if (comClient.closeProject(projectFile)) {
+            try {
+                if (ETComSession.getInstance().execute(this)) {
                     isClosed = true;
                     logger.logInfo("-> Project closed successfully.");
                 } else {
@@ -332,8 +389,16 @@ public class ProjectClient extends AbstractTestClient {
                 }
             } catch (final ETComException e) {
                 logger.logError("Caught ComException: " + e.getMessage());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.logError("-> Interrupted while waiting for ECU-TEST!");
             }
             return isClosed;
         }
+
+        @Override
+        public Boolean call(final ComApplication comClient) throws ETComException {
+            return comClient.closeProject(projectFile);
+        }
     }
 }
@@ -66,6 +66,10 @@ ExpandableConfig {
      * @since 1.4
      */
     private final boolean checkTestFile;
+    /**
+     * @since 1.12
+     */
+    private final boolean cacheCheckResults;
 
     /**
      * Instantiates a new {@link ExecutionConfig}.
@@ -77,13 +81,32 @@ ExpandableConfig {
      *            Tool-Server instances if an error occurred
      * @param checkTestFile
      *            specifies whether to check the test file
+     * @param cacheCheckResults
+     *            specifies whether to reuse the check results of unchanged test files
      */
     @DataBoundConstructor
-    public ExecutionConfig(final String timeout, final boolean stopOnError, final boolean checkTestFile) {
+    public ExecutionConfig(final String timeout, final boolean stopOnError, final boolean checkTestFile,
+            final boolean cacheCheckResults) {
         super();
         this.timeout = StringUtils.defaultIfBlank(timeout, String.valueOf(DEFAULT_TIMEOUT));
         this.stopOnError = stopOnError;
         this.checkTestFile = checkTestFile;
+        this.cacheCheckResults = cacheCheckResults;
+    }
+
+    /**
+     * Instantiates a new {@link ExecutionConfig} without reusing check results.
+     *
+     * @param timeout
+     *            the timeout to run the test
+     * @param stopOnError
+     *            specifies whether to stop ECU-TEST and
+     *            Tool-Server instances if an error occurred
+     * @param checkTestFile
+     *            specifies whether to check the test file
+     */
+    public ExecutionConfig(final String timeout, final boolean stopOnError, final boolean checkTestFile) {
+        this(timeout, stopOnError, checkTestFile, false);
     }
 
     /**
@@ -183,11 +206,18 @@ ExpandableConfig {
         return checkTestFile;
     }
 
+    /**
+     * @return specifies whether to reuse the check results of unchanged test files
+     */
+    public boolean isCacheCheckResults() {
+        return cacheCheckResults;
+    }
+
     @Override
     public ExecutionConfig expand(final EnvVars envVars) {
         final String expTimeout = EnvUtil.expandEnvVar(getStringTimeout(), envVars,
                 String.valueOf(DEFAULT_TIMEOUT));
-        return new ExecutionConfig(expTimeout, isStopOnError(), isCheckTestFile());
+        return new ExecutionConfig(expTimeout, isStopOnError(), isCheckTestFile(), isCacheCheckResults());
     }
 
     @Override
@@ -196,7 +226,8 @@ ExpandableConfig {
         if (other instanceof ExecutionConfig) {
             final ExecutionConfig that = (ExecutionConfig) other;
             result = (timeout == null ? that.timeout == null : timeout.equals(that.timeout))
-                    && stopOnError == that.stopOnError && checkTestFile == that.checkTestFile;
+                    && stopOnError == that.stopOnError && checkTestFile == that.checkTestFile
+                    && cacheCheckResults == that.cacheCheckResults;
         }
         return result;
     }
@@ -204,7 +235,7 @@ ExpandableConfig {
     @Override
     public final int hashCode() {
         return new HashCodeBuilder(17, 31).append(timeout).append(stopOnError).append(checkTestFile)
-                .toHashCode();
+                .append(cacheCheckResults).toHashCode();
     }
 
     /**
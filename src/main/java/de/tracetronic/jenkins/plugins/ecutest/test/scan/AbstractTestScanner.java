@@ -121,7 +121,7 @@ public abstract class AbstractTestScanner {
     /**
      * {@link Callable} providing remote access to scan a directory with a include file pattern.
      */
-    private static final class ScanTestCallable extends MasterToSlaveCallable<List<String>, IOException> {
+    static final class ScanTestCallable extends MasterToSlaveCallable<List<String>, IOException> {
 
         private static final long serialVersionUID = 1L;
 
@@ -0,0 +1,326 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.scan;
+
+import hudson.Launcher;
+import hudson.remoting.Callable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import jenkins.security.MasterToSlaveCallable;
+
+import de.tracetronic.jenkins.plugins.ecutest.test.scan.AbstractTestScanner.ScanTestCallable;
+
+/**
+ * Directory scanner searching for both ECU-TEST packages and projects within a single pass.
+ * <p>
+ * A recursive scan can optionally walk the subfolders in parallel on the agent. The parallel scan returns the test
+ * files in a deterministic order, sorted by name per folder with the files of a folder preceding its subfolders.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class TestFolderScanner {
+
+    private final String inputDir;
+    private final boolean recursive;
+    private final boolean parallel;
+    private final transient Launcher launcher;
+
+    /**
+     * Instantiates a new {@link TestFolderScanner}.
+     *
+     * @param inputDir
+     *            the input directory
+     * @param recursive
+     *            specifies whether to scan recursively
+     * @param launcher
+     *            the launcher
+     */
+    public TestFolderScanner(final String inputDir, final boolean recursive, final Launcher launcher) {
+        this(inputDir, recursive, false, launcher);
+    }
+
+    /**
+     * Instantiates a new {@link TestFolderScanner}.
+     *
+     * @param inputDir
+     *            the input directory
+     * @param recursive
+     *            specifies whether to scan recursively
+     * @param parallel
+     *            specifies whether to scan the subfolders in parallel
+     * @param launcher
+     *            the launcher
+     */
+    public TestFolderScanner(final String inputDir, final boolean recursive, final boolean parallel,
+            final Launcher launcher) {
+        this.inputDir = inputDir;
+        this.recursive = recursive;
+        this.parallel = parallel;
+        this.launcher = launcher;
+    }
+
+    /**
+     * @return the input directory to scan
+     */
+    public String getInputDir() {
+        return inputDir;
+    }
+
+    /**
+     * @return {@code true} if recursive scan is enabled, {@code false} otherwise.
+     */
+    public boolean isRecursive() {
+        return recursive;
+    }
+
+    /**
+     * @return {@code true} if the subfolders are scanned in parallel, {@code false} otherwise.
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Scans the packages and projects by a single remote call.
+     *
+     * @return the test files in scan order
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the current thread is interrupted while waiting for the completion
+     */
+    public List<String> scanTestFiles() throws IOException, InterruptedException {
+        if (isRecursive() && isParallel()) {
+            return launcher.getChannel().call(new ParallelScanCallable(inputDir, getFileExtensions()));
+        }
+        return launcher.getChannel().call(new ScanTestCallable(inputDir, getFilePattern()));
+    }
+
+    /**
+     * Gets the file pattern matching both packages and projects.
+     *
+     * @return the file pattern
+     */
+    protected String[] getFilePattern() {
+        final String prefix = isRecursive() ? "**/**" : "*";
+        return new String[] { prefix + TestPackageScanner.FILE_EXTENSION,
+                prefix + TestProjectScanner.FILE_EXTENSION };
+    }
+
+    /**
+     * Gets the file extensions of both packages and projects.
+     *
+     * @return the file extensions
+     */
+    protected String[] getFileExtensions() {
+        return new String[] { TestPackageScanner.FILE_EXTENSION, TestProjectScanner.FILE_EXTENSION };
+    }
+
+    /**
+     * Filters the packages from the scanned test files.
+     *
+     * @param testFiles
+     *            the scanned test files
+     * @return the packages in scan order
+     */
+    public static List<String> getPackageFiles(final List<String> testFiles) {
+        return filter(testFiles, TestPackageScanner.FILE_EXTENSION);
+    }
+
+    /**
+     * Filters the projects from the scanned test files.
+     *
+     * @param testFiles
+     *            the scanned test files
+     * @return the projects in scan order
+     */
+    public static List<String> getProjectFiles(final List<String> testFiles) {
+        return filter(testFiles, TestProjectScanner.FILE_EXTENSION);
+    }
+
+    /**
+     * Filters the test files by the given file extension.
+     *
+     * @param testFiles
+     *            the test files
+     * @param fileExtension
+     *            the file extension
+     * @return the matching test files
+     */
+    private static List<String> filter(final List<String> testFiles, final String fileExtension) {
+        final List<String> filteredFiles = new ArrayList<String>();
+        for (final String testFile : testFiles) {
+            if (testFile.endsWith(fileExtension)) {
+                filteredFiles.add(testFile);
+            }
+        }
+        return filteredFiles;
+    }
+
+    /**
+     * {@link Callable} providing remote access to scan a directory tree in parallel. The folders are distributed
+     * over a work-stealing {@link ForkJoinPool} sized by the processors of the agent.
+     */
+    static final class ParallelScanCallable extends MasterToSlaveCallable<List<String>, IOException> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String inputDir;
+        private final String[] fileExtensions;
+
+        /**
+         * Instantiates a new {@link ParallelScanCallable}.
+         *
+         * @param inputDir
+         *            the input directory
+         * @param fileExtensions
+         *            the file extensions to search for
+         */
+        ParallelScanCallable(final String inputDir, final String[] fileExtensions) {
+            this.inputDir = inputDir;
+            this.fileExtensions = fileExtensions;
+        }
+
+        @Override
+        public List<String> call() throws IOException {
+            final File baseDir = new File(inputDir);
+            if (!baseDir.isDirectory()) {
+                throw new IOException(String.format("Test folder %s does not exist!", baseDir.getAbsolutePath()));
+            }
+            final ForkJoinPool pool = new ForkJoinPool();
+            try {
+                return pool.invoke(new ScanFolderTask(baseDir.getAbsoluteFile(), fileExtensions,
+                        Collections.<String> emptySet()));
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * {@link RecursiveTask} scanning a single folder and forking a sub task per subfolder.
+     */
+    private static final class ScanFolderTask extends RecursiveTask<List<String>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final File folder;
+        private final String[] fileExtensions;
+        private final Set<String> parentDirs;
+
+        /**
+         * Instantiates a new {@link ScanFolderTask}.
+         *
+         * @param folder
+         *            the folder to scan
+         * @param fileExtensions
+         *            the file extensions to search for
+         * @param parentDirs
+         *            the canonical paths of the parent folders to detect symbolic link cycles
+         */
+        ScanFolderTask(final File folder, final String[] fileExtensions, final Set<String> parentDirs) {
+            this.folder = folder;
+            this.fileExtensions = fileExtensions;
+            this.parentDirs = parentDirs;
+        }
+
+        @Override
+        protected List<String> compute() {
+            final List<String> testFiles = new ArrayList<String>();
+            final File[] children = folder.listFiles();
+            if (children == null) {
+                return testFiles;
+            }
+            Arrays.sort(children);
+
+            final Set<String> dirs = new HashSet<String>(parentDirs);
+            dirs.add(getCanonicalPath(folder));
+            final List<ScanFolderTask> subTasks = new ArrayList<ScanFolderTask>();
+            for (final File child : children) {
+                if (child.isDirectory()) {
+                    if (!dirs.contains(getCanonicalPath(child))) {
+                        final ScanFolderTask subTask = new ScanFolderTask(child, fileExtensions, dirs);
+                        subTask.fork();
+                        subTasks.add(subTask);
+                    }
+                } else if (isTestFile(child.getName())) {
+                    testFiles.add(child.getAbsolutePath());
+                }
+            }
+
+            // Join in folder order to keep the result deterministic
+            for (final ScanFolderTask subTask : subTasks) {
+                testFiles.addAll(subTask.join());
+            }
+            return testFiles;
+        }
+
+        /**
+         * Checks whether the file name matches any of the file extensions.
+         *
+         * @param fileName
+         *            the file name
+         * @return {@code true} if the file is a test file, {@code false} otherwise
+         */
+        private boolean isTestFile(final String fileName) {
+            for (final String fileExtension : fileExtensions) {
+                if (fileName.endsWith(fileExtension)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Gets the canonical path of a file, falling back to the absolute path.
+         *
+         * @param file
+         *            the file
+         * @return the canonical path
+         */
+        private static String getCanonicalPath(final File file) {
+            try {
+                return file.getCanonicalPath();
+            } catch (final IOException e) {
+                return file.getAbsolutePath();
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.scan;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.tracetronic.jenkins.plugins.ecutest.report.history.TestHistory;
+import de.tracetronic.jenkins.plugins.ecutest.report.history.VerdictHistory;
+import de.tracetronic.jenkins.plugins.ecutest.report.history.VerdictHistoryRecorder;
+
+/**
+ * Orders scanned test files by their recorded results in the {@link VerdictHistory} of the job.
+ * <p>
+ * Tests without any recorded result are considered as new and are executed first by all history based orders, ties
+ * which cannot be resolved by neither the order nor the tie-breaker keep the scan order.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class TestOrderer {
+
+    /**
+     * Defines the orders to execute the scanned tests.
+     */
+    public enum TestOrder {
+        /**
+         * Keep the order of the test folder scan.
+         */
+        SCAN_ORDER,
+
+        /**
+         * Execute tests which failed in their latest run first.
+         */
+        LAST_FAILED_FIRST,
+
+        /**
+         * Execute tests with the highest failure rate first.
+         */
+        FAILURE_RATE,
+
+        /**
+         * Execute tests with the shortest average duration first.
+         */
+        SHORTEST_FIRST,
+
+        /**
+         * Execute tests in alphabetical order of their file paths.
+         */
+        FILE_NAME
+    }
+
+    private final VerdictHistory history;
+    private final TestOrder order;
+    private final TestOrder tieBreaker;
+
+    /**
+     * Instantiates a new {@link TestOrderer}.
+     *
+     * @param history
+     *            the verdict history providing the recorded results
+     * @param order
+     *            the primary order
+     * @param tieBreaker
+     *            the order applied to tests being equal by the primary order
+     */
+    public TestOrderer(final VerdictHistory history, final TestOrder order, final TestOrder tieBreaker) {
+        this.history = history;
+        this.order = order;
+        this.tieBreaker = tieBreaker;
+    }
+
+    /**
+     * Returns whether the tests are ordered at all.
+     *
+     * @return {@code true} if the primary order is not {@link TestOrder#SCAN_ORDER}, {@code false} otherwise
+     */
+    public boolean isOrdering() {
+        return order != TestOrder.SCAN_ORDER;
+    }
+
+    /**
+     * Orders the given test files.
+     *
+     * @param testFiles
+     *            the scanned test files
+     * @param baseDirs
+     *            the base directories the test ids in the verdict history are relative to
+     * @return the ordered list of test files
+     * @see VerdictHistoryRecorder#getTestId(String, String...)
+     */
+    public List<String> order(final List<String> testFiles, final String... baseDirs) {
+        final List<String> orderedFiles = new ArrayList<String>(testFiles);
+        if (!isOrdering() || orderedFiles.size() < 2) {
+            return orderedFiles;
+        }
+
+        final Map<String, String> testIds = new HashMap<String, String>();
+        for (final String testFile : orderedFiles) {
+            testIds.put(testFile, VerdictHistoryRecorder.getTestId(testFile, baseDirs));
+        }
+
+        // Compare a snapshot only, concurrently recorded results would break the sort contract
+        final Map<String, TestHistory> snapshot = history.getSnapshot(testIds.values());
+
+        // Sorting is stable, so scan order is preserved for remaining ties
+        Collections.sort(orderedFiles, new Comparator<String>() {
+
+            @Override
+            public int compare(final String file1, final String file2) {
+                final TestHistory history1 = snapshot.get(testIds.get(file1));
+                final TestHistory history2 = snapshot.get(testIds.get(file2));
+                final int result = compareBy(order, file1, history1, file2, history2);
+                if (result != 0) {
+                    return result;
+                }
+                return compareBy(tieBreaker, file1, history1, file2, history2);
+            }
+        });
+        return orderedFiles;
+    }
+
+    /**
+     * Compares two test files by the given order.
+     *
+     * @param testOrder
+     *            the order to compare by
+     * @param file1
+     *            the first test file
+     * @param history1
+     *            the history of the first test file, may be {@code null}
+     * @param file2
+     *            the second test file
+     * @param history2
+     *            the history of the second test file, may be {@code null}
+     * @return a negative value if the first test is executed before the second one, a positive value if afterwards,
+     *         otherwise {@code 0}
+     */
+    private static int compareBy(final TestOrder testOrder, final String file1, final TestHistory history1,
+            final String file2, final TestHistory history2) {
+        if (testOrder == TestOrder.SCAN_ORDER) {
+            return 0;
+        } else if (testOrder == TestOrder.FILE_NAME) {
+            return file1.compareToIgnoreCase(file2);
+        }
+
+        // New tests first
+        if (history1 == null || history2 == null) {
+            return history1 == history2 ? 0 : history1 == null ? -1 : 1;
+        }
+        switch (testOrder) {
+            case LAST_FAILED_FIRST:
+                return Boolean.compare(history2.getLastVerdict().isFailing(), history1.getLastVerdict().isFailing());
+            case FAILURE_RATE:
+                return Double.compare(history2.getFailureRate(), history1.getFailureRate());
+            case SHORTEST_FIRST:
+                return Long.compare(history1.getAverageDuration(), history2.getAverageDuration());
+            default:
+                return 0;
+        }
+    }
+}
@@ -41,7 +41,7 @@ public class TestPackageScanner extends AbstractTestScanner {
     /**
      * Defines the package file extension.
      */
-    private static final String FILE_EXTENSION = ".pkg";
+    static final String FILE_EXTENSION = ".pkg";
 
     /**
      * Instantiates a new {@link TestPackageScanner}.
@@ -41,7 +41,7 @@ public class TestProjectScanner extends AbstractTestScanner {
     /**
      * Defines the project file extension.
      */
-    private static final String FILE_EXTENSION = ".prj";
+    static final String FILE_EXTENSION = ".prj";
 
     /**
      * Instantiates a new {@link TestProjectScanner}.
@@ -40,6 +40,7 @@ import org.apache.commons.lang.StringUtils;
 
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
 import de.tracetronic.jenkins.plugins.ecutest.tool.installation.ETInstallation;
+import de.tracetronic.jenkins.plugins.ecutest.util.WaitStrategy;
 
 /**
  * Common base class for {@link ETClient} and {@link TSClient}.
@@ -134,15 +135,17 @@ public abstract class AbstractToolClient implements ToolClient {
             final Proc process = launcher.launch().cmds(args).quiet(true).start();
 
             // Wait for process start up
+            final WaitStrategy waitStrategy = new WaitStrategy();
             final long endTimeMillis = System.currentTimeMillis() + Long.valueOf(getTimeout()) * 1000L;
             while (getTimeout() <= 0 || System.currentTimeMillis() < endTimeMillis) {
                 if (process.isAlive()) {
                     isStarted = true;
                     break;
                 } else {
-                    Thread.sleep(1000L);
+                    waitStrategy.await();
                 }
             }
+            waitStrategy.logStatistics(String.format("%s start up", getToolName()));
             if (!isStarted) {
                 logger.logError(String.format("-> Timeout of %d seconds reached!", getTimeout()));
             }
@@ -31,6 +31,7 @@ package de.tracetronic.jenkins.plugins.ecutest.tool.client;
 
 import hudson.FilePath;
 import hudson.Launcher;
+import hudson.model.Computer;
 import hudson.model.TaskListener;
 import hudson.remoting.Callable;
 import hudson.util.ArgumentListBuilder;
@@ -48,9 +49,12 @@ import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
 import de.tracetronic.jenkins.plugins.ecutest.tool.StartETBuilder;
 import de.tracetronic.jenkins.plugins.ecutest.tool.installation.ETInstallation;
 import de.tracetronic.jenkins.plugins.ecutest.util.DllUtil;
+import de.tracetronic.jenkins.plugins.ecutest.util.NodeCapabilityCache;
 import de.tracetronic.jenkins.plugins.ecutest.util.ProcessUtil;
-import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComClient;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession.ComTask;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComApplication;
 
 /**
  * Client to start and stop ECU-TEST by either COM or XML-RPC communication.
@@ -148,12 +152,14 @@ public class ETClient extends AbstractToolClient {
         }
 
         // Launch ECU-TEST process
+        final Computer computer = workspace.toComputer();
+        NodeCapabilityCache.invalidateTool(computer);
         if (!launchProcess(launcher, listener)) {
             return false;
         }
 
         // Initialize COM connection
-        if (!DllUtil.loadLibrary(workspace.toComputer())) {
+        if (!DllUtil.loadLibrary(computer)) {
             logger.logError("Could not load JACOB library!");
             return false;
         }
@@ -201,7 +207,9 @@ public class ETClient extends AbstractToolClient {
         }
 
         // Close COM connection and stop ECU-TEST
-        if (!DllUtil.loadLibrary(workspace.toComputer())) {
+        final Computer computer = workspace.toComputer();
+        NodeCapabilityCache.invalidateTool(computer);
+        if (!DllUtil.loadLibrary(computer)) {
             logger.logError("Could not load JACOB library!");
             return false;
         }
@@ -260,27 +268,54 @@ public class ETClient extends AbstractToolClient {
     /**
      * Closes already opened ECU-TEST instances.
      *
-     * @param kill
-     *            specifies whether to task-kill the running processes
      * @param launcher
      *            the launcher
      * @param listener
      *            the listener
+     * @param kill
+     *            specifies whether to task-kill the running processes
      * @return {@code true} if ECU-TEST instance has been stopped successfully
      * @throws IOException
      *             signals that an I/O exception has occurred
      * @throws InterruptedException
      *             if the current thread is interrupted while waiting for the completion
+     * @deprecated since 1.12 use {@link #stopProcesses(FilePath, Launcher, TaskListener, boolean)}
      */
+    @Deprecated
     public static boolean stopProcesses(final Launcher launcher, final TaskListener listener, final boolean kill)
             throws IOException, InterruptedException {
+        // The workspace only identifies the node by the channel of the launcher
+        return stopProcesses(new FilePath(launcher.getChannel(), ""), launcher, listener, kill);
+    }
+
+    /**
+     * Closes already opened ECU-TEST instances.
+     *
+     * @param workspace
+     *            the workspace identifying the node to invalidate the cached capabilities for
+     * @param launcher
+     *            the launcher
+     * @param listener
+     *            the listener
+     * @param kill
+     *            specifies whether to task-kill the running processes
+     * @return {@code true} if ECU-TEST instance has been stopped successfully
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the current thread is interrupted while waiting for the completion
+     */
+    public static boolean stopProcesses(final FilePath workspace, final Launcher launcher,
+            final TaskListener listener, final boolean kill) throws IOException, InterruptedException {
+        NodeCapabilityCache.invalidateTool(workspace.toComputer());
         return launcher.getChannel().call(new StopCallable(StartETBuilder.DEFAULT_TIMEOUT, kill, listener));
     }
 
     /**
      * {@link Callable} providing remote access to establish a COM connection.
      */
-    private static final class StartCallable extends MasterToSlaveCallable<String, IOException> {
+    private static final class StartCallable extends MasterToSlaveCallable<String, IOException>
+            implements ComTask<String> {
 
         private static final long serialVersionUID = 1L;
 
@@ -304,21 +339,31 @@ public class ETClient extends AbstractToolClient {
         public String call() throws IOException {
             String version = "";
             final TTConsoleLogger logger = new TTConsoleLogger(listener);
-            try (ETComClient comClient = new ETComClient(timeout)) {
-                if (comClient.isApplicationRunning()) {
-                    version = comClient.getVersion();
-                }
+            try {
+                version = ETComSession.getInstance().execute(timeout, this);
             } catch (final ETComException e) {
                 logger.logError("Caught ComException: " + e.getMessage());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.logError("-> Interrupted while waiting for ECU-TEST!");
             }
             return version;
         }
+
+        @Override
+        public String call(final ComApplication comClient) throws ETComException {
+            return comClient.isApplicationRunning() ? comClient.getVersion() : "";
+        }
     }
 
     /**
      * {@link Callable} providing remote access to close ECU-TEST via COM.
+     * <p>
+     * Closing is performed outside of the shared COM session by its own bounded connection, so that a hanging
+     * ECU-TEST blocking the session thread can still be quit or its processes be killed.
      */
-    private static final class StopCallable extends MasterToSlaveCallable<Boolean, IOException> {
+    private static final class StopCallable extends MasterToSlaveCallable<Boolean, IOException>
+            implements ComTask<Boolean> {
 
         private static final long serialVersionUID = 1L;
 
@@ -346,14 +391,15 @@ public class ETClient extends AbstractToolClient {
         public Boolean call() throws IOException {
             boolean isTerminated = false;
             final TTConsoleLogger logger = new TTConsoleLogger(listener);
-            try (ETComClient comClient = new ETComClient(timeout)) {
-                if (comClient.isApplicationRunning()) {
-                    isTerminated = comClient.quit() || comClient.exit();
-                } else {
-                    logger.logError("ECU-TEST COM instance is not ready to use!");
-                }
+            final ETComSession session = ETComSession.getInstance();
+            session.release();
+            try {
+                isTerminated = session.executeDetached(timeout, timeout, this);
             } catch (final ETComException e) {
                 logger.logError("Caught ComException: " + e.getMessage());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.logError("-> Interrupted while waiting for ECU-TEST!");
             } finally {
                 if (checkProcesses) {
                     final List<String> foundProcesses = ProcessUtil.checkETProcesses(true);
@@ -364,6 +410,16 @@ public class ETClient extends AbstractToolClient {
             }
             return isTerminated;
         }
+
+        @Override
+        public Boolean call(final ComApplication comClient) throws ETComException {
+            if (comClient.isApplicationRunning()) {
+                return comClient.quit() || comClient.exit();
+            }
+            final TTConsoleLogger logger = new TTConsoleLogger(listener);
+            logger.logError("ECU-TEST COM instance is not ready to use!");
+            return false;
+        }
     }
 
     /**
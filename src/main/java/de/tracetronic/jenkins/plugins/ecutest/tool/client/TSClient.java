@@ -45,6 +45,7 @@ import org.apache.commons.lang.StringUtils;
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
 import de.tracetronic.jenkins.plugins.ecutest.tool.installation.ETInstallation;
 import de.tracetronic.jenkins.plugins.ecutest.util.ProcessUtil;
+import de.tracetronic.jenkins.plugins.ecutest.util.WaitStrategy;
 
 /**
  * Client to start and stop the Tool-Server via command line execution.
@@ -220,15 +221,17 @@ public class TSClient extends AbstractToolClient {
                     isTerminated = true;
                 } else {
                     // Wait for closing
+                    final WaitStrategy waitStrategy = new WaitStrategy();
                     final long endTimeMillis = System.currentTimeMillis() + Long.valueOf(timeout) * 1000L;
                     while (timeout <= 0 || System.currentTimeMillis() < endTimeMillis) {
                         if (ProcessUtil.checkTSProcess(true).isEmpty()) {
                             isTerminated = true;
                             break;
                         } else {
-                            Thread.sleep(1000L);
+                            waitStrategy.await();
                         }
                     }
+                    waitStrategy.logStatistics("Tool-Server shutdown");
                     if (!isTerminated) {
                         logger.logError(String.format("-> Timeout of %d seconds reached!", timeout));
                     }
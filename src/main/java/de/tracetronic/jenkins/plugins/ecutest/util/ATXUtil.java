@@ -30,11 +30,12 @@
 package de.tracetronic.jenkins.plugins.ecutest.util;
 
 import hudson.EnvVars;
+import hudson.Util;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 
 import javax.annotation.CheckForNull;
 
@@ -50,6 +51,44 @@ import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXSetting
  */
 public final class ATXUtil {
 
+    /**
+     * Path of the TEST-GUIDE REST endpoint relative to the server base URL, which accepts ATX report archives as
+     * HTTP POST of multipart form data with the archive in the form field {@code file}. The upload is authorized by
+     * the {@code authKey} query parameter taken from the {@code uploadAuthenticationKey} setting and is successful
+     * if responded with a 2xx status. This is the same endpoint ECU-TEST uploads to using the {@code uploadConfig}
+     * settings, so both upload paths target the same TEST-GUIDE project.
+     */
+    public static final String UPLOAD_PATH = "api/upload-file";
+
+    /**
+     * Name of the query parameter authorizing the upload.
+     */
+    public static final String UPLOAD_AUTH_KEY_PARAM = "authKey";
+
+    /**
+     * Default name if no valid ATX name can be derived from a test name.
+     */
+    private static final String DEFAULT_ATX_NAME = "DefaultTestName";
+
+    /**
+     * Maximum number of memoized ATX names.
+     */
+    private static final int MAX_MEMOIZED_NAMES = 1024;
+
+    /**
+     * Bounded cache of already validated ATX names by test name, evicting the least recently used entry.
+     */
+    private static final Map<String, String> VALID_ATX_NAMES = Collections.synchronizedMap(
+            new LinkedHashMap<String, String>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+                    return size() > MAX_MEMOIZED_NAMES;
+                }
+            });
+
     /**
      * Instantiates a new {@link ATXUtil}.
      */
@@ -65,52 +104,84 @@ public final class ATXUtil {
      * @return the ATX compliant test name
      */
     public static String getValidATXName(final String testName) {
-        String validATXName = "DefaultTestName";
-        if (testName != null && StringUtils.countMatches(testName, "_") != testName.length()) {
-            validATXName = testName;
-
-            final Map<String, String> specialCharMap = new HashMap<String, String>();
-            specialCharMap.put("ä", "ae");
-            specialCharMap.put("Ä", "Ae");
-            specialCharMap.put("ö", "oe");
-            specialCharMap.put("Ö", "Oe");
-            specialCharMap.put("ü", "ue");
-            specialCharMap.put("Ü", "Ue");
-            specialCharMap.put("ß", "ss");
-            specialCharMap.put("-", "_");
-            specialCharMap.put("\\.", "_");
-            specialCharMap.put(" ", "");
-
-            // Replace special chars
-            for (final Entry<String, String> specialChar : specialCharMap.entrySet()) {
-                validATXName = validATXName.replaceAll(specialChar.getKey(), specialChar.getValue());
-            }
-
-            // Remove coherent underscores
-            validATXName = removeCoherentUnderscores(validATXName);
-
-            // Add 'i' char if test name starts with digit
-            if (Character.isDigit(validATXName.charAt(0))) {
-                validATXName = String.format("i%s", validATXName);
-            }
+        if (testName == null) {
+            return DEFAULT_ATX_NAME;
+        }
+        String validATXName = VALID_ATX_NAMES.get(testName);
+        if (validATXName == null) {
+            validATXName = normalizeATXName(testName);
+            VALID_ATX_NAMES.put(testName, validATXName);
         }
         return validATXName;
     }
 
     /**
-     * Removes the coherent underscores.
+     * Normalizes the test name in a single pass by replacing umlauts, replacing minus and dot by underscore,
+     * removing whitespaces and coherent underscores and prefixing a leading digit with 'i'.
      *
      * @param testName
      *            the test name
-     * @return the string without coherent underscores
+     * @return the ATX compliant test name
      */
-    private static String removeCoherentUnderscores(final String testName) {
-        final String validATXName = testName.replace("__", "_");
-        if (validATXName.equals(testName)) {
-            return validATXName;
-        } else {
-            return removeCoherentUnderscores(validATXName);
+    static String normalizeATXName(final String testName) {
+        final StringBuilder builder = new StringBuilder(testName.length() + 8);
+        boolean hasOtherChars = false;
+        for (int i = 0; i < testName.length(); i++) {
+            final char c = testName.charAt(i);
+            switch (c) {
+                case '\u00e4':
+                    builder.append("ae");
+                    break;
+                case '\u00c4':
+                    builder.append("Ae");
+                    break;
+                case '\u00f6':
+                    builder.append("oe");
+                    break;
+                case '\u00d6':
+                    builder.append("Oe");
+                    break;
+                case '\u00fc':
+                    builder.append("ue");
+                    break;
+                case '\u00dc':
+                    builder.append("Ue");
+                    break;
+                case '\u00df':
+                    builder.append("ss");
+                    break;
+                case ' ':
+                    // Whitespaces are removed
+                    hasOtherChars = true;
+                    continue;
+                case '-':
+                case '.':
+                case '_':
+                    // Remove coherent underscores
+                    if (builder.length() == 0 || builder.charAt(builder.length() - 1) != '_') {
+                        builder.append('_');
+                    }
+                    if (c != '_') {
+                        hasOtherChars = true;
+                    }
+                    continue;
+                default:
+                    builder.append(c);
+                    break;
+            }
+            hasOtherChars = true;
+        }
+
+        // Test names only consisting of underscores and names without any valid char get the default name
+        if (!hasOtherChars || builder.length() == 0) {
+            return DEFAULT_ATX_NAME;
+        }
+
+        // Add 'i' char if test name starts with digit
+        if (Character.isDigit(builder.charAt(0))) {
+            builder.insert(0, 'i');
         }
+        return builder.toString();
     }
 
     /**
@@ -142,6 +213,31 @@ public final class ATXUtil {
         return fullServerUrl;
     }
 
+    /**
+     * Gets the URL for uploading ATX report archives to the ATX installation, see {@link #UPLOAD_PATH} for the
+     * contract of the endpoint. Parameterized settings are expanded by given environment variables.
+     *
+     * @param config
+     *            the ATX configuration
+     * @param envVars
+     *            the environment variables
+     * @return the ATX upload URL or {@code null} if invalid URL
+     */
+    @CheckForNull
+    @SuppressWarnings("rawtypes")
+    public static String getUploadUrl(final ATXConfig config, final EnvVars envVars) {
+        final String baseUrl = getBaseUrl(config, envVars);
+        if (baseUrl == null) {
+            return null;
+        }
+        final List<ATXSetting> uploadSettings = config.getConfigByName("uploadConfig");
+        final String authKey = envVars.expand((String) config.getSettingValueByName("uploadAuthenticationKey",
+                uploadSettings));
+        final String uploadUrl = String.format("%s/%s", baseUrl, UPLOAD_PATH);
+        return StringUtils.isEmpty(authKey) ? uploadUrl
+                : String.format("%s?%s=%s", uploadUrl, UPLOAD_AUTH_KEY_PARAM, Util.rawEncode(authKey));
+    }
+
     /**
      * Gets the base URL of the ATX installation by given server settings.
      *
@@ -52,6 +52,7 @@ import org.apache.commons.lang.StringUtils;
 import com.jacob.com.LibraryLoader;
 
 import de.tracetronic.jenkins.plugins.ecutest.ETPlugin;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.simulator.ETComSimulator;
 
 /**
  * Utility class providing library operations, especially for JACOB COM Bridge.
@@ -80,7 +81,7 @@ public final class DllUtil {
     }
 
     /**
-     * Loads the JACOB library.
+     * Loads the JACOB library unless it has already been loaded during the current agent connection.
      *
      * @param computer
      *            the computer
@@ -94,8 +95,15 @@ public final class DllUtil {
         if (computer == null) {
             return false;
         }
+        if (NodeCapabilityCache.isLibraryLoaded(computer)) {
+            return true;
+        }
         final FilePath libPath = getJacobLibrary(computer);
-        return libPath.act(new LoadLibraryCallable());
+        final boolean isLoaded = libPath.act(new LoadLibraryCallable());
+        if (isLoaded) {
+            NodeCapabilityCache.setLibraryLoaded(computer);
+        }
+        return isLoaded;
     }
 
     /**
@@ -187,7 +195,7 @@ public final class DllUtil {
      *             if the current thread is interrupted while waiting for the completion
      */
     public static String getLibraryFile(final Computer computer) throws IOException, InterruptedException {
-        return "amd64".equals(computer.getSystemProperties().get("os.arch")) ? JACOB_DLL_X64 : JACOB_DLL_X86;
+        return "amd64".equals(NodeCapabilityCache.getArchitecture(computer)) ? JACOB_DLL_X64 : JACOB_DLL_X86;
     }
 
     /**
@@ -224,6 +232,10 @@ public final class DllUtil {
         @Override
         public Boolean invoke(final File libFile, final VirtualChannel channel) throws IOException,
                 InterruptedException {
+            if (ETComSimulator.isEnabled()) {
+                LOGGER.log(Level.INFO, "COM simulator enabled, skipped loading JACOB library.");
+                return true;
+            }
             if (libFile.exists() && libFile.isFile()) {
                 final String libProperty = System.getProperty(LibraryLoader.JACOB_DLL_PATH);
                 if (!StringUtils.isBlank(libProperty)) {
@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.util;
+
+import hudson.model.Computer;
+import hudson.remoting.VirtualChannel;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * Master-side cache of the capabilities probed on a node, i.e. whether the JACOB library is loaded, the system
+ * architecture and the queried ECU-TEST settings.
+ * <p>
+ * The capabilities are populated once per agent connection and discarded as soon as the node reconnects. The tool
+ * related capabilities are additionally invalidated by {@link #invalidateTool(Computer)} whenever ECU-TEST is
+ * started or stopped.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public final class NodeCapabilityCache {
+
+    private static final Map<Computer, Capabilities> CACHE = new WeakHashMap<Computer, Capabilities>();
+
+    /**
+     * Instantiates a new {@link NodeCapabilityCache}.
+     */
+    private NodeCapabilityCache() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Checks whether the JACOB library has been loaded on the given node.
+     *
+     * @param computer
+     *            the computer
+     * @return {@code true} if loaded during the current connection, {@code false} otherwise
+     */
+    public static boolean isLibraryLoaded(@CheckForNull final Computer computer) {
+        final Capabilities capabilities = get(computer);
+        return capabilities != null && capabilities.libraryLoaded;
+    }
+
+    /**
+     * Marks the JACOB library as loaded on the given node.
+     *
+     * @param computer
+     *            the computer
+     */
+    public static void setLibraryLoaded(@CheckForNull final Computer computer) {
+        final Capabilities capabilities = get(computer);
+        if (capabilities != null) {
+            capabilities.libraryLoaded = true;
+        }
+    }
+
+    /**
+     * Gets the system architecture of the given node, which is only queried once per connection.
+     *
+     * @param computer
+     *            the computer
+     * @return the value of the system property os.arch
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the current thread is interrupted while waiting for the completion
+     */
+    public static String getArchitecture(final Computer computer) throws IOException, InterruptedException {
+        final Capabilities capabilities = get(computer);
+        if (capabilities != null && capabilities.architecture != null) {
+            return capabilities.architecture;
+        }
+        final Object architecture = computer.getSystemProperties().get("os.arch");
+        if (capabilities != null && architecture != null) {
+            capabilities.architecture = architecture.toString();
+        }
+        return String.valueOf(architecture);
+    }
+
+    /**
+     * Gets a cached ECU-TEST setting of the given node.
+     *
+     * @param computer
+     *            the computer
+     * @param settingName
+     *            the setting name
+     * @return the setting value or {@code null} if not cached
+     */
+    @CheckForNull
+    public static String getSetting(@CheckForNull final Computer computer, final String settingName) {
+        final Capabilities capabilities = get(computer);
+        return capabilities == null ? null : capabilities.settings.get(settingName);
+    }
+
+    /**
+     * Caches an ECU-TEST setting of the given node.
+     *
+     * @param computer
+     *            the computer
+     * @param settingName
+     *            the setting name
+     * @param settingValue
+     *            the setting value
+     */
+    public static void putSetting(@CheckForNull final Computer computer, final String settingName,
+            final String settingValue) {
+        final Capabilities capabilities = get(computer);
+        if (capabilities != null && settingValue != null) {
+            capabilities.settings.put(settingName, settingValue);
+        }
+    }
+
+    /**
+     * Invalidates the ECU-TEST settings of the given node, e.g. when ECU-TEST is (re-)started.
+     *
+     * @param computer
+     *            the computer
+     */
+    public static void invalidateTool(@CheckForNull final Computer computer) {
+        final Capabilities capabilities = get(computer);
+        if (capabilities != null) {
+            capabilities.settings.clear();
+        }
+    }
+
+    /**
+     * Gets the capabilities of the given node for its current connection.
+     *
+     * @param computer
+     *            the computer
+     * @return the capabilities or {@code null} if the node is offline
+     */
+    @CheckForNull
+    private static Capabilities get(@CheckForNull final Computer computer) {
+        if (computer == null) {
+            return null;
+        }
+        final VirtualChannel channel = computer.getChannel();
+        if (channel == null) {
+            return null;
+        }
+        synchronized (CACHE) {
+            Capabilities capabilities = CACHE.get(computer);
+            if (capabilities == null || capabilities.channel != channel) {
+                capabilities = new Capabilities(channel);
+                CACHE.put(computer, capabilities);
+            }
+            return capabilities;
+        }
+    }
+
+    /**
+     * Capabilities of a node for a single agent connection.
+     */
+    private static final class Capabilities {
+
+        private final VirtualChannel channel;
+        private final Map<String, String> settings = new ConcurrentHashMap<String, String>();
+        private volatile boolean libraryLoaded;
+        private volatile String architecture;
+
+        /**
+         * Instantiates new {@link Capabilities}.
+         *
+         * @param channel
+         *            the agent connection
+         */
+        Capabilities(final VirtualChannel channel) {
+            this.channel = channel;
+        }
+    }
+}
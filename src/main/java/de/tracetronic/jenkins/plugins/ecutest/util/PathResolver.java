@@ -0,0 +1,271 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.util;
+
+import hudson.Launcher;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.remoting.Callable;
+import hudson.remoting.VirtualChannel;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.CheckForNull;
+
+import jenkins.security.MasterToSlaveCallable;
+
+import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
+
+/**
+ * Resolves and validates multiple test and configuration files on the build node within a single remote call.
+ * <p>
+ * Each file is made absolute against its base directory and checked to be an existing file or directory as
+ * expected. Successfully resolved paths are cached for the build and the channel of the node they were resolved on,
+ * so subsequent build steps referencing the same files on the same node do not query the node again, while steps
+ * running on another node, e.g. in a Pipeline, resolve the files on their own.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class PathResolver {
+
+    private static final Map<Run<?, ?>, Map<VirtualChannel, Map<String, String>>> CACHE =
+            new WeakHashMap<Run<?, ?>, Map<VirtualChannel, Map<String, String>>>();
+
+    private final Run<?, ?> run;
+    private final List<Entry> entries = new ArrayList<Entry>();
+
+    /**
+     * Instantiates a new {@link PathResolver}.
+     *
+     * @param run
+     *            the build to cache the resolved paths for, may be {@code null} to disable caching
+     */
+    public PathResolver(@CheckForNull final Run<?, ?> run) {
+        this.run = run;
+    }
+
+    /**
+     * Adds a file to be resolved.
+     *
+     * @param file
+     *            the expanded file path
+     * @param baseDir
+     *            the directory relative file paths are resolved against, may be {@code null}
+     * @param directory
+     *            specifies whether the file is expected to be a directory
+     * @return the entry holding the resolved path after {@link #resolve(Launcher, TaskListener)}
+     */
+    public Entry add(final String file, @CheckForNull final String baseDir, final boolean directory) {
+        final Entry entry = new Entry(file, baseDir, directory);
+        entries.add(entry);
+        return entry;
+    }
+
+    /**
+     * Resolves all added files that are not cached yet within a single remote call and logs the diagnostics of
+     * invalid files.
+     *
+     * @param launcher
+     *            the launcher
+     * @param listener
+     *            the listener
+     * @return {@code true} if all files are valid, {@code false} otherwise
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    public boolean resolve(final Launcher launcher, final TaskListener listener) throws IOException,
+            InterruptedException {
+        final VirtualChannel channel = launcher.getChannel();
+        final Map<String, String> cache = getCache(channel);
+        final List<Entry> pending = new ArrayList<Entry>();
+        for (final Entry entry : entries) {
+            final String path = cache.get(entry.getKey());
+            if (path == null) {
+                pending.add(entry);
+            } else {
+                entry.path = path;
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            final List<Entry> resolved = channel.call(new ResolveCallable(pending));
+            for (int i = 0; i < pending.size(); i++) {
+                final Entry entry = pending.get(i);
+                entry.path = resolved.get(i).path;
+                entry.error = resolved.get(i).error;
+                if (entry.path != null) {
+                    cache.put(entry.getKey(), entry.path);
+                }
+            }
+        }
+
+        boolean isValid = true;
+        final TTConsoleLogger logger = new TTConsoleLogger(listener);
+        for (final Entry entry : entries) {
+            if (entry.error != null) {
+                logger.logError(entry.error);
+                isValid = false;
+            }
+        }
+        return isValid;
+    }
+
+    /**
+     * Gets the cache of resolved paths of the current build on the node of the given channel.
+     *
+     * @param channel
+     *            the channel of the node the files are resolved on
+     * @return the cache, which is not shared if no build or channel is given
+     */
+    private Map<String, String> getCache(@CheckForNull final VirtualChannel channel) {
+        if (run == null || channel == null) {
+            return new ConcurrentHashMap<String, String>();
+        }
+        synchronized (CACHE) {
+            Map<VirtualChannel, Map<String, String>> channelCaches = CACHE.get(run);
+            if (channelCaches == null) {
+                channelCaches = new WeakHashMap<VirtualChannel, Map<String, String>>();
+                CACHE.put(run, channelCaches);
+            }
+            Map<String, String> cache = channelCaches.get(channel);
+            if (cache == null) {
+                cache = new ConcurrentHashMap<String, String>();
+                channelCaches.put(channel, cache);
+            }
+            return cache;
+        }
+    }
+
+    /**
+     * File to be resolved holding the resolved path or the diagnostics after resolving.
+     */
+    public static final class Entry implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String file;
+        private final String baseDir;
+        private final boolean directory;
+        private String path;
+        private String error;
+
+        /**
+         * Instantiates a new {@link Entry}.
+         *
+         * @param file
+         *            the expanded file path
+         * @param baseDir
+         *            the base directory, may be {@code null}
+         * @param directory
+         *            specifies whether the file is expected to be a directory
+         */
+        Entry(final String file, final String baseDir, final boolean directory) {
+            this.file = file;
+            this.baseDir = baseDir;
+            this.directory = directory;
+        }
+
+        /**
+         * @return the absolute path or {@code null} if not resolved or invalid
+         */
+        @CheckForNull
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * @return the diagnostic message or {@code null} if valid
+         */
+        @CheckForNull
+        public String getError() {
+            return error;
+        }
+
+        /**
+         * @return the cache key
+         */
+        private String getKey() {
+            return String.format("%s|%s|%s", baseDir, file, directory);
+        }
+
+        /**
+         * Resolves and validates this file on the local file system.
+         */
+        void resolve() {
+            final File fullFile = new File(baseDir, file);
+            if (!fullFile.exists()) {
+                error = String.format("%s does not exist!", fullFile.getPath());
+            } else if (directory && !fullFile.isDirectory()) {
+                error = String.format("%s is not a directory!", fullFile.getPath());
+            } else if (!directory && !fullFile.isFile()) {
+                error = String.format("%s is not a file!", fullFile.getPath());
+            } else {
+                path = fullFile.getPath();
+            }
+        }
+    }
+
+    /**
+     * {@link Callable} providing remote access to resolve multiple files.
+     */
+    private static final class ResolveCallable extends MasterToSlaveCallable<List<Entry>, IOException> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Entry> entries;
+
+        /**
+         * Instantiates a new {@link ResolveCallable}.
+         *
+         * @param entries
+         *            the files to resolve
+         */
+        ResolveCallable(final List<Entry> entries) {
+            this.entries = new ArrayList<Entry>(entries);
+        }
+
+        @Override
+        public List<Entry> call() throws IOException {
+            for (final Entry entry : entries) {
+                entry.resolve();
+            }
+            return entries;
+        }
+    }
+}
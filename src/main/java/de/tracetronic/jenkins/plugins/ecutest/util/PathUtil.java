@@ -32,9 +32,12 @@ package de.tracetronic.jenkins.plugins.ecutest.util;
 import hudson.FilePath;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.zip.CRC32;
 
 /**
  * Utility class providing file path operations.
@@ -104,4 +107,25 @@ public final class PathUtil {
         }
         return true;
     }
+
+    /**
+     * Computes the CRC-32 checksum of the given local file.
+     *
+     * @param file
+     *            the file
+     * @return the checksum
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    public static long getChecksum(final File file) throws IOException {
+        final CRC32 crc = new CRC32();
+        final byte[] buffer = new byte[8192];
+        try (InputStream in = new FileInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
 }
@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Wait strategy for polling loops, starting with short delays that grow exponentially up to a maximum delay.
+ * <p>
+ * Short operations are thus detected almost immediately while long-running operations are not polled more often
+ * than before. Waiting is interruptible at any time, and the time spent waiting is recorded both per strategy and in
+ * total for the current JVM.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class WaitStrategy {
+
+    private static final Logger LOGGER = Logger.getLogger(WaitStrategy.class.getName());
+
+    /**
+     * Default delay of the first wait in milliseconds.
+     */
+    public static final long DEFAULT_INITIAL_DELAY = 50L;
+
+    /**
+     * Default maximum delay in milliseconds.
+     */
+    public static final long DEFAULT_MAX_DELAY = 1000L;
+
+    private static final AtomicLong TOTAL_WAIT_COUNT = new AtomicLong();
+    private static final AtomicLong TOTAL_WAITED_MILLIS = new AtomicLong();
+
+    private final long initialDelay;
+    private final long maxDelay;
+    private long nextDelay;
+    private long lastDelay;
+    private int waitCount;
+    private long waitedMillis;
+
+    /**
+     * Instantiates a new {@link WaitStrategy} with default delays.
+     */
+    public WaitStrategy() {
+        this(DEFAULT_INITIAL_DELAY, DEFAULT_MAX_DELAY);
+    }
+
+    /**
+     * Instantiates a new {@link WaitStrategy}.
+     *
+     * @param initialDelay
+     *            the delay of the first wait in milliseconds
+     * @param maxDelay
+     *            the maximum delay in milliseconds
+     */
+    public WaitStrategy(final long initialDelay, final long maxDelay) {
+        this.initialDelay = Math.max(1L, Math.min(initialDelay, maxDelay));
+        this.maxDelay = Math.max(1L, maxDelay);
+        nextDelay = this.initialDelay;
+    }
+
+    /**
+     * Waits for the next delay and doubles the delay for the following wait up to the maximum delay.
+     *
+     * @throws InterruptedException
+     *             if the current thread is interrupted before or while waiting
+     */
+    public void await() throws InterruptedException {
+        final long delay = nextDelay;
+        nextDelay = Math.min(delay * 2, maxDelay);
+        lastDelay = delay;
+
+        final long startTime = System.nanoTime();
+        try {
+            Thread.sleep(delay);
+        } finally {
+            final long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            waitCount++;
+            waitedMillis += waited;
+            TOTAL_WAIT_COUNT.incrementAndGet();
+            TOTAL_WAITED_MILLIS.addAndGet(waited);
+        }
+    }
+
+    /**
+     * Resets the delay to the initial delay, e.g. after the polled state has changed.
+     */
+    public void reset() {
+        nextDelay = initialDelay;
+    }
+
+    /**
+     * @return the number of waits of this strategy
+     */
+    public int getWaitCount() {
+        return waitCount;
+    }
+
+    /**
+     * @return the time in milliseconds spent waiting by this strategy
+     */
+    public long getWaitedMillis() {
+        return waitedMillis;
+    }
+
+    /**
+     * Gets the delay of the last wait, which bounds the time the end of the polled operation may have gone
+     * unnoticed.
+     *
+     * @return the last delay in milliseconds or 0 if not waited yet
+     */
+    public long getLastDelay() {
+        return lastDelay;
+    }
+
+    /**
+     * Logs the wait statistics of this strategy with level {@link Level#FINE}.
+     *
+     * @param operation
+     *            the name of the polled operation
+     */
+    public void logStatistics(final String operation) {
+        LOGGER.log(Level.FINE, String.format("%s: waited %d ms in %d polls, at most %d ms after completion",
+                operation, waitedMillis, waitCount, lastDelay));
+    }
+
+    /**
+     * @return the total number of waits of all strategies in this JVM
+     */
+    public static long getTotalWaitCount() {
+        return TOTAL_WAIT_COUNT.get();
+    }
+
+    /**
+     * @return the total time in milliseconds spent waiting by all strategies in this JVM
+     */
+    public static long getTotalWaitedMillis() {
+        return TOTAL_WAITED_MILLIS.get();
+    }
+}
@@ -57,6 +57,7 @@ import org.apache.commons.lang.StringUtils;
 import de.tracetronic.jenkins.plugins.ecutest.report.atx.Messages;
 import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXConfig;
 import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXInstallation;
+import de.tracetronic.jenkins.plugins.ecutest.report.atx.upload.ATXServerHealth;
 import de.tracetronic.jenkins.plugins.ecutest.util.ATXUtil;
 
 /**
@@ -308,12 +309,56 @@ public class ATXValidator extends AbstractValidator {
 
     /**
      * Tests the server connection by given base server URL.
+     * The result is shared by all callers according to the cached {@link ATXServerHealth} of the server.
      *
      * @param baseUrl
      *            the base server URL
      * @return the form validation
      */
     public FormValidation testConnection(final String baseUrl) {
+        if (StringUtils.isBlank(baseUrl)) {
+            return FormValidation.error(Messages.ATXPublisher_InvalidServerUrl(null));
+        }
+        if (baseUrl.contains(PARAMETER)) {
+            return FormValidation.warning(Messages.ATXPublisher_NoValidatedConnection());
+        }
+        return ATXServerHealth.get(baseUrl, new ATXServerHealth.Probe() {
+
+            @Override
+            public FormValidation probe(final String url) {
+                return probeConnection(url);
+            }
+        }).check();
+    }
+
+    /**
+     * Tests the server connection by given server settings without using the cached server health, e.g. when
+     * explicitly requested by the user.
+     *
+     * @param serverUrl
+     *            the server URL
+     * @param serverPort
+     *            the server port
+     * @param serverContextPath
+     *            the server context path
+     * @param useHttpsConnection
+     *            if secure connection is used
+     * @return the form validation
+     */
+    public FormValidation probeConnection(final String serverUrl, final String serverPort,
+            final String serverContextPath, final boolean useHttpsConnection) {
+        final String baseUrl = ATXUtil.getBaseUrl(serverUrl, serverPort, serverContextPath, useHttpsConnection);
+        return probeConnection(baseUrl);
+    }
+
+    /**
+     * Tests the server connection by given base server URL without using the cached server health.
+     *
+     * @param baseUrl
+     *            the base server URL
+     * @return the form validation
+     */
+    public FormValidation probeConnection(final String baseUrl) {
         if (StringUtils.isBlank(baseUrl)) {
             return FormValidation.error(Messages.ATXPublisher_InvalidServerUrl(null));
         }
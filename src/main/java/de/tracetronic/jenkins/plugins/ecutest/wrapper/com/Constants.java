@@ -29,6 +29,9 @@
  */
 package de.tracetronic.jenkins.plugins.ecutest.wrapper.com;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import com.jacob.com.Dispatch;
 import com.jacob.com.Variant;
 
@@ -70,4 +73,16 @@ public class Constants extends AbstractTestObject implements ComConstants {
         return new Constant(performRequest("Item", new Variant(name)).toDispatch());
     }
 
+    @Override
+    public Map<String, String> getValues() throws ETComException {
+        final Map<String, String> values = new LinkedHashMap<String, String>();
+        final int count = getCount();
+        for (int i = 0; i < count; i++) {
+            try (Constant constant = new Constant(performRequest("Item", new Variant(i)).toDispatch())) {
+                values.put(constant.getName(), constant.getValue());
+            }
+        }
+        return values;
+    }
+
 }
@@ -37,9 +37,11 @@ import com.jacob.com.ComThread;
 import com.jacob.com.JacobException;
 import com.jacob.com.Variant;
 
+import de.tracetronic.jenkins.plugins.ecutest.util.WaitStrategy;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComApplication;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComPackage;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComProject;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestBenchConfiguration;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestConfiguration;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestEnvironment;
 
@@ -164,21 +166,21 @@ public class ETComClient implements ComApplication, AutoCloseable {
      *             in case of a COM exception or if the timeout is reached
      */
     private void waitForConnection(final int timeout) throws ETComException {
+        final WaitStrategy waitStrategy = new WaitStrategy();
         final long endTimeMillis = System.currentTimeMillis() + Long.valueOf(timeout) * 1000L;
         while (timeout <= 0 || System.currentTimeMillis() < endTimeMillis) {
             try {
                 if (isApplicationRunning()) {
+                    waitStrategy.logStatistics("COM connection");
                     return;
-                } else {
-                    Thread.sleep(1000L);
                 }
             } catch (final ETComException e) {
-                try {
-                    Thread.sleep(1000L);
-                } catch (final InterruptedException e1) {
-                    throw new ETComException(e.getMessage(), e);
-                }
+                LOGGER.log(Level.FINE, "COM server not available yet: " + e.getMessage());
+            }
+            try {
+                waitStrategy.await();
             } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
                 throw new ETComException(e.getMessage(), e);
             }
         }
@@ -277,6 +279,11 @@ public class ETComClient implements ComApplication, AutoCloseable {
         return new TestConfiguration(dispatch.performRequest("GetCurrentTestConfiguration").toDispatch());
     }
 
+    @Override
+    public ComTestBenchConfiguration getCurrentTestBenchConfiguration() throws ETComException {
+        return new TestBenchConfiguration(dispatch.performRequest("GetCurrentTestBenchConfiguration").toDispatch());
+    }
+
     @Override
     public boolean waitForIdle(final int timeout) throws ETComException {
         if (timeout == 0) {
@@ -32,7 +32,6 @@ package de.tracetronic.jenkins.plugins.ecutest.wrapper.com;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import com.jacob.com.ComThread;
 import com.jacob.com.Dispatch;
 import com.jacob.com.JacobException;
 import com.jacob.com.Variant;
@@ -40,7 +39,7 @@ import com.jacob.com.Variant;
 /**
  * Custom dispatch to perform requests on application specific COM API.
  * <p>
- * All threads from COM will be automatically released after performing the requests.
+ * The COM thread is released by the owning {@link ETComClient} or {@link ETComSession}, not by the dispatch itself.
  *
  * @author Christian Pönisch <christian.poenisch@tracetronic.de>
  */
@@ -124,6 +123,9 @@ public class ETComDispatch extends Dispatch implements AutoCloseable {
 
     /**
      * Closes this {@link ETComDispatch} quietly.
+     * <p>
+     * The COM thread is left initialized, because it is owned by the {@link ETComClient} or {@link ETComSession}
+     * this dispatch was retrieved from.
      */
     @Override
     public void close() {
@@ -131,8 +133,6 @@ public class ETComDispatch extends Dispatch implements AutoCloseable {
             releaseDispatch();
         } catch (final ETComException e) {
             LOGGER.log(Level.SEVERE, e.getMessage());
-        } finally {
-            ComThread.Release();
         }
     }
 }
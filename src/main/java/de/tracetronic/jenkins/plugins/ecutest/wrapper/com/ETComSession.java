@@ -0,0 +1,676 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.wrapper.com;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComApplication;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.simulator.ETComSimulator;
+
+/**
+ * Long-lived COM session shared by all requests on the current node.
+ * <p>
+ * A dedicated single-threaded apartment thread owns the COM application dispatch and serves the submitted
+ * {@link ComTask}s in order. Before each task the connection is health-checked and re-established if the COM server
+ * is gone, which saves initializing a new COM thread and polling for the connection on every request.
+ * <p>
+ * The wait for each task is bounded by its timeout. If a task does not complete in time, e.g. because ECU-TEST hangs
+ * within a native COM call, the wedged thread and its connection are discarded and the pending tasks are served by a
+ * fresh session thread. Long-running tasks like report generation and upload are not bounded, as they wait for
+ * ECU-TEST anyway and only an abort of the build cancels them.
+ * <p>
+ * If enabled by system property the COM connection is replaced by an {@link ETComSimulator}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public final class ETComSession {
+
+    private static final Logger LOGGER = Logger.getLogger(ETComSession.class.getName());
+
+    /**
+     * Default connection timeout in seconds.
+     */
+    public static final int DEFAULT_TIMEOUT = 120;
+
+    /**
+     * System property overriding the default task timeout in seconds.
+     */
+    public static final String TASK_TIMEOUT_PROPERTY = ETComSession.class.getName() + ".taskTimeout";
+
+    /**
+     * Default timeout in seconds a single task may take after it has been connected.
+     */
+    static final int DEFAULT_TASK_TIMEOUT = 1800;
+
+    /**
+     * Task timeout disabling the time limit, e.g. for report generation and upload which process an unknown number
+     * of reports and wait for ECU-TEST without a timeout anyway.
+     */
+    public static final int NO_TASK_TIMEOUT = 0;
+
+    /**
+     * Number of tasks after which the COM thread is recycled to free dispatches not released by the tasks.
+     */
+    static final int MAX_TASKS_PER_CONNECTION = 100;
+
+    /**
+     * Interval in milliseconds to check a running task for its timeout.
+     */
+    private static final long POLL_INTERVAL = 1000L;
+
+    private static final ETComSession INSTANCE = new ETComSession(createConnector(),
+            Integer.getInteger(TASK_TIMEOUT_PROPERTY, DEFAULT_TASK_TIMEOUT));
+
+    /**
+     * The worker owning the current session thread.
+     */
+    private static final ThreadLocal<Worker> CURRENT_WORKER = new ThreadLocal<Worker>();
+
+    private final Connector connector;
+    private final int taskTimeout;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicInteger holdCount = new AtomicInteger();
+    private final AtomicInteger workerCount = new AtomicInteger();
+
+    /**
+     * The worker serving the submitted tasks, guarded by itself.
+     */
+    private Worker worker;
+
+    /**
+     * Instantiates a new {@link ETComSession}.
+     *
+     * @param connector
+     *            the connector establishing and releasing the COM application
+     */
+    ETComSession(final Connector connector) {
+        this(connector, DEFAULT_TASK_TIMEOUT);
+    }
+
+    /**
+     * Instantiates a new {@link ETComSession}.
+     *
+     * @param connector
+     *            the connector establishing and releasing the COM application
+     * @param taskTimeout
+     *            the default timeout in seconds a single task may take
+     */
+    ETComSession(final Connector connector, final int taskTimeout) {
+        this.connector = connector;
+        this.taskTimeout = taskTimeout;
+        worker = new Worker();
+    }
+
+    /**
+     * Creates the connector of the node-wide session, which is the {@link ETComSimulator} if enabled by system
+     * property or else connects to the ECU-TEST COM server.
+     *
+     * @return the connector
+     */
+    private static Connector createConnector() {
+        if (ETComSimulator.isEnabled()) {
+            return ETComSimulator.fromSystemProperties();
+        }
+        return new Connector() {
+
+            @Override
+            public ComApplication connect(final int timeout) throws ETComException {
+                return new ETComClient(timeout);
+            }
+
+            @Override
+            public void release(final ComApplication application) {
+                ((ETComClient) application).close();
+            }
+        };
+    }
+
+    /**
+     * Gets the COM session of the current node.
+     *
+     * @return the COM session
+     */
+    public static ETComSession getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the generation of the COM connection, which is increased whenever a connection is established that does
+     * not just recycle a healthy one, i.e. after the COM server was lost, the session was released or discarded.
+     * <p>
+     * COM objects retrieved by a task are only valid for later tasks as long as the generation is unchanged.
+     *
+     * @return the connection generation
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * @return the default timeout in seconds a single task may take
+     */
+    public int getTaskTimeout() {
+        return taskTimeout;
+    }
+
+    /**
+     * Same as {@link #execute(int, int, ComTask)} but with the default connection and task timeout.
+     *
+     * @param <T>
+     *            the result type
+     * @param task
+     *            the task to execute
+     * @return the task result
+     * @throws ETComException
+     *             in case of a COM exception or if the timeout is reached
+     * @throws InterruptedException
+     *             if the calling thread is interrupted
+     * @see #execute(int, int, ComTask)
+     */
+    public <T> T execute(final ComTask<T> task) throws ETComException, InterruptedException {
+        return execute(DEFAULT_TIMEOUT, taskTimeout, task);
+    }
+
+    /**
+     * Same as {@link #execute(int, int, ComTask)} but with the default task timeout.
+     *
+     * @param <T>
+     *            the result type
+     * @param timeout
+     *            the timeout waiting for a connection
+     * @param task
+     *            the task to execute
+     * @return the task result
+     * @throws ETComException
+     *             in case of a COM exception or if the timeout is reached
+     * @throws InterruptedException
+     *             if the calling thread is interrupted
+     * @see #execute(int, int, ComTask)
+     */
+    public <T> T execute(final int timeout, final ComTask<T> task) throws ETComException, InterruptedException {
+        return execute(timeout, taskTimeout, task);
+    }
+
+    /**
+     * Executes the task on the session thread using the shared COM application, which is (re-)connected within the
+     * given timeout if necessary.
+     * <p>
+     * If the task has not completed within both timeouts after it has been started, the session thread is discarded,
+     * unless the task timeout is {@link #NO_TASK_TIMEOUT}. If the calling thread is interrupted the task is cancelled.
+     *
+     * @param <T>
+     *            the result type
+     * @param timeout
+     *            the timeout in seconds waiting for a connection
+     * @param taskTimeout
+     *            the timeout in seconds the task may take or {@link #NO_TASK_TIMEOUT} to wait without time limit
+     * @param task
+     *            the task to execute
+     * @return the task result
+     * @throws ETComException
+     *             in case of a COM exception or if the timeout is reached
+     * @throws InterruptedException
+     *             if the calling thread is interrupted
+     */
+    public <T> T execute(final int timeout, final int taskTimeout, final ComTask<T> task) throws ETComException,
+            InterruptedException {
+        final SessionTask<T> sessionTask = new SessionTask<T>(timeout, task);
+        final Future<T> future = submit(sessionTask);
+        final long limitMillis = (Long.valueOf(timeout) + taskTimeout) * 1000L;
+        while (true) {
+            try {
+                return future.get(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+            } catch (final TimeoutException e) {
+                final long startMillis = sessionTask.startMillis;
+                if (taskTimeout > NO_TASK_TIMEOUT && startMillis > 0
+                        && System.currentTimeMillis() - startMillis > limitMillis) {
+                    future.cancel(true);
+                    discard(sessionTask.worker);
+                    throw new ETComException(String.format(
+                            "COM request did not complete within %d seconds, discarding COM session!",
+                            limitMillis / 1000L));
+                }
+            } catch (final InterruptedException e) {
+                future.cancel(true);
+                throw e;
+            } catch (final ExecutionException e) {
+                throw unwrap(e);
+            }
+        }
+    }
+
+    /**
+     * Submits the task to the session thread without waiting for its completion, e.g. to release COM objects or to
+     * abort an execution in the background. Failures are logged only.
+     *
+     * @param task
+     *            the task to execute
+     */
+    public void executeLater(final ComTask<?> task) {
+        submit(new SessionTask<Object>(DEFAULT_TIMEOUT, new ComTask<Object>() {
+
+            @Override
+            public Object call(final ComApplication comClient) {
+                try {
+                    return task.call(comClient);
+                } catch (final ETComException e) {
+                    LOGGER.log(Level.WARNING, "Background COM request failed: " + e.getMessage());
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }
+        }));
+    }
+
+    /**
+     * Executes the task outside of the session by its own COM thread and connection, e.g. to quit ECU-TEST while the
+     * session thread might be wedged. The wait is bounded by both timeouts.
+     *
+     * @param <T>
+     *            the result type
+     * @param timeout
+     *            the timeout in seconds waiting for a connection
+     * @param taskTimeout
+     *            the timeout in seconds the task may take
+     * @param task
+     *            the task to execute
+     * @return the task result
+     * @throws ETComException
+     *             in case of a COM exception or if the timeout is reached
+     * @throws InterruptedException
+     *             if the calling thread is interrupted
+     */
+    public <T> T executeDetached(final int timeout, final int taskTimeout, final ComTask<T> task)
+            throws ETComException, InterruptedException {
+        final ExecutorService detached = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, "ECU-TEST COM detached");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            final Future<T> future = detached.submit(new Callable<T>() {
+
+                @Override
+                public T call() throws Exception {
+                    final ComApplication application = connector.connect(timeout);
+                    try {
+                        return task.call(application);
+                    } finally {
+                        connector.release(application);
+                    }
+                }
+            });
+            final long limitSeconds = Long.valueOf(timeout) + taskTimeout;
+            try {
+                return future.get(limitSeconds, TimeUnit.SECONDS);
+            } catch (final TimeoutException e) {
+                future.cancel(true);
+                throw new ETComException(String.format("COM request did not complete within %d seconds!",
+                        limitSeconds));
+            } catch (final InterruptedException e) {
+                future.cancel(true);
+                throw e;
+            } catch (final ExecutionException e) {
+                throw unwrap(e);
+            }
+        } finally {
+            detached.shutdown();
+        }
+    }
+
+    /**
+     * Releases the shared COM application, e.g. before quitting the COM server, without waiting for the session
+     * thread. The pending tasks are served by a fresh session thread which will reconnect.
+     */
+    public void release() {
+        replaceWorker(null);
+    }
+
+    /**
+     * Defers recycling the connection while COM objects are kept across several tasks, e.g. during a test execution.
+     * Each call has to be followed by {@link #unhold()}.
+     */
+    public void hold() {
+        holdCount.incrementAndGet();
+    }
+
+    /**
+     * Allows recycling the connection again after {@link #hold()}.
+     */
+    public void unhold() {
+        holdCount.decrementAndGet();
+    }
+
+    /**
+     * Submits the task to the current worker.
+     *
+     * @param <T>
+     *            the result type
+     * @param sessionTask
+     *            the task to submit
+     * @return the future of the task
+     */
+    private <T> Future<T> submit(final SessionTask<T> sessionTask) {
+        synchronized (this) {
+            return worker.executor.submit(sessionTask);
+        }
+    }
+
+    /**
+     * Discards the given wedged worker if it is still the current one.
+     *
+     * @param wedged
+     *            the wedged worker
+     */
+    private void discard(final Worker wedged) {
+        if (wedged != null && replaceWorker(wedged)) {
+            LOGGER.log(Level.WARNING, "COM session thread is not responding, discarded it.");
+        }
+    }
+
+    /**
+     * Replaces the current worker by a fresh one and moves its pending tasks. The replaced worker releases its COM
+     * application as soon as its running task, if any, has completed.
+     *
+     * @param expected
+     *            the worker expected to be current or {@code null} to replace unconditionally
+     * @return {@code true} if the worker has been replaced, {@code false} otherwise
+     */
+    private synchronized boolean replaceWorker(final Worker expected) {
+        final Worker replaced = worker;
+        if (expected != null && expected != replaced) {
+            return false;
+        }
+        worker = new Worker();
+        final List<Runnable> pending = new ArrayList<Runnable>();
+        replaced.executor.getQueue().drainTo(pending);
+        try {
+            replaced.executor.execute(new Runnable() {
+
+                @Override
+                public void run() {
+                    replaced.releaseApplication(false);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            LOGGER.log(Level.FINE, "COM session thread already shut down.");
+        }
+        replaced.executor.shutdown();
+        for (final Runnable runnable : pending) {
+            worker.executor.execute(runnable);
+        }
+        return true;
+    }
+
+    /**
+     * Unwraps the cause of a failed task.
+     *
+     * @param e
+     *            the execution exception
+     * @return the COM exception to throw
+     * @throws InterruptedException
+     *             if the task has been interrupted
+     */
+    private static ETComException unwrap(final ExecutionException e) throws InterruptedException {
+        final Throwable cause = e.getCause();
+        if (cause instanceof ETComException) {
+            return (ETComException) cause;
+        } else if (cause instanceof InterruptedException) {
+            throw (InterruptedException) cause;
+        } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new ETComException(cause.getMessage(), cause);
+    }
+
+    /**
+     * Checks whether the COM application is still responding.
+     *
+     * @param comApplication
+     *            the COM application
+     * @return {@code true} if the application is running, {@code false} otherwise
+     */
+    private static boolean isHealthy(final ComApplication comApplication) {
+        try {
+            return comApplication.isApplicationRunning();
+        } catch (final ETComException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Single session thread owning a COM application.
+     */
+    private final class Worker {
+
+        private final ThreadPoolExecutor executor;
+
+        /**
+         * The COM application, only accessed by the session thread.
+         */
+        private ComApplication application;
+
+        /**
+         * The number of tasks served by the current connection, only accessed by the session thread.
+         */
+        private int taskCount;
+
+        /**
+         * Specifies whether the last connection has been recycled while healthy, only accessed by the session thread.
+         */
+        private boolean recycled;
+
+        /**
+         * Instantiates a new {@link Worker}.
+         */
+        Worker() {
+            final String threadName = "ECU-TEST COM session #" + workerCount.incrementAndGet();
+            executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+                    new ThreadFactory() {
+
+                        @Override
+                        public Thread newThread(final Runnable runnable) {
+                            final Thread thread = new Thread(new Runnable() {
+
+                                @Override
+                                public void run() {
+                                    CURRENT_WORKER.set(Worker.this);
+                                    runnable.run();
+                                }
+                            }, threadName);
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+        }
+
+        /**
+         * Gets the healthy COM application or connects a new one within the given timeout.
+         *
+         * @param timeout
+         *            the timeout waiting for a connection
+         * @return the COM application
+         * @throws ETComException
+         *             in case of a COM exception or if the timeout is reached
+         */
+        ComApplication getApplication(final int timeout) throws ETComException {
+            if (application != null && !isHealthy(application)) {
+                LOGGER.log(Level.INFO, "COM connection lost, reconnecting...");
+                releaseApplication(false);
+            }
+            if (application == null) {
+                application = connector.connect(timeout);
+                if (!recycled) {
+                    generation.incrementAndGet();
+                }
+                recycled = false;
+            }
+            return application;
+        }
+
+        /**
+         * Counts the completed task and recycles the connection if the limit is reached and no COM objects are held.
+         */
+        void completeTask() {
+            if (++taskCount >= MAX_TASKS_PER_CONNECTION && holdCount.get() <= 0) {
+                releaseApplication(true);
+            }
+        }
+
+        /**
+         * Releases the COM application if connected.
+         *
+         * @param recycle
+         *            specifies whether the healthy connection is just recycled
+         */
+        void releaseApplication(final boolean recycle) {
+            if (application != null) {
+                try {
+                    connector.release(application);
+                } finally {
+                    application = null;
+                }
+            }
+            recycled = recycle;
+            taskCount = 0;
+        }
+    }
+
+    /**
+     * Wraps a {@link ComTask} to be served by the worker owning the executing session thread.
+     *
+     * @param <T>
+     *            the result type
+     */
+    private static final class SessionTask<T> implements Callable<T> {
+
+        private final int timeout;
+        private final ComTask<T> task;
+        private volatile Worker worker;
+        private volatile long startMillis;
+
+        /**
+         * Instantiates a new {@link SessionTask}.
+         *
+         * @param timeout
+         *            the timeout waiting for a connection
+         * @param task
+         *            the task to execute
+         */
+        SessionTask(final int timeout, final ComTask<T> task) {
+            this.timeout = timeout;
+            this.task = task;
+        }
+
+        @Override
+        public T call() throws Exception {
+            final Worker current = CURRENT_WORKER.get();
+            worker = current;
+            startMillis = System.currentTimeMillis();
+            try {
+                return task.call(current.getApplication(timeout));
+            } finally {
+                current.completeTask();
+            }
+        }
+    }
+
+    /**
+     * Task to execute on the session thread.
+     *
+     * @param <T>
+     *            the result type
+     */
+    public interface ComTask<T> {
+
+        /**
+         * Performs the requests on the shared COM application.
+         * <p>
+         * The application must not be closed by the task, but retrieved objects should be released as usual.
+         *
+         * @param comClient
+         *            the shared COM application
+         * @return the task result
+         * @throws ETComException
+         *             in case of a COM exception
+         * @throws InterruptedException
+         *             if the task gets cancelled
+         */
+        T call(ComApplication comClient) throws ETComException, InterruptedException;
+    }
+
+    /**
+     * Establishes and releases the COM application on the session thread.
+     */
+    public interface Connector {
+
+        /**
+         * Connects to the COM application within the given timeout.
+         *
+         * @param timeout
+         *            the timeout waiting for a connection
+         * @return the connected COM application
+         * @throws ETComException
+         *             in case of a COM exception or if the timeout is reached
+         */
+        ComApplication connect(int timeout) throws ETComException;
+
+        /**
+         * Releases the COM application.
+         *
+         * @param application
+         *            the COM application
+         */
+        void release(ComApplication application);
+    }
+}
@@ -29,6 +29,9 @@
  */
 package de.tracetronic.jenkins.plugins.ecutest.wrapper.com;
 
+import java.util.Map;
+import java.util.Map.Entry;
+
 import org.apache.commons.lang.StringUtils;
 
 import com.jacob.com.Dispatch;
@@ -71,8 +74,20 @@ public class TestConfiguration extends ETComDispatch implements ComTestConfigura
         performRequest("SetGlobalConstant", new Variant(name), new Variant(objValue));
     }
 
+    @Override
+    public void setGlobalConstants(final Map<String, String> constants) throws ETComException {
+        for (final Entry<String, String> constant : constants.entrySet()) {
+            setGlobalConstant(constant.getKey(), constant.getValue());
+        }
+    }
+
     @Override
     public ComConstants getGlobalConstants() throws ETComException {
         return new Constants(performRequest("GetGlobalConstants").toDispatch());
     }
+
+    @Override
+    public String getFileName() throws ETComException {
+        return performRequest("GetFileName").getString();
+    }
 }
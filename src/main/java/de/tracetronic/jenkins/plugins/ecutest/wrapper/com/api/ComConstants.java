@@ -29,6 +29,8 @@
  */
 package de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api;
 
+import java.util.Map;
+
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
 
 /**
@@ -71,4 +73,13 @@ public interface ComConstants {
      */
     ComConstant item(String name) throws ETComException;
 
+    /**
+     * Reads the names and values of all constants at once.
+     *
+     * @return the constant values by name in index order
+     * @throws ETComException
+     *             in case of a COM exception
+     */
+    Map<String, String> getValues() throws ETComException;
+
 }
@@ -39,7 +39,7 @@ import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
  *
  * @author Christian Pönisch <christian.poenisch@tracetronic.de>
  */
-public interface ComPackage {
+public interface ComPackage extends ComCloseable {
 
     /**
      * Queries the package name.
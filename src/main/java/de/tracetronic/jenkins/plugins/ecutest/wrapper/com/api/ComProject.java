@@ -39,7 +39,7 @@ import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
  *
  * @author Christian Pönisch <christian.poenisch@tracetronic.de>
  */
-public interface ComProject {
+public interface ComProject extends ComCloseable {
 
     /**
      * Queries the package name.
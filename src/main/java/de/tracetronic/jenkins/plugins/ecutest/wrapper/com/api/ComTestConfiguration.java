@@ -29,6 +29,8 @@
  */
 package de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api;
 
+import java.util.Map;
+
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
 
 /**
@@ -36,7 +38,7 @@ import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
  *
  * @author Christian Pönisch <christian.poenisch@tracetronic.de>
  */
-public interface ComTestConfiguration {
+public interface ComTestConfiguration extends ComCloseable {
 
     /**
      * Assigns a value to a global constant. If the global constant does not exist it is created. This method requires a
@@ -52,6 +54,16 @@ public interface ComTestConfiguration {
      */
     void setGlobalConstant(String name, String value) throws ETComException;
 
+    /**
+     * Assigns the values to the given global constants at once, see {@link #setGlobalConstant(String, String)}.
+     *
+     * @param constants
+     *            the values by constant name to be assigned
+     * @throws ETComException
+     *             in case of a COM exception
+     */
+    void setGlobalConstants(Map<String, String> constants) throws ETComException;
+
     /**
      * Queries all global constants of the currently loaded test configuration.
      *
@@ -61,4 +73,13 @@ public interface ComTestConfiguration {
      */
     ComConstants getGlobalConstants() throws ETComException;
 
+    /**
+     * Queries the file path of the currently loaded test configuration.
+     *
+     * @return the file path or an empty string if no test configuration is loaded
+     * @throws ETComException
+     *             in case of a COM exception
+     */
+    String getFileName() throws ETComException;
+
 }
@@ -38,7 +38,7 @@ import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
  *
  * @author Christian Pönisch <christian.poenisch@tracetronic.de>
  */
-public interface ComTestEnvironment {
+public interface ComTestEnvironment extends ComCloseable {
 
     /**
      * Gets the current test execution info.
@@ -37,7 +37,7 @@ import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.TestEnvironment;
  *
  * @author Christian Pönisch <christian.poenisch@tracetronic.de>
  */
-public interface ComTestExecutionInfo {
+public interface ComTestExecutionInfo extends ComCloseable {
 
     /**
      * Aborts the current test execution.
@@ -0,0 +1,266 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.wrapper.com.simulator;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComApplication;
+
+/**
+ * In-JVM simulation of the ECU-TEST COM server for testing and benchmarking without a Windows host.
+ * <p>
+ * Each simulated COM request is delayed by the configured latency and fails with an {@link ETComException} if its
+ * COM method name is registered as fault. Test executions stay in state RUNNING until the configured execution time
+ * has elapsed and write their report databases into the report directory.
+ * <p>
+ * The simulator replaces the real COM connection of the {@link ETComSession} if enabled by the system property
+ * {@value #PROPERTY_PREFIX}.enabled, further settings are read from the properties {@value #PROPERTY_PREFIX}.latency,
+ * .executionTime, .result, .version, .faults (comma-separated COM method names) and .reportDir.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ETComSimulator implements ETComSession.Connector {
+
+    /**
+     * Prefix of the system properties configuring the simulator.
+     */
+    public static final String PROPERTY_PREFIX = "de.tracetronic.jenkins.plugins.ecutest.wrapper.com.simulator";
+
+    /**
+     * Default simulated execution time in milliseconds.
+     */
+    private static final long DEFAULT_EXECUTION_TIME = 1000;
+
+    private volatile long latency;
+    private volatile long executionTime = DEFAULT_EXECUTION_TIME;
+    private volatile String result = "SUCCESS";
+    private volatile String version = "6.4.0";
+    private volatile File reportDir = new File(System.getProperty("java.io.tmpdir"), "ecutest-simulator");
+    private final Set<String> faults = Collections.synchronizedSet(new HashSet<String>());
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger reportCount = new AtomicInteger();
+
+    /**
+     * Checks whether the simulator is enabled by system property.
+     *
+     * @return {@code true} if the simulator should replace the COM connection, {@code false} otherwise
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(PROPERTY_PREFIX + ".enabled");
+    }
+
+    /**
+     * Creates a simulator configured by the system properties.
+     *
+     * @return the configured simulator
+     */
+    public static ETComSimulator fromSystemProperties() {
+        final ETComSimulator simulator = new ETComSimulator();
+        simulator.setLatency(Long.getLong(PROPERTY_PREFIX + ".latency", 0L));
+        simulator.setExecutionTime(Long.getLong(PROPERTY_PREFIX + ".executionTime", DEFAULT_EXECUTION_TIME));
+        simulator.setResult(System.getProperty(PROPERTY_PREFIX + ".result", simulator.getResult()));
+        simulator.setVersion(System.getProperty(PROPERTY_PREFIX + ".version", simulator.getVersion()));
+        final String reportDir = System.getProperty(PROPERTY_PREFIX + ".reportDir");
+        if (reportDir != null) {
+            simulator.setReportDir(new File(reportDir));
+        }
+        final String faults = System.getProperty(PROPERTY_PREFIX + ".faults", "");
+        for (final String fault : faults.split(",")) {
+            if (!fault.trim().isEmpty()) {
+                simulator.addFault(fault.trim());
+            }
+        }
+        return simulator;
+    }
+
+    @Override
+    public ComApplication connect(final int timeout) throws ETComException {
+        request("Connect");
+        return new SimulatedApplication(this);
+    }
+
+    @Override
+    public void release(final ComApplication application) {
+        // nothing to release
+    }
+
+    /**
+     * Simulates a COM request by waiting for the configured latency and throwing registered faults.
+     *
+     * @param method
+     *            the COM method name
+     * @throws ETComException
+     *             if a fault is registered for the method or the thread is interrupted
+     */
+    void request(final String method) throws ETComException {
+        requestCount.incrementAndGet();
+        if (latency > 0) {
+            try {
+                Thread.sleep(latency);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ETComException(e.getMessage(), e);
+            }
+        }
+        if (faults.contains(method)) {
+            throw new ETComException(String.format("Simulated COM fault in %s", method));
+        }
+    }
+
+    /**
+     * Creates a new unique report directory for the given test file.
+     *
+     * @param testFile
+     *            the package or project file
+     * @return the created report directory
+     * @throws ETComException
+     *             if the directory could not be created
+     */
+    File createReportDir(final String testFile) throws ETComException {
+        String name = new File(testFile).getName();
+        final int extension = name.lastIndexOf('.');
+        if (extension > 0) {
+            name = name.substring(0, extension);
+        }
+        final File dir = new File(reportDir, String.format("%s_%d", name, reportCount.incrementAndGet()));
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new ETComException(String.format("Could not create report directory %s", dir));
+        }
+        return dir;
+    }
+
+    /**
+     * @return the simulated latency of each COM request in milliseconds
+     */
+    public long getLatency() {
+        return latency;
+    }
+
+    /**
+     * @param latency
+     *            the simulated latency of each COM request in milliseconds
+     */
+    public void setLatency(final long latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * @return the simulated test execution time in milliseconds
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * @param executionTime
+     *            the simulated test execution time in milliseconds
+     */
+    public void setExecutionTime(final long executionTime) {
+        this.executionTime = executionTime;
+    }
+
+    /**
+     * @return the test result of finished executions
+     */
+    public String getResult() {
+        return result;
+    }
+
+    /**
+     * @param result
+     *            the test result of finished executions
+     */
+    public void setResult(final String result) {
+        this.result = result;
+    }
+
+    /**
+     * @return the simulated ECU-TEST version
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * @param version
+     *            the simulated ECU-TEST version
+     */
+    public void setVersion(final String version) {
+        this.version = version;
+    }
+
+    /**
+     * @return the directory the simulated reports are written to
+     */
+    public File getReportDir() {
+        return reportDir;
+    }
+
+    /**
+     * @param reportDir
+     *            the directory the simulated reports are written to
+     */
+    public void setReportDir(final File reportDir) {
+        this.reportDir = reportDir;
+    }
+
+    /**
+     * Registers a fault for the given COM method.
+     *
+     * @param method
+     *            the COM method name, e.g. OpenPackage
+     */
+    public void addFault(final String method) {
+        faults.add(method);
+    }
+
+    /**
+     * Removes a registered fault for the given COM method.
+     *
+     * @param method
+     *            the COM method name
+     */
+    public void removeFault(final String method) {
+        faults.remove(method);
+    }
+
+    /**
+     * @return the number of simulated COM requests
+     */
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+}
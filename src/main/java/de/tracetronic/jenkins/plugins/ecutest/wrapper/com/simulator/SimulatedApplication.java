@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.wrapper.com.simulator;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComApplication;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComPackage;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComProject;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestBenchConfiguration;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestConfiguration;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestEnvironment;
+
+/**
+ * Simulated ECU-TEST application.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class SimulatedApplication implements ComApplication {
+
+    private final ETComSimulator simulator;
+    private final SimulatedTestEnvironment testEnvironment;
+    private final SimulatedTestConfiguration testConfiguration;
+    private final SimulatedTestBenchConfiguration testBenchConfiguration;
+    private final Set<String> openedFiles = new HashSet<String>();
+    private boolean running = true;
+
+    /**
+     * Instantiates a new {@link SimulatedApplication}.
+     *
+     * @param simulator
+     *            the simulator
+     */
+    public SimulatedApplication(final ETComSimulator simulator) {
+        this.simulator = simulator;
+        testEnvironment = new SimulatedTestEnvironment(simulator, this);
+        testConfiguration = new SimulatedTestConfiguration(simulator);
+        testBenchConfiguration = new SimulatedTestBenchConfiguration(simulator);
+    }
+
+    @Override
+    public ComTestEnvironment start() throws ETComException {
+        simulator.request("Start");
+        return testEnvironment;
+    }
+
+    @Override
+    public ComTestEnvironment stop() throws ETComException {
+        simulator.request("Stop");
+        return testEnvironment;
+    }
+
+    @Override
+    public ComTestEnvironment getTestEnvironment() throws ETComException {
+        simulator.request("GetTestEnvironment");
+        return testEnvironment;
+    }
+
+    @Override
+    public synchronized boolean isApplicationRunning() throws ETComException {
+        simulator.request("IsApplicationRunning");
+        return running;
+    }
+
+    @Override
+    public String getVersion() throws ETComException {
+        simulator.request("GetVersion");
+        return simulator.getVersion();
+    }
+
+    @Override
+    public String getSetting(final String settingName) throws ETComException {
+        simulator.request("GetSetting");
+        if ("reportPath".equals(settingName)) {
+            return simulator.getReportDir().getAbsolutePath();
+        }
+        return "None";
+    }
+
+    @Override
+    public synchronized boolean quit() throws ETComException {
+        simulator.request("Quit");
+        running = false;
+        return true;
+    }
+
+    @Override
+    public synchronized boolean exit() throws ETComException {
+        simulator.request("Exit");
+        running = false;
+        return true;
+    }
+
+    @Override
+    public synchronized ComPackage openPackage(final String path) throws ETComException {
+        simulator.request("OpenPackage");
+        openedFiles.add(path);
+        return new SimulatedPackage(simulator, path);
+    }
+
+    @Override
+    public synchronized ComProject openProject(final String path, final boolean execInCurrentPkgDir,
+            final String filterExpression) throws ETComException {
+        simulator.request("OpenProject");
+        openedFiles.add(path);
+        return new SimulatedProject(simulator, path);
+    }
+
+    @Override
+    public synchronized boolean closeProject(final String path) throws ETComException {
+        simulator.request("CloseProject");
+        return openedFiles.remove(path);
+    }
+
+    @Override
+    public synchronized boolean closePackage(final String path) throws ETComException {
+        simulator.request("ClosePackage");
+        return openedFiles.remove(path);
+    }
+
+    @Override
+    public boolean openTestbenchConfiguration(final String path) throws ETComException {
+        simulator.request("OpenTestbenchConfiguration");
+        testBenchConfiguration.setFileName(path);
+        return true;
+    }
+
+    @Override
+    public boolean openTestConfiguration(final String path) throws ETComException {
+        simulator.request("OpenTestConfiguration");
+        testConfiguration.setFileName(path);
+        return true;
+    }
+
+    @Override
+    public ComTestConfiguration getCurrentTestConfiguration() throws ETComException {
+        simulator.request("GetCurrentTestConfiguration");
+        return testConfiguration;
+    }
+
+    @Override
+    public ComTestBenchConfiguration getCurrentTestBenchConfiguration() throws ETComException {
+        simulator.request("GetCurrentTestBenchConfiguration");
+        return testBenchConfiguration;
+    }
+
+    @Override
+    public boolean waitForIdle(final int timeout) throws ETComException {
+        simulator.request("WaitForIdle");
+        return true;
+    }
+
+    /**
+     * Checks whether the given package or project file is opened.
+     *
+     * @param path
+     *            the full path of the file
+     * @return {@code true} if opened, {@code false} otherwise
+     */
+    synchronized boolean isOpened(final String path) {
+        return openedFiles.contains(path);
+    }
+}
@@ -0,0 +1,197 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.wrapper.com.simulator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComConstant;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComConstants;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestConfiguration;
+
+/**
+ * Simulated test configuration keeping the global constants in memory.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class SimulatedTestConfiguration implements ComTestConfiguration {
+
+    private final ETComSimulator simulator;
+    private final Map<String, String> globalConstants = new LinkedHashMap<String, String>();
+    private volatile String fileName = "";
+
+    /**
+     * Instantiates a new {@link SimulatedTestConfiguration}.
+     *
+     * @param simulator
+     *            the simulator
+     */
+    public SimulatedTestConfiguration(final ETComSimulator simulator) {
+        this.simulator = simulator;
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+
+    @Override
+    public synchronized void setGlobalConstant(final String name, final String value) throws ETComException {
+        simulator.request("SetGlobalConstant");
+        globalConstants.put(name, value);
+    }
+
+    @Override
+    public synchronized void setGlobalConstants(final Map<String, String> constants) throws ETComException {
+        simulator.request("SetGlobalConstants");
+        globalConstants.putAll(constants);
+    }
+
+    @Override
+    public synchronized ComConstants getGlobalConstants() throws ETComException {
+        simulator.request("GetGlobalConstants");
+        final List<SimulatedConstant> constants = new ArrayList<SimulatedConstant>();
+        for (final Map.Entry<String, String> constant : globalConstants.entrySet()) {
+            constants.add(new SimulatedConstant(constant.getKey(), constant.getValue()));
+        }
+        return new SimulatedConstants(constants);
+    }
+
+    @Override
+    public String getFileName() throws ETComException {
+        simulator.request("GetFileName");
+        return fileName;
+    }
+
+    /**
+     * Sets the file path of the loaded test configuration.
+     *
+     * @param fileName
+     *            the file path, may be {@code null} if unloaded
+     */
+    void setFileName(final String fileName) {
+        this.fileName = fileName == null ? "" : fileName;
+    }
+
+    /**
+     * Snapshot of the simulated global constants.
+     */
+    private final class SimulatedConstants implements ComConstants {
+
+        private final List<SimulatedConstant> constants;
+
+        /**
+         * Instantiates a new {@link SimulatedConstants}.
+         *
+         * @param constants
+         *            the constants
+         */
+        SimulatedConstants(final List<SimulatedConstant> constants) {
+            this.constants = constants;
+        }
+
+        @Override
+        public int getCount() throws ETComException {
+            simulator.request("GetCount");
+            return constants.size();
+        }
+
+        @Override
+        public ComConstant item(final int id) throws ETComException {
+            simulator.request("Item");
+            if (id < 0 || id >= constants.size()) {
+                throw new ETComException(String.format("Invalid constant index %d", id));
+            }
+            return constants.get(id);
+        }
+
+        @Override
+        public ComConstant item(final String name) throws ETComException {
+            simulator.request("Item");
+            for (final ComConstant constant : constants) {
+                if (constant.getName().equals(name)) {
+                    return constant;
+                }
+            }
+            throw new ETComException(String.format("Unknown constant %s", name));
+        }
+
+        @Override
+        public Map<String, String> getValues() throws ETComException {
+            simulator.request("GetValues");
+            final Map<String, String> values = new LinkedHashMap<String, String>();
+            for (final SimulatedConstant constant : constants) {
+                values.put(constant.name, constant.value);
+            }
+            return values;
+        }
+    }
+
+    /**
+     * Simulated global constant.
+     */
+    private final class SimulatedConstant implements ComConstant {
+
+        private final String name;
+        private final String value;
+
+        /**
+         * Instantiates a new {@link SimulatedConstant}.
+         *
+         * @param name
+         *            the constant name
+         * @param value
+         *            the constant value
+         */
+        SimulatedConstant(final String name, final String value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        @Override
+        public String getName() throws ETComException {
+            return name;
+        }
+
+        @Override
+        public String getDescription() throws ETComException {
+            return "";
+        }
+
+        @Override
+        public String getValue() throws ETComException {
+            simulator.request("GetValue");
+            return value;
+        }
+    }
+}
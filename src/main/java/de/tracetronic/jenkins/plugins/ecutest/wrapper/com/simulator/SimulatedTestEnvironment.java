@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.wrapper.com.simulator;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestEnvironment;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestExecutionInfo;
+
+/**
+ * Simulated test environment writing report databases and generated reports to the file system.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class SimulatedTestEnvironment implements ComTestEnvironment {
+
+    private final ETComSimulator simulator;
+    private final SimulatedApplication application;
+    private SimulatedTestExecutionInfo executionInfo;
+
+    /**
+     * Instantiates a new {@link SimulatedTestEnvironment}.
+     *
+     * @param simulator
+     *            the simulator
+     * @param application
+     *            the simulated application
+     */
+    public SimulatedTestEnvironment(final ETComSimulator simulator, final SimulatedApplication application) {
+        this.simulator = simulator;
+        this.application = application;
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+
+    @Override
+    public synchronized ComTestExecutionInfo getTestExecutionInfo() throws ETComException {
+        simulator.request("GetTestExecutionInfo");
+        return executionInfo;
+    }
+
+    @Override
+    public ComTestExecutionInfo executePackage(final String path, final boolean runTraceAnalysis,
+            final boolean runTest, final Map<String, String> parameters) throws ETComException {
+        simulator.request("ExecutePackage");
+        return execute(path);
+    }
+
+    @Override
+    public ComTestExecutionInfo executeProject(final String path, final boolean closeProgressDialog,
+            final int jobExecutionMode) throws ETComException {
+        simulator.request("ExecuteProject");
+        return execute(path);
+    }
+
+    @Override
+    public boolean generateTestReportDocumentFromDB(final String dbFile, final String reportDir,
+            final String reportFormat, final boolean waitUntilFinished, final Map<String, String> parameters)
+            throws ETComException {
+        simulator.request("GenerateTestReportDocumentFromDB");
+        final File dbDir = new File(dbFile).getParentFile();
+        final File outDir = new File(reportDir);
+        if (!outDir.isDirectory() && !outDir.mkdirs()) {
+            throw new ETComException(String.format("Could not create report directory %s", outDir));
+        }
+        try {
+            if ("ATX".equals(reportFormat)) {
+                writeZip(new File(outDir, dbDir.getName() + ".zip"), "report.xml", "<ATX/>");
+            } else if ("UNIT".equals(reportFormat)) {
+                write(new File(outDir, "junit-report.xml"), String.format(
+                        "<testsuite name=\"%s\" tests=\"1\"><testcase name=\"%s\"/></testsuite>",
+                        dbDir.getName(), dbDir.getName()));
+            } else {
+                write(new File(outDir, "index.html"), String.format("<html>%s</html>", reportFormat));
+            }
+        } catch (final IOException e) {
+            throw new ETComException(e.getMessage(), e);
+        }
+        return true;
+    }
+
+    /**
+     * Starts a simulated execution of an opened package or project.
+     *
+     * @param path
+     *            the full path of the package or project
+     * @return the execution info
+     * @throws ETComException
+     *             if the file is not opened or the report database could not be created
+     */
+    private synchronized ComTestExecutionInfo execute(final String path) throws ETComException {
+        if (!application.isOpened(path)) {
+            throw new ETComException(String.format("%s has not been opened before", path));
+        }
+        final File reportDb = new File(simulator.createReportDir(path), "report.trf");
+        try {
+            write(reportDb, "");
+        } catch (final IOException e) {
+            throw new ETComException(e.getMessage(), e);
+        }
+        executionInfo = new SimulatedTestExecutionInfo(simulator, reportDb);
+        return executionInfo;
+    }
+
+    private static void write(final File file, final String content) throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void writeZip(final File file, final String entry, final String content) throws IOException {
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file))) {
+            out.putNextEntry(new ZipEntry(entry));
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.wrapper.com.simulator;
+
+import java.io.File;
+
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestExecutionInfo;
+
+/**
+ * Simulated test execution which is RUNNING until the configured execution time has elapsed and FINISHED afterwards.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class SimulatedTestExecutionInfo implements ComTestExecutionInfo {
+
+    private final ETComSimulator simulator;
+    private final File reportDb;
+    private final long finishTime;
+    private volatile boolean aborted;
+
+    /**
+     * Instantiates a new {@link SimulatedTestExecutionInfo} starting now.
+     *
+     * @param simulator
+     *            the simulator
+     * @param reportDb
+     *            the report database of this execution
+     */
+    public SimulatedTestExecutionInfo(final ETComSimulator simulator, final File reportDb) {
+        this.simulator = simulator;
+        this.reportDb = reportDb;
+        finishTime = System.currentTimeMillis() + simulator.getExecutionTime();
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+
+    @Override
+    public boolean abort() throws ETComException {
+        simulator.request("Abort");
+        if (isRunning()) {
+            aborted = true;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String getReportDb() throws ETComException {
+        simulator.request("GetReportDb");
+        return reportDb.getAbsolutePath();
+    }
+
+    @Override
+    public String getLogFolder() throws ETComException {
+        simulator.request("GetLogFolder");
+        return reportDb.getParentFile().getAbsolutePath();
+    }
+
+    @Override
+    public String getResult() throws ETComException {
+        simulator.request("GetResult");
+        if (aborted) {
+            return "ERROR";
+        }
+        return isRunning() ? "NONE" : simulator.getResult();
+    }
+
+    @Override
+    public String getState() throws ETComException {
+        simulator.request("GetState");
+        if (aborted) {
+            return "ABORTED";
+        }
+        return isRunning() ? "RUNNING" : "FINISHED";
+    }
+
+    private boolean isRunning() {
+        return !aborted && System.currentTimeMillis() < finishTime;
+    }
+}
@@ -30,7 +30,12 @@
 package de.tracetronic.jenkins.plugins.ecutest.report.atx;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Test;
 
@@ -72,6 +77,38 @@ public class ATXPublisherTest {
         assertPublisher(publisher, false);
     }
 
+    @Test
+    public void testSpoolUploads() {
+        final ATXPublisher publisher = new ATXPublisher("TEST-GUIDE");
+        assertFalse(publisher.isSpoolUploads());
+        publisher.setSpoolUploads(true);
+        assertTrue(publisher.isSpoolUploads());
+        assertTrue(((ATXPublisher) publisher.readResolve()).isSpoolUploads());
+    }
+
+    @Test
+    public void testPipelinedUpload() {
+        final ATXPublisher publisher = new ATXPublisher("TEST-GUIDE");
+        assertFalse(publisher.isPipelinedUpload());
+        publisher.setPipelinedUpload(true);
+        assertTrue(publisher.isPipelinedUpload());
+        assertTrue(((ATXPublisher) publisher.readResolve()).isPipelinedUpload());
+    }
+
+    @Test
+    public void testAdditionalTargets() {
+        final ATXPublisher publisher = new ATXPublisher("TEST-GUIDE");
+        assertTrue(publisher.getAdditionalTargets().isEmpty());
+        publisher.setAdditionalTargets(Arrays.asList(new ATXTarget(" Supplier "), new ATXTarget("OEM")));
+        assertEquals(2, publisher.getAdditionalTargets().size());
+        assertEquals("Supplier", publisher.getAdditionalTargets().get(0).getAtxName());
+        final List<ATXTarget> resolvedTargets = ((ATXPublisher) publisher.readResolve()).getAdditionalTargets();
+        assertEquals(2, resolvedTargets.size());
+        assertEquals("OEM", resolvedTargets.get(1).getAtxName());
+        publisher.setAdditionalTargets(null);
+        assertTrue(publisher.getAdditionalTargets().isEmpty());
+    }
+
     /**
      * Asserts the publisher properties.
      *
@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link ATXReportCache}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ATXReportCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testCacheKey() throws IOException {
+        final ATXReportCache cache = new ATXReportCache(folder.newFolder("cache"), "1.33.0");
+        final File reportFile = createFile("Report", "report.trf", "trf");
+        final Map<String, String> configMap = new HashMap<String, String>();
+        configMap.put("serverPort", "8085");
+        final String key = cache.getKey(reportFile, "8.0.0", configMap);
+
+        assertThat(cache.getKey(reportFile, "8.0.0", new HashMap<String, String>(configMap)), is(key));
+        configMap.put("serverPort", "8086");
+        assertThat(cache.getKey(reportFile, "8.0.0", configMap), is(not(key)));
+        assertThat(new ATXReportCache(folder.getRoot(), "1.34.0").getKey(reportFile, "8.0.0", configMap),
+                is(not(cache.getKey(reportFile, "8.0.0", configMap))));
+        assertThat(cache.getKey(reportFile, "8.1.0", configMap), is(not(cache.getKey(reportFile, "8.0.0",
+                configMap))));
+        write(reportFile, "changed");
+        assertThat(cache.getKey(reportFile, "8.0.0", configMap), is(not(key)));
+    }
+
+    @Test
+    public void testStoreAndRestore() throws IOException {
+        final ATXReportCache cache = new ATXReportCache(new File(folder.getRoot(), "cache"), "1.33.0");
+        final File zipFile = createFile("Report", "ATX/Report.zip", "zip");
+        final File restoredFile = new File(folder.getRoot(), "Other/ATX/Report.zip");
+
+        assertThat(cache.restore("key", restoredFile), is(false));
+        cache.store("key", zipFile);
+        assertThat(cache.restore("key", restoredFile), is(true));
+        assertThat(Arrays.equals(Files.readAllBytes(restoredFile.toPath()), Files.readAllBytes(zipFile.toPath())),
+                is(true));
+    }
+
+    @Test
+    public void testEviction() throws IOException {
+        final File cacheDir = folder.newFolder("cache");
+        final ATXReportCache cache = new ATXReportCache(cacheDir, "1.33.0");
+        final File zipFile = createFile("Report", "ATX/Report.zip", "zip");
+        for (int i = 0; i <= ATXReportCache.MAX_ENTRIES; i++) {
+            cache.store("key" + i, zipFile);
+            new File(cacheDir, "key" + i + ".zip").setLastModified(i * 1000L);
+        }
+        cache.store("latest", zipFile);
+
+        assertThat(cacheDir.listFiles().length, is(ATXReportCache.MAX_ENTRIES));
+        assertThat(new File(cacheDir, "key0.zip").exists(), is(false));
+        assertThat(new File(cacheDir, "latest.zip").exists(), is(true));
+    }
+
+    private File createFile(final String dirName, final String fileName, final String content) throws IOException {
+        final File file = new File(new File(folder.getRoot(), dirName), fileName);
+        file.getParentFile().mkdirs();
+        write(file, content);
+        return file;
+    }
+
+    private static void write(final File file, final String content) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(content.getBytes("UTF-8"));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.tracetronic.jenkins.plugins.ecutest.env.TestEnvInvisibleAction.TestType;
+import de.tracetronic.jenkins.plugins.ecutest.report.AbstractTestReport;
+
+/**
+ * Unit tests for {@link ATXReportLinkBuilder}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ATXReportLinkBuilderTest {
+
+    private final ATXReportLinkBuilder builder = new ATXReportLinkBuilder("http://localhost:8085", "1", "2");
+
+    @Test
+    public void testReportUrls() {
+        assertThat(builder.getPkgReportUrl("Test"),
+                is("http://localhost:8085/reports?dateFrom=1&dateTo=2&testcase=Test"));
+        assertThat(builder.getPrjReportUrl("Test"),
+                is("http://localhost:8085/reports?dateFrom=1&dateTo=2&testexecplan=Test"));
+        assertThat(builder.getPkgTrendReportUrl("Test"), is("http://localhost:8085/wicket/bookmarkable/"
+                + "de.tracetronic.ttstm.web.detail.TestReportViewPage?testCase=Test"));
+    }
+
+    @Test
+    public void testPackageReport() {
+        final List<ATXReport> atxReports = new ArrayList<ATXReport>();
+        final int id = builder.build(atxReports, 0, "Report Pkg", "Test-Pkg", TestType.PACKAGE,
+                new String[] { "report.trf" });
+
+        assertThat(id, is(2));
+        assertThat(atxReports.size(), is(1));
+        final ATXReport atxReport = atxReports.get(0);
+        assertThat(atxReport.getReportUrl(), is(builder.getPkgReportUrl("Test_Pkg")));
+        assertThat(atxReport.getSubReports().size(), is(1));
+        final ATXReport trendReport = (ATXReport) atxReport.getSubReports().get(0);
+        assertThat(trendReport.hasTrendReport(), is(true));
+        assertThat(trendReport.getReportUrl(), is(builder.getPkgTrendReportUrl("Test_Pkg")));
+    }
+
+    @Test
+    public void testProjectReportTree() {
+        final List<ATXReport> atxReports = new ArrayList<ATXReport>();
+        final int id = builder.build(atxReports, 3, "Report Prj", "Prj", TestType.PROJECT,
+                new String[] { "report.trf", "Report B/report.trf", "Report A\\Report C/report.trf",
+                        "Report A/report.trf", "Orphan/Report D/report.trf", "Report B/other.trf" });
+
+        assertThat(id, is(7));
+        final ATXReport atxReport = atxReports.get(0);
+        assertThat(atxReport.getId(), is("4"));
+        assertThat(atxReport.getReportUrl(), is(builder.getPrjReportUrl("Prj")));
+
+        final List<AbstractTestReport> subReports = atxReport.getSubReports();
+        assertThat(subReports.size(), is(2));
+        assertThat(subReports.get(0).getId(), is("5"));
+        assertThat(subReports.get(0).getTitle(), is("A"));
+        assertThat(subReports.get(0).getSubReports().get(0).getId(), is("6"));
+        assertThat(subReports.get(0).getSubReports().get(0).getTitle(), is("C"));
+        assertThat(subReports.get(1).getId(), is("7"));
+        assertThat(((ATXReport) subReports.get(1)).getReportUrl(), is(builder.getPrjReportUrl("B")));
+    }
+}
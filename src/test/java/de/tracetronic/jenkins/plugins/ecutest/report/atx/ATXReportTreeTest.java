@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link ATXReportTree}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ATXReportTreeTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testMissingReport() throws IOException {
+        assertNull(ATXReportTree.scan(folder.newFolder("Report Empty")));
+    }
+
+    @Test
+    public void testReportTree() throws IOException {
+        final File reportDir = createReport(folder.getRoot(), "Report Main");
+        createReport(reportDir, "Report B");
+        final File subDir = createReport(reportDir, "Report A");
+        createReport(subDir, "Report C");
+        createReport(new File(reportDir, "Orphan"), "Report D");
+
+        final ATXReportTree reportTree = ATXReportTree.scan(reportDir);
+        assertThat(reportTree.getName(), is("Report Main"));
+        assertThat(reportTree.getZipPath(), is("Report Main/ATX/Report Main.zip"));
+        assertThat(reportTree.getZipSize(), is(4L));
+        assertThat(reportTree.getSubTrees().size(), is(2));
+
+        final ATXReportTree subTree = reportTree.getSubTrees().get(0);
+        assertThat(subTree.getName(), is("Report A"));
+        assertThat(subTree.getSubTrees().get(0).getZipPath(),
+                is("Report Main/Report A/Report C/ATX/Report C.zip"));
+        assertThat(reportTree.getSubTrees().get(1).getZipPath(), is("Report Main/Report B/ATX/Report B.zip"));
+    }
+
+    private static File createReport(final File parentDir, final String name) throws IOException {
+        final File reportDir = new File(parentDir, name);
+        final File atxDir = new File(reportDir, "ATX");
+        atxDir.mkdirs();
+        final File zipFile = new File(atxDir, name + ".zip");
+        Files.write(zipFile.toPath(), new byte[] { 1, 2, 3, 4 });
+        return reportDir;
+    }
+}
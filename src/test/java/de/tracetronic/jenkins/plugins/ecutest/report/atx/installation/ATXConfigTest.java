@@ -98,6 +98,25 @@ public class ATXConfigTest {
         assertThat(clone.getConfigMap(), is(not(config.getConfigMap())));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testIndependentDefaultConfigs() {
+        final ATXConfig config = new ATXConfig();
+        config.getSettingByName("serverPort").setCurrentValue("1234");
+        assertThat((String) new ATXConfig().getSettingByName("serverPort").getCurrentValue(), is("8085"));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testIndexedSettingValue() {
+        final ATXConfig config = new ATXConfig();
+        final List<ATXSetting> uploadSettings = config.getConfigByName("uploadConfig");
+        config.getSettingByName("serverPort").setCurrentValue("1234");
+        assertThat((String) config.getSettingValueByName("serverPort", uploadSettings), is("1234"));
+        assertThat(config.getSettingValueByName("serverPort", config.getConfigByName("archiveConfig")),
+                nullValue());
+    }
+
     @Test
     public void testGetConfigByName() {
         final ATXConfig config = new ATXConfig();
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx.installation;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import hudson.EnvVars;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ATXSettingsTemplate}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+@SuppressWarnings("rawtypes")
+public class ATXSettingsTemplateTest {
+
+    @Test
+    public void testDefaultConfig() {
+        final ATXConfig config = new ATXConfig();
+        final ATXSettingsTemplate template = ATXSettingsTemplate.compile(config);
+        int count = 0;
+        for (final List<ATXSetting> settings : config.getConfigMap().values()) {
+            count += settings.size();
+        }
+        assertThat(template.size(), is(count));
+        assertThat(template.expand(new EnvVars()).get("serverPort"), is("8085"));
+    }
+
+    @Test
+    public void testExpandParameterizedValues() {
+        final List<ATXSetting> settings = new ArrayList<ATXSetting>();
+        settings.add(new ATXTextSetting("serverURL", "", "", "localhost"));
+        settings.add(new ATXTextSetting("serverPort", "", "", "${PORT}"));
+        settings.add(new ATXBooleanSetting("uploadToServer", "", "", true));
+        final Map<String, List<ATXSetting>> configMap = new LinkedHashMap<String, List<ATXSetting>>();
+        configMap.put("uploadConfig", settings);
+        final ATXSettingsTemplate template = ATXSettingsTemplate.compile(new ATXConfig(configMap, null));
+        assertThat(template.getExpandableCount(), is(1));
+
+        final EnvVars envVars = new EnvVars();
+        envVars.put("PORT", "8086");
+        final Map<String, String> expanded = template.expand(envVars);
+        assertThat(expanded.get("serverURL"), is("localhost"));
+        assertThat(expanded.get("serverPort"), is("8086"));
+        assertThat(expanded.get("uploadToServer"), is("True"));
+
+        // Template values remain unexpanded
+        assertThat(template.expand(new EnvVars()).get("serverPort"), is("${PORT}"));
+    }
+}
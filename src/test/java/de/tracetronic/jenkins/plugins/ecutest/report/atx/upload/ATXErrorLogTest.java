@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx.upload;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link ATXErrorLog}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ATXErrorLogTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testAggregateEntries() throws IOException {
+        final String json = "{\"VERSION\": 1, \"META\": {\"A\": [1, 2, {\"B\": null}]}, \"ENTRIES\": ["
+                + "{\"FILE\": \"a.zip\", \"STATUS\": \"ERROR\", \"TEXT\": \"Invalid \\\"name\\\"\"},"
+                + "{\"FILE\": \"b.zip\", \"STATUS\": \"WARNING\", \"TEXT\": \"Ignored\", \"CODE\": 42},"
+                + "{\"FILE\": \"a.zip\", \"STATUS\": \"ERROR\", \"TEXT\": \"\\u00dcberlauf\"}]}";
+        final ATXErrorLog errorLog = ATXErrorLog.read(new StringReader(json), 2);
+
+        assertThat(errorLog.getEntryCount(), is(3));
+        assertThat(errorLog.getStatusCounts().get("ERROR"), is(2));
+        assertThat(errorLog.getStatusCounts().get("WARNING"), is(1));
+        assertThat(errorLog.getTopFiles(1).toString(), is("{a.zip=2}"));
+        assertThat(errorLog.getDetails().size(), is(2));
+        assertThat(errorLog.getDetails().get(0).getText(), is("Invalid \"name\""));
+    }
+
+    @Test
+    public void testLargeErrorLog() throws IOException {
+        final File errorFile = folder.newFile(ATXErrorLog.ERROR_FILE_NAME);
+        final int entries = 50000;
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(errorFile), StandardCharsets.UTF_8)) {
+            writer.write("{\"ENTRIES\": [\n");
+            for (int i = 0; i < entries; i++) {
+                writer.write(String.format("%s{\"FILE\": \"report%d.zip\", \"STATUS\": \"%s\", \"TEXT\": \"Failed\"}%n",
+                        i == 0 ? "" : ",", i % 100, i % 10 == 0 ? "WARNING" : "ERROR"));
+            }
+            writer.write("]}");
+        }
+        final ATXErrorLog errorLog = ATXErrorLog.read(errorFile, 10);
+
+        assertThat(errorLog.getEntryCount(), is(entries));
+        assertThat(errorLog.getStatusCounts().get("ERROR"), is(45000));
+        assertThat(errorLog.getStatusCounts().get("WARNING"), is(5000));
+        final Map<String, Integer> topFiles = errorLog.getTopFiles(3);
+        assertThat(topFiles.size(), is(3));
+        assertThat(topFiles.get("report0.zip"), is(500));
+        assertThat(errorLog.getDetails().size(), is(10));
+    }
+
+    @Test
+    public void testEmptyErrorLog() throws IOException {
+        final ATXErrorLog errorLog = ATXErrorLog.read(new StringReader("{}"), 10);
+        assertThat(errorLog.getEntryCount(), is(0));
+        assertThat(errorLog.getDetails().isEmpty(), is(true));
+    }
+
+    @Test(expected = IOException.class)
+    public void testMalformedErrorLog() throws IOException {
+        ATXErrorLog.read(new StringReader("{\"ENTRIES\": [{\"FILE\": \"a.zip\""), 10);
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx.upload;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import hudson.util.FormValidation;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ATXServerHealth}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ATXServerHealthTest {
+
+    @Test
+    public void testHealthyResultIsCached() {
+        final CountingProbe probe = new CountingProbe(true);
+        final ATXServerHealth health = new ATXServerHealth("http://localhost:8085", probe, false);
+
+        assertThat(health.check(0L).kind, is(FormValidation.Kind.OK));
+        assertThat(health.check(ATXServerHealth.HEALTHY_TTL - 1).kind, is(FormValidation.Kind.OK));
+        assertThat(probe.count, is(1));
+
+        health.check(ATXServerHealth.HEALTHY_TTL);
+        assertThat(probe.count, is(2));
+    }
+
+    @Test
+    public void testOpenCircuitAnswersInstantly() {
+        final CountingProbe probe = new CountingProbe(false);
+        final ATXServerHealth health = new ATXServerHealth("http://localhost:8085", probe, false);
+
+        assertThat(health.check(0L).kind, is(FormValidation.Kind.WARNING));
+        assertThat(health.getState(), is(ATXServerHealth.State.OPEN));
+        assertThat(health.check(ATXServerHealth.INITIAL_OPEN_DURATION - 1).kind, is(FormValidation.Kind.WARNING));
+        assertThat(probe.count, is(1));
+    }
+
+    @Test
+    public void testHalfOpenTrialClosesCircuit() {
+        final CountingProbe probe = new CountingProbe(false);
+        final ATXServerHealth health = new ATXServerHealth("http://localhost:8085", probe, false);
+        health.check(0L);
+
+        probe.reachable = true;
+        assertThat(health.check(ATXServerHealth.INITIAL_OPEN_DURATION).kind, is(FormValidation.Kind.OK));
+        assertThat(health.getState(), is(ATXServerHealth.State.CLOSED));
+        assertThat(probe.count, is(2));
+    }
+
+    @Test
+    public void testOpenDurationIncreases() {
+        final CountingProbe probe = new CountingProbe(false);
+        final ATXServerHealth health = new ATXServerHealth("http://localhost:8085", probe, false);
+        health.check(0L);
+        final long secondTrial = ATXServerHealth.INITIAL_OPEN_DURATION;
+        health.check(secondTrial);
+        assertThat(probe.count, is(2));
+
+        // Circuit stays open twice as long after the second failure
+        health.check(secondTrial + 2 * ATXServerHealth.INITIAL_OPEN_DURATION - 1);
+        assertThat(probe.count, is(2));
+        health.check(secondTrial + 2 * ATXServerHealth.INITIAL_OPEN_DURATION);
+        assertThat(probe.count, is(3));
+    }
+
+    @Test
+    public void testReprobe() {
+        final CountingProbe probe = new CountingProbe(false);
+        final ATXServerHealth health = new ATXServerHealth("http://localhost:8085", probe, false);
+        health.check(0L);
+
+        probe.reachable = true;
+        health.reprobe(1L);
+        assertThat(health.getState(), is(ATXServerHealth.State.CLOSED));
+        assertThat(health.check(2L).kind, is(FormValidation.Kind.OK));
+        assertThat(probe.count, is(2));
+
+        // No re-probe of a reachable server
+        health.reprobe(3L);
+        assertThat(probe.count, is(2));
+    }
+
+    @Test
+    public void testNoReprobeOfIdleServer() {
+        final CountingProbe probe = new CountingProbe(false);
+        final ATXServerHealth health = new ATXServerHealth("http://localhost:8085", probe, false);
+        health.check(0L);
+
+        health.reprobe(ATXServerHealth.IDLE_TIMEOUT);
+        assertThat(probe.count, is(2));
+        health.reprobe(ATXServerHealth.IDLE_TIMEOUT + 1);
+        assertThat(probe.count, is(2));
+        assertThat(health.isIdle(ATXServerHealth.IDLE_TIMEOUT + 1), is(true));
+    }
+
+    @Test
+    public void testIdleHealthStateEvicted() {
+        final CountingProbe probe = new CountingProbe(true);
+        final String baseUrl = "http://localhost:8086";
+        final ATXServerHealth health = ATXServerHealth.get(baseUrl, probe, 0L);
+        health.check(0L);
+
+        assertThat(ATXServerHealth.get(baseUrl, probe, ATXServerHealth.IDLE_TIMEOUT) == health, is(true));
+        assertThat(ATXServerHealth.get(baseUrl, probe, 2 * ATXServerHealth.IDLE_TIMEOUT + 1) == health, is(false));
+    }
+
+    /**
+     * Probe counting the connection tests.
+     */
+    private static final class CountingProbe implements ATXServerHealth.Probe {
+
+        private boolean reachable;
+        private int count;
+
+        CountingProbe(final boolean reachable) {
+            this.reachable = reachable;
+        }
+
+        @Override
+        public FormValidation probe(final String baseUrl) {
+            count++;
+            return reachable ? FormValidation.ok() : FormValidation.warning("Server not reachable");
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx.upload;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import de.tracetronic.jenkins.plugins.ecutest.util.ATXUtil;
+
+/**
+ * Unit tests for {@link ATXUploadClient} verifying the contract of the TEST-GUIDE upload endpoint, see
+ * {@link ATXUtil#UPLOAD_PATH}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ATXUploadClientTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private HttpServer server;
+    private String serverUrl;
+    private volatile int responseCode = 200;
+    private volatile String method;
+    private volatile String query;
+    private volatile String contentType;
+    private volatile String body;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/" + ATXUtil.UPLOAD_PATH, new HttpHandler() {
+
+            @Override
+            public void handle(final HttpExchange exchange) throws IOException {
+                method = exchange.getRequestMethod();
+                query = exchange.getRequestURI().getRawQuery();
+                contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                try (InputStream in = exchange.getRequestBody()) {
+                    final byte[] buffer = new byte[1024];
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        out.write(buffer, 0, read);
+                    }
+                }
+                body = new String(out.toByteArray(), StandardCharsets.ISO_8859_1);
+                exchange.sendResponseHeaders(responseCode, -1);
+                exchange.close();
+            }
+        });
+        server.start();
+        serverUrl = String.format("http://127.0.0.1:%d/%s?%s=key", server.getAddress().getPort(),
+                ATXUtil.UPLOAD_PATH, ATXUtil.UPLOAD_AUTH_KEY_PARAM);
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testUploadContract() throws IOException {
+        new ATXUploadClient(1000, 1000).upload(createZip(), "report.zip", serverUrl);
+
+        assertThat(method, is("POST"));
+        assertThat(query, is(ATXUtil.UPLOAD_AUTH_KEY_PARAM + "=key"));
+        assertThat(contentType, startsWith("multipart/form-data; boundary="));
+        assertThat(body, containsString("Content-Disposition: form-data; name=\"file\"; filename=\"report.zip\""));
+        assertThat(body, containsString("Content-Type: application/zip"));
+        assertThat(body, containsString("PK"));
+    }
+
+    @Test
+    public void testUploadRejected() throws IOException {
+        responseCode = 403;
+        try {
+            new ATXUploadClient(1000, 1000).upload(createZip(), "report.zip", serverUrl);
+            fail("Expected IOException");
+        } catch (final IOException e) {
+            assertThat(e.getMessage(), containsString("403"));
+        }
+    }
+
+    private File createZip() throws IOException {
+        final File file = folder.newFile();
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[] { 'P', 'K', 3, 4 });
+        }
+        return file;
+    }
+}
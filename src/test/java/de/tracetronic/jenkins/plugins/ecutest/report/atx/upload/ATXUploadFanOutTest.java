@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx.upload;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Unit tests for {@link ATXUploadFanOut} using local HTTP stand-ins for two TEST-GUIDE servers.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ATXUploadFanOutTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private HttpServer server;
+    private final AtomicInteger supplierUploads = new AtomicInteger();
+    private final AtomicInteger oemUploads = new AtomicInteger();
+    private String serverUrl;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/supplier/api/upload-file", new CountingHandler(supplierUploads, 200));
+        server.createContext("/oem/api/upload-file", new CountingHandler(oemUploads, 503));
+        server.start();
+        serverUrl = String.format("http://127.0.0.1:%d", server.getAddress().getPort());
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testUploadToAllTargets() throws Exception {
+        final Map<String, String> targetUrls = new LinkedHashMap<String, String>();
+        targetUrls.put("Supplier", serverUrl + "/supplier/api/upload-file");
+        targetUrls.put("OEM", serverUrl + "/oem/api/upload-file");
+
+        final ATXUploadFanOut fanOut = new ATXUploadFanOut(new ATXUploadClient(1000, 1000), 4);
+        final List<ATXUploadFanOut.Result> results = fanOut.upload(Arrays.asList(createZip(), createZip()),
+                targetUrls);
+
+        assertThat(results.size(), is(4));
+        assertThat(supplierUploads.get(), is(2));
+        assertThat(oemUploads.get(), is(2));
+        for (final ATXUploadFanOut.Result result : results) {
+            assertThat(result.isUploaded(), is("Supplier".equals(result.getTarget())));
+        }
+        assertThat(results.get(0).getError(), nullValue());
+    }
+
+    @Test
+    public void testStatusKey() {
+        assertThat(ATXUploadItem.getStatusKey("report.zip", null), is("report.zip"));
+        assertThat(ATXUploadItem.getStatusKey("report.zip", "OEM"), is("report.zip (OEM)"));
+    }
+
+    @Test
+    public void testSpooledTarget() throws Exception {
+        final ATXUploadSpool spool = new ATXUploadSpool(folder.newFolder("spool"), new ATXUploadSpool.UrlResolver() {
+
+            @Override
+            public String getUploadUrl(final ATXUploadItem item) {
+                return serverUrl + "/oem/api/upload-file";
+            }
+        });
+        spool.enqueue(createZip(), "report.zip", "OEM", "OEM", "job", 1);
+
+        final ATXUploadItem item = spool.getItems().get(0);
+        assertThat(item.getInstallation(), is("OEM"));
+        assertThat(item.getTarget(), is("OEM"));
+        assertThat(item.getStatusKey(), is("report.zip (OEM)"));
+    }
+
+    private File createZip() throws IOException {
+        final File file = folder.newFile();
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[] { 'P', 'K', 3, 4 });
+        }
+        return file;
+    }
+
+    /**
+     * Handler counting the received uploads and answering with a fixed status code.
+     */
+    private static final class CountingHandler implements HttpHandler {
+
+        private final AtomicInteger uploads;
+        private final int statusCode;
+
+        CountingHandler(final AtomicInteger uploads, final int statusCode) {
+            this.uploads = uploads;
+            this.statusCode = statusCode;
+        }
+
+        @Override
+        public void handle(final HttpExchange exchange) throws IOException {
+            try (InputStream in = exchange.getRequestBody()) {
+                while (in.read() != -1) {
+                    continue;
+                }
+            }
+            uploads.incrementAndGet();
+            exchange.sendResponseHeaders(statusCode, -1);
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx.upload;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Unit tests for {@link ATXUploadPipeline} using a local HTTP stand-in for TEST-GUIDE.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ATXUploadPipelineTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private HttpServer server;
+    private final AtomicInteger failures = new AtomicInteger();
+    private final CountDownLatch firstUpload = new CountDownLatch(1);
+    private String uploadUrl;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/upload-file", new HttpHandler() {
+
+            @Override
+            public void handle(final HttpExchange exchange) throws IOException {
+                try (InputStream in = exchange.getRequestBody()) {
+                    while (in.read() != -1) {
+                        continue;
+                    }
+                }
+                final boolean fail = failures.getAndDecrement() > 0;
+                exchange.sendResponseHeaders(fail ? 503 : 200, -1);
+                exchange.close();
+                firstUpload.countDown();
+            }
+        });
+        server.start();
+        uploadUrl = String.format("http://127.0.0.1:%d/api/upload-file", server.getAddress().getPort());
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testUploadOverlapsGeneration() throws Exception {
+        final List<String> uploaded = new ArrayList<String>();
+        final ATXUploadPipeline pipeline = new ATXUploadPipeline(new ATXUploadClient(1000, 1000), uploadUrl, 1);
+        final boolean isUploaded = pipeline.run(Arrays.asList("report1", "report2"), new ATXUploadPipeline.Generator() {
+
+            @Override
+            public File generate(final String reportFile) throws IOException {
+                if ("report2".equals(reportFile)) {
+                    // Generating the second report waits for the first one to be received by the server
+                    try {
+                        assertThat(firstUpload.await(5, TimeUnit.SECONDS), is(true));
+                    } catch (final InterruptedException e) {
+                        throw new IOException(e);
+                    }
+                }
+                return createZip();
+            }
+        }, new CollectingListener(uploaded, null));
+
+        assertThat(isUploaded, is(true));
+        assertThat(uploaded.size(), is(2));
+    }
+
+    @Test
+    public void testFailedUpload() throws Exception {
+        failures.set(1);
+        final List<String> uploaded = new ArrayList<String>();
+        final List<String> failed = new ArrayList<String>();
+        final ATXUploadPipeline pipeline = new ATXUploadPipeline(new ATXUploadClient(1000, 1000), uploadUrl, 1);
+        final boolean isUploaded = pipeline.run(Arrays.asList("report1", "report2"), new ZipGenerator(),
+                new CollectingListener(uploaded, failed));
+
+        assertThat(isUploaded, is(false));
+        assertThat(uploaded.size(), is(1));
+        assertThat(failed.size(), is(1));
+    }
+
+    @Test
+    public void testMissingReport() throws Exception {
+        final List<String> uploaded = new ArrayList<String>();
+        final List<String> failed = new ArrayList<String>();
+        final ATXUploadPipeline pipeline = new ATXUploadPipeline(new ATXUploadClient(1000, 1000), uploadUrl, 2);
+        final boolean isUploaded = pipeline.run(Arrays.asList("report1", "report2"), new ATXUploadPipeline.Generator() {
+
+            @Override
+            public File generate(final String reportFile) throws IOException {
+                return "report1".equals(reportFile) ? null : createZip();
+            }
+        }, new CollectingListener(uploaded, failed));
+
+        assertThat(isUploaded, is(false));
+        assertThat(failed, is(Arrays.asList("report1")));
+        assertThat(uploaded, is(Arrays.asList("report2")));
+    }
+
+    private File createZip() throws IOException {
+        final File file = folder.newFile();
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[] { 'P', 'K', 3, 4 });
+        }
+        return file;
+    }
+
+    /**
+     * Generator creating a dummy report archive.
+     */
+    private final class ZipGenerator implements ATXUploadPipeline.Generator {
+
+        @Override
+        public File generate(final String reportFile) throws IOException {
+            return createZip();
+        }
+    }
+
+    /**
+     * Listener collecting all uploaded and failed reports.
+     */
+    private static final class CollectingListener implements ATXUploadPipeline.Listener {
+
+        private final List<String> uploaded;
+        private final List<String> failed;
+
+        CollectingListener(final List<String> uploaded, final List<String> failed) {
+            this.uploaded = uploaded;
+            this.failed = failed;
+        }
+
+        @Override
+        public synchronized void onUploaded(final String reportFile, final File zipFile) {
+            uploaded.add(reportFile);
+        }
+
+        @Override
+        public synchronized void onFailed(final String reportFile, final String error) {
+            if (failed != null) {
+                failed.add(reportFile);
+            }
+        }
+    }
+}
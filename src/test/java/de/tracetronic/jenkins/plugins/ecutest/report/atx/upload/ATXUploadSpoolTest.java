@@ -0,0 +1,393 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx.upload;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Unit tests for {@link ATXUploadSpool} using a local HTTP stand-in for TEST-GUIDE.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ATXUploadSpoolTest {
+
+    private static final String INSTALLATION = "TEST-GUIDE";
+    private static final String UNREACHABLE = "Unreachable";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private HttpServer server;
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger uploads = new AtomicInteger();
+    private String uploadUrl;
+    private final CountDownLatch uploadStarted = new CountDownLatch(1);
+    private volatile CountDownLatch uploadReleased;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/upload-file", new HttpHandler() {
+
+            @Override
+            public void handle(final HttpExchange exchange) throws IOException {
+                try (InputStream in = exchange.getRequestBody()) {
+                    while (in.read() != -1) {
+                        continue;
+                    }
+                }
+                final CountDownLatch released = uploadReleased;
+                if (released != null) {
+                    uploadStarted.countDown();
+                    try {
+                        released.await(10, TimeUnit.SECONDS);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                final boolean fail = failures.getAndDecrement() > 0;
+                if (!fail) {
+                    uploads.incrementAndGet();
+                }
+                exchange.sendResponseHeaders(fail ? 503 : 200, -1);
+                exchange.close();
+            }
+        });
+        server.start();
+        uploadUrl = String.format("http://127.0.0.1:%d/api/upload-file", server.getAddress().getPort());
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testUpload() throws Exception {
+        final ATXUploadSpool spool = createSpool();
+        spool.enqueue(createZip(), "report.zip", INSTALLATION, "job", 1);
+        spool.enqueue(createZip(), "report2.zip", INSTALLATION, "job", 1);
+
+        final List<ATXUploadItem> notified = new ArrayList<ATXUploadItem>();
+        assertThat(spool.process(0L, new CollectingListener(notified)), is(2));
+        assertThat(uploads.get(), is(2));
+        assertThat(notified.size(), is(2));
+        assertThat(notified.get(0).getStatus(), is(ATXUploadStatus.UPLOADED));
+        assertThat(spool.getItems().isEmpty(), is(true));
+    }
+
+    @Test
+    public void testRetryWithBackoff() throws Exception {
+        failures.set(1);
+        final ATXUploadSpool spool = createSpool();
+        spool.enqueue(createZip(), "report.zip", INSTALLATION, "job", 1);
+
+        assertThat(spool.process(1000L, null), is(0));
+        final ATXUploadItem item = spool.getItems().get(0);
+        assertThat(item.getStatus(), is(ATXUploadStatus.PENDING));
+        assertThat(item.getAttempts(), is(1));
+        assertThat(item.getNextAttempt(), is(1000L + ATXUploadSpool.INITIAL_BACKOFF));
+        assertThat(item.getZipFile().exists(), is(true));
+
+        // Backoff not yet elapsed
+        assertThat(spool.process(1000L + ATXUploadSpool.INITIAL_BACKOFF - 1, null), is(0));
+        assertThat(uploads.get(), is(0));
+
+        assertThat(spool.process(1000L + ATXUploadSpool.INITIAL_BACKOFF, null), is(1));
+        assertThat(spool.getItems().isEmpty(), is(true));
+    }
+
+    @Test
+    public void testUnreachableServer() throws Exception {
+        final ATXUploadSpool spool = createSpool();
+        spool.enqueue(createZip(), "report.zip", UNREACHABLE, "job", 1);
+
+        long now = 0L;
+        for (int i = 0; i < ATXUploadSpool.MAX_ATTEMPTS; i++) {
+            spool.process(now, null);
+            now += ATXUploadSpool.MAX_BACKOFF;
+        }
+        final ATXUploadItem item = spool.getItems().get(0);
+        assertThat(item.getStatus(), is(ATXUploadStatus.FAILED));
+        assertThat(item.getAttempts(), is(ATXUploadSpool.MAX_ATTEMPTS));
+        assertThat(item.getZipFile().exists(), is(true));
+    }
+
+    @Test
+    public void testSpoolSurvivesReload() throws Exception {
+        final File dir = folder.newFolder("spool");
+        new ATXUploadSpool(dir, new TestUrlResolver()).enqueue(createZip(), "report.zip", INSTALLATION,
+                "folder/job", 42);
+
+        final List<ATXUploadItem> items = new ATXUploadSpool(dir, new TestUrlResolver()).getItems();
+        assertThat(items.size(), is(1));
+        assertThat(items.get(0).getReportName(), is("report.zip"));
+        assertThat(items.get(0).getInstallation(), is(INSTALLATION));
+        assertThat(items.get(0).getJobName(), is("folder/job"));
+        assertThat(items.get(0).getBuildNumber(), is(42));
+    }
+
+    @Test
+    public void testUploadUrlNotPersisted() throws Exception {
+        final ATXUploadSpool spool = createSpool();
+        final ATXUploadItem item = spool.enqueue(createZip(), "report.zip", INSTALLATION, "job", 1);
+
+        final String state = new String(Files.readAllBytes(item.getStateFile().toPath()), "ISO-8859-1");
+        assertThat(state.contains("authKey"), is(false));
+        assertThat(state.contains("http"), is(false));
+        assertThat(spool.process(0L, null), is(1));
+        assertThat(uploads.get(), is(1));
+    }
+
+    @Test
+    public void testUnknownInstallation() throws Exception {
+        final ATXUploadSpool spool = createSpool();
+        spool.enqueue(createZip(), "report.zip", "Unknown", "job", 1);
+
+        assertThat(spool.process(0L, null), is(0));
+        final ATXUploadItem item = spool.getItems().get(0);
+        assertThat(item.getStatus(), is(ATXUploadStatus.PENDING));
+        assertThat(item.getLastError().contains("Unknown"), is(true));
+    }
+
+    @Test
+    public void testRetryFailed() throws Exception {
+        final ATXUploadSpool spool = createSpool();
+        failures.set(ATXUploadSpool.MAX_ATTEMPTS);
+        spool.enqueue(createZip(), "report.zip", INSTALLATION, "job", 1);
+        fail(spool);
+
+        assertThat(spool.retry("job", 1, "report.zip"), is(true));
+        final ATXUploadItem item = spool.getItems().get(0);
+        assertThat(item.getStatus(), is(ATXUploadStatus.PENDING));
+        assertThat(item.getAttempts(), is(0));
+        assertThat(spool.process(0L, null), is(1));
+        assertThat(spool.getItems().isEmpty(), is(true));
+    }
+
+    @Test
+    public void testRetryOnlyFailed() throws Exception {
+        final ATXUploadSpool spool = createSpool();
+        spool.enqueue(createZip(), "report.zip", INSTALLATION, "job", 1);
+
+        assertThat(spool.retry("job", 1, "report.zip"), is(false));
+        assertThat(spool.retry("job", 2, "report.zip"), is(false));
+    }
+
+    @Test
+    public void testDiscard() throws Exception {
+        final ATXUploadSpool spool = createSpool();
+        final ATXUploadItem item = spool.enqueue(createZip(), "report.zip", INSTALLATION, "OEM", "job", 1);
+
+        assertThat(spool.discard("job", 1, "report.zip"), is(false));
+        assertThat(spool.discard("job", 1, "report.zip (OEM)"), is(true));
+        assertThat(spool.getItems().isEmpty(), is(true));
+        assertThat(item.getZipFile().exists(), is(false));
+    }
+
+    @Test
+    public void testNotLockedDuringUpload() throws Exception {
+        failures.set(1);
+        uploadReleased = new CountDownLatch(1);
+        final ATXUploadSpool spool = new ATXUploadSpool(folder.newFolder(), new ATXUploadClient(1000, 10000),
+                new TestUrlResolver(), 2);
+        final ATXUploadItem item = spool.enqueue(createZip(), "report.zip", INSTALLATION, "job", 1);
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final Future<Integer> processing = executor.submit(new Callable<Integer>() {
+
+                @Override
+                public Integer call() throws InterruptedException {
+                    return spool.process(0L, null);
+                }
+            });
+            assertThat(uploadStarted.await(5, TimeUnit.SECONDS), is(true));
+
+            // Spool is usable while uploading, without uploading the same item twice
+            final Future<Integer> reprocessing = executor.submit(new Callable<Integer>() {
+
+                @Override
+                public Integer call() throws InterruptedException {
+                    return spool.process(0L, null);
+                }
+            });
+            assertThat(reprocessing.get(5, TimeUnit.SECONDS), is(0));
+            final Future<Boolean> discarding = executor.submit(new Callable<Boolean>() {
+
+                @Override
+                public Boolean call() throws IOException {
+                    return spool.discard("job", 1, "report.zip");
+                }
+            });
+            assertThat(discarding.get(5, TimeUnit.SECONDS), is(true));
+
+            uploadReleased.countDown();
+            assertThat(processing.get(10, TimeUnit.SECONDS), is(0));
+            assertThat(spool.getItems().isEmpty(), is(true));
+            assertThat(item.getZipFile().exists(), is(false));
+        } finally {
+            uploadReleased.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testPruneByAge() throws Exception {
+        final ATXUploadSpool spool = createSpool();
+        spool.enqueue(createZip(), "report.zip", UNREACHABLE, "job", 1);
+        spool.enqueue(createZip(), "report2.zip", INSTALLATION, "job", 1);
+        final long now = fail(spool);
+        assertThat(uploads.get(), is(1));
+
+        final List<ATXUploadItem> pruned = new ArrayList<ATXUploadItem>();
+        assertThat(spool.prune(now + ATXUploadSpool.MAX_FAILED_AGE, new CollectingListener(pruned)), is(0));
+        assertThat(spool.getItems().size(), is(1));
+        assertThat(spool.prune(now + ATXUploadSpool.MAX_FAILED_AGE + 1, new CollectingListener(pruned)), is(1));
+        assertThat(spool.getItems().isEmpty(), is(true));
+        assertThat(pruned.get(0).getStatus(), is(ATXUploadStatus.DISCARDED));
+    }
+
+    @Test
+    public void testPruneByCount() throws Exception {
+        final ATXUploadSpool spool = createSpool();
+        for (int i = 0; i <= ATXUploadSpool.MAX_FAILED_ITEMS; i++) {
+            spool.enqueue(createZip(), "report" + i + ".zip", UNREACHABLE, "job", 1);
+        }
+        final long now = fail(spool);
+
+        assertThat(spool.prune(now, null), is(1));
+        assertThat(spool.getItems().size(), is(ATXUploadSpool.MAX_FAILED_ITEMS));
+    }
+
+    @Test
+    public void testPruneKeepsPending() throws Exception {
+        final ATXUploadSpool spool = createSpool();
+        spool.enqueue(createZip(), "report.zip", INSTALLATION, "job", 1);
+
+        assertThat(spool.prune(Long.MAX_VALUE / 2, null), is(0));
+        assertThat(spool.getItems().size(), is(1));
+    }
+
+    @Test
+    public void testBackoff() {
+        assertThat(ATXUploadSpool.getBackoff(0), is(0L));
+        assertThat(ATXUploadSpool.getBackoff(1), is(ATXUploadSpool.INITIAL_BACKOFF));
+        assertThat(ATXUploadSpool.getBackoff(2), is(2 * ATXUploadSpool.INITIAL_BACKOFF));
+        assertThat(ATXUploadSpool.getBackoff(100), is(ATXUploadSpool.MAX_BACKOFF));
+    }
+
+    private ATXUploadSpool createSpool() throws IOException {
+        return new ATXUploadSpool(folder.newFolder(), new ATXUploadClient(1000, 1000), new TestUrlResolver(), 2);
+    }
+
+    /**
+     * Processes the spool until all uploads are either done or failed finally.
+     *
+     * @param spool
+     *            the spool
+     * @return the time of the last processing
+     * @throws InterruptedException
+     *             if the processing gets interrupted
+     */
+    private static long fail(final ATXUploadSpool spool) throws InterruptedException {
+        long now = 0L;
+        for (int i = 0; i < ATXUploadSpool.MAX_ATTEMPTS; i++) {
+            now += ATXUploadSpool.MAX_BACKOFF;
+            spool.process(now, null);
+        }
+        return now;
+    }
+
+    private File createZip() throws IOException {
+        final File file = folder.newFile();
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[] { 'P', 'K', 3, 4 });
+        }
+        return file;
+    }
+
+    /**
+     * Resolver of the local HTTP stand-in, except for an unreachable installation.
+     */
+    private final class TestUrlResolver implements ATXUploadSpool.UrlResolver {
+
+        @Override
+        public String getUploadUrl(final ATXUploadItem item) {
+            if (UNREACHABLE.equals(item.getInstallation())) {
+                return "http://127.0.0.1:1/api/upload-file";
+            }
+            return INSTALLATION.equals(item.getInstallation()) ? uploadUrl : null;
+        }
+    }
+
+    /**
+     * Listener collecting all notified items.
+     */
+    private static final class CollectingListener implements ATXUploadSpool.StatusListener {
+
+        private final List<ATXUploadItem> items;
+
+        CollectingListener(final List<ATXUploadItem> items) {
+            this.items = items;
+        }
+
+        @Override
+        public synchronized void onStatusChanged(final ATXUploadItem item) {
+            items.add(item);
+        }
+    }
+}
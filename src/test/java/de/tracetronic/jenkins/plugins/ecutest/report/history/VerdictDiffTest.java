@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2015 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.history;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.tracetronic.jenkins.plugins.ecutest.report.history.VerdictDiff.VerdictChange;
+
+/**
+ * Unit tests for {@link VerdictDiff} and {@link VerdictSummary}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class VerdictDiffTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testMissingSummary() throws Exception {
+        final File buildDir = folder.newFolder("1");
+        assertThat(VerdictSummary.exists(buildDir), is(false));
+        assertThat(VerdictSummary.load(buildDir).getVerdicts().isEmpty(), is(true));
+    }
+
+    @Test
+    public void testUpdateSummary() throws Exception {
+        final File buildDir = folder.newFolder("1");
+        VerdictSummary.update(buildDir, Arrays.asList(record("a.pkg", TestVerdict.SUCCESS),
+                record("b.pkg", TestVerdict.FAILED)));
+        VerdictSummary.update(buildDir, Arrays.asList(record("b.pkg", TestVerdict.SUCCESS),
+                record("c.pkg", TestVerdict.ERROR)));
+
+        final VerdictSummary summary = VerdictSummary.load(buildDir);
+        assertThat(VerdictSummary.exists(buildDir), is(true));
+        assertThat(summary.getVerdicts().size(), is(3));
+        assertThat(summary.getVerdicts().get("b.pkg"), is(TestVerdict.SUCCESS));
+        assertThat(summary.getVerdicts().get("c.pkg"), is(TestVerdict.ERROR));
+    }
+
+    @Test
+    public void testDiff() throws Exception {
+        final File referenceDir = folder.newFolder("1");
+        final File currentDir = folder.newFolder("2");
+        VerdictSummary.update(referenceDir, Arrays.asList(record("stable.pkg", TestVerdict.SUCCESS),
+                record("broken.pkg", TestVerdict.SUCCESS), record("fixed.pkg", TestVerdict.FAILED),
+                record("removed.pkg", TestVerdict.SUCCESS)));
+        VerdictSummary.update(currentDir, Arrays.asList(record("stable.pkg", TestVerdict.SUCCESS),
+                record("broken.pkg", TestVerdict.ERROR), record("fixed.pkg", TestVerdict.SUCCESS),
+                record("added.pkg", TestVerdict.FAILED)));
+
+        final VerdictDiff diff = new VerdictDiff(VerdictSummary.load(referenceDir),
+                VerdictSummary.load(currentDir));
+        assertThat(diff.hasChanges(), is(true));
+        assertChange(diff.getNewlyFailing(), "broken.pkg", TestVerdict.SUCCESS, TestVerdict.ERROR);
+        assertChange(diff.getNewlyPassing(), "fixed.pkg", TestVerdict.FAILED, TestVerdict.SUCCESS);
+        assertChange(diff.getAdded(), "added.pkg", TestVerdict.NONE, TestVerdict.FAILED);
+        assertChange(diff.getRemoved(), "removed.pkg", TestVerdict.SUCCESS, TestVerdict.NONE);
+    }
+
+    @Test
+    public void testNoChanges() throws Exception {
+        final File buildDir = folder.newFolder("1");
+        VerdictSummary.update(buildDir, Arrays.asList(record("a.pkg", TestVerdict.SUCCESS)));
+        final VerdictSummary summary = VerdictSummary.load(buildDir);
+        assertThat(new VerdictDiff(summary, summary).hasChanges(), is(false));
+    }
+
+    private static void assertChange(final List<VerdictChange> changes, final String testId,
+            final TestVerdict oldVerdict, final TestVerdict newVerdict) {
+        assertThat(changes.size(), is(1));
+        assertThat(changes.get(0).getTestId(), is(testId));
+        assertThat(changes.get(0).getOldVerdict(), is(oldVerdict));
+        assertThat(changes.get(0).getNewVerdict(), is(newVerdict));
+    }
+
+    private static VerdictRecord record(final String testId, final TestVerdict verdict) {
+        return new VerdictRecord(testId, 1, verdict, 0L);
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.history;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link VerdictHistoryRecorder}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class VerdictHistoryRecorderTest {
+
+    @Test
+    public void testTestIdRelativeToWorkspace() {
+        assertThat(VerdictHistoryRecorder.getTestId("C:\\Jenkins\\workspace\\job@2\\Packages\\a.pkg",
+                "c:\\jenkins\\workspace\\job@2\\"), is("Packages/a.pkg"));
+        assertThat(VerdictHistoryRecorder.getTestId("/var/ws/job/Packages/a.pkg", "/var/ws/job"),
+                is("Packages/a.pkg"));
+    }
+
+    @Test
+    public void testTestIdPreferredBaseDir() {
+        assertThat(VerdictHistoryRecorder.getTestId("/tests/suite/a.pkg", null, "/var/ws/job", "/tests/suite"),
+                is("a.pkg"));
+        assertThat(VerdictHistoryRecorder.getTestId("/var/ws/job/suite/a.pkg", "/var/ws/job", "/var/ws/job/suite"),
+                is("suite/a.pkg"));
+    }
+
+    @Test
+    public void testTestIdOutsideBaseDirs() {
+        assertThat(VerdictHistoryRecorder.getTestId("C:\\Tests\\a.pkg", "C:\\Jenkins\\workspace\\job"),
+                is("C:/Tests/a.pkg"));
+        assertThat(VerdictHistoryRecorder.getTestId("/var/ws/job2/a.pkg", "/var/ws/job"), is("/var/ws/job2/a.pkg"));
+    }
+}
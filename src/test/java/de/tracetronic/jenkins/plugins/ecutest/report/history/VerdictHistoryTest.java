@@ -0,0 +1,273 @@
+/**
+ * Copyright (c) 2015 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.history;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link VerdictHistory}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class VerdictHistoryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testEmptyHistory() {
+        final VerdictHistory history = new VerdictHistory(new File(folder.getRoot(), "history.bin"));
+        assertThat(history.getTestHistories().isEmpty(), is(true));
+        assertThat(history.getFlakyTests(10).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testAppendAndReload() throws Exception {
+        final File file = new File(folder.getRoot(), "history.bin");
+        final VerdictHistory history = new VerdictHistory(file);
+        history.append(Arrays.asList(record("a.pkg", 1, TestVerdict.SUCCESS, 1500L),
+                record("b.pkg", 1, TestVerdict.FAILED, 2500L)));
+        history.append(Arrays.asList(record("a.pkg", 2, TestVerdict.FAILED, 500L)));
+
+        final VerdictHistory reloaded = new VerdictHistory(file);
+        assertThat(reloaded.getTestHistories().size(), is(2));
+        final TestHistory testHistory = reloaded.getTestHistory("a.pkg");
+        assertThat(testHistory, notNullValue());
+        assertThat(testHistory.getRunCount(), is(2));
+        assertThat(testHistory.getLastVerdict(), is(TestVerdict.FAILED));
+        assertThat(testHistory.getLastBuildNumber(), is(2));
+        assertThat(testHistory.getAverageDuration(), is(1000L));
+    }
+
+    @Test
+    public void testIncrementalRead() throws Exception {
+        final File file = new File(folder.getRoot(), "history.bin");
+        final VerdictHistory reader = new VerdictHistory(file);
+        final VerdictHistory writer = new VerdictHistory(file);
+        writer.append(Arrays.asList(record("a.pkg", 1, TestVerdict.SUCCESS, 0L)));
+        assertThat(reader.getTestHistory("a.pkg").getRunCount(), is(1));
+
+        writer.append(Arrays.asList(record("a.pkg", 2, TestVerdict.FAILED, 0L)));
+        assertThat(reader.getTestHistory("a.pkg").getRunCount(), is(2));
+    }
+
+    @Test
+    public void testSameBuildReplacesResult() throws Exception {
+        final VerdictHistory history = new VerdictHistory(new File(folder.getRoot(), "history.bin"));
+        history.append(Arrays.asList(record("a.pkg", 1, TestVerdict.FAILED, 0L)));
+        history.append(Arrays.asList(record("a.pkg", 1, TestVerdict.SUCCESS, 0L)));
+
+        final TestHistory testHistory = history.getTestHistory("a.pkg");
+        assertThat(testHistory.getRunCount(), is(1));
+        assertThat(testHistory.getLastVerdict(), is(TestVerdict.SUCCESS));
+    }
+
+    @Test
+    public void testSameBuildKeepsDuration() throws Exception {
+        final VerdictHistory history = new VerdictHistory(new File(folder.getRoot(), "history.bin"));
+        history.append(Arrays.asList(record("a.pkg", 1, TestVerdict.SUCCESS, 2000L)));
+        history.append(Arrays.asList(record("a.pkg", 1, TestVerdict.FAILED, 0L)));
+
+        final TestHistory testHistory = history.getTestHistory("a.pkg");
+        assertThat(testHistory.getLastVerdict(), is(TestVerdict.FAILED));
+        assertThat(testHistory.getLastDuration(), is(2000L));
+        assertThat(testHistory.getFailureRate(), is(1.0));
+    }
+
+    @Test
+    public void testFlakiness() throws Exception {
+        final VerdictHistory history = new VerdictHistory(new File(folder.getRoot(), "history.bin"));
+        final TestVerdict[] flaky = { TestVerdict.SUCCESS, TestVerdict.FAILED, TestVerdict.NONE,
+                TestVerdict.SUCCESS, TestVerdict.FAILED };
+        for (int i = 0; i < flaky.length; i++) {
+            history.append(Arrays.asList(record("flaky.pkg", i + 1, flaky[i], 0L),
+                    record("stable.pkg", i + 1, TestVerdict.SUCCESS, 0L),
+                    record("broken.pkg", i + 1, i < 3 ? TestVerdict.SUCCESS : TestVerdict.ERROR, 0L)));
+        }
+
+        final List<TestHistory> flakyTests = history.getFlakyTests(10);
+        assertThat(flakyTests.size(), is(2));
+        assertThat(flakyTests.get(0).getTestId(), is("flaky.pkg"));
+        assertThat(flakyTests.get(0).getFlipCount(), is(3));
+        assertThat(flakyTests.get(0).getFlakinessPercentage(), is(100));
+        assertThat(flakyTests.get(1).getTestId(), is("broken.pkg"));
+        assertThat(flakyTests.get(1).getFlakinessPercentage(), is(25));
+        assertThat(history.getTestHistory("stable.pkg").getFlakiness(), is(0.0));
+    }
+
+    @Test
+    public void testWindowSize() throws Exception {
+        final VerdictHistory history = new VerdictHistory(new File(folder.getRoot(), "history.bin"));
+        for (int i = 1; i <= TestHistory.WINDOW_SIZE + 5; i++) {
+            history.append(Arrays.asList(record("a.pkg", i, TestVerdict.SUCCESS, 0L)));
+        }
+
+        final List<VerdictRecord> records = history.getTestHistory("a.pkg").getRecords();
+        assertThat(records.size(), is(TestHistory.WINDOW_SIZE));
+        assertThat(records.get(0).getBuildNumber(), is(6));
+    }
+
+    @Test
+    public void testCompaction() throws Exception {
+        final File file = new File(folder.getRoot(), "history.bin");
+        final VerdictHistory history = new VerdictHistory(file);
+        for (int i = 1; i <= TestHistory.WINDOW_SIZE * 10; i++) {
+            history.append(Arrays.asList(record("a.pkg", i, i % 2 == 0 ? TestVerdict.SUCCESS
+                    : TestVerdict.FAILED, i)));
+        }
+        assertThat(file.length(), lessThan(TestHistory.WINDOW_SIZE * 5 * 10L));
+
+        final TestHistory testHistory = new VerdictHistory(file).getTestHistory("a.pkg");
+        assertThat(testHistory.getRunCount(), is(TestHistory.WINDOW_SIZE));
+        assertThat(testHistory.getLastBuildNumber(), is(TestHistory.WINDOW_SIZE * 10));
+    }
+
+    @Test
+    public void testIncompleteEntryIsDiscarded() throws Exception {
+        final File file = new File(folder.getRoot(), "history.bin");
+        new VerdictHistory(file).append(Arrays.asList(record("a.pkg", 1, TestVerdict.SUCCESS, 0L)));
+        appendGarbage(file, new byte[] { 'V', 0 });
+
+        final VerdictHistory history = new VerdictHistory(file);
+        assertThat(history.getTestHistory("a.pkg").getRunCount(), is(1));
+
+        history.append(Arrays.asList(record("a.pkg", 2, TestVerdict.FAILED, 0L)));
+        assertThat(new VerdictHistory(file).getTestHistory("a.pkg").getRunCount(), is(2));
+    }
+
+    @Test
+    public void testIncompatibleFileIsMovedAside() throws Exception {
+        final File file = new File(folder.getRoot(), "history.bin");
+        appendGarbage(file, "no history".getBytes("UTF-8"));
+
+        final VerdictHistory history = new VerdictHistory(file);
+        assertThat(history.getTestHistories().isEmpty(), is(true));
+        history.append(Arrays.asList(record("a.pkg", 1, TestVerdict.SUCCESS, 0L)));
+        assertThat(new VerdictHistory(file).getTestHistories().size(), is(1));
+        assertThat(new File(folder.getRoot(), "history.bin.bak").exists(), is(true));
+    }
+
+    @Test
+    public void testCorruptFileIsMovedAside() throws Exception {
+        final File file = new File(folder.getRoot(), "history.bin");
+        new VerdictHistory(file).append(Arrays.asList(record("a.pkg", 1, TestVerdict.SUCCESS, 0L)));
+        appendGarbage(file, new byte[] { 'X', 0, 0 });
+
+        final VerdictHistory history = new VerdictHistory(file);
+        assertThat(history.getTestHistories().isEmpty(), is(true));
+        assertThat(new File(folder.getRoot(), "history.bin.bak").exists(), is(true));
+
+        history.append(Arrays.asList(record("b.pkg", 2, TestVerdict.FAILED, 0L)));
+        final List<TestHistory> histories = new VerdictHistory(file).getTestHistories();
+        assertThat(histories.size(), is(1));
+        assertThat(histories.get(0).getTestId(), is("b.pkg"));
+    }
+
+    @Test
+    public void testSnapshot() throws Exception {
+        final VerdictHistory history = new VerdictHistory(new File(folder.getRoot(), "history.bin"));
+        history.append(Arrays.asList(record("a.pkg", 1, TestVerdict.SUCCESS, 1000L)));
+        final Map<String, TestHistory> snapshot = history.getSnapshot(Arrays.asList("a.pkg", "new.pkg"));
+        history.append(Arrays.asList(record("a.pkg", 2, TestVerdict.FAILED, 3000L)));
+
+        assertThat(snapshot.size(), is(1));
+        assertThat(snapshot.get("a.pkg").getRunCount(), is(1));
+        assertThat(snapshot.get("a.pkg").getLastVerdict(), is(TestVerdict.SUCCESS));
+        assertThat(snapshot.get("a.pkg").getAverageDuration(), is(1000L));
+        assertThat(history.getTestHistory("a.pkg").getRunCount(), is(2));
+    }
+
+    @Test
+    public void testSlowestTests() throws Exception {
+        final VerdictHistory history = new VerdictHistory(new File(folder.getRoot(), "history.bin"));
+        history.append(Arrays.asList(record("a.pkg", 1, TestVerdict.SUCCESS, 1000L),
+                record("b.pkg", 1, TestVerdict.SUCCESS, 3000L),
+                record("c.pkg", 1, TestVerdict.SUCCESS, 0L)));
+
+        final List<TestHistory> slowestTests = history.getSlowestTests(10);
+        assertThat(slowestTests.size(), is(2));
+        assertThat(slowestTests.get(0).getTestId(), is("b.pkg"));
+        assertThat(slowestTests.get(1).getTestId(), is("a.pkg"));
+        assertThat(history.getSlowestTests(1).size(), is(1));
+    }
+
+    @Test
+    public void testDurationRegressions() throws Exception {
+        final VerdictHistory history = new VerdictHistory(new File(folder.getRoot(), "history.bin"));
+        history.append(Arrays.asList(record("a.pkg", 1, TestVerdict.SUCCESS, 1000L),
+                record("b.pkg", 1, TestVerdict.SUCCESS, 1000L),
+                record("c.pkg", 1, TestVerdict.SUCCESS, 1000L)));
+        history.append(Arrays.asList(record("a.pkg", 2, TestVerdict.SUCCESS, 3000L),
+                record("b.pkg", 2, TestVerdict.SUCCESS, 1500L),
+                record("c.pkg", 2, TestVerdict.SUCCESS, 500L)));
+
+        final List<TestHistory> regressions = history.getDurationRegressions(10);
+        assertThat(regressions.size(), is(2));
+        assertThat(regressions.get(0).getTestId(), is("a.pkg"));
+        assertThat(regressions.get(0).getBaselineDuration(), is(1000L));
+        assertThat(regressions.get(0).getDurationChange(), is(2000L));
+        assertThat(regressions.get(0).getDurationChangePercentage(), is(200));
+        assertThat(regressions.get(1).getTestId(), is("b.pkg"));
+    }
+
+    @Test
+    public void testVerdictFromResult() {
+        assertThat(TestVerdict.fromResult("SUCCESS"), is(TestVerdict.SUCCESS));
+        assertThat(TestVerdict.fromResult("passed"), is(TestVerdict.SUCCESS));
+        assertThat(TestVerdict.fromResult("ERROR"), is(TestVerdict.ERROR));
+        assertThat(TestVerdict.fromResult(null), is(TestVerdict.NONE));
+        assertThat(TestVerdict.fromResult("unknown"), is(TestVerdict.NONE));
+    }
+
+    private static VerdictRecord record(final String testId, final int buildNumber, final TestVerdict verdict,
+            final long duration) {
+        return new VerdictRecord(testId, buildNumber, verdict, duration);
+    }
+
+    private static void appendGarbage(final File file, final byte[] bytes) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(bytes);
+        }
+    }
+}
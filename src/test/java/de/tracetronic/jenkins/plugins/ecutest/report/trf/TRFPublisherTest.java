@@ -29,11 +29,37 @@
  */
 package de.tracetronic.jenkins.plugins.ecutest.report.trf;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.isA;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.Job;
+import hudson.model.Result;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.util.StreamTaskListener;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.tracetronic.jenkins.plugins.ecutest.env.TestEnvInvisibleAction;
 
 /**
  * Unit tests for {@link TRFPublisher}.
@@ -42,6 +68,28 @@ import org.junit.Test;
  */
 public class TRFPublisherTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Run<?, ?> run;
+    private Launcher launcher;
+    private TaskListener listener;
+    private FilePath workspace;
+    private final List<TestEnvInvisibleAction> testEnvActions = new ArrayList<TestEnvInvisibleAction>();
+
+    @Before
+    public void setUp() throws IOException {
+        final Job<?, ?> job = mock(Job.class);
+        when(job.getRootDir()).thenReturn(folder.newFolder("job"));
+        run = mock(Run.class);
+        doReturn(job).when(run).getParent();
+        when(run.getRootDir()).thenReturn(folder.newFolder("build"));
+        when(run.getActions(TestEnvInvisibleAction.class)).thenReturn(testEnvActions);
+        launcher = mock(Launcher.class);
+        listener = new StreamTaskListener(new ByteArrayOutputStream());
+        workspace = new FilePath(folder.newFolder("workspace"));
+    }
+
     @Test
     public void testConstructorStep() {
         final TRFPublisher publisher = new TRFPublisher();
@@ -59,6 +107,159 @@ public class TRFPublisherTest {
         assertPublisher(publisher);
     }
 
+    @Test
+    public void testDefaultGating() {
+        final TRFPublisher publisher = new TRFPublisher();
+        assertFalse(publisher.isGating());
+        assertEquals(0.0, publisher.getUnstableThreshold(), 0);
+        assertEquals(0.0, publisher.getFailedThreshold(), 0);
+        assertFalse(publisher.isSkipArchivingOnFailure());
+    }
+
+    @Test
+    public void testGating() {
+        final TRFPublisher publisher = new TRFPublisher();
+        publisher.setGating(true);
+        publisher.setUnstableThreshold(-10.0);
+        publisher.setFailedThreshold(110.0);
+        publisher.setSkipArchivingOnFailure(true);
+        assertTrue(publisher.isGating());
+        assertEquals(0.0, publisher.getUnstableThreshold(), 0);
+        assertEquals(100.0, publisher.getFailedThreshold(), 0);
+        assertTrue(publisher.isSkipArchivingOnFailure());
+    }
+
+    @Test
+    public void testReadResolveKeepsGating() {
+        final TRFPublisher publisher = new TRFPublisher();
+        publisher.setGating(true);
+        publisher.setUnstableThreshold(10.0);
+        publisher.setFailedThreshold(50.0);
+        publisher.setSkipArchivingOnFailure(true);
+        final TRFPublisher resolved = (TRFPublisher) publisher.readResolve();
+        assertTrue(resolved.isGating());
+        assertEquals(10.0, resolved.getUnstableThreshold(), 0);
+        assertEquals(50.0, resolved.getFailedThreshold(), 0);
+        assertTrue(resolved.isSkipArchivingOnFailure());
+    }
+
+    @Test
+    public void testGatingBelowThreshold() throws Exception {
+        addTestResults("PASSED", "PASSED", "PASSED", "FAILED");
+        final TRFPublisher publisher = createGatingPublisher(25.0, 50.0);
+        publisher.performReport(run, workspace, launcher, listener);
+        verify(run, never()).setResult(any(Result.class));
+    }
+
+    @Test
+    public void testGatingUnstableThreshold() throws Exception {
+        addTestResults("PASSED", "PASSED", "INCONCLUSIVE", "FAILED");
+        final TRFPublisher publisher = createGatingPublisher(10.0, 50.0);
+        publisher.performReport(run, workspace, launcher, listener);
+        verify(run).setResult(Result.UNSTABLE);
+        verify(run, never()).setResult(Result.FAILURE);
+    }
+
+    @Test
+    public void testGatingFailedThreshold() throws Exception {
+        addTestResults("PASSED", "NONE", "FAILED", "ERROR");
+        final TRFPublisher publisher = createGatingPublisher(10.0, 40.0);
+        publisher.performReport(run, workspace, launcher, listener);
+        verify(run).setResult(Result.FAILURE);
+        verify(run, never()).setResult(Result.UNSTABLE);
+    }
+
+    @Test
+    public void testGatingWithoutTests() throws Exception {
+        final TRFPublisher publisher = createGatingPublisher(0.0, 0.0);
+        publisher.performReport(run, workspace, launcher, listener);
+        verify(run, never()).setResult(any(Result.class));
+    }
+
+    @Test
+    public void testGatingDisabled() throws Exception {
+        addTestResults("FAILED", "ERROR");
+        final TRFPublisher publisher = createGatingPublisher(0.0, 0.0);
+        publisher.setGating(false);
+        publisher.performReport(run, workspace, launcher, listener);
+        verify(run, never()).setResult(any(Result.class));
+    }
+
+    @Test
+    public void testSkipArchivingOnFailure() throws Exception {
+        addTestResults("PASSED", "FAILED");
+        final TRFPublisher publisher = createGatingPublisher(0.0, 0.0);
+        publisher.setArchiving(true);
+        publisher.setSkipArchivingOnFailure(true);
+        publisher.performReport(run, workspace, launcher, listener);
+        verify(run).setResult(Result.FAILURE);
+        verify(launcher, never()).getChannel();
+        verify(run, never()).addAction(isA(TRFBuildAction.class));
+    }
+
+    @Test
+    public void testArchivingOnFailure() throws Exception {
+        addTestResults("PASSED", "FAILED");
+        final TRFPublisher publisher = createGatingPublisher(0.0, 0.0);
+        publisher.setArchiving(true);
+        publisher.setSkipArchivingOnFailure(false);
+        publisher.performReport(run, workspace, launcher, listener);
+        verify(run).setResult(Result.FAILURE);
+        verify(launcher, times(2)).getChannel();
+        verify(run).addAction(isA(TRFBuildAction.class));
+    }
+
+    @Test
+    public void testSkipArchivingOnlyOnFailure() throws Exception {
+        addTestResults("PASSED", "FAILED");
+        final TRFPublisher publisher = createGatingPublisher(10.0, 80.0);
+        publisher.setArchiving(true);
+        publisher.setSkipArchivingOnFailure(true);
+        publisher.performReport(run, workspace, launcher, listener);
+        verify(run).setResult(Result.UNSTABLE);
+        verify(launcher, times(2)).getChannel();
+        verify(run).addAction(isA(TRFBuildAction.class));
+    }
+
+    /**
+     * Creates a gating publisher without archiving that tolerates missing reports.
+     *
+     * @param unstableThreshold
+     *            the unstable threshold
+     * @param failedThreshold
+     *            the failed threshold
+     * @return the publisher
+     */
+    private TRFPublisher createGatingPublisher(final double unstableThreshold, final double failedThreshold) {
+        final TRFPublisher publisher = new TRFPublisher();
+        publisher.setAllowMissing(true);
+        publisher.setArchiving(false);
+        publisher.setGating(true);
+        publisher.setUnstableThreshold(unstableThreshold);
+        publisher.setFailedThreshold(failedThreshold);
+        return publisher;
+    }
+
+    /**
+     * Adds an executed test for each of the given results to the run.
+     *
+     * @param testResults
+     *            the test results
+     * @throws IOException
+     *             if creating the test report directory failed
+     */
+    private void addTestResults(final String... testResults) throws IOException {
+        for (final String testResult : testResults) {
+            final int testId = testEnvActions.size();
+            final TestEnvInvisibleAction testEnvAction = mock(TestEnvInvisibleAction.class);
+            when(testEnvAction.getTestId()).thenReturn(testId);
+            when(testEnvAction.getTestFile()).thenReturn(workspace.child("test" + testId + ".pkg").getRemote());
+            when(testEnvAction.getTestReportDir()).thenReturn(folder.newFolder("report" + testId).getAbsolutePath());
+            when(testEnvAction.getTestResult()).thenReturn(testResult);
+            testEnvActions.add(testEnvAction);
+        }
+    }
+
     /**
      * Asserts the publisher properties.
      *
@@ -88,6 +88,7 @@ public class TestFolderBuilderST extends SystemTestBase {
         final ExecutionConfig executionConfig = new ExecutionConfig(600, true, true);
         final TestFolderBuilder before = new TestFolderBuilder("tests");
         before.setRecursiveScan(true);
+        before.setParallelScan(true);
         before.setTestConfig(testConfig);
         before.setPackageConfig(packageConfig);
         before.setProjectConfig(projectConfig);
@@ -100,7 +101,7 @@ public class TestFolderBuilderST extends SystemTestBase {
 
         final TestFolderBuilder after = (TestFolderBuilder) delegate;
         jenkins.assertEqualBeans(before, after,
-                "testFile,scanMode,recursiveScan,testConfig,packageConfig,projectConfig,executionConfig");
+                "testFile,scanMode,recursiveScan,parallelScan,testConfig,packageConfig,projectConfig,executionConfig");
     }
 
     @Deprecated
@@ -126,6 +127,7 @@ public class TestFolderBuilderST extends SystemTestBase {
         final ExecutionConfig executionConfig = new ExecutionConfig(600, true, true);
         final TestFolderBuilder builder = new TestFolderBuilder("tests");
         builder.setRecursiveScan(true);
+        builder.setParallelScan(true);
         builder.setTestConfig(testConfig);
         builder.setPackageConfig(packageConfig);
         builder.setProjectConfig(projectConfig);
@@ -137,6 +139,7 @@ public class TestFolderBuilderST extends SystemTestBase {
         WebAssert.assertInputPresent(page, "_.testFile");
         WebAssert.assertInputContainsValue(page, "_.testFile", "tests");
         jenkins.assertXPath(page, "//input[@name='_.recursiveScan' and @checked='true']");
+        jenkins.assertXPath(page, "//input[@name='_.parallelScan' and @checked='true']");
         WebAssert.assertInputPresent(page, "_.tbcFile");
         WebAssert.assertInputContainsValue(page, "_.tbcFile", "test.tbc");
         WebAssert.assertInputPresent(page, "_.tcfFile");
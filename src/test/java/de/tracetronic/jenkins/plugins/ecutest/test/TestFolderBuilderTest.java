@@ -43,6 +43,7 @@ import de.tracetronic.jenkins.plugins.ecutest.test.config.PackageConfig;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.ProjectConfig;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.ProjectConfig.JobExecutionMode;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.TestConfig;
+import de.tracetronic.jenkins.plugins.ecutest.test.scan.TestOrderer.TestOrder;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 /**
@@ -70,6 +71,8 @@ public class TestFolderBuilderTest {
     @Test
     public void testNullStep() {
         final TestFolderBuilder builder = new TestFolderBuilder(null);
+        builder.setTestOrder(null);
+        builder.setTieBreaker(null);
         builder.setTestConfig(null);
         builder.setPackageConfig(null);
         builder.setProjectConfig(null);
@@ -111,6 +114,9 @@ public class TestFolderBuilderTest {
         assertNotNull(builder);
         assertNotNull(builder.getTestFile());
         assertTrue(builder.getTestFile().isEmpty());
+        assertEquals(TestOrder.SCAN_ORDER, builder.getTestOrder());
+        assertEquals(TestOrder.SCAN_ORDER, builder.getTieBreaker());
+        assertFalse(builder.isParallelScan());
         assertNotNull(builder.getTestConfig().getTbcFile());
         assertTrue(builder.getTestConfig().getTbcFile().isEmpty());
         assertNotNull(builder.getTestConfig().getTcfFile());
@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.client;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+import hudson.model.TaskListener;
+import hudson.util.StreamTaskListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.tracetronic.jenkins.plugins.ecutest.test.client.AbstractTestClient.LoadConfigCallable;
+import de.tracetronic.jenkins.plugins.ecutest.test.config.ExecutionConfig;
+import de.tracetronic.jenkins.plugins.ecutest.test.config.GlobalConstant;
+import de.tracetronic.jenkins.plugins.ecutest.test.config.TestConfig;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComApplication;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestConfiguration;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.simulator.ETComSimulator;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.simulator.SimulatedApplication;
+
+/**
+ * Unit tests for {@link AbstractTestClient}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class AbstractTestClientTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<String> calls = new ArrayList<String>();
+    private final TaskListener listener = new StreamTaskListener(new ByteArrayOutputStream());
+    private SimulatedApplication application;
+    private String tbcFile;
+    private String tcfFile;
+
+    @Before
+    public void setUp() throws IOException {
+        application = new SimulatedApplication(new ETComSimulator());
+        tbcFile = folder.newFile("test.tbc").getPath();
+        tcfFile = folder.newFile("test.tcf").getPath();
+    }
+
+    @Test
+    public void testChangedGlobalConstants() throws ETComException {
+        final TestConfig testConfig = new TestConfig(tbcFile, tcfFile, false, true,
+                Collections.singletonList(new GlobalConstant("name", "value")));
+        final LoadConfigCallable callable = new LoadConfigCallable(testConfig, new ExecutionConfig(60, true),
+                listener);
+
+        assertThat(callable.call(record(application)), is(true));
+        assertThat(calls, hasItem("setGlobalConstants"));
+        assertThat("Configuration must be started before setting global constants",
+                calls.indexOf("start"), lessThan(calls.indexOf("setGlobalConstants")));
+        assertThat(application.getCurrentTestConfiguration().getGlobalConstants().getValues(),
+                is(Collections.singletonMap("name", "value")));
+    }
+
+    @Test
+    public void testUnchangedGlobalConstants() throws ETComException {
+        application.getCurrentTestConfiguration().setGlobalConstant("name", "value");
+        final TestConfig testConfig = new TestConfig(tbcFile, tcfFile, false, true,
+                Collections.singletonList(new GlobalConstant("name", "value")));
+        final LoadConfigCallable callable = new LoadConfigCallable(testConfig, new ExecutionConfig(60, true),
+                listener);
+
+        assertThat(callable.call(record(application)), is(true));
+        assertThat(calls, hasItem("getGlobalConstants"));
+        assertThat(calls, not(hasItem("setGlobalConstants")));
+        assertThat(calls, not(hasItem("start")));
+    }
+
+    /**
+     * Wraps the application recording the names of all methods called on it and on its test configuration.
+     *
+     * @param application
+     *            the application
+     * @return the recording application
+     */
+    private ComApplication record(final ComApplication application) {
+        return (ComApplication) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { ComApplication.class }, new RecordingHandler(application));
+    }
+
+    /**
+     * Handler recording the called methods and delegating to the target.
+     */
+    private final class RecordingHandler implements InvocationHandler {
+
+        private final Object target;
+
+        /**
+         * Instantiates a new {@link RecordingHandler}.
+         *
+         * @param target
+         *            the target to delegate to
+         */
+        RecordingHandler(final Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            calls.add(method.getName());
+            final Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (final InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof ComTestConfiguration) {
+                return Proxy.newProxyInstance(getClass().getClassLoader(),
+                        new Class<?>[] { ComTestConfiguration.class }, new RecordingHandler(result));
+            }
+            return result;
+        }
+    }
+}
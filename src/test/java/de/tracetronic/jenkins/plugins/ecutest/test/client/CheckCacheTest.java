@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.tracetronic.jenkins.plugins.ecutest.test.client.AbstractTestClient.CheckInfoHolder;
+import de.tracetronic.jenkins.plugins.ecutest.test.client.AbstractTestClient.CheckInfoHolder.Seriousness;
+
+/**
+ * Unit tests for {@link CheckCache}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class CheckCacheTest {
+
+    private static final String VERSION = "6.6.0";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testCachedForUnchangedPackage() throws IOException {
+        final CheckCache cache = new CheckCache();
+        final File pkgFile = folder.newFile("test.pkg");
+        write(pkgFile, "package");
+        final List<CheckInfoHolder> checks = Collections.singletonList(
+                new CheckInfoHolder(pkgFile.getPath(), Seriousness.WARNING, "warning", "1"));
+        cache.put(pkgFile.getPath(), fingerprint(pkgFile, VERSION), checks);
+
+        assertEquals(checks, cache.get(pkgFile.getPath(), fingerprint(pkgFile, VERSION)));
+    }
+
+    @Test
+    public void testInvalidatedByVersion() throws IOException {
+        final CheckCache cache = new CheckCache();
+        final File pkgFile = folder.newFile("test.pkg");
+        write(pkgFile, "package");
+        cache.put(pkgFile.getPath(), fingerprint(pkgFile, VERSION), Collections.<CheckInfoHolder> emptyList());
+
+        assertNull(cache.get(pkgFile.getPath(), fingerprint(pkgFile, "6.5.0")));
+    }
+
+    @Test
+    public void testInvalidatedByChangedPackage() throws IOException {
+        final CheckCache cache = new CheckCache();
+        final File pkgFile = folder.newFile("test.pkg");
+        write(pkgFile, "first");
+        cache.put(pkgFile.getPath(), fingerprint(pkgFile, VERSION), Collections.<CheckInfoHolder> emptyList());
+        write(pkgFile, "second");
+
+        assertNull(cache.get(pkgFile.getPath(), fingerprint(pkgFile, VERSION)));
+    }
+
+    @Test
+    public void testInvalidatedByChangedDependency() throws IOException {
+        final CheckCache cache = new CheckCache();
+        final File pkgFile = folder.newFile("test.pkg");
+        final File depFile = folder.newFile("sub.pkg");
+        write(pkgFile, "package");
+        write(depFile, "first");
+        cache.put(pkgFile.getPath(), fingerprint(pkgFile, VERSION), Collections.singletonList(
+                new CheckInfoHolder(depFile.getPath(), Seriousness.NOTE, "note", "2")));
+        write(depFile, "second");
+
+        assertNull(cache.get(pkgFile.getPath(), fingerprint(pkgFile, VERSION)));
+    }
+
+    @Test
+    public void testCleanPackageInvalidatedByChangedDependencyDir() throws IOException {
+        final CheckCache cache = new CheckCache();
+        final File pkgFile = folder.newFile("test.pkg");
+        final File paramDir = folder.newFolder("parameters", "nested");
+        final File paramFile = new File(paramDir, "values.xam");
+        write(pkgFile, "package");
+        write(paramFile, "first");
+        final List<File> dependencyDirs = Arrays.asList(folder.getRoot(), paramDir);
+        cache.put(pkgFile.getPath(), CheckCache.fingerprint(pkgFile.getPath(), VERSION, dependencyDirs),
+                Collections.<CheckInfoHolder> emptyList());
+        write(paramFile, "second");
+
+        assertNull(cache.get(pkgFile.getPath(), CheckCache.fingerprint(pkgFile.getPath(), VERSION, dependencyDirs)));
+    }
+
+    @Test
+    public void testCleanPackageInvalidatedByAddedFile() throws IOException {
+        final CheckCache cache = new CheckCache();
+        final File pkgFile = folder.newFile("test.pkg");
+        write(pkgFile, "package");
+        cache.put(pkgFile.getPath(), fingerprint(pkgFile, VERSION), Collections.<CheckInfoHolder> emptyList());
+        write(folder.newFile("added.pkg"), "added");
+
+        assertNull(cache.get(pkgFile.getPath(), fingerprint(pkgFile, VERSION)));
+    }
+
+    @Test
+    public void testNotCachedForMissingPackage() {
+        final CheckCache cache = new CheckCache();
+        final File pkgFile = new File(folder.getRoot(), "missing.pkg");
+        cache.put(pkgFile.getPath(), fingerprint(pkgFile, VERSION), Collections.<CheckInfoHolder> emptyList());
+
+        assertNull(fingerprint(pkgFile, VERSION));
+        assertNull(cache.get(pkgFile.getPath(), fingerprint(pkgFile, VERSION)));
+    }
+
+    @Test
+    public void testDependencyDirs() throws IOException {
+        final File pkgFile = folder.newFile("test.pkg");
+        final File paramDir = folder.newFolder("parameters");
+        final List<File> dependencyDirs = CheckCache.getDependencyDirs(Arrays.asList(paramDir.getPath(), "None",
+                null, new File(folder.getRoot(), "missing").getPath()), pkgFile.getPath());
+
+        assertEquals(Arrays.asList(paramDir, pkgFile.getAbsoluteFile().getParentFile()), dependencyDirs);
+    }
+
+    private static String fingerprint(final File pkgFile, final String version) {
+        return CheckCache.fingerprint(pkgFile.getPath(), version,
+                Collections.singletonList(pkgFile.getAbsoluteFile().getParentFile()));
+    }
+
+    private static void write(final File file, final String content) throws IOException {
+        try (Writer writer = new FileWriter(file)) {
+            writer.write(content);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComApplication;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.simulator.ETComSimulator;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.simulator.SimulatedApplication;
+
+/**
+ * Unit tests for {@link ConfigSession}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ConfigSessionTest {
+
+    private static final Map<String, String> NO_CONSTANTS = Collections.emptyMap();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testLoadedBySameGeneration() {
+        final ConfigSession session = new ConfigSession();
+        final String fingerprint = ConfigSession.fingerprint("test.tbc", "test.tcf", NO_CONSTANTS, true);
+        session.setLoaded(1, fingerprint);
+
+        assertTrue(session.isLoaded(1, fingerprint));
+        assertFalse(session.isLoaded(2, fingerprint));
+        assertFalse(session.isLoaded(1, ConfigSession.fingerprint("test.tbc", "test.tcf", NO_CONSTANTS, false)));
+    }
+
+    @Test
+    public void testInvalidate() {
+        final ConfigSession session = new ConfigSession();
+        final String fingerprint = ConfigSession.fingerprint("", "", NO_CONSTANTS, true);
+        session.setLoaded(1, fingerprint);
+        session.invalidate();
+
+        assertFalse(session.isLoaded(1, fingerprint));
+    }
+
+    @Test
+    public void testCurrentConfigurations() throws ETComException {
+        final ComApplication app = new SimulatedApplication(new ETComSimulator());
+        app.openTestConfiguration("test.tcf");
+        app.openTestbenchConfiguration("test.tbc");
+
+        assertTrue(ConfigSession.isCurrent(app, "test.tbc", "test.tcf"));
+        assertFalse(ConfigSession.isCurrent(app, "test.tbc", null));
+        assertFalse(ConfigSession.isCurrent(app, "other.tbc", "test.tcf"));
+    }
+
+    @Test
+    public void testConfigurationsChangedMeanwhile() throws ETComException {
+        final ComApplication app = new SimulatedApplication(new ETComSimulator());
+        app.openTestConfiguration("test.tcf");
+        app.openTestbenchConfiguration("test.tbc");
+        app.openTestConfiguration(null);
+
+        assertFalse(ConfigSession.isCurrent(app, "test.tbc", "test.tcf"));
+        assertTrue(ConfigSession.isCurrent(app, "test.tbc", ""));
+    }
+
+    @Test
+    public void testFingerprintByConstants() {
+        final String fingerprint = ConfigSession.fingerprint("test.tbc", "test.tcf", NO_CONSTANTS, true);
+
+        assertEquals(fingerprint, ConfigSession.fingerprint("test.tbc", "test.tcf", NO_CONSTANTS, true));
+        assertFalse(fingerprint.equals(ConfigSession.fingerprint("test.tbc", "test.tcf",
+                Collections.singletonMap("name", "value"), true)));
+    }
+
+    @Test
+    public void testFingerprintByChecksum() throws IOException {
+        final File tcfFile = folder.newFile("test.tcf");
+        write(tcfFile, "first");
+        final String fingerprint = ConfigSession.fingerprint("", tcfFile.getPath(), NO_CONSTANTS, true);
+        write(tcfFile, "second");
+
+        assertFalse(fingerprint.equals(ConfigSession.fingerprint("", tcfFile.getPath(), NO_CONSTANTS, true)));
+    }
+
+    private static void write(final File file, final String content) throws IOException {
+        try (Writer writer = new FileWriter(file)) {
+            writer.write(content);
+        }
+    }
+}
@@ -86,4 +86,29 @@ public class PackageClientTest {
         assertTrue("Check stop mode", client.getExecutionConfig().isStopOnError());
         assertTrue(client.getExecutionConfig().isCheckTestFile());
     }
+
+    @Test
+    public void testSetExecutionInfo() {
+        final PackageClient client = new PackageClient("test.pkg", new TestConfig("", ""),
+                new PackageConfig(true, true), new ExecutionConfig(600, true, true));
+        final AbstractTestClient.TestInfoHolder testInfo = new AbstractTestClient.TestInfoHolder("SUCCESS",
+                "reportDir", 1000L);
+        assertTrue(client.setExecutionInfo(new AbstractTestClient.ExecutionInfoHolder("test", "description",
+                testInfo, true)));
+        assertEquals("test", client.getTestName());
+        assertEquals("description", client.getTestDescription());
+        assertEquals("SUCCESS", client.getTestResult());
+        assertEquals("reportDir", client.getTestReportDir());
+        assertEquals(1000L, client.getTestDuration());
+    }
+
+    @Test
+    public void testSetFailedExecutionInfo() {
+        final PackageClient client = new PackageClient("test.pkg", new TestConfig("", ""),
+                new PackageConfig(true, true), new ExecutionConfig(600, true, true));
+        assertFalse(client.setExecutionInfo(null));
+        assertFalse(client.setExecutionInfo(new AbstractTestClient.ExecutionInfoHolder(null, null, null, false)));
+        assertEquals("", client.getTestName());
+        assertEquals("", client.getTestResult());
+    }
 }
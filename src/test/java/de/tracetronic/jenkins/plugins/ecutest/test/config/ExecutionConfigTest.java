@@ -30,6 +30,7 @@
 package de.tracetronic.jenkins.plugins.ecutest.test.config;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import hudson.EnvVars;
@@ -50,6 +51,14 @@ public class ExecutionConfigTest {
         assertThat(config.getTimeout(), is(60));
         assertTrue(config.isStopOnError());
         assertTrue(config.isCheckTestFile());
+        assertFalse(config.isCacheCheckResults());
+    }
+
+    @Test
+    public void testCacheCheckResults() {
+        final ExecutionConfig config = new ExecutionConfig("60", true, true, true);
+        assertTrue(config.isCacheCheckResults());
+        assertTrue(config.expand(new EnvVars()).isCacheCheckResults());
     }
 
     @Test
@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.scan;
+
+import static org.junit.Assert.assertEquals;
+import hudson.Launcher;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.jvnet.hudson.test.WithoutJenkins;
+
+import de.tracetronic.jenkins.plugins.ecutest.SystemTestBase;
+
+/**
+ * System test for {@link TestFolderScanner}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class TestFolderScannerST extends SystemTestBase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    @WithoutJenkins
+    public void testFilePattern() throws IOException {
+        final TestFolderScanner scanner = new TestFolderScanner(null, false, null);
+        assertEquals("Wrong file pattern for test files", Arrays.asList("*.pkg", "*.prj"),
+                Arrays.asList(scanner.getFilePattern()));
+    }
+
+    @Test
+    @WithoutJenkins
+    public void testRecursiveFilePattern() throws IOException {
+        final TestFolderScanner scanner = new TestFolderScanner(null, true, null);
+        assertEquals("Wrong recursive file pattern for test files", Arrays.asList("**/**.pkg", "**/**.prj"),
+                Arrays.asList(scanner.getFilePattern()));
+    }
+
+    @Test
+    @WithoutJenkins
+    public void testFilterTestFiles() {
+        final List<String> testFiles = Arrays.asList("a.pkg", "b.prj", "c.pkg", "d.trf");
+        assertEquals("Wrong filtered packages", Arrays.asList("a.pkg", "c.pkg"),
+                TestFolderScanner.getPackageFiles(testFiles));
+        assertEquals("Wrong filtered projects", Arrays.asList("b.prj"), TestFolderScanner.getProjectFiles(testFiles));
+    }
+
+    @Test
+    public void testScanPackagesAndProjects() throws Exception {
+        folder.newFile("test.pkg");
+        folder.newFile("test.prj");
+        final File subFolder = folder.newFolder("tests");
+        new File(subFolder, "test.pkg").createNewFile();
+        final Launcher launcher = jenkins.createOnlineSlave().createLauncher(jenkins.createTaskListener());
+        final TestFolderScanner scanner = new TestFolderScanner(folder.getRoot().getAbsolutePath(), true, launcher);
+        final List<String> testFiles = scanner.scanTestFiles();
+        assertEquals("Three test files should be found recursively", 3, testFiles.size());
+        assertEquals("Two packages should be found", 2, TestFolderScanner.getPackageFiles(testFiles).size());
+    }
+
+    @Test
+    @WithoutJenkins
+    public void testParallelScanOrder() throws Exception {
+        folder.newFile("b.pkg");
+        folder.newFile("a.prj");
+        folder.newFile("c.trf");
+        final File subFolder = folder.newFolder("tests");
+        new File(subFolder, "b.pkg").createNewFile();
+        new File(subFolder, "a.pkg").createNewFile();
+        final File nestedFolder = new File(subFolder, "nested");
+        nestedFolder.mkdir();
+        new File(nestedFolder, "c.pkg").createNewFile();
+        final String root = folder.getRoot().getAbsolutePath();
+        final List<String> testFiles = new TestFolderScanner.ParallelScanCallable(root,
+                new TestFolderScanner(root, true, true, null).getFileExtensions()).call();
+        assertEquals("Wrong parallel scan order", Arrays.asList(
+                new File(root, "a.prj").getAbsolutePath(),
+                new File(root, "b.pkg").getAbsolutePath(),
+                new File(subFolder, "a.pkg").getAbsolutePath(),
+                new File(subFolder, "b.pkg").getAbsolutePath(),
+                new File(nestedFolder, "c.pkg").getAbsolutePath()), testFiles);
+    }
+
+    @Test
+    public void testParallelScanPackagesAndProjects() throws Exception {
+        folder.newFile("test.pkg");
+        folder.newFile("test.prj");
+        final File subFolder = folder.newFolder("tests");
+        new File(subFolder, "test.pkg").createNewFile();
+        final Launcher launcher = jenkins.createOnlineSlave().createLauncher(jenkins.createTaskListener());
+        final TestFolderScanner scanner = new TestFolderScanner(folder.getRoot().getAbsolutePath(), true, true,
+                launcher);
+        final List<String> testFiles = scanner.scanTestFiles();
+        assertEquals("Three test files should be found in parallel", 3, testFiles.size());
+        assertEquals("Two packages should be found", 2, TestFolderScanner.getPackageFiles(testFiles).size());
+    }
+}
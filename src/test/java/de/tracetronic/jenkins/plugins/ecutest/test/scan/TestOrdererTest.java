@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2015 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.scan;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.tracetronic.jenkins.plugins.ecutest.report.history.TestVerdict;
+import de.tracetronic.jenkins.plugins.ecutest.report.history.VerdictHistory;
+import de.tracetronic.jenkins.plugins.ecutest.report.history.VerdictRecord;
+import de.tracetronic.jenkins.plugins.ecutest.test.scan.TestOrderer.TestOrder;
+
+/**
+ * Unit tests for {@link TestOrderer}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class TestOrdererTest {
+
+    private static final List<String> SCANNED_FILES = Arrays.asList("c.pkg", "new.pkg", "a.pkg", "b.pkg");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private VerdictHistory history;
+
+    @Before
+    public void setUp() throws Exception {
+        history = VerdictHistory.forDirectory(folder.getRoot());
+        history.append(Arrays.asList(
+                new VerdictRecord("a.pkg", 1, TestVerdict.FAILED, 3000L),
+                new VerdictRecord("b.pkg", 1, TestVerdict.SUCCESS, 1000L),
+                new VerdictRecord("c.pkg", 1, TestVerdict.FAILED, 2000L)));
+        history.append(Arrays.asList(
+                new VerdictRecord("a.pkg", 2, TestVerdict.SUCCESS, 3000L),
+                new VerdictRecord("b.pkg", 2, TestVerdict.SUCCESS, 1000L),
+                new VerdictRecord("c.pkg", 2, TestVerdict.FAILED, 2000L)));
+    }
+
+    @Test
+    public void testScanOrder() {
+        final TestOrderer orderer = new TestOrderer(history, TestOrder.SCAN_ORDER, TestOrder.FILE_NAME);
+        assertThat(orderer.order(SCANNED_FILES), contains("c.pkg", "new.pkg", "a.pkg", "b.pkg"));
+    }
+
+    @Test
+    public void testFileName() {
+        final TestOrderer orderer = new TestOrderer(history, TestOrder.FILE_NAME, TestOrder.SCAN_ORDER);
+        assertThat(orderer.order(SCANNED_FILES), contains("a.pkg", "b.pkg", "c.pkg", "new.pkg"));
+    }
+
+    @Test
+    public void testLastFailedFirst() {
+        final TestOrderer orderer = new TestOrderer(history, TestOrder.LAST_FAILED_FIRST, TestOrder.SCAN_ORDER);
+        assertThat(orderer.order(SCANNED_FILES), contains("new.pkg", "c.pkg", "a.pkg", "b.pkg"));
+    }
+
+    @Test
+    public void testFailureRate() {
+        final TestOrderer orderer = new TestOrderer(history, TestOrder.FAILURE_RATE, TestOrder.SCAN_ORDER);
+        assertThat(orderer.order(SCANNED_FILES), contains("new.pkg", "c.pkg", "a.pkg", "b.pkg"));
+    }
+
+    @Test
+    public void testShortestFirst() {
+        final TestOrderer orderer = new TestOrderer(history, TestOrder.SHORTEST_FIRST, TestOrder.SCAN_ORDER);
+        assertThat(orderer.order(SCANNED_FILES), contains("new.pkg", "b.pkg", "c.pkg", "a.pkg"));
+    }
+
+    @Test
+    public void testTieBreaker() {
+        final TestOrderer orderer = new TestOrderer(history, TestOrder.LAST_FAILED_FIRST, TestOrder.SHORTEST_FIRST);
+        assertThat(orderer.order(Arrays.asList("a.pkg", "b.pkg")), contains("b.pkg", "a.pkg"));
+    }
+
+    @Test
+    public void testRelativeTestIds() {
+        final TestOrderer orderer = new TestOrderer(history, TestOrder.LAST_FAILED_FIRST, TestOrder.SCAN_ORDER);
+        assertThat(orderer.order(Arrays.asList("C:\\ws\\b.pkg", "C:\\ws\\c.pkg"), "C:\\ws"),
+                contains("C:\\ws\\c.pkg", "C:\\ws\\b.pkg"));
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark comparing the ATX name validation with the former replace-based implementation.
+ * <p>
+ * Not part of the regular test run, start it from the IDE or by executing {@link #main(String[])} with the test
+ * class path.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ATXNameBenchmark {
+
+    private final String[] testNames = {
+            "TestPackage", "Report Test-Package.pkg", "123_Test__Name", "Prüfstand Ölkühlung - Größe",
+            "Report Sub Project.prj", "___", "Test - . - Name"
+    };
+
+    @Benchmark
+    public void legacy(final Blackhole blackhole) {
+        for (final String testName : testNames) {
+            blackhole.consume(getLegacyATXName(testName));
+        }
+    }
+
+    @Benchmark
+    public void normalized(final Blackhole blackhole) {
+        for (final String testName : testNames) {
+            blackhole.consume(ATXUtil.normalizeATXName(testName));
+        }
+    }
+
+    @Benchmark
+    public void memoized(final Blackhole blackhole) {
+        for (final String testName : testNames) {
+            blackhole.consume(ATXUtil.getValidATXName(testName));
+        }
+    }
+
+    /**
+     * Former implementation of {@link ATXUtil#getValidATXName(String)} kept as benchmark baseline.
+     *
+     * @param testName
+     *            the test name
+     * @return the ATX compliant test name
+     */
+    private static String getLegacyATXName(final String testName) {
+        String validATXName = "DefaultTestName";
+        if (testName != null && StringUtils.countMatches(testName, "_") != testName.length()) {
+            validATXName = testName;
+
+            final Map<String, String> specialCharMap = new HashMap<String, String>();
+            specialCharMap.put("ä", "ae");
+            specialCharMap.put("Ä", "Ae");
+            specialCharMap.put("ö", "oe");
+            specialCharMap.put("Ö", "Oe");
+            specialCharMap.put("ü", "ue");
+            specialCharMap.put("Ü", "Ue");
+            specialCharMap.put("ß", "ss");
+            specialCharMap.put("-", "_");
+            specialCharMap.put("\\.", "_");
+            specialCharMap.put(" ", "");
+
+            for (final Entry<String, String> specialChar : specialCharMap.entrySet()) {
+                validATXName = validATXName.replaceAll(specialChar.getKey(), specialChar.getValue());
+            }
+            while (validATXName.contains("__")) {
+                validATXName = validATXName.replace("__", "_");
+            }
+            if (Character.isDigit(validATXName.charAt(0))) {
+                validATXName = String.format("i%s", validATXName);
+            }
+        }
+        return validATXName;
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            the arguments
+     * @throws RunnerException
+     *             in case of benchmark errors
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ATXNameBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -112,6 +112,23 @@ public class ATXUtilTest {
         assertThat(ATXUtil.getValidATXName("Test Name"), is("TestName"));
     }
 
+    @Test
+    public void testValidATXNameForWhiteSpaceOnly() {
+        assertThat(ATXUtil.getValidATXName("  "), is(ACTUAL));
+    }
+
+    @Test
+    public void testValidATXNameForMixedSeparators() {
+        assertThat(ATXUtil.getValidATXName("Test - ._Name"), is("Test_Name"));
+    }
+
+    @Test
+    public void testValidATXNameMemoized() {
+        final String name = "Memo-Test.Name";
+        assertThat(ATXUtil.getValidATXName(name), is("Memo_Test_Name"));
+        assertThat(ATXUtil.getValidATXName(name), is("Memo_Test_Name"));
+    }
+
     @Test
     public void testInvalidBaseUrl() {
         assertNull(ATXUtil.getBaseUrl(null, null, null, false));
@@ -188,4 +205,29 @@ public class ATXUtilTest {
 
         assertThat(ATXUtil.getBaseUrl(atxConfig, envVars), is("https://localhost:8086/context"));
     }
+
+    @Test
+    public void testUploadUrlByDefaultConfig() {
+        final ATXConfig atxConfig = new ATXConfig();
+        assertThat(ATXUtil.getUploadUrl(atxConfig, new EnvVars()), is("http://127.0.0.1:8085/api/upload-file"));
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void testUploadUrlWithAuthKey() {
+        final List<ATXSetting> uploadSettings = new ArrayList<ATXSetting>();
+        uploadSettings.add(new ATXTextSetting("serverURL", "", "", "localhost"));
+        uploadSettings.add(new ATXTextSetting("serverPort", "", "", "8086"));
+        uploadSettings.add(new ATXTextSetting("serverContextPath", "", "", "context"));
+        uploadSettings.add(new ATXBooleanSetting("useHttpsConnection", "", "", false));
+        uploadSettings.add(new ATXTextSetting("uploadAuthenticationKey", "", "", "${AUTH_KEY}"));
+
+        final Map<String, List<ATXSetting>> configMap = new LinkedHashMap<String, List<ATXSetting>>();
+        configMap.put("uploadConfig", uploadSettings);
+        final ATXConfig atxConfig = new ATXConfig(configMap, null);
+        final EnvVars envVars = new EnvVars("AUTH_KEY", "secret key");
+
+        assertThat(ATXUtil.getUploadUrl(atxConfig, envVars),
+                is("http://localhost:8086/context/api/upload-file?authKey=secret%20key"));
+    }
 }
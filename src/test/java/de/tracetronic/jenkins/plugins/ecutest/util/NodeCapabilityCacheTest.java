@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.util;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import hudson.model.Computer;
+import hudson.remoting.VirtualChannel;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link NodeCapabilityCache}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class NodeCapabilityCacheTest {
+
+    private Computer computer;
+
+    @Before
+    public void setUp() {
+        computer = mock(Computer.class);
+        final VirtualChannel channel = mock(VirtualChannel.class);
+        when(computer.getChannel()).thenReturn(channel);
+    }
+
+    @Test
+    public void testCachedPerConnection() throws Exception {
+        final Map<Object, Object> properties = new HashMap<Object, Object>();
+        properties.put("os.arch", "amd64");
+        when(computer.getSystemProperties()).thenReturn(properties);
+        NodeCapabilityCache.setLibraryLoaded(computer);
+        NodeCapabilityCache.putSetting(computer, "packagePath", "C:\\Packages");
+
+        assertThat(NodeCapabilityCache.getArchitecture(computer), is("amd64"));
+        assertThat(NodeCapabilityCache.getArchitecture(computer), is("amd64"));
+        assertThat(NodeCapabilityCache.isLibraryLoaded(computer), is(true));
+        assertThat(NodeCapabilityCache.getSetting(computer, "packagePath"), is("C:\\Packages"));
+        verify(computer, times(1)).getSystemProperties();
+    }
+
+    @Test
+    public void testReconnectInvalidates() throws Exception {
+        final Map<Object, Object> properties = new HashMap<Object, Object>();
+        properties.put("os.arch", "amd64");
+        when(computer.getSystemProperties()).thenReturn(properties);
+        NodeCapabilityCache.setLibraryLoaded(computer);
+        NodeCapabilityCache.putSetting(computer, "packagePath", "C:\\Packages");
+        NodeCapabilityCache.getArchitecture(computer);
+
+        final VirtualChannel newChannel = mock(VirtualChannel.class);
+        when(computer.getChannel()).thenReturn(newChannel);
+        assertThat(NodeCapabilityCache.isLibraryLoaded(computer), is(false));
+        assertThat(NodeCapabilityCache.getSetting(computer, "packagePath"), is(nullValue()));
+        NodeCapabilityCache.getArchitecture(computer);
+        verify(computer, times(2)).getSystemProperties();
+    }
+
+    @Test
+    public void testInvalidateTool() {
+        NodeCapabilityCache.setLibraryLoaded(computer);
+        NodeCapabilityCache.putSetting(computer, "packagePath", "C:\\Packages");
+        NodeCapabilityCache.invalidateTool(computer);
+
+        assertThat(NodeCapabilityCache.getSetting(computer, "packagePath"), is(nullValue()));
+        assertThat(NodeCapabilityCache.isLibraryLoaded(computer), is(true));
+    }
+
+    @Test
+    public void testFailedLookupsNotCached() throws Exception {
+        when(computer.getSystemProperties()).thenThrow(new IOException("Channel closed"))
+                .thenReturn(Collections.<Object, Object> emptyMap())
+                .thenReturn(Collections.<Object, Object> singletonMap("os.arch", "x86"));
+        try {
+            NodeCapabilityCache.getArchitecture(computer);
+            fail("Expected IOException");
+        } catch (final IOException e) {
+            assertThat(e.getMessage(), is("Channel closed"));
+        }
+        assertThat(NodeCapabilityCache.getArchitecture(computer), is("null"));
+        assertThat(NodeCapabilityCache.getArchitecture(computer), is("x86"));
+        assertThat(NodeCapabilityCache.getArchitecture(computer), is("x86"));
+        verify(computer, times(3)).getSystemProperties();
+
+        NodeCapabilityCache.putSetting(computer, "packagePath", null);
+        assertThat(NodeCapabilityCache.getSetting(computer, "packagePath"), is(nullValue()));
+    }
+
+    @Test
+    public void testOfflineNode() {
+        when(computer.getChannel()).thenReturn(null);
+        NodeCapabilityCache.setLibraryLoaded(computer);
+        NodeCapabilityCache.putSetting(computer, "packagePath", "C:\\Packages");
+
+        assertThat(NodeCapabilityCache.isLibraryLoaded(computer), is(false));
+        assertThat(NodeCapabilityCache.getSetting(computer, "packagePath"), is(nullValue()));
+        assertThat(NodeCapabilityCache.isLibraryLoaded(null), is(false));
+    }
+}
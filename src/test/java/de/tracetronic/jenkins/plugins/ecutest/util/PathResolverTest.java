@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import hudson.Launcher;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.remoting.Callable;
+import hudson.remoting.VirtualChannel;
+import hudson.util.StreamTaskListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Unit tests for {@link PathResolver}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class PathResolverTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testResolveRelativeFile() throws IOException {
+        final File file = folder.newFile("test.pkg");
+        final PathResolver.Entry entry = new PathResolver.Entry("test.pkg", folder.getRoot().getPath(), false);
+        entry.resolve();
+        assertEquals(file.getPath(), entry.getPath());
+        assertNull(entry.getError());
+    }
+
+    @Test
+    public void testResolveAbsoluteFolder() {
+        final PathResolver.Entry entry = new PathResolver.Entry(folder.getRoot().getPath(), null, true);
+        entry.resolve();
+        assertEquals(folder.getRoot().getPath(), entry.getPath());
+    }
+
+    @Test
+    public void testResolveMissingFile() {
+        final File file = new File(folder.getRoot(), "missing.pkg");
+        final PathResolver.Entry entry = new PathResolver.Entry("missing.pkg", folder.getRoot().getPath(), false);
+        entry.resolve();
+        assertNull(entry.getPath());
+        assertEquals(file.getPath() + " does not exist!", entry.getError());
+    }
+
+    @Test
+    public void testResolveFolderAsFile() {
+        final PathResolver.Entry entry = new PathResolver.Entry(folder.getRoot().getPath(), null, false);
+        entry.resolve();
+        assertNull(entry.getPath());
+        assertEquals(folder.getRoot().getPath() + " is not a file!", entry.getError());
+    }
+
+    @Test
+    public void testCachedPerChannel() throws Exception {
+        final File file = folder.newFile("test.pkg");
+        final Run<?, ?> run = mock(Run.class);
+        final Launcher firstLauncher = createLocalLauncher();
+        final Launcher secondLauncher = createLocalLauncher();
+        final TaskListener listener = new StreamTaskListener(new ByteArrayOutputStream());
+
+        assertTrue(createResolver(run).resolve(firstLauncher, listener));
+        assertTrue(file.delete());
+        assertTrue("Cached path should be valid on the same node",
+                createResolver(run).resolve(firstLauncher, listener));
+        assertFalse("Cached path must not be valid on another node",
+                createResolver(run).resolve(secondLauncher, listener));
+    }
+
+    /**
+     * Creates a resolver for the test package of the temporary folder.
+     *
+     * @param run
+     *            the build to cache the resolved paths for
+     * @return the resolver
+     */
+    private PathResolver createResolver(final Run<?, ?> run) {
+        final PathResolver resolver = new PathResolver(run);
+        resolver.add("test.pkg", folder.getRoot().getPath(), false);
+        return resolver;
+    }
+
+    /**
+     * Creates a launcher whose own channel executes the callables locally.
+     *
+     * @return the launcher
+     * @throws Exception
+     *             if stubbing the channel failed
+     */
+    @SuppressWarnings("unchecked")
+    private static Launcher createLocalLauncher() throws Exception {
+        final VirtualChannel channel = mock(VirtualChannel.class);
+        when(channel.call(any(Callable.class))).thenAnswer(new Answer<Object>() {
+
+            @Override
+            public Object answer(final InvocationOnMock invocation) throws Throwable {
+                return ((Callable<?, ?>) invocation.getArguments()[0]).call();
+            }
+        });
+        final Launcher launcher = mock(Launcher.class);
+        when(launcher.getChannel()).thenReturn(channel);
+        return launcher;
+    }
+}
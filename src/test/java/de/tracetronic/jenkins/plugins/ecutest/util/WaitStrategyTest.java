@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.util;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link WaitStrategy}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class WaitStrategyTest {
+
+    @Test
+    public void testExponentialBackoff() throws InterruptedException {
+        final WaitStrategy waitStrategy = new WaitStrategy(1L, 4L);
+        waitStrategy.await();
+        assertThat(waitStrategy.getLastDelay(), is(1L));
+        waitStrategy.await();
+        assertThat(waitStrategy.getLastDelay(), is(2L));
+        waitStrategy.await();
+        assertThat(waitStrategy.getLastDelay(), is(4L));
+        waitStrategy.await();
+        assertThat(waitStrategy.getLastDelay(), is(4L));
+        assertThat(waitStrategy.getWaitCount(), is(4));
+        assertThat(waitStrategy.getWaitedMillis(), greaterThanOrEqualTo(11L));
+    }
+
+    @Test
+    public void testReset() throws InterruptedException {
+        final WaitStrategy waitStrategy = new WaitStrategy(1L, 4L);
+        waitStrategy.await();
+        waitStrategy.await();
+        waitStrategy.reset();
+        waitStrategy.await();
+        assertThat(waitStrategy.getLastDelay(), is(1L));
+    }
+
+    @Test
+    public void testInterruptedWait() {
+        final WaitStrategy waitStrategy = new WaitStrategy(10000L, 10000L);
+        final long totalWaitCount = WaitStrategy.getTotalWaitCount();
+        Thread.currentThread().interrupt();
+        final long startTime = System.currentTimeMillis();
+        try {
+            waitStrategy.await();
+            fail("Expected InterruptedException");
+        } catch (final InterruptedException e) {
+            assertThat(System.currentTimeMillis() - startTime, lessThan(1000L));
+        }
+        assertThat(WaitStrategy.getTotalWaitCount(), greaterThanOrEqualTo(totalWaitCount + 1));
+    }
+}
@@ -32,12 +32,19 @@ package de.tracetronic.jenkins.plugins.ecutest.util.validation;
 import hudson.util.FormValidation;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 
 import junit.framework.TestCase;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
 /**
  * Unit tests for {@link ATXValidator}.
  *
@@ -435,4 +442,36 @@ public class ATXValidatorTest extends TestCase {
         final FormValidation validation = atxValidator.testConnection(null, null, null, false);
         assertEquals("Error if connection URL is invalid", FormValidation.Kind.ERROR, validation.kind);
     }
+
+    @Test
+    public void testInvalidProbeBySettings() {
+        final FormValidation validation = atxValidator.probeConnection(null, null, null, false);
+        assertEquals("Error if connection URL is invalid", FormValidation.Kind.ERROR, validation.kind);
+    }
+
+    @Test
+    public void testProbeBypassesServerHealth() throws IOException {
+        final HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/app-version-info", new HttpHandler() {
+
+            @Override
+            public void handle(final HttpExchange exchange) throws IOException {
+                final byte[] response = "TraceTronic TEST-GUIDE".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            }
+        });
+        server.start();
+        final String serverPort = String.valueOf(server.getAddress().getPort());
+        assertEquals("Reachable server should be healthy", FormValidation.Kind.OK,
+                atxValidator.testConnection("127.0.0.1", serverPort, "", false).kind);
+        server.stop(0);
+
+        assertEquals("Cached server health should be reused", FormValidation.Kind.OK,
+                atxValidator.testConnection("127.0.0.1", serverPort, "", false).kind);
+        assertEquals("Probe should detect the stopped server", FormValidation.Kind.WARNING,
+                atxValidator.probeConnection("127.0.0.1", serverPort, "", false).kind);
+    }
 }
@@ -0,0 +1,339 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.wrapper.com;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession.ComTask;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComSession.Connector;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComApplication;
+
+/**
+ * Unit tests for {@link ETComSession}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ETComSessionTest {
+
+    private final TestConnector connector = new TestConnector();
+    private final ETComSession session = new ETComSession(connector);
+
+    @Test
+    public void testSharedConnection() throws ETComException, InterruptedException {
+        final ComApplication first = session.execute(new ApplicationTask());
+        final ComApplication second = session.execute(new ApplicationTask());
+
+        assertThat(second, sameInstance(first));
+        assertThat(connector.connected.size(), is(1));
+        assertThat(connector.released.size(), is(0));
+    }
+
+    @Test
+    public void testSessionThread() throws ETComException, InterruptedException {
+        final Thread first = session.execute(new ThreadTask());
+        final Thread second = session.execute(new ThreadTask());
+
+        assertThat(first, sameInstance(second));
+        assertThat(first, not(sameInstance(Thread.currentThread())));
+    }
+
+    @Test
+    public void testReconnectIfUnhealthy() throws ETComException, InterruptedException {
+        final ComApplication first = session.execute(new ApplicationTask());
+        connector.running = false;
+        final ComApplication second = session.execute(new ApplicationTask());
+
+        assertThat(second, not(sameInstance(first)));
+        assertThat(connector.released.size(), is(1));
+        assertThat(connector.released.get(0), sameInstance(first));
+    }
+
+    @Test
+    public void testRelease() throws ETComException, InterruptedException {
+        final ComApplication first = session.execute(new ApplicationTask());
+        session.release();
+        final ComApplication second = session.execute(new ApplicationTask());
+
+        assertThat(second, not(sameInstance(first)));
+        assertThat(connector.connected.size(), is(2));
+    }
+
+    @Test
+    public void testRecycleConnection() throws ETComException, InterruptedException {
+        for (int i = 0; i < ETComSession.MAX_TASKS_PER_CONNECTION; i++) {
+            session.execute(new ApplicationTask());
+        }
+        assertThat(connector.released.size(), is(1));
+
+        session.execute(new ApplicationTask());
+        assertThat(connector.connected.size(), is(2));
+    }
+
+    @Test
+    public void testTaskException() throws InterruptedException {
+        try {
+            session.execute(new ComTask<Void>() {
+
+                @Override
+                public Void call(final ComApplication comClient) throws ETComException {
+                    throw new ETComException("Task failed");
+                }
+            });
+            fail("Expected ETComException");
+        } catch (final ETComException e) {
+            assertThat(e.getMessage(), is("Task failed"));
+        }
+    }
+
+    @Test
+    public void testGenerationByRecycle() throws ETComException, InterruptedException {
+        session.execute(new ApplicationTask());
+        final long generation = session.getGeneration();
+        for (int i = 0; i < ETComSession.MAX_TASKS_PER_CONNECTION; i++) {
+            session.execute(new ApplicationTask());
+        }
+
+        assertThat(connector.connected.size(), is(2));
+        assertThat(session.getGeneration(), is(generation));
+    }
+
+    @Test
+    public void testGenerationByRelease() throws ETComException, InterruptedException {
+        session.execute(new ApplicationTask());
+        final long generation = session.getGeneration();
+        session.release();
+        session.execute(new ApplicationTask());
+
+        assertThat(session.getGeneration(), is(generation + 1));
+    }
+
+    @Test
+    public void testGenerationByReconnect() throws ETComException, InterruptedException {
+        session.execute(new ApplicationTask());
+        final long generation = session.getGeneration();
+        connector.running = false;
+        session.execute(new ApplicationTask());
+
+        assertThat(session.getGeneration(), is(generation + 1));
+    }
+
+    @Test
+    public void testHoldDefersRecycle() throws ETComException, InterruptedException {
+        session.hold();
+        for (int i = 0; i < ETComSession.MAX_TASKS_PER_CONNECTION; i++) {
+            session.execute(new ApplicationTask());
+        }
+        assertThat(connector.released.size(), is(0));
+
+        session.unhold();
+        session.execute(new ApplicationTask());
+        assertThat(connector.released.size(), is(1));
+    }
+
+    @Test
+    public void testDiscardWedgedThread() throws ETComException, InterruptedException {
+        final ETComSession timedSession = new ETComSession(connector, 1);
+        final Thread first = timedSession.execute(new ThreadTask());
+        final long generation = timedSession.getGeneration();
+        final CountDownLatch wedged = new CountDownLatch(1);
+        try {
+            timedSession.execute(0, 1, new ComTask<Void>() {
+
+                @Override
+                public Void call(final ComApplication comClient) {
+                    awaitUninterruptibly(wedged);
+                    return null;
+                }
+            });
+            fail("Expected ETComException");
+        } catch (final ETComException e) {
+            assertTrue(e.getMessage().contains("discarding COM session"));
+        }
+
+        final Thread second = timedSession.execute(new ThreadTask());
+        assertThat(second, not(sameInstance(first)));
+        assertThat(timedSession.getGeneration(), is(generation + 1));
+
+        wedged.countDown();
+    }
+
+    @Test
+    public void testNoTaskTimeout() throws ETComException, InterruptedException {
+        final ETComSession timedSession = new ETComSession(connector, 1);
+        final Thread first = timedSession.execute(new ThreadTask());
+        final long generation = timedSession.getGeneration();
+        final Boolean result = timedSession.execute(0, ETComSession.NO_TASK_TIMEOUT, new ComTask<Boolean>() {
+
+            @Override
+            public Boolean call(final ComApplication comClient) throws InterruptedException {
+                Thread.sleep(2500L);
+                return true;
+            }
+        });
+
+        assertThat(result, is(true));
+        assertThat(timedSession.execute(new ThreadTask()), sameInstance(first));
+        assertThat(timedSession.getGeneration(), is(generation));
+    }
+
+    @Test
+    public void testInterruptedTask() throws ETComException {
+        try {
+            session.execute(new ComTask<Void>() {
+
+                @Override
+                public Void call(final ComApplication comClient) throws InterruptedException {
+                    throw new InterruptedException();
+                }
+            });
+            fail("Expected InterruptedException");
+        } catch (final InterruptedException e) {
+            assertThat(Thread.currentThread().isInterrupted(), is(false));
+        }
+    }
+
+    @Test
+    public void testExecuteDetached() throws ETComException, InterruptedException {
+        final Thread sessionThread = session.execute(new ThreadTask());
+        final Thread detachedThread = session.executeDetached(1, 1, new ThreadTask());
+
+        assertThat(detachedThread, not(sameInstance(sessionThread)));
+        assertThat(connector.connected.size(), is(2));
+        assertThat(connector.released.size(), is(1));
+    }
+
+    @Test
+    public void testExecuteDetachedTimeout() throws InterruptedException {
+        final CountDownLatch wedged = new CountDownLatch(1);
+        try {
+            session.executeDetached(0, 1, new ComTask<Void>() {
+
+                @Override
+                public Void call(final ComApplication comClient) {
+                    awaitUninterruptibly(wedged);
+                    return null;
+                }
+            });
+            fail("Expected ETComException");
+        } catch (final ETComException e) {
+            assertTrue(e.getMessage().contains("did not complete"));
+        } finally {
+            wedged.countDown();
+        }
+    }
+
+    /**
+     * Simulates a native COM call ignoring interrupts.
+     *
+     * @param latch
+     *            the latch to wait for
+     */
+    private static void awaitUninterruptibly(final CountDownLatch latch) {
+        boolean done = false;
+        while (!done) {
+            try {
+                latch.await();
+                done = true;
+            } catch (final InterruptedException e) {
+                continue;
+            }
+        }
+    }
+
+    /**
+     * Task returning the shared COM application.
+     */
+    private static final class ApplicationTask implements ComTask<ComApplication> {
+
+        @Override
+        public ComApplication call(final ComApplication comClient) {
+            return comClient;
+        }
+    }
+
+    /**
+     * Task returning the executing thread.
+     */
+    private static final class ThreadTask implements ComTask<Thread> {
+
+        @Override
+        public Thread call(final ComApplication comClient) {
+            return Thread.currentThread();
+        }
+    }
+
+    /**
+     * Connector creating COM applications which are running as long as the connector is.
+     */
+    private static final class TestConnector implements Connector {
+
+        private final List<ComApplication> connected = new CopyOnWriteArrayList<ComApplication>();
+        private final List<ComApplication> released = new CopyOnWriteArrayList<ComApplication>();
+        private volatile boolean running = true;
+
+        @Override
+        public ComApplication connect(final int timeout) {
+            running = true;
+            final ComApplication application = (ComApplication) Proxy.newProxyInstance(
+                    ComApplication.class.getClassLoader(), new Class<?>[] { ComApplication.class },
+                    new InvocationHandler() {
+
+                        @Override
+                        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                            if ("isApplicationRunning".equals(method.getName())) {
+                                return running;
+                            }
+                            return null;
+                        }
+                    });
+            connected.add(application);
+            return application;
+        }
+
+        @Override
+        public void release(final ComApplication application) {
+            released.add(application);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2015-2016 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.wrapper.com.simulator;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComApplication;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestConfiguration;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestEnvironment;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComTestExecutionInfo;
+
+/**
+ * Unit tests for {@link ETComSimulator}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ETComSimulatorTest {
+
+    private static final String PACKAGE = "test.pkg";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ETComSimulator simulator = new ETComSimulator();
+
+    @Before
+    public void setUp() {
+        simulator.setReportDir(folder.getRoot());
+        simulator.setExecutionTime(100);
+    }
+
+    @Test
+    public void testExecutionStates() throws Exception {
+        final ComApplication app = simulator.connect(0);
+        app.openPackage(PACKAGE);
+        final ComTestExecutionInfo execInfo = app.start().executePackage(PACKAGE, true, true,
+                Collections.<String, String> emptyMap());
+
+        assertThat(execInfo.getState(), is("RUNNING"));
+        assertThat(execInfo.getResult(), is("NONE"));
+        Thread.sleep(150);
+        assertThat(execInfo.getState(), is("FINISHED"));
+        assertThat(execInfo.getResult(), is("SUCCESS"));
+        assertTrue(new File(execInfo.getReportDb()).isFile());
+    }
+
+    @Test
+    public void testAbortExecution() throws ETComException {
+        simulator.setExecutionTime(10000);
+        final ComApplication app = simulator.connect(0);
+        app.openPackage(PACKAGE);
+        final ComTestExecutionInfo execInfo = app.start().executePackage(PACKAGE, true, true,
+                Collections.<String, String> emptyMap());
+
+        assertTrue(execInfo.abort());
+        assertThat(execInfo.getState(), is("ABORTED"));
+        assertThat(execInfo.getResult(), is("ERROR"));
+    }
+
+    @Test(expected = ETComException.class)
+    public void testExecuteUnopenedPackage() throws ETComException {
+        simulator.connect(0).start().executePackage(PACKAGE, true, true, Collections.<String, String> emptyMap());
+    }
+
+    @Test
+    public void testFaultInjection() throws ETComException {
+        simulator.addFault("OpenPackage");
+        final ComApplication app = simulator.connect(0);
+        try {
+            app.openPackage(PACKAGE);
+            fail("Expected simulated COM fault");
+        } catch (final ETComException e) {
+            assertThat(e.getMessage(), is("Simulated COM fault in OpenPackage"));
+        }
+        simulator.removeFault("OpenPackage");
+        assertThat(app.openPackage(PACKAGE).getName(), is(new File(PACKAGE).getName()));
+    }
+
+    @Test
+    public void testGenerateReports() throws ETComException {
+        final ComApplication app = simulator.connect(0);
+        app.openPackage(PACKAGE);
+        final ComTestEnvironment testEnv = app.start();
+        final File reportDb = new File(testEnv.executePackage(PACKAGE, true, true,
+                Collections.<String, String> emptyMap()).getReportDb());
+        final File atxDir = new File(reportDb.getParentFile(), "ATX");
+        final File junitDir = new File(reportDb.getParentFile(), "UNIT");
+
+        assertTrue(testEnv.generateTestReportDocumentFromDB(reportDb.getAbsolutePath(), atxDir.getAbsolutePath(),
+                "ATX", true, Collections.<String, String> emptyMap()));
+        assertTrue(testEnv.generateTestReportDocumentFromDB(reportDb.getAbsolutePath(), junitDir.getAbsolutePath(),
+                "UNIT", true, Collections.<String, String> emptyMap()));
+        assertTrue(new File(atxDir, reportDb.getParentFile().getName() + ".zip").isFile());
+        assertTrue(new File(junitDir, "junit-report.xml").isFile());
+    }
+
+    @Test
+    public void testGlobalConstants() throws ETComException {
+        final ComTestConfiguration testConfig = simulator.connect(0).getCurrentTestConfiguration();
+        testConfig.setGlobalConstant("name", "value");
+
+        assertThat(testConfig.getGlobalConstants().getCount(), is(1));
+        assertThat(testConfig.getGlobalConstants().item("name").getValue(), is("value"));
+    }
+
+    @Test
+    public void testBatchedGlobalConstants() throws ETComException {
+        final ComTestConfiguration testConfig = simulator.connect(0).getCurrentTestConfiguration();
+        final Map<String, String> constants = new LinkedHashMap<String, String>();
+        constants.put("first", "1");
+        constants.put("second", "2");
+        testConfig.setGlobalConstants(constants);
+
+        assertThat(testConfig.getGlobalConstants().getValues(), is(constants));
+    }
+
+    @Test
+    public void testSimulatedLatency() throws ETComException {
+        simulator.setLatency(20);
+        final long start = System.currentTimeMillis();
+        simulator.connect(0).getVersion();
+
+        assertTrue(System.currentTimeMillis() - start >= 40);
+        assertThat(simulator.getRequestCount(), is(2));
+    }
+}